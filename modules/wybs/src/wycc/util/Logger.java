@@ -70,9 +70,11 @@ public interface Logger {
 			logout=out;
 		}
 		/**
-		 * This method is just a helper to format the output
+		 * This method is just a helper to format the output. It is
+		 * synchronised, since messages may be logged by several threads at
+		 * once.
 		 */
-		public void logTimedMessage(String msg, long time, long memory) {
+		public synchronized void logTimedMessage(String msg, long time, long memory) {
 			logout.print(msg);
 			logout.print(" ");
 			double mem = memory;
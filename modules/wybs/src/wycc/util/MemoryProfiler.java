@@ -0,0 +1,181 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wycc.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.management.GcInfo;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * <p>
+ * Provides accurate figures on the memory used by a builder, for diagnosing
+ * performance problems. In particular, the number of bytes allocated by the
+ * current thread is taken from the <code>ThreadMXBean</code> allocation
+ * counters, whilst the amount of heap retained is taken from the most recent
+ * garbage collection (as reported by the <code>GarbageCollectorMXBean</code>s).
+ * This means that a collection is never forced in order to obtain these
+ * figures.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> allocation counters and per-collection information are
+ * extensions provided by HotSpot based virtual machines. Where they are
+ * unavailable, the corresponding figures are reported as zero (or, for the
+ * heap retained, as the heap in use when the profiler was created).
+ * </p>
+ */
+public final class MemoryProfiler {
+	
+	/**
+	 * A snapshot of the memory figures at a given moment.
+	 */
+	public static final class Sample {
+		/**
+		 * Total number of bytes allocated by the sampling thread.
+		 */
+		public final long allocated;
+		
+		/**
+		 * Total number of garbage collections observed.
+		 */
+		public final long collections;
+		
+		/**
+		 * Number of bytes of heap in use after the most recent garbage
+		 * collection (or, before the first collection, the number of bytes in
+		 * use when the profiler was created).
+		 */
+		public final long retained;
+		
+		private Sample(long allocated, long collections, long retained) {
+			this.allocated = allocated;
+			this.collections = collections;
+			this.retained = retained;
+		}
+	}
+	
+	private final ThreadMXBean threads;
+	
+	private final List<GarbageCollectorMXBean> collectors;
+	
+	private final HashSet<String> heapPools = new HashSet<String>();
+	
+	private final long initial;
+	
+	public MemoryProfiler() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory
+				.getThreadMXBean();
+		if (bean instanceof ThreadMXBean
+				&& ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			threads = (ThreadMXBean) bean;
+			threads.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			threads = null;
+		}
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				heapPools.add(pool.getName());
+			}
+		}
+		collectors = ManagementFactory.getGarbageCollectorMXBeans();
+		initial = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()
+				.getUsed();
+	}
+	
+	/**
+	 * Take a snapshot of the memory figures for the current thread.
+	 * 
+	 * @return
+	 */
+	public Sample sample() {
+		long allocated = 0;
+		if (threads != null) {
+			allocated = threads.getThreadAllocatedBytes(Thread.currentThread()
+					.getId());
+		}
+		long collections = 0;
+		GcInfo last = null;
+		for (GarbageCollectorMXBean gc : collectors) {
+			collections += Math.max(0, gc.getCollectionCount());
+			if (gc instanceof com.sun.management.GarbageCollectorMXBean) {
+				GcInfo info = ((com.sun.management.GarbageCollectorMXBean) gc)
+						.getLastGcInfo();
+				if (info != null
+						&& (last == null || info.getEndTime() > last.getEndTime())) {
+					last = info;
+				}
+			}
+		}
+		return new Sample(allocated, collections, retained(last));
+	}
+	
+	/**
+	 * Summarise the memory used between two samples, taken on the same
+	 * thread.
+	 * 
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static String describe(Sample start, Sample end) {
+		return "allocated " + kilobytes(end.allocated - start.allocated)
+				+ "kb, retained " + kilobytes(end.retained) + "kb, "
+				+ (end.collections - start.collections) + " collection(s)";
+	}
+	
+	/**
+	 * Determine the number of bytes of heap in use after a given collection.
+	 * 
+	 * @param info
+	 *            the most recent collection, or null if there has been none.
+	 * @return
+	 */
+	private long retained(GcInfo info) {
+		if (info == null) {
+			return initial;
+		}
+		long used = 0;
+		for (Map.Entry<String, MemoryUsage> e : info.getMemoryUsageAfterGc()
+				.entrySet()) {
+			if (heapPools.contains(e.getKey())) {
+				used += e.getValue().getUsed();
+			}
+		}
+		return used;
+	}
+	
+	private static long kilobytes(long bytes) {
+		return bytes / 1024;
+	}
+}
@@ -66,27 +66,27 @@ public abstract class AbstractEntry<T> implements Path.Entry<T> {
 		return contentType;
 	}
 	
-	public void refresh() throws IOException {
+	public synchronized void refresh() throws IOException {
 		if(!modified) {
 			contents = null; // reset contents
 		}
 	}
 	
-	public void flush() throws IOException {
+	public synchronized void flush() throws IOException {
 		if(modified && contents != null) {
 			contentType.write(outputStream(), contents);
 			this.modified = false;
 		}
 	}
 	
-	public T read() throws IOException {
+	public synchronized T read() throws IOException {
 		if (contents == null) {
 			contents = contentType.read(this,inputStream());
 		}
 		return contents;
 	}		
 			
-	public void write(T contents) throws IOException {
+	public synchronized void write(T contents) throws IOException {
 		this.modified = true;
 		this.contents = contents; 
 	}
@@ -68,7 +68,7 @@ public abstract class AbstractFolder implements Path.Folder {
 	}	
 	
 	@Override
-	public boolean contains(Path.Entry<?> e) throws IOException {
+	public synchronized boolean contains(Path.Entry<?> e) throws IOException {
 		updateContents();	
 		Path.ID eid = e.id();
 		boolean contained;
@@ -110,12 +110,12 @@ public abstract class AbstractFolder implements Path.Folder {
 	}
 	
 	@Override
-	public boolean exists(ID id, Content.Type<?> ct) throws IOException{				
+	public synchronized boolean exists(ID id, Content.Type<?> ct) throws IOException{				
 		return get(id,ct) != null;
 	}
 	
 	@Override
-	public <T> Path.Entry<T> get(ID eid, Content.Type<T> ct) throws IOException{				
+	public synchronized <T> Path.Entry<T> get(ID eid, Content.Type<T> ct) throws IOException{				
 		updateContents();				
 		
 		ID tid = id.append(eid.get(0));		
@@ -150,7 +150,7 @@ public abstract class AbstractFolder implements Path.Folder {
 	}
 	
 	@Override
-	public List<Entry<?>> getAll() throws IOException{			
+	public synchronized List<Entry<?>> getAll() throws IOException{			
 		ArrayList entries = new ArrayList();
 		updateContents();
 		
@@ -173,7 +173,7 @@ public abstract class AbstractFolder implements Path.Folder {
 	}
 	
 	@Override
-	public <T> void getAll(Content.Filter<T> filter, List<Entry<T>> entries) throws IOException{			
+	public synchronized <T> void getAll(Content.Filter<T> filter, List<Entry<T>> entries) throws IOException{			
 		updateContents();
 		
 		// It would be nice to further optimise this loop. The key issue is that,
@@ -197,7 +197,7 @@ public abstract class AbstractFolder implements Path.Folder {
 	}
 	
 	@Override
-	public <T> void getAll(Content.Filter<T> filter, Set<Path.ID> entries) throws IOException{			
+	public synchronized <T> void getAll(Content.Filter<T> filter, Set<Path.ID> entries) throws IOException{			
 		updateContents();
 		
 		// It would be nice to further optimise this loop. The key issue is that,
@@ -221,12 +221,12 @@ public abstract class AbstractFolder implements Path.Folder {
 	}		
 	
 	@Override
-	public void refresh() {
+	public synchronized void refresh() {
 		contents = null;
 	}
 	
 	@Override
-	public void flush() throws IOException {
+	public synchronized void flush() throws IOException {
 		if(contents != null) {
 			for(int i=0;i!=nentries;++i) {
 				contents[i].flush();
@@ -234,7 +234,7 @@ public abstract class AbstractFolder implements Path.Folder {
 		}
 	}
 	
-	protected Path.Folder getFolder(String name) throws IOException {
+	protected synchronized Path.Folder getFolder(String name) throws IOException {
 		updateContents();				
 		
 		ID tid = id.append(name);		
@@ -266,7 +266,7 @@ public abstract class AbstractFolder implements Path.Folder {
 	 * 
 	 * @param item
 	 */
-	protected void insert(Path.Item item) throws IOException {
+	protected synchronized void insert(Path.Item item) throws IOException {
 		if (item.id().parent() != id) {
 			throw new IllegalArgumentException(
 					"Cannot insert with incorrect Path.Item (" + item.id() + ") into AbstractFolder (" + id + ")");
@@ -72,10 +72,22 @@ public class WycMain {
 			new OptArg("verbose",
 					"Print detailed information on what the compiler is doing"),
 			new OptArg("brief", "Enable brief reporting of error messages"),
+			new OptArg("profile-memory",
+					"Report memory allocated and retained by each stage (with -verbose)"),
+			new OptArg("threads", OptArg.INT,
+					"Specify number of threads for applying pipeline stages"),
+			new OptArg("type-cache", OptArg.INT,
+					"Specify number of subtype results cached (0 disables caching)"),
 			new OptArg("verify",
 					"Enable detailed verification checking"),
 			new OptArg("smt-verify",
 					"Enable detailed verification checking using an external SMT solver"),
+			new OptArg("smt-threads", OptArg.INT,
+					"Specify number of external SMT solvers to run at once"),
+			new OptArg("verify-merge",
+					"Join branches at meet points when generating verification conditions (experimental)"),
+			new OptArg("verify-cache", OptArg.FILE,
+					"Cache verification outcomes between builds in the given file"),
 			new OptArg("whileypath", "wp", OptArg.FILELIST,
 					"Specify where to find whiley (binary) files",
 					new ArrayList<String>()),
@@ -257,8 +269,20 @@ public class WycMain {
 		boolean verbose = values.containsKey("verbose");
 				
 		builder.setVerbose(verbose);
+		builder.setProfileMemory(values.containsKey("profile-memory"));
+		if (values.containsKey("threads")) {
+			builder.setThreads((Integer) values.get("threads"));
+		}
+		if (values.containsKey("type-cache")) {
+			builder.setTypeCacheCapacity((Integer) values.get("type-cache"));
+		}
 		builder.setVerification(values.containsKey("verify"));
 		builder.setSmtVerification(values.containsKey("smt-verify"));
+		if (values.containsKey("smt-threads")) {
+			builder.setSmtThreads((Integer) values.get("smt-threads"));
+		}
+		builder.setMergeBranches(values.containsKey("verify-merge"));
+		builder.setVerificationCache((File) values.get("verify-cache"));
 
 		ArrayList<Pipeline.Modifier> pipelineModifiers = (ArrayList) values
 				.get("pipeline");
@@ -122,6 +122,35 @@ public class FlowTypeChecker {
 	 */
 	private final HashMap<NameID, Constant> constantCache = new HashMap<NameID, Constant>();
 
+	/**
+	 * The type cache contains a cache of fully expanded named types, keyed by
+	 * their name and whether or not they were expanded as unconstrained types.
+	 * An expansion is only cached if it is complete in itself (i.e. it does not
+	 * refer back to some enclosing type which was being expanded at the time).
+	 */
+	private final HashMap<Pair<NameID, Boolean>, Type> typeCache = new HashMap<Pair<NameID, Boolean>, Type>();
+
+	/**
+	 * The nominal type cache contains a cache of the types given to named
+	 * types by their declarations, where any names they refer to are not
+	 * expanded. This is used to expand a named type by one level.
+	 */
+	private final HashMap<NameID, Type> nominalTypeCache = new HashMap<NameID, Type>();
+
+	/**
+	 * The candidate cache contains the declared types of those functions and
+	 * methods with a given name, keyed by that name and the number of
+	 * parameters they must accept (or -1, for any number).
+	 */
+	private final HashMap<Pair<NameID, Integer>, List<Pair<NameID, Nominal.FunctionOrMethod>>> candidateCache = new HashMap<Pair<NameID, Integer>, List<Pair<NameID, Nominal.FunctionOrMethod>>>();
+
+	/**
+	 * The invocation cache contains the function or method previously chosen
+	 * for a given invocation. Invocations which resolve to an error are not
+	 * cached.
+	 */
+	private final HashMap<Invocation, Pair<NameID, Nominal.FunctionOrMethod>> invocationCache = new HashMap<Invocation, Pair<NameID, Nominal.FunctionOrMethod>>();
+
 	public FlowTypeChecker(WhileyBuilder builder) {
 		this.builder = builder;
 	}
@@ -2497,6 +2526,13 @@ public class FlowTypeChecker {
 			List<Nominal> parameters, Context context) throws IOException,
 			ResolveError {
 
+		// First, check whether this invocation has been seen before
+		Invocation key = new Invocation(nid, parameters, null, context);
+		Pair<NameID, Nominal.FunctionOrMethod> p = invocationCache.get(key);
+		if (p != null) {
+			return p.second();
+		}
+
 		// Thet set of candidate names and types for this function or method.
 		HashSet<Pair<NameID, Nominal.FunctionOrMethod>> candidates = new HashSet<Pair<NameID, Nominal.FunctionOrMethod>>();
 
@@ -2506,8 +2542,10 @@ public class FlowTypeChecker {
 
 		// Second, add to narrow down the list of candidates to a single choice.
 		// If this is impossible, then we have an ambiguity error.
-		return selectCandidateFunctionOrMethod(nid.name(), parameters,
-				candidates, context).second();
+		p = selectCandidateFunctionOrMethod(nid.name(), parameters,
+				candidates, context);
+		invocationCache.put(key, p);
+		return p.second();
 	}
 
 	/**
@@ -2546,9 +2584,16 @@ public class FlowTypeChecker {
 			String name, List<Nominal> parameters, Context context)
 			throws IOException,ResolveError {
 
+		List<WhileyFile.Import> imports = context.imports();
+		Invocation key = new Invocation(name, parameters, imports, context);
+		Pair<NameID, Nominal.FunctionOrMethod> p = invocationCache.get(key);
+		if (p != null) {
+			return p;
+		}
+
 		HashSet<Pair<NameID, Nominal.FunctionOrMethod>> candidates = new HashSet<Pair<NameID, Nominal.FunctionOrMethod>>();
 		// first, try to find the matching message
-		for (WhileyFile.Import imp : context.imports()) {
+		for (WhileyFile.Import imp : imports) {
 			String impName = imp.name;
 			if (impName == null || impName.equals(name) || impName.equals("*")) {
 				Trie filter = imp.filter;
@@ -2566,8 +2611,10 @@ public class FlowTypeChecker {
 			}
 		}
 
-		return selectCandidateFunctionOrMethod(name, parameters, candidates,
+		p = selectCandidateFunctionOrMethod(name, parameters, candidates,
 				context);
+		invocationCache.put(key, p);
+		return p;
 	}
 
 	private boolean paramSubtypes(Type.FunctionOrMethod f1,
@@ -2743,9 +2790,35 @@ public class FlowTypeChecker {
 			List<?> parameters,
 			Collection<Pair<NameID, Nominal.FunctionOrMethod>> candidates,
 			Context context) throws IOException {
-		Path.ID mid = nid.module();
-
 		int nparams = parameters != null ? parameters.size() : -1;
+		Pair<NameID, Integer> key = new Pair<NameID, Integer>(nid, nparams);
+		List<Pair<NameID, Nominal.FunctionOrMethod>> declared = candidateCache
+				.get(key);
+		if (declared == null) {
+			declared = new ArrayList<Pair<NameID, Nominal.FunctionOrMethod>>();
+			addDeclaredFunctionsAndMethods(nid, nparams, declared);
+			candidateCache.put(key, declared);
+		}
+		candidates.addAll(declared);
+	}
+
+	/**
+	 * Add all functions or methods declared with a given fully qualified name
+	 * and number of parameters, along with their types.
+	 * 
+	 * @param nid
+	 *            --- Fully qualified name of function being matched
+	 * @param nparams
+	 *            --- The number of parameters, or -1 if this is unknown.
+	 * @param candidates
+	 *            --- The list into which all identified candidates will be
+	 *            placed (i.e. this is an output parameter)
+	 * @throws IOException
+	 */
+	private void addDeclaredFunctionsAndMethods(NameID nid, int nparams,
+			Collection<Pair<NameID, Nominal.FunctionOrMethod>> candidates)
+			throws IOException {
+		Path.ID mid = nid.module();
 
 		WhileyFile wf = builder.getSourceFile(mid);
 		if (wf != null) {
@@ -2794,6 +2867,58 @@ public class FlowTypeChecker {
 		return r;
 	}
 
+	/**
+	 * Identifies an invocation for the purposes of caching the function or
+	 * method it resolves to. This depends upon the name being invoked, the
+	 * (raw) argument types, the imports used to find candidates (if the name is
+	 * not fully qualified) and the file containing the invocation (which
+	 * determines what is visible).
+	 */
+	private static final class Invocation {
+		private final Object name;
+		private final List<Type> parameters;
+		private final List<Pair<Trie, String>> imports;
+		private final WhileyFile file;
+
+		public Invocation(Object name, List<Nominal> parameters,
+				List<WhileyFile.Import> imports, Context context) {
+			this.name = name;
+			this.parameters = parameters != null ? stripNominal(parameters)
+					: null;
+			if (imports != null) {
+				this.imports = new ArrayList<Pair<Trie, String>>();
+				for (WhileyFile.Import imp : imports) {
+					this.imports.add(new Pair<Trie, String>(imp.filter,
+							imp.name));
+				}
+			} else {
+				this.imports = null;
+			}
+			this.file = context.file();
+		}
+
+		public boolean equals(Object o) {
+			if (o instanceof Invocation) {
+				Invocation i = (Invocation) o;
+				return name.equals(i.name)
+						&& file == i.file
+						&& (parameters == null ? i.parameters == null
+								: parameters.equals(i.parameters))
+						&& (imports == null ? i.imports == null : imports
+								.equals(i.imports));
+			}
+			return false;
+		}
+
+		public int hashCode() {
+			int hc = name.hashCode();
+			if (parameters != null) {
+				hc = hc ^ parameters.hashCode();
+			}
+			return hc;
+		}
+	}
+
 	// =========================================================================
 	// ResolveAsName
 	// =========================================================================
@@ -3260,6 +3385,32 @@ public class FlowTypeChecker {
 		if (root != null) {
 			return root;
 		}
+		Pair<NameID, Boolean> cacheKey = new Pair<NameID, Boolean>(key,
+				unconstrained);
+		Type type = typeCache.get(cacheKey);
+		if (type != null) {
+			int myIndex = append(type, states);
+			roots.put(key, myIndex);
+			return myIndex;
+		}
+
+		int start = states.size();
+		int myIndex = expandAsType(key, states, roots, unconstrained);
+
+		// Now, cache the expanded type if it was loaded onto states at the
+		// current point and is complete. The type may not be complete if it
+		// contains any back-links above this index (e.g. to an enclosing type
+		// which refers to this one).
+		if (myIndex == start && isComplete(states, start)) {
+			typeCache.put(cacheKey, extract(states, start));
+		}
+
+		return myIndex;
+	}
+
+	private int expandAsType(NameID key, ArrayList<Automaton.State> states,
+			HashMap<NameID, Integer> roots, boolean unconstrained)
+			throws IOException, ResolveError {
 
 		// check whether this type is external or not
 		WhileyFile wf = builder.getSourceFile(key.module());
@@ -3324,12 +3475,38 @@ public class FlowTypeChecker {
 		} else {
 			return resolveAsType(type, td, states, roots, false, unconstrained);
 		}
+	}
 
-		// TODO: performance can be improved here, but actually assigning the
-		// constructed type into a cache of previously expanded types cache.
-		// This is challenging, in the case that the type may not be complete at
-		// this point. In particular, if it contains any back-links above this
-		// index there could be an issue.
+	/**
+	 * Check whether the states from a given index onwards refer only to each
+	 * other.
+	 */
+	private static boolean isComplete(ArrayList<Automaton.State> states,
+			int start) {
+		for (int i = start; i != states.size(); ++i) {
+			for (int child : states.get(i).children) {
+				if (child < start) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Construct the type made up of the states from a given index onwards,
+	 * whose root is the state at that index.
+	 */
+	private static Type extract(ArrayList<Automaton.State> states, int start) {
+		int[] rmap = new int[states.size()];
+		for (int i = start; i != rmap.length; ++i) {
+			rmap[i] = i - start;
+		}
+		Automaton.State[] nstates = new Automaton.State[rmap.length - start];
+		for (int i = start; i != rmap.length; ++i) {
+			nstates[i - start] = Automata.remap(states.get(i), rmap);
+		}
+		return Type.construct(new Automaton(nstates));
 	}
 
 	private int resolveAsType(SyntacticType.Primitive t, Context context,
@@ -4010,27 +4187,30 @@ public class FlowTypeChecker {
 		if (type instanceof Type.Nominal) {
 			Type.Nominal nt = (Type.Nominal) type;
 			NameID nid = nt.name();
-			Path.ID mid = nid.module();
-
-			WhileyFile wf = builder.getSourceFile(mid);
-			Type r = null;
+			Type r = nominalTypeCache.get(nid);
 
-			if (wf != null) {
-				WhileyFile.Declaration decl = wf.declaration(nid.name());
-				if (decl instanceof WhileyFile.Type) {
-					WhileyFile.Type td = (WhileyFile.Type) decl;
-					r = resolveAsType(td.pattern.toSyntacticType(), td)
-							.nominal();
+			if (r == null) {
+				Path.ID mid = nid.module();
+				WhileyFile wf = builder.getSourceFile(mid);
+
+				if (wf != null) {
+					WhileyFile.Declaration decl = wf.declaration(nid.name());
+					if (decl instanceof WhileyFile.Type) {
+						WhileyFile.Type td = (WhileyFile.Type) decl;
+						r = resolveAsType(td.pattern.toSyntacticType(), td)
+								.nominal();
+					}
+				} else {
+					WyilFile m = builder.getModule(mid);
+					WyilFile.TypeDeclaration td = m.type(nid.name());
+					if (td != null) {
+						r = td.type();
+					}
 				}
-			} else {
-				WyilFile m = builder.getModule(mid);
-				WyilFile.TypeDeclaration td = m.type(nid.name());
-				if (td != null) {
-					r = td.type();
+				if (r == null) {
+					throw new ResolveError("unable to locate " + nid);
 				}
-			}
-			if (r == null) {
-				throw new ResolveError("unable to locate " + nid);
+				nominalTypeCache.put(nid, r);
 			}
 			return expandOneLevel(r);
 		} else if (type instanceof Type.Leaf || type instanceof Type.Reference
@@ -27,6 +27,7 @@ package wyc.builder;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import wyfs.lang.Content;
 import wyfs.lang.Path;
@@ -41,6 +42,7 @@ import wycc.lang.NameID;
 import wycc.lang.Pipeline;
 import wycc.lang.Transform;
 import wycc.util.Logger;
+import wycc.util.MemoryProfiler;
 import wycc.util.Pair;
 import wycc.util.ResolveError;
 
@@ -97,13 +99,34 @@ public final class WhileyBuilder implements Builder {
 	 */
 	private final Build.Project project;
 
+	/**
+	 * The pipeline from which the stages are instantiated.
+	 */
+	private final Pipeline<WyilFile> pipeline;
+	
 	/**
 	 * The list of stages which must be applied to a Wyil file.
 	 */
 	private final List<Transform<WyilFile>> stages;
 	
+	/**
+	 * The number of threads used to apply the pipeline stages. When this is
+	 * greater than one, each stage is applied to every file concurrently, and
+	 * the next stage begins only once the current stage has completed on all
+	 * files. Since transforms are not thread-safe, every file receives its own
+	 * instance of the pipeline.
+	 */
+	private int threads = 1;
+	
 	private Logger logger;
 	
+	/**
+	 * The memory profiler used to report the memory consumed by each pipeline
+	 * stage. This is null unless profiling has been enabled, in which case the
+	 * figures reported are not affected by the timing of garbage collections.
+	 */
+	private MemoryProfiler profiler;
+	
 	/**
 	 * A map of the source files currently being compiled.
 	 */
@@ -115,9 +138,10 @@ public final class WhileyBuilder implements Builder {
 	 * time. For example, the statement <code>import whiley.lang.*</code>
 	 * corresponds to the triple <code>("whiley.lang",*,null)</code>.
 	 */
-	private final HashMap<Trie,ArrayList<Path.ID>> importCache = new HashMap();	
+	private final ConcurrentHashMap<Trie,ArrayList<Path.ID>> importCache = new ConcurrentHashMap<Trie,ArrayList<Path.ID>>();	
 		
 	public WhileyBuilder(Build.Project namespace, Pipeline<WyilFile> pipeline) {
+		this.pipeline = pipeline;
 		this.stages = pipeline.instantiate(this);
 		this.logger = Logger.NULL;
 		this.project = namespace;
@@ -131,6 +155,18 @@ public final class WhileyBuilder implements Builder {
 		this.logger = logger;
 	}
 	
+	public void setMemoryProfiler(MemoryProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("invalid number of threads: "
+					+ threads);
+		}
+		this.threads = threads;
+	}
+	
 	public Set<Path.Entry<?>> build(Collection<Pair<Path.Entry<?>, Path.Root>> delta)
 			throws IOException {
 		Runtime runtime = Runtime.getRuntime();
@@ -180,7 +216,8 @@ public final class WhileyBuilder implements Builder {
 		FlowTypeChecker flowChecker = new FlowTypeChecker(this);
 		flowChecker.propagate(files);
 				
-		logger.logTimedMessage("Typed " + count + " source file(s).",
+		logger.logTimedMessage("Typed " + count + " source file(s) (type caches: "
+				+ Type.cacheStatistics() + ").",
 				System.currentTimeMillis() - tmpTime, tmpMemory - runtime.freeMemory());
 		
 		// ========================================================================
@@ -215,15 +252,19 @@ public final class WhileyBuilder implements Builder {
 		// Pipeline Stages
 		// ========================================================================
 				
-		for (Transform stage : stages) {
-			for (Pair<Path.Entry<?>, Path.Root> p : delta) {
-				Path.Entry<?> src = p.first();
-				Path.Root dst = p.second();
-				Path.Entry<WyilFile> wf = dst.get(src.id(),
-						WyilFile.ContentType);
-				process(wf.read(), stage);
+		if (threads == 1) {
+			for (Transform stage : stages) {
+				for (Pair<Path.Entry<?>, Path.Root> p : delta) {
+					Path.Entry<?> src = p.first();
+					Path.Root dst = p.second();
+					Path.Entry<WyilFile> wf = dst.get(src.id(),
+							WyilFile.ContentType);
+					process(wf.read(), stage);
+				}
 			}
-		}	
+		} else {
+			processInParallel(delta);
+		}
 	
 		// ========================================================================
 		// Done
@@ -309,7 +350,11 @@ public final class WhileyBuilder implements Builder {
 						matches.add(mid);
 					}
 				}									
-				importCache.put(key, matches);
+				ArrayList<Path.ID> existing = importCache.putIfAbsent(key, matches);
+				if (existing != null) {
+					// another thread computed the same query first
+					matches = existing;
+				}
 			}
 			return matches;
 		} catch(Exception e) {
@@ -350,30 +395,139 @@ public final class WhileyBuilder implements Builder {
 	// Private Implementation
 	// ======================================================================
 
+	/**
+	 * Apply the pipeline stages to a number of files using a pool of worker
+	 * threads. Each stage is applied to every file in parallel, using a
+	 * separate instance of the pipeline for each file. However, a stage must
+	 * complete on all files before the next stage begins. This matters because
+	 * some stages read other modules (e.g. <code>RuntimeAssertions</code>
+	 * imports the preconditions of functions being called), and these must
+	 * see the same module contents as when the stages are applied
+	 * sequentially. Failures are examined in the order the files were given,
+	 * so that the first file to fail is the one reported.
+	 * 
+	 * @param delta
+	 * @throws IOException
+	 */
+	private void processInParallel(
+			Collection<Pair<Path.Entry<?>, Path.Root>> delta)
+			throws IOException {
+		ArrayList<WyilFile> modules = new ArrayList<WyilFile>();
+		ArrayList<List<Transform<WyilFile>>> pipelines = new ArrayList<List<Transform<WyilFile>>>();
+		for (Pair<Path.Entry<?>, Path.Root> p : delta) {
+			Path.Entry<?> src = p.first();
+			Path.Root dst = p.second();
+			Path.Entry<WyilFile> wf = dst.get(src.id(), WyilFile.ContentType);
+			modules.add(wf.read());
+			pipelines.add(pipeline.instantiate(this));
+		}
+		
+		ExecutorService pool = Executors.newFixedThreadPool(threads,
+				new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "wyil-pipeline");
+						t.setDaemon(true);
+						return t;
+					}
+				});
+		try {
+			for (int i = 0; i != stages.size(); ++i) {
+				ArrayList<Future<Void>> futures = new ArrayList<Future<Void>>();
+				for (int j = 0; j != modules.size(); ++j) {
+					final WyilFile module = modules.get(j);
+					final Transform<WyilFile> stage = pipelines.get(j).get(i);
+					futures.add(pool.submit(new Callable<Void>() {
+						public Void call() throws IOException {
+							process(module, stage);
+							return null;
+						}
+					}));
+				}
+				// Wait for this stage to complete on every file before
+				// starting the next.
+				await(futures);
+			}
+		} finally {
+			// Abandon any outstanding files (e.g. after a failure)
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Wait for a number of pipeline tasks to complete. If any task failed,
+	 * then the failure of the earliest such task is rethrown.
+	 * 
+	 * @param futures
+	 * @throws IOException
+	 */
+	private static void await(List<Future<Void>> futures) throws IOException {
+		for (Future<Void> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof IOException) {
+					throw (IOException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"interrupted during pipeline stages");
+			}
+		}
+	}
+	
 	private void process(WyilFile module, Transform stage) throws IOException {
 		Runtime runtime = Runtime.getRuntime();
 		long start = System.currentTimeMillis();		
 		long memory = runtime.freeMemory();
+		MemoryProfiler.Sample sample = profiler == null ? null : profiler.sample();
 		String name = name(stage.getClass().getSimpleName());		
 		
 		try {						
 			stage.apply(module);			
-			logger.logTimedMessage("[" + module.filename() + "] applied "
-					+ name, System.currentTimeMillis() - start, memory - runtime.freeMemory());
-			System.gc();
+			log("[" + module.filename() + "] applied " + name, start, memory,
+					sample);
 		} catch (RuntimeException ex) {
-			logger.logTimedMessage("[" + module.filename() + "] failed on "
-					+ name + " (" + ex.getMessage() + ")",
-					System.currentTimeMillis() - start, memory - runtime.freeMemory());
+			log("[" + module.filename() + "] failed on " + name + " ("
+					+ ex.getMessage() + ")", start, memory, sample);
 			throw ex;
 		} catch (IOException ex) {
-			logger.logTimedMessage("[" + module.filename() + "] failed on "
-					+ name + " (" + ex.getMessage() + ")",
-					System.currentTimeMillis() - start, memory - runtime.freeMemory());
+			log("[" + module.filename() + "] failed on " + name + " ("
+					+ ex.getMessage() + ")", start, memory, sample);
 			throw ex;
 		}
 	}
 	
+	/**
+	 * Log the time and memory taken by a pipeline stage. When memory
+	 * profiling is enabled, the memory reported is that allocated by the
+	 * stage, rather than the (unreliable) change in free memory.
+	 * 
+	 * @param msg
+	 * @param start --- time at which the stage started
+	 * @param memory --- free memory when the stage started
+	 * @param sample --- memory profile when the stage started (or null)
+	 */
+	private void log(String msg, long start, long memory,
+			MemoryProfiler.Sample sample) {
+		long time = System.currentTimeMillis() - start;
+		if (sample == null) {
+			logger.logTimedMessage(msg, time, memory
+					- Runtime.getRuntime().freeMemory());
+		} else {
+			MemoryProfiler.Sample end = profiler.sample();
+			logger.logTimedMessage(
+					msg + " (" + MemoryProfiler.describe(sample, end) + ")",
+					time, end.allocated - sample.allocated);
+		}
+	}
+	
 	private static String name(String camelCase) {
 		boolean firstTime = true;
 		String r = "";
@@ -64,7 +64,7 @@ public class AllInvalidTests {
 	 * The path to the Whiley RunTime (WyRT) library. This contains the Whiley
 	 * standard library, which includes various helper functions, etc.
 	 */
-	private static String WYRT_PATH;
+	protected static String WYRT_PATH;
 
 	static {
 
@@ -97,11 +97,7 @@ public class AllInvalidTests {
 		// this will need to turn on verification at some point.
 		String filename = WHILEY_SRC_DIR + File.separatorChar + name + ".whiley";
 
-		Pair<Integer,String> p = TestUtils.compile(
-				"-wd", WHILEY_SRC_DIR,      // location of source directory 
-				"-wp", WYRT_PATH,           // add wyrt to whileypath
-				"-verify",                  // enable verification
-				filename);                      // name of test to compile
+		Pair<Integer,String> p = compile(filename);
 
 		int r = p.first();
 		String output = p.second();
@@ -129,6 +125,22 @@ public class AllInvalidTests {
 	 		TestUtils.compare(output,sampleOutputFile);	 		
 		}		
 	}
+
+	/**
+	 * Compile a test case with verification enabled, returning the exit code
+	 * and output of the compiler.
+	 * 
+	 * @param filename
+	 *            Name of the whiley source file to compile.
+	 * @return
+	 */
+	protected Pair<Integer,String> compile(String filename) {
+		return TestUtils.compile(
+				"-wd", WHILEY_SRC_DIR,      // location of source directory 
+				"-wp", WYRT_PATH,           // add wyrt to whileypath
+				"-verify",                  // enable verification
+				filename);                      // name of test to compile
+	}
 			
 	// ======================================================================
 	// Tests
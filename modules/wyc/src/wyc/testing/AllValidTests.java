@@ -985,6 +985,11 @@ public class AllValidTests {
 		runTest("For_Valid_18");
 	}
 
+	@Test
+	public void For_Valid_19() {
+		runTest("For_Valid_19");
+	}
+
 	@Test
 	public void For_Valid_2() {
 		runTest("For_Valid_2");
@@ -1284,6 +1289,11 @@ public class AllValidTests {
 		runTest("IntOp_Valid_1");
 	}
 
+	@Test
+	public void IntOp_Valid_2() {
+		runTest("IntOp_Valid_2");
+	}
+
 	@Ignore("Issue ???") @Test
 	public void Intersection_Valid_1() {
 		runTest("Intersection_Valid_1");
@@ -991,6 +991,11 @@ public class AllValidVerificationTests {
 		runTest("For_Valid_18");
 	}
 
+	@Test
+	public void For_Valid_19() {
+		runTest("For_Valid_19");
+	}
+
 	@Test
 	public void For_Valid_2() {
 		runTest("For_Valid_2");
@@ -0,0 +1,464 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyc.testing;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.*;
+
+import wybs.util.StdBuildRule;
+import wybs.util.StdProject;
+import wyc.WycMain;
+import wyc.builder.FlowTypeChecker;
+import wyc.builder.WhileyBuilder;
+import wyc.lang.Nominal;
+import wyc.lang.SyntacticType;
+import wyc.lang.WhileyFile;
+import wyc.util.WycBuildTask;
+import wycc.lang.NameID;
+import wycc.lang.SyntaxError;
+import wycc.util.Pair;
+import wycc.util.ResolveError;
+import wyfs.util.Trie;
+
+/**
+ * Check that the caches kept by the <code>FlowTypeChecker</code> do not change
+ * the outcome of resolving a name. Each lookup is made against a checker whose
+ * caches have already been filled by earlier lookups, and compared with the
+ * same lookup made against a fresh checker. The test files include recursive
+ * types, whose expansions may be incomplete when first encountered, and
+ * overloaded functions, some of which are ambiguous.
+ */
+public class FlowTypeCheckerTests {
+
+	/**
+	 * The directory where compiler libraries are stored. This is necessary
+	 * since it will contain the Whiley Runtime.
+	 */
+	public final static String WYC_LIB_DIR = "../../lib/".replace('/', File.separatorChar);
+
+	/**
+	 * The path to the Whiley RunTime (WyRT) library. This contains the Whiley
+	 * standard library, which includes various helper functions, etc.
+	 */
+	private static String WYRT_PATH;
+
+	static {
+		File file = new File(WYC_LIB_DIR);
+		for(String f : file.list()) {
+			if(f.startsWith("wyrt-v")) {
+				WYRT_PATH = WYC_LIB_DIR + f;
+			}
+		}
+	}
+
+	/**
+	 * The named types declared in the <code>Types</code> module which are
+	 * visible from other modules. Whichever of a group of recursive types is
+	 * expanded first expands the others within its own expansion, where they
+	 * are incomplete. <code>Secret</code> is protected, so it is only expanded
+	 * within the <code>Types</code> module.
+	 */
+	private static final String[] TYPES = { "LinkedList", "Link", "Expr",
+			"Add", "Neg", "Tree", "Leaf", "nat", "Secret" };
+
+	private File srcDir;
+
+	private WhileyBuilder builder;
+
+	@Before
+	public void setUp() throws Exception {
+		srcDir = File.createTempFile("wyc", "types");
+		srcDir.delete();
+		srcDir.mkdir();
+
+		write("Types",
+				"public type nat is (int x) where x >= 0\n\n"
+				+ "public type LinkedList is null | Link\n"
+				+ "public type Link is {int data, LinkedList next}\n\n"
+				+ "public type Expr is int | Add | Neg\n"
+				+ "public type Add is {Expr lhs, Expr rhs}\n"
+				+ "public type Neg is {Expr operand}\n\n"
+				+ "public type Tree is Leaf | {Tree left, Tree right}\n"
+				+ "public type Leaf is {nat item}\n\n"
+				+ "protected type Secret is (int x) where x > 0\n"
+				+ "private type Hidden is (int x) where x < 0\n\n"
+				+ "public function m(int|null x) => int:\n"
+				+ "    return 0\n\n"
+				+ "public function m(int|real x) => int:\n"
+				+ "    return 1\n\n"
+				+ "public function h(int x) => int:\n"
+				+ "    return x\n\n"
+				+ "public function h(real x) => int:\n"
+				+ "    return 0\n\n"
+				+ "public function h([int] xs) => int:\n"
+				+ "    return |xs|\n");
+
+		write("Other",
+				"import * from Types\n\n"
+				+ "public function q(int x) => int:\n"
+				+ "    return h(x)\n");
+
+		write("Lone",
+				"public function r(int x) => int:\n"
+				+ "    return x\n");
+
+		Task task = new Task();
+		task.setWhileyDir(srcDir);
+		task.setBootPath(Arrays.asList(new File(WYRT_PATH)));
+		task.build(Arrays.asList(new File(srcDir, "Types.whiley"), new File(
+				srcDir, "Other.whiley"), new File(srcDir, "Lone.whiley")));
+		builder = task.builder;
+	}
+
+	@After
+	public void tearDown() {
+		for (File f : srcDir.listFiles()) {
+			f.delete();
+		}
+		srcDir.delete();
+	}
+
+	// ======================================================================
+	// Tests
+	// ======================================================================
+
+	/**
+	 * Check that resolving each named type gives the same result whether or
+	 * not the caches have been filled, from within the declaring module and
+	 * from another module.
+	 */
+	@Test
+	public void Cached_Types_Match_Uncached() throws IOException {
+		List<String> names = new ArrayList<String>(Arrays.asList(TYPES));
+		for (WhileyFile.Context context : contexts()) {
+			FlowTypeChecker cached = new FlowTypeChecker(builder);
+			for (int i = 0; i != 2; ++i) {
+				for (String name : names) {
+					checkType(cached, name, context);
+				}
+				// Expand the types in the opposite order the second time
+				// around, so each group of recursive types is entered from
+				// the other end.
+				Collections.reverse(names);
+			}
+		}
+	}
+
+	/**
+	 * Check that resolving a type which is mutually recursive with another
+	 * gives the same result, regardless of which is expanded first.
+	 */
+	@Test
+	public void Recursive_Types_Either_Order() throws IOException {
+		WhileyFile.Context context = contexts().get(0);
+		for (String first : new String[] { "LinkedList", "Link" }) {
+			FlowTypeChecker cached = new FlowTypeChecker(builder);
+			cached.resolveAsType(type(first), context);
+			checkType(cached, "LinkedList", context);
+			checkType(cached, "Link", context);
+		}
+	}
+
+	/**
+	 * Check that resolving an overloaded function gives the same result
+	 * whether or not the caches have been filled.
+	 */
+	@Test
+	public void Cached_Invocations_Match_Uncached() throws IOException,
+			ResolveError {
+		List<Nominal> nat = Arrays.asList(resolve("nat"));
+		List<Nominal> list = Arrays.<Nominal> asList(Nominal.List(
+				Nominal.T_INT, false));
+		List<Nominal> real = Arrays.asList(Nominal.T_REAL);
+		List<Nominal> none = Arrays.asList(Nominal.T_NULL);
+		List<Nominal> integer = Arrays.asList(Nominal.T_INT);
+
+		for (WhileyFile.Context context : contexts()) {
+			FlowTypeChecker cached = new FlowTypeChecker(builder);
+			for (int i = 0; i != 2; ++i) {
+				checkInvocation(cached, "m", none, context);
+				checkInvocation(cached, "m", real, context);
+				checkInvocation(cached, "h", nat, context);
+				checkInvocation(cached, "h", integer, context);
+				checkInvocation(cached, "h", real, context);
+				checkInvocation(cached, "h", list, context);
+			}
+		}
+	}
+
+	/**
+	 * Check that an ambiguous invocation is reported as such, listing every
+	 * candidate, even when its candidates have already been cached by an
+	 * invocation which is not ambiguous.
+	 */
+	@Test
+	public void Ambiguous_Invocation() throws IOException, ResolveError {
+		List<Nominal> integer = Arrays.asList(Nominal.T_INT);
+		List<Nominal> none = Arrays.asList(Nominal.T_NULL);
+		for (WhileyFile.Context context : contexts()) {
+			FlowTypeChecker cached = new FlowTypeChecker(builder);
+			cached.resolveAsFunctionOrMethod("m", none, context);
+			checkAmbiguous(cached, "m", integer, context,
+					"function(int|null)", "function(int|real)");
+		}
+	}
+
+	/**
+	 * Check the ambiguous invocations of <code>ConstrainedInt_Invalid_11</code>
+	 * and <code>Function_Invalid_10</code>, where the candidates differ only in
+	 * their constraints. Each is preceded by an invocation of the same
+	 * function which is not ambiguous, so its candidates are already cached.
+	 * The order in which the candidates are listed is not significant.
+	 */
+	@Test
+	public void Ambiguous_Constrained_Invocation() throws IOException {
+		write("ConstrainedInt_Invalid_11",
+				"type frf1nat is int x where x >= 0\n\n"
+				+ "function f(frf1nat y) => void:\n"
+				+ "    debug \"F(NAT)\"\n\n"
+				+ "function f(int x) => void:\n"
+				+ "    debug \"F(INT)\"\n\n"
+				+ "function f([int] xs) => void:\n"
+				+ "    debug \"F(LIST)\"\n\n"
+				+ "function g() => void:\n"
+				+ "    f([1])\n\n"
+				+ "method main(System.Console sys) => void:\n"
+				+ "    f(-1)\n"
+				+ "    f(1)\n");
+		write("Function_Invalid_10",
+				"type anat is (int x) where x >= 0\n\n"
+				+ "type bnat is (int x) where (2 * x) >= x\n\n"
+				+ "function f(anat x) => int:\n"
+				+ "    return x\n\n"
+				+ "function f(bnat x) => int:\n"
+				+ "    return x\n\n"
+				+ "function f([int] xs) => int:\n"
+				+ "    return |xs|\n\n"
+				+ "function g() => int:\n"
+				+ "    return f([1])\n\n"
+				+ "method main(System.Console sys) => void:\n"
+				+ "    debug Any.toString(f(1))\n");
+
+		checkAmbiguous("ConstrainedInt_Invalid_11", 16,
+				"f : function(int) => void",
+				"f : function(ConstrainedInt_Invalid_11:frf1nat) => void");
+		checkAmbiguous("Function_Invalid_10", 18,
+				"f : function(Function_Invalid_10:anat) => int",
+				"f : function(Function_Invalid_10:bnat) => int");
+	}
+
+	/**
+	 * Check that a type lookup which fails is not cached. A private type which
+	 * cannot be resolved from one module is repeatedly looked up from there,
+	 * and in between from the module which declares it.
+	 */
+	@Test
+	public void Failed_Type_Lookup_Not_Cached() throws IOException {
+		WhileyFile.Context types = contexts().get(0);
+		WhileyFile.Context other = contexts().get(1);
+
+		FlowTypeChecker cached = new FlowTypeChecker(builder);
+		for (int i = 0; i != 2; ++i) {
+			checkUnresolved(cached, "Hidden", other);
+			checkType(cached, "Hidden", types);
+		}
+	}
+
+	/**
+	 * Check that an invocation which fails to resolve is not cached. Each
+	 * failing invocation is repeated, and a function which cannot be resolved
+	 * from a module which does not import it is resolved in between from a
+	 * module which does.
+	 */
+	@Test
+	public void Failed_Invocation_Not_Cached() throws IOException,
+			ResolveError {
+		List<Nominal> integer = Arrays.asList(Nominal.T_INT);
+		WhileyFile.Context types = contexts().get(0);
+		WhileyFile.Context other = contexts().get(1);
+		WhileyFile.Context lone = context("Lone", "r");
+
+		FlowTypeChecker cached = new FlowTypeChecker(builder);
+		for (int i = 0; i != 2; ++i) {
+			checkAmbiguous(cached, "m", integer, types, "function(int|null)",
+					"function(int|real)");
+			checkUnresolved(cached, "h", integer, lone);
+			checkInvocation(cached, "h", integer, other);
+			checkUnresolved(cached, "k", integer, types);
+		}
+	}
+
+	// ======================================================================
+	// Helpers
+	// ======================================================================
+
+	/**
+	 * Build the test files, keeping hold of the builder so that checkers can
+	 * be constructed against it afterwards.
+	 */
+	private static final class Task extends WycBuildTask {
+		private WhileyBuilder builder;
+
+		@Override
+		protected void addBuildRules(StdProject project) {
+			builder = new WhileyBuilder(project, initialisePipeline());
+			project.add(new StdBuildRule(builder, whileyDir, whileyIncludes,
+					whileyExcludes, wyilDir));
+		}
+	}
+
+	/**
+	 * Return a context within the <code>Types</code> module, followed by one
+	 * within the <code>Other</code> module.
+	 */
+	private List<WhileyFile.Context> contexts() throws IOException {
+		return Arrays.asList(context("Types", "h"), context("Other", "q"));
+	}
+
+	/**
+	 * Return the declaration of the given name in the given module, which
+	 * provides a context for resolving names.
+	 */
+	private WhileyFile.Context context(String module, String name)
+			throws IOException {
+		return builder.getSourceFile(Trie.ROOT.append(module)).declaration(
+				name);
+	}
+
+	private static SyntacticType type(String name) {
+		return new SyntacticType.Nominal(Arrays.asList(name));
+	}
+
+	/**
+	 * Resolve a named type from within the <code>Types</code> module, using a
+	 * fresh checker.
+	 */
+	private Nominal resolve(String name) throws IOException {
+		return new FlowTypeChecker(builder).resolveAsType(type(name),
+				contexts().get(0));
+	}
+
+	private void checkType(FlowTypeChecker cached, String name,
+			WhileyFile.Context context) {
+		FlowTypeChecker uncached = new FlowTypeChecker(builder);
+		assertEquals(name, uncached.resolveAsType(type(name), context),
+				cached.resolveAsType(type(name), context));
+		assertEquals(name,
+				uncached.resolveAsUnconstrainedType(type(name), context),
+				cached.resolveAsUnconstrainedType(type(name), context));
+	}
+
+	private void checkInvocation(FlowTypeChecker cached, String name,
+			List<Nominal> parameters, WhileyFile.Context context)
+			throws IOException, ResolveError {
+		FlowTypeChecker uncached = new FlowTypeChecker(builder);
+		Pair<NameID, Nominal.FunctionOrMethod> expected = uncached
+				.resolveAsFunctionOrMethod(name, parameters, context);
+		Pair<NameID, Nominal.FunctionOrMethod> actual = cached
+				.resolveAsFunctionOrMethod(name, parameters, context);
+		assertEquals(name, expected.first(), actual.first());
+		assertEquals(name, expected.second(), actual.second());
+
+		Nominal.FunctionOrMethod type = cached.resolveAsFunctionOrMethod(
+				actual.first(), parameters, context);
+		assertEquals(name, expected.second(), type);
+	}
+
+	private static void checkAmbiguous(FlowTypeChecker checker, String name,
+			List<Nominal> parameters, WhileyFile.Context context,
+			String... candidates) throws IOException {
+		try {
+			checker.resolveAsFunctionOrMethod(name, parameters, context);
+			fail("ambiguous invocation of " + name + " was resolved");
+		} catch (ResolveError e) {
+			String message = e.getMessage();
+			assertTrue(message, message.contains("is ambiguous"));
+			for (String candidate : candidates) {
+				assertTrue(message, message.contains(candidate));
+			}
+		}
+	}
+
+	/**
+	 * Compile the given test file, and check that it fails because the
+	 * invocation on the given line is ambiguous between the given candidates.
+	 */
+	private void checkAmbiguous(String name, int line, String... candidates) {
+		File file = new File(srcDir, name + ".whiley");
+		Pair<Integer,String> p = TestUtils.compile(
+				"-wd", srcDir.getPath(),    // location of source directory
+				"-wp", WYRT_PATH,           // add wyrt to whileypath
+				file.getPath());            // name of test to compile
+
+		String output = p.second();
+		assertEquals(output, WycMain.SYNTAX_ERROR, (int) p.first());
+		assertTrue(output, output.startsWith(file.getPath() + ":" + line
+				+ ": unable to resolve name (f(int) is ambiguous"));
+		for (String candidate : candidates) {
+			assertTrue(output, output.contains("found: " + name + ":"
+					+ candidate));
+		}
+	}
+
+	private static void checkUnresolved(FlowTypeChecker checker, String name,
+			List<Nominal> parameters, WhileyFile.Context context)
+			throws IOException {
+		try {
+			checker.resolveAsFunctionOrMethod(name, parameters, context);
+			fail("invocation of " + name + " was resolved");
+		} catch (ResolveError e) {
+			// expected
+		} catch (SyntaxError e) {
+			// expected
+		}
+	}
+
+	private static void checkUnresolved(FlowTypeChecker checker, String name,
+			WhileyFile.Context context) {
+		try {
+			checker.resolveAsType(type(name), context);
+			fail("type " + name + " was resolved");
+		} catch (SyntaxError e) {
+			// expected
+		}
+	}
+
+	private void write(String name, String contents) throws IOException {
+		FileWriter writer = new FileWriter(new File(srcDir, name + ".whiley"));
+		try {
+			writer.write(contents);
+		} finally {
+			writer.close();
+		}
+	}
+}
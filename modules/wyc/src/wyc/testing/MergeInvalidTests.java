@@ -0,0 +1,49 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyc.testing;
+
+import wycc.util.Pair;
+
+/**
+ * Run through all invalid test cases with verification enabled and branches
+ * joined at their meet points (i.e. <code>-verify-merge</code>). Joining
+ * branches should not change which errors are reported, so the expected output
+ * of every test is the same as for <code>AllInvalidTests</code>. The only
+ * exception is <code>Constant_Invalid_1</code>, whose output is
+ * nondeterministic and which is ignored there as well.
+ */
+public class MergeInvalidTests extends AllInvalidTests {
+
+	@Override
+	protected Pair<Integer,String> compile(String filename) {
+		return TestUtils.compile(
+				"-wd", WHILEY_SRC_DIR,      // location of source directory
+				"-wp", WYRT_PATH,           // add wyrt to whileypath
+				"-verify",                  // enable verification
+				"-verify-merge",            // join branches at meet points
+				filename);                  // name of test to compile
+	}
+}
@@ -0,0 +1,256 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyc.testing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.*;
+
+import wyc.WycMain;
+import wycc.util.Pair;
+
+/**
+ * Run through a selection of valid test cases with verification enabled and
+ * branches joined at their meet points (i.e. <code>-verify-merge</code>).
+ * Since joining branches changes the shape of the generated verification
+ * conditions, these tests check that it does not prevent them from being
+ * discharged. The selection focuses on tests with conditional control-flow,
+ * since these are where branches are actually joined.
+ */
+public class MergeVerificationTests {
+
+	/**
+	 * The directory containing the source files for each test case. Every test
+	 * corresponds to a file in this directory.
+	 */
+	public final static String WHILEY_SRC_DIR = AllValidVerificationTests.WHILEY_SRC_DIR;
+
+	/**
+	 * The directory where compiler libraries are stored. This is necessary
+	 * since it will contain the Whiley Runtime.
+	 */
+	public final static String WYC_LIB_DIR = AllValidVerificationTests.WYC_LIB_DIR;
+
+	/**
+	 * The path to the Whiley RunTime (WyRT) library. This contains the Whiley
+	 * standard library, which includes various helper functions, etc.
+	 */
+	private static String WYRT_PATH;
+
+	static {
+		File file = new File(WYC_LIB_DIR);
+		for(String f : file.list()) {
+			if(f.startsWith("wyrt-v")) {
+				WYRT_PATH = WYC_LIB_DIR + f;
+			}
+		}
+	}
+
+	//
+	// Test Harness
+	//
+
+	/**
+	 * Compile a valid test case with verification enabled and branches joined
+	 * at their meet points. The expectation is that compilation should
+	 * succeed.
+	 *
+	 * @param name
+	 *            Name of the test to run. This must correspond to a whiley
+	 *            source file in the <code>WHILEY_SRC_DIR</code> directory.
+	 */
+	protected void runTest(String name) {
+		name = WHILEY_SRC_DIR + File.separatorChar + name + ".whiley";
+
+		Pair<Integer,String> p = TestUtils.compile(
+				"-wd", WHILEY_SRC_DIR,      // location of source directory
+				"-wp", WYRT_PATH,           // add wyrt to whileypath
+				"-verify",                  // enable verification
+				"-verify-merge",            // join branches at meet points
+				name);                      // name of test to compile
+
+		int r = p.first();
+
+		if (r == WycMain.INTERNAL_FAILURE) {
+			fail("Test caused internal failure!");
+		} else if (r != WycMain.SUCCESS) {
+			fail("Test failed to compile!");
+		}
+	}
+
+	/**
+	 * Generate a function made up from a chain of sequential conditionals of
+	 * the given length, and return the size of the verification condition
+	 * generated for it with branches joined at their meet points. Only the
+	 * size of the condition is of interest here, so it does not matter whether
+	 * or not it is discharged.
+	 *
+	 * @param dir
+	 *            Directory in which to write the source and verification
+	 *            condition files.
+	 * @param n
+	 *            Number of conditionals in the chain.
+	 * @return
+	 */
+	private static long conditionSize(File dir, int n) throws IOException {
+		String name = "Ifs_" + n;
+		File source = new File(dir, name + ".whiley");
+		FileWriter fw = new FileWriter(source);
+		try {
+			fw.write("function f(int x) => (int r)\n");
+			fw.write("ensures r >= 0:\n");
+			fw.write("    int y = 0\n");
+			for (int i = 0; i != n; ++i) {
+				fw.write("    if x > " + i + ":\n");
+				fw.write("        y = y + 1\n");
+			}
+			fw.write("    return y\n");
+		} finally {
+			fw.close();
+		}
+
+		Pair<Integer,String> p = TestUtils.compile(
+				"-wd", dir.getPath(),       // location of source directory
+				"-wp", WYRT_PATH,           // add wyrt to whileypath
+				"-verify",                  // enable verification
+				"-verify-merge",            // join branches at meet points
+				"-wyaldir", dir.getPath(),  // keep verification conditions
+				source.getPath());          // name of test to compile
+
+		if (p.first() == WycMain.INTERNAL_FAILURE) {
+			fail("Test caused internal failure!");
+		}
+		File wyal = new File(dir, name + ".wyal");
+		assertTrue("no verification condition generated", wyal.exists());
+		return wyal.length();
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	//
+	// Tests
+	//
+
+	/**
+	 * Check that the verification condition generated for a chain of
+	 * sequential conditionals grows linearly with its length. Without joining
+	 * branches, each conditional doubles the number of paths through the
+	 * function and, hence, the condition grows exponentially.
+	 */
+	@Test
+	public void Sequential_Ifs_Growth() throws IOException {
+		File dir = File.createTempFile("merge", "");
+		dir.delete();
+		dir.mkdir();
+		try {
+			long s4 = conditionSize(dir, 4);
+			long s8 = conditionSize(dir, 8);
+			long s16 = conditionSize(dir, 16);
+			assertTrue("condition grew from " + s4 + " to " + s8, s8 < 3 * s4);
+			assertTrue("condition grew from " + s8 + " to " + s16, s16 < 3 * s8);
+		} finally {
+			delete(dir);
+		}
+	}
+
+
+	@Test
+	public void BoolIfElse_Valid_1() {
+		runTest("BoolIfElse_Valid_1");
+	}
+
+	@Test
+	public void BoolIfElse_Valid_2() {
+		runTest("BoolIfElse_Valid_2");
+	}
+
+	@Test
+	public void ConstrainedInt_Valid_12() {
+		runTest("ConstrainedInt_Valid_12");
+	}
+
+	@Test
+	public void Ensures_Valid_2() {
+		runTest("Ensures_Valid_2");
+	}
+
+	@Test
+	public void IfElse_Valid_2() {
+		runTest("IfElse_Valid_2");
+	}
+
+	@Test
+	public void IfElse_Valid_3() {
+		runTest("IfElse_Valid_3");
+	}
+
+	@Test
+	public void Requires_Valid_1() {
+		runTest("Requires_Valid_1");
+	}
+
+	@Test
+	public void Switch_Valid_10() {
+		runTest("Switch_Valid_10");
+	}
+
+	@Test
+	public void Switch_Valid_11() {
+		runTest("Switch_Valid_11");
+	}
+
+	@Test
+	public void While_Valid_10() {
+		runTest("While_Valid_10");
+	}
+
+	@Test
+	public void While_Valid_14() {
+		runTest("While_Valid_14");
+	}
+
+	@Test
+	public void For_Valid_10() {
+		runTest("For_Valid_10");
+	}
+
+	@Ignore("timeout") @Test
+	public void While_Valid_35() {
+		runTest("While_Valid_35");
+	}
+}
@@ -0,0 +1,192 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyc.testing;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+
+import org.junit.*;
+
+import wyc.WycMain;
+import wycc.util.Pair;
+
+/**
+ * Check that applying the pipeline stages on multiple threads produces exactly
+ * the same WyIL files as applying them sequentially. The test files make
+ * calls across modules to functions with preconditions, since these are
+ * imported into the caller by the runtime assertions stage whilst the callee
+ * is itself being transformed.
+ */
+public class ParallelBuildTests {
+
+	/**
+	 * The directory where compiler libraries are stored. This is necessary
+	 * since it will contain the Whiley Runtime.
+	 */
+	public final static String WYC_LIB_DIR = "../../lib/".replace('/', File.separatorChar);
+
+	/**
+	 * The path to the Whiley RunTime (WyRT) library. This contains the Whiley
+	 * standard library, which includes various helper functions, etc.
+	 */
+	private static String WYRT_PATH;
+
+	static {
+		File file = new File(WYC_LIB_DIR);
+		for(String f : file.list()) {
+			if(f.startsWith("wyrt-v")) {
+				WYRT_PATH = WYC_LIB_DIR + f;
+			}
+		}
+	}
+
+	/**
+	 * The number of modules which call into the <code>Util</code> module.
+	 */
+	private static final int NCALLERS = 8;
+
+	private File srcDir;
+
+	@Before
+	public void setUp() throws IOException {
+		srcDir = File.createTempFile("wyc", "parallel");
+		srcDir.delete();
+		srcDir.mkdir();
+
+		write("Util",
+				"public type nat is (int x) where x >= 0\n\n"
+				+ "public function dec(int x) => (int r)\n"
+				+ "requires x > 0\n"
+				+ "ensures r >= 0:\n"
+				+ "    return x - 1\n\n"
+				+ "public function sum([nat] xs) => (int r)\n"
+				+ "ensures r >= 0:\n"
+				+ "    int r = 0\n"
+				+ "    for x in xs:\n"
+				+ "        r = r + x\n"
+				+ "    return r\n");
+
+		for (int i = 0; i != NCALLERS; ++i) {
+			String previous = i == 0 ? "" : "Caller" + (i - 1);
+			String body = i == 0 ? "dec(x)" : "f" + (i - 1) + "(x) + dec(x)";
+			write("Caller" + i,
+					"import * from Util\n"
+					+ (i == 0 ? "" : "import * from " + previous + "\n")
+					+ "\npublic function f" + i + "(int x) => int\n"
+					+ "requires x > 0:\n"
+					+ "    return " + body + " + sum([x, x])\n");
+		}
+	}
+
+	@After
+	public void tearDown() {
+		for (File f : srcDir.listFiles()) {
+			f.delete();
+		}
+		srcDir.delete();
+	}
+
+	// ======================================================================
+	// Tests
+	// ======================================================================
+
+	@Test
+	public void Parallel_Matches_Sequential() throws IOException {
+		ArrayList<byte[]> expected = build(1);
+		for (int i = 0; i != 5; ++i) {
+			ArrayList<byte[]> actual = build(4);
+			for (int j = 0; j != expected.size(); ++j) {
+				assertArrayEquals("WyIL file " + j + " differs",
+						expected.get(j), actual.get(j));
+			}
+		}
+	}
+
+	// ======================================================================
+	// Helpers
+	// ======================================================================
+
+	/**
+	 * Compile all test files using the given number of threads, and return
+	 * the contents of the generated WyIL files.
+	 *
+	 * @param threads
+	 * @return
+	 * @throws IOException
+	 */
+	private ArrayList<byte[]> build(int threads) throws IOException {
+		ArrayList<String> args = new ArrayList<String>();
+		args.add("-wd");
+		args.add(srcDir.getPath());
+		args.add("-wp");
+		args.add(WYRT_PATH);
+		args.add("-threads");
+		args.add(Integer.toString(threads));
+		args.add(new File(srcDir, "Util.whiley").getPath());
+		for (int i = 0; i != NCALLERS; ++i) {
+			args.add(new File(srcDir, "Caller" + i + ".whiley").getPath());
+		}
+
+		Pair<Integer, String> p = TestUtils.compile(args
+				.toArray(new String[args.size()]));
+		System.out.print(p.second());
+		assertEquals("Test failed to compile!", (int) WycMain.SUCCESS,
+				(int) p.first());
+
+		ArrayList<byte[]> files = new ArrayList<byte[]>();
+		files.add(read(new File(srcDir, "Util.wyil")));
+		for (int i = 0; i != NCALLERS; ++i) {
+			files.add(read(new File(srcDir, "Caller" + i + ".wyil")));
+		}
+		return files;
+	}
+
+	private void write(String name, String contents) throws IOException {
+		FileWriter writer = new FileWriter(new File(srcDir, name + ".whiley"));
+		try {
+			writer.write(contents);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static byte[] read(File file) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FileInputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[1024];
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				out.write(buffer, 0, n);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toByteArray();
+	}
+}
@@ -17,6 +17,7 @@ import wyc.builder.WhileyBuilder;
 import wyc.lang.WhileyFile;
 import wycc.lang.Pipeline;
 import wycc.util.Logger;
+import wycc.util.MemoryProfiler;
 import wycs.builders.Wyal2WycsBuilder;
 import wycs.core.WycsFile;
 import wycs.syntax.WyalFile;
@@ -24,6 +25,7 @@ import wycs.transforms.SmtVerificationCheck;
 import wycs.transforms.VerificationCheck;
 import wycs.util.WycsBuildTask;
 import wyil.io.WyilFilePrinter;
+import wyil.lang.Type;
 import wyil.lang.WyilFile;
 
 /**
@@ -294,6 +296,45 @@ public class WycBuildTask {
 	 */
 	protected boolean smtVerification = false;	
 	
+	/**
+	 * The number of external SMT solvers used to check assertions at once,
+	 * when verifying with an SMT solver.
+	 */
+	protected int smtThreads = 1;
+	
+	/**
+	 * Indicates whether or not verification conditions should be generated by
+	 * joining branches at meet points in the control-flow graph, rather than
+	 * by enumerating every path through a function or method.
+	 */
+	protected boolean mergeBranches = false;
+	
+	/**
+	 * The file in which verification outcomes are cached between builds, or
+	 * null if they are not cached.
+	 */
+	protected File verificationCache;
+	
+	/**
+	 * Indicates whether or not the compiler should report accurate figures
+	 * on the memory allocated and retained by each pipeline stage. This has
+	 * no effect unless verbose information is also being produced.
+	 */
+	protected boolean profileMemory = false;
+	
+	/**
+	 * The number of threads used to apply the WYIL pipeline stages. By
+	 * default, files are processed one at a time.
+	 */
+	protected int threads = 1;
+	
+	/**
+	 * The number of results retained by each of the caches used for subtype
+	 * tests, coercion tests and intersections. A capacity of zero disables
+	 * caching altogether.
+	 */
+	protected int typeCacheCapacity = Type.DEFAULT_CACHE_CAPACITY;
+	
 	
 	// ==========================================================================
 	// Constructors & Configuration
@@ -329,6 +370,30 @@ public class WycBuildTask {
 		this.smtVerification = verification;
 	}
 	
+	public void setMergeBranches(boolean mergeBranches) {
+		this.mergeBranches = mergeBranches;
+	}
+	
+	public void setSmtThreads(int smtThreads) {
+		this.smtThreads = smtThreads;
+	}
+	
+	public void setVerificationCache(File verificationCache) {
+		this.verificationCache = verificationCache;
+	}
+	
+	public void setProfileMemory(boolean profileMemory) {
+		this.profileMemory = profileMemory;
+	}
+	
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+	
+	public void setTypeCacheCapacity(int capacity) {
+		this.typeCacheCapacity = capacity;
+	}
+	
 	public boolean getVerification() {
 		return verification;
 	}
@@ -499,6 +564,11 @@ public class WycBuildTask {
 		// ======================================================================
 
 		StdProject project = initialiseProject();  		
+		if (Type.cacheCapacity() != typeCacheCapacity) {
+			// Resizing the caches discards their contents, so only do this
+			// when the capacity has actually changed.
+			Type.setCacheCapacity(typeCacheCapacity);
+		}
 
 		// ======================================================================
 		// Initialise Build Rules
@@ -584,9 +654,13 @@ public class WycBuildTask {
 			// ========================================================
 			
 			WhileyBuilder wyilBuilder = new WhileyBuilder(project,wyilPipeline);
+			wyilBuilder.setThreads(threads);
 
 			if(verbose) {			
 				wyilBuilder.setLogger(new Logger.Default(System.err));
+				if(profileMemory) {
+					wyilBuilder.setMemoryProfiler(new MemoryProfiler());
+				}
 			}
 
 			project.add(new StdBuildRule(wyilBuilder, whileyDir,
@@ -601,6 +675,7 @@ public class WycBuildTask {
 				// First, handle the conversion of wyil to wyal
 				
 				Wyil2WyalBuilder wyalBuilder = new Wyil2WyalBuilder(project);
+				wyalBuilder.setMergeBranches(mergeBranches);
 
 				if(verbose) {			
 					wyalBuilder.setLogger(new Logger.Default(System.err));
@@ -615,6 +690,11 @@ public class WycBuildTask {
 
 				wycsPipeline.setOption(VerificationCheck.class,"enable",verification);
 				wycsPipeline.setOption(SmtVerificationCheck.class,"enable",smtVerification);
+				wycsPipeline.setOption(SmtVerificationCheck.class,"threads",smtThreads);
+				if (verificationCache != null) {
+					wycsPipeline.setOption(VerificationCheck.class, "cache",
+							verificationCache.getPath());
+				}
 				Wyal2WycsBuilder wycsBuilder = new Wyal2WycsBuilder(project,wycsPipeline);
 
 				if(verbose) {			
@@ -198,10 +198,12 @@ public class Wyal2WycsBuilder implements Builder, Logger {
 		// ========================================================================
 
 		for (Transform<WycsFile> stage : pipeline) {
+			ArrayList<WycsFile> modules = new ArrayList<WycsFile>();
 			for (Pair<Path.Entry<?>, Path.Root> p : delta) {
 				Path.Root dst = p.second();
 				Path.Entry<WycsFile> df = dst.get(p.first().id(),WycsFile.ContentType);
 				WycsFile module = df.read();
+				modules.add(module);
 				try {
 					process(module, stage);
 				} catch (VerificationCheck.AssertionFailure ex) {
@@ -222,6 +224,20 @@ public class Wyal2WycsBuilder implements Builder, Logger {
                             e.getAssertion(), e);
                 }
 			}
+			if (stage instanceof SmtVerificationCheck) {
+				// The SMT check may leave assertions with a pool of solvers, so
+				// that those from all files are checked at once. Therefore, the
+				// outcomes are only examined once every file has been processed.
+				SmtVerificationCheck smt = (SmtVerificationCheck) stage;
+				for (WycsFile module : modules) {
+					try {
+						smt.check(module);
+					} catch (SmtVerificationCheck.AssertionFailure e) {
+						syntaxError(e.getMessage(), module.filename(),
+								e.getAssertion(), e);
+					}
+				}
+			}
 		}
 		
 
@@ -508,7 +524,6 @@ public class Wyal2WycsBuilder implements Builder, Logger {
 			logger.logTimedMessage("[" + module.filename() + "] applied "
 					+ name, System.currentTimeMillis() - start, memory
 					- runtime.freeMemory());
-			System.gc();
 		} catch (RuntimeException ex) {
 			logger.logTimedMessage("[" + module.filename() + "] failed on "
 					+ name + " (" + ex.getMessage() + ")",
@@ -92,7 +92,10 @@ public final class Block implements Element {
         sb.append("\n");
         for (Element element : elements) {
             sb.append(element);
-            sb.append("\n");
+
+            if (!(element instanceof Block)) {
+                sb.append("\n");
+            }
         }
         sb.append(new Stmt.Pop(1));
         sb.append("\n");
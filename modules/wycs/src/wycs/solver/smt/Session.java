@@ -0,0 +1,281 @@
+// Copyright (c) 2014, Henry J. Wylde (hjwylde@gmail.com)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wycs.solver.smt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A long-lived session with an external SMT solver. The solver is started once and then fed
+ * statements over its standard input, with responses read back from its standard output. This
+ * avoids paying the start up cost of the solver for every file being verified. Statements are
+ * written straight to the solver as they are sent, so scoping is managed by the caller through
+ * {@link wycs.solver.smt.Stmt.Push} and {@link wycs.solver.smt.Stmt.Pop} statements (e.g., each
+ * {@link wycs.solver.smt.Block} is sent within its own scope).
+ * <p>
+ * Responses are read on a separate thread so that waiting on a response can be bounded by a
+ * timeout. If a response does not arrive in time, the state of the solver is unknown and the
+ * session is closed. Likewise, the session is closed if the solver exits or the pipes to it fail.
+ * A closed session cannot be reused.
+ */
+public final class Session {
+
+    /**
+     * The command used to start the solver. The solver must read commands from its standard input.
+     */
+    private final List<String> command;
+
+    private final Process process;
+    private final Writer in;
+    private final BufferedReader out;
+
+    /**
+     * Reads responses from the solver. Uses a single daemon thread, so that an idle session does
+     * not prevent the application from exiting.
+     */
+    private final ExecutorService reader;
+
+    private boolean closed = false;
+
+    /**
+     * Creates a new {@code Session}, starting the solver with the given command.
+     *
+     * @param command the command (and arguments) to start the solver with.
+     * @throws IOException if the solver could not be started.
+     */
+    public Session(List<String> command) throws IOException {
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("command cannot be empty");
+        }
+
+        this.command = new ArrayList<String>(command);
+
+        ProcessBuilder pb = new ProcessBuilder(this.command);
+        // Solvers report errors on either stream, so read both as responses
+        pb.redirectErrorStream(true);
+        process = pb.start();
+
+        in = new OutputStreamWriter(process.getOutputStream(), "UTF-8");
+        out = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+        reader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "smt-session");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Creates the command to start the given solver. The solver may be given with arguments,
+     * separated by whitespace (e.g., {@code "z3 -in"}). As a convenience, Z3 is told to read from
+     * its standard input if no arguments are given for it.
+     *
+     * @param solver the solver and its arguments.
+     * @return the command to start the solver with.
+     */
+    public static List<String> command(String solver) {
+        List<String> command = new ArrayList<String>(Arrays.asList(solver.trim().split("\\s+")));
+
+        String name = command.get(0);
+        name = name.substring(name.lastIndexOf(File.separatorChar) + 1);
+        if (command.size() == 1 && (name.equals("z3") || name.equals("z3.exe"))) {
+            command.add("-in");
+        }
+
+        return command;
+    }
+
+    /**
+     * Gets the command used to start the solver.
+     *
+     * @return the command.
+     */
+    public List<String> getCommand() {
+        return command;
+    }
+
+    /**
+     * Checks whether this session can still be used, i.e., it has not been closed and the solver
+     * has not exited.
+     *
+     * @return true if the session is still usable.
+     */
+    public boolean isAlive() {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            process.exitValue();
+            // The solver has exited
+            close();
+            return false;
+        } catch (IllegalThreadStateException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Sends the given elements to the solver. The elements are written out in full and then
+     * flushed, so any responses they produce may be read immediately afterwards.
+     *
+     * @param elements the elements to send.
+     * @throws IOException if the elements could not be written to the solver.
+     */
+    public void send(Element... elements) throws IOException {
+        checkOpen();
+
+        try {
+            for (Element element : elements) {
+                in.write(element.toString());
+                if (!(element instanceof Block)) {
+                    in.write("\n");
+                }
+            }
+            in.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends all elements of the given file to the solver.
+     *
+     * @param file the file to send.
+     * @throws IOException if the file could not be written to the solver.
+     */
+    public void send(Smt2File file) throws IOException {
+        checkOpen();
+
+        try {
+            in.write(file.toString());
+            in.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next response from the solver, waiting at most the given time for it to arrive.
+     * Empty lines and {@value wycs.solver.smt.Response#UNSUPPORTED} responses (e.g., to an option
+     * the solver does not understand) are skipped. If the solver does not respond in time, or
+     * exits before responding, then the session is closed.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit the unit of the timeout.
+     * @return the response.
+     * @throws IOException if the response could not be read.
+     * @throws TimeoutException if the solver did not respond in time.
+     */
+    public String read(long timeout, TimeUnit unit) throws IOException, TimeoutException {
+        checkOpen();
+
+        Future<String> response = reader.submit(new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.equals(Response.UNSUPPORTED)) {
+                        return line;
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        try {
+            String line = response.get(timeout, unit);
+            if (line == null) {
+                close();
+                throw new IOException("solver exited unexpectedly");
+            }
+
+            return line;
+        } catch (TimeoutException e) {
+            close();
+            throw e;
+        } catch (InterruptedException e) {
+            close();
+            throw new IOException("interrupted waiting for solver", e);
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("unable to read from solver", e.getCause());
+        }
+    }
+
+    /**
+     * Closes this session, telling the solver to exit and then making sure it does. This method
+     * has no effect if the session is already closed.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            in.write(new Stmt.Exit().toString());
+            in.write("\n");
+            in.close();
+        } catch (IOException e) {
+            // Ignore, the solver may have already exited
+        }
+
+        // Destroying the process also unblocks the reader if it is waiting on a response
+        process.destroy();
+        reader.shutdownNow();
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("session is closed");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+// Copyright (c) 2014, Henry J. Wylde (hjwylde@gmail.com)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wycs.solver.smt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of {@link wycs.solver.smt.Session}s with an external SMT solver, used to check a number
+ * of queries at once. Each query is a self contained {@link wycs.solver.smt.Block} ending with a
+ * {@code (check-sat)}, so it can be sent to any session in the pool. Queries are handed out to the
+ * sessions in the order they are submitted, and a {@link java.util.concurrent.Future} is returned
+ * for the response to each.
+ * <p>
+ * Sessions are started on demand (up to the size of the pool) and kept running between queries. A
+ * session which fails (e.g., times out) is closed and replaced by a fresh one for the next query.
+ */
+public final class SessionPool {
+
+    /**
+     * The command used to start each solver.
+     */
+    private final List<String> command;
+    /**
+     * The statements (e.g., options and logic) sent to each session when it is started.
+     */
+    private final Element[] header;
+
+    private final int size;
+
+    /**
+     * The sessions which are not currently checking a query. There are never more sessions than
+     * worker threads, so a worker either finds an idle session here or starts a new one.
+     */
+    private final ConcurrentLinkedQueue<Session> idle = new ConcurrentLinkedQueue<Session>();
+
+    /**
+     * Sends queries to the sessions and waits for their responses. Uses daemon threads, so that an
+     * idle pool does not prevent the application from exiting.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Creates a new {@code SessionPool} of the given size. No solvers are started until they are
+     * needed.
+     *
+     * @param command the command (and arguments) to start each solver with.
+     * @param size the maximum number of solvers to run at once.
+     * @param header the statements to send to each solver when it is started.
+     */
+    public SessionPool(List<String> command, int size, Element... header) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+
+        this.command = new ArrayList<String>(command);
+        this.header = header.clone();
+        this.size = size;
+
+        workers = Executors.newFixedThreadPool(size, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "smt-worker");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Gets the command used to start each solver.
+     *
+     * @return the command.
+     */
+    public List<String> getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets the maximum number of solvers run at once.
+     *
+     * @return the size of this pool.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Submits a query to be checked by the next available solver. The response is read with the
+     * same rules as {@link wycs.solver.smt.Session#read(long, java.util.concurrent.TimeUnit)},
+     * with the timeout starting once a solver begins checking the query. A session is closed if it
+     * gives any response other than {@value wycs.solver.smt.Response#SAT} or {@value
+     * wycs.solver.smt.Response#UNSAT}, since its state is then unknown.
+     *
+     * @param query the query to check, ending with a {@code (check-sat)}.
+     * @param timeout the maximum time to wait for the response.
+     * @param unit the unit of the timeout.
+     * @return the response, which fails with an {@link java.io.IOException} or {@link
+     *         java.util.concurrent.TimeoutException} if the solver did.
+     */
+    public Future<String> submit(final Block query, final long timeout, final TimeUnit unit) {
+        return workers.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                Session session = acquire();
+
+                // Sessions close themselves on failure, in which case they aren't returned
+                session.send(query);
+                String response = session.read(timeout, unit);
+                if (response.equals(Response.SAT) || response.equals(Response.UNSAT)) {
+                    idle.add(session);
+                } else {
+                    session.close();
+                }
+
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Closes all sessions in this pool and stops its workers. Any queries which have not yet been
+     * checked are abandoned.
+     */
+    public void close() {
+        workers.shutdownNow();
+
+        Session session;
+        while ((session = idle.poll()) != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * Takes an idle session, or starts a new one if there are none (or only failed ones).
+     *
+     * @return a session ready to check a query.
+     * @throws IOException if a new solver could not be started.
+     */
+    private Session acquire() throws IOException {
+        Session session;
+        while ((session = idle.poll()) != null) {
+            if (session.isAlive()) {
+                return session;
+            }
+        }
+
+        session = new Session(command);
+        session.send(header);
+        return session;
+    }
+}
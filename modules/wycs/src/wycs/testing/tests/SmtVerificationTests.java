@@ -0,0 +1,283 @@
+package wycs.testing.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import wycc.lang.Pipeline;
+import wycc.lang.SyntaxError;
+import wycs.solver.smt.Block;
+import wycs.solver.smt.Session;
+import wycs.solver.smt.SessionPool;
+import wycs.solver.smt.Stmt;
+import wycs.util.WycsBuildTask;
+
+/**
+ * Tests for checking assertions against a pool of SMT solvers. These use the
+ * stub solver in <code>tests/smt/stub_solver.sh</code>, rather than a real
+ * solver, so that the answers and timings of each query are under the
+ * control of the test.
+ */
+public class SmtVerificationTests {
+	private static final String STUB = "sh tests/smt/stub_solver.sh";
+
+	private static final String SOURCE_PATH = "tests/valid";
+
+	private static final String SMT_PATH = "tests/smt";
+
+	private static final String[] FILES = { "test_arith_02", "test_arith_03",
+			"test_arith_04", "test_arith_05", "test_arith_06", "test_arith_07",
+			"test_arith_08", "test_arith_09", "test_arith_10", "test_arith_11",
+			"test_arith_12", "test_arith_13", "test_arith_14", "test_arith_15",
+			"test_arith_16", "test_arith_17", "test_arith_18", "test_arith_20",
+			"test_arith_21", "test_arith_22" };
+
+	private static String WYRT_PATH;
+
+	static {
+		File file = new File("../../lib/");
+		for (String f : file.list()) {
+			if (f.startsWith("wyrt-v")) {
+				WYRT_PATH = "../../lib/" + f;
+			}
+		}
+	}
+
+	private File dir;
+
+	private File log;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = File.createTempFile("smt", "");
+		dir.delete();
+		dir.mkdir();
+		log = new File(dir, "solver.log");
+	}
+
+	@After
+	public void tearDown() {
+		delete(dir);
+	}
+
+	/**
+	 * Check that the queries of a build are spread across the processes of
+	 * the pool, rather than all being sent to one of them.
+	 */
+	@Test
+	public void Test_Pool_Spread() throws Exception {
+		assertNull(verify(4, "unsat"));
+		assertEquals(FILES.length, readLog().size());
+		log.delete();
+
+		// Slow responses mean a query is always outstanding when the next
+		// one is submitted.
+		verify(4, "hash");
+		assertTrue("queries not spread across processes", new HashSet<String>(
+				readLog()).size() > 1);
+	}
+
+	/**
+	 * Check that the failure reported when using a pool is the first failing
+	 * assertion, as it would be when checking assertions one at a time, even
+	 * though responses arrive out of order.
+	 */
+	@Test
+	public void Test_Pool_Deterministic() throws Exception {
+		String expected = verify(1, "hash");
+		assertNotNull("stub solver answered every query unsat", expected);
+		for (int i = 0; i != 3; ++i) {
+			assertEquals(expected, verify(4, "hash"));
+		}
+	}
+
+	/**
+	 * Check that a solver which times out is replaced, so that the pool can
+	 * still be used afterwards.
+	 */
+	@Test
+	public void Test_Pool_Timeout() throws Exception {
+		SessionPool pool = new SessionPool(Session.command(STUB + " "
+				+ log.getPath() + " hang"), 2);
+		try {
+			try {
+				query(pool).get();
+				fail("hung solver gave a response");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof TimeoutException);
+			}
+			String hung = readLog().get(0);
+
+			List<Future<String>> responses = new ArrayList<Future<String>>();
+			for (int i = 0; i != 4; ++i) {
+				responses.add(query(pool));
+			}
+			for (Future<String> response : responses) {
+				assertEquals("unsat", response.get());
+			}
+			List<String> pids = readLog();
+			assertEquals(5, pids.size());
+			assertFalse("hung solver was reused",
+					pids.subList(1, pids.size()).contains(hung));
+		} finally {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Check that the declarations shared by the assertions of a file are made
+	 * once in the scope of the file, rather than for each assertion. Since the
+	 * solvers of a pool are shared between files, each query sent to a pool
+	 * must still make them itself.
+	 */
+	@Test
+	public void Test_Declarations_Once() throws Exception {
+		String declaration = "(declare-fun test_decls_abs ";
+
+		assertNull(verify(1, "unsat", SMT_PATH, "test_decls"));
+		assertEquals(2, readLog().size());
+		assertEquals(1, count(declaration));
+
+		log.delete();
+		new File(log.getPath() + ".in").delete();
+
+		assertNull(verify(2, "unsat", SMT_PATH, "test_decls"));
+		assertEquals(2, readLog().size());
+		assertEquals(2, count(declaration));
+	}
+
+	/**
+	 * Verify the test files against the stub solver, using the given number
+	 * of threads.
+	 *
+	 * @param threads
+	 * @param mode
+	 *            --- how the stub solver answers each query.
+	 * @return a description of the failure reported, or null if all
+	 *         assertions were verified.
+	 */
+	private String verify(int threads, String mode) throws Exception {
+		return verify(threads, mode, SOURCE_PATH, FILES);
+	}
+
+	/**
+	 * Verify the given files against the stub solver, using the given number
+	 * of threads.
+	 *
+	 * @param threads
+	 * @param mode
+	 *            --- how the stub solver answers each query.
+	 * @param path
+	 *            --- the directory containing the files.
+	 * @param names
+	 *            --- the names of the files, without their extension.
+	 * @return a description of the failure reported, or null if all
+	 *         assertions were verified.
+	 */
+	private String verify(int threads, String mode, String path,
+			String... names) throws Exception {
+		Map<String, Object> options = new HashMap<String, Object>();
+		options.put("enable", true);
+		options.put("threads", threads);
+		options.put("solver", STUB + " " + log.getPath() + " " + mode);
+		List<Pipeline.Modifier> modifiers = Arrays.asList(
+				new Pipeline.Modifier(Pipeline.POP.REMOVE,
+						"verificationcheck", Collections.EMPTY_MAP),
+				new Pipeline.Modifier(Pipeline.POP.REPLACE,
+						"smtverificationcheck", options));
+
+		WycsBuildTask builder = new WycsBuildTask();
+		builder.setBootPath(Arrays.asList(new File(WYRT_PATH)));
+		builder.setWyalDir(new File(path));
+		builder.setWycsDir(dir);
+		builder.setPipelineModifiers(modifiers);
+
+		List<File> files = new ArrayList<File>();
+		for (String name : names) {
+			files.add(new File(path + File.separatorChar + name + ".wyal"));
+		}
+
+		try {
+			builder.build(files);
+			return null;
+		} catch (SyntaxError e) {
+			return e.filename() + ":" + e.start() + ": " + e.msg();
+		}
+	}
+
+	private static Future<String> query(SessionPool pool) {
+		Block block = new Block();
+		block.append(new Stmt.CheckSat());
+		return pool.submit(block, 500, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Read the process ids recorded by the stub solver, one for each query
+	 * it was sent.
+	 */
+	private List<String> readLog() throws IOException {
+		List<String> pids = new ArrayList<String>();
+		if (!log.exists()) {
+			return pids;
+		}
+		BufferedReader reader = new BufferedReader(new FileReader(log));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				pids.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+		return pids;
+	}
+
+	/**
+	 * Count the statements sent to the stub solver which start with the given
+	 * prefix.
+	 */
+	private int count(String prefix) throws IOException {
+		int count = 0;
+		BufferedReader reader = new BufferedReader(new FileReader(log.getPath()
+				+ ".in"));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(prefix)) {
+					count++;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return count;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -27,25 +27,25 @@ package wycs.transforms;
 
 import static wycc.lang.SyntaxError.internalFailure;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import wybs.lang.Builder;
 import wycc.lang.Transform;
@@ -56,17 +56,29 @@ import wycs.core.SemanticType;
 import wycs.core.Value;
 import wycs.core.WycsFile;
 import wycs.solver.smt.Block;
+import wycs.solver.smt.Element;
 import wycs.solver.smt.Logic;
 import wycs.solver.smt.Option;
 import wycs.solver.smt.Response;
+import wycs.solver.smt.Session;
+import wycs.solver.smt.SessionPool;
 import wycs.solver.smt.Smt2File;
 import wycs.solver.smt.Sort;
 import wycs.solver.smt.Stmt;
 
 /**
- * A SMT verification checker. This class will first re-write the {@link wycs.core.WycsFile} into a
- * {@link wycs.solver.smt.Smt2File}. Then it will attempt to run an external SMT solver on it to
- * prove its correctness. If it cannot be proved correct, then an error is thrown.
+ * A SMT verification checker. This class will re-write the {@link wycs.core.WycsFile} into a
+ * {@link wycs.solver.smt.Smt2File}, streaming each assertion to an external SMT solver as it is
+ * translated in order to prove its correctness. If it cannot be proved correct, then an error is
+ * thrown. The solver is started once and kept running in a {@link wycs.solver.smt.Session}, with
+ * each file and each assertion checked within its own scope. The declarations needed by the
+ * assertions of a file are made once in the scope of the file, rather than for each assertion.
+ * <p>
+ * If more than one thread is requested, then the assertions are instead shared amongst a {@link
+ * wycs.solver.smt.SessionPool} of solvers. In this case, the outcomes are not known when {@link
+ * #apply(wycs.core.WycsFile)} returns, which allows the assertions of several files to be checked at
+ * once. Instead, the outcomes for each file must be examined afterwards using {@link
+ * #check(wycs.core.WycsFile)}.
  *
  * @author Henry J. Wylde
  */
@@ -74,10 +86,6 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
 	// TODO: Temporary SMT variable
     public static final boolean SMT = false;
 
-    // TODO: Temporary debug variable
-    private static final boolean DEBUG = true;
-
-    private static final long SMT2_TIMEOUT = 10;
     private static final TimeUnit TIMEOUT_UNIT = TimeUnit.SECONDS;
 
     private static final String VAR_PREFIX = "r";
@@ -97,6 +105,33 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
      * The external SMT solver to use for verification.
      */
     private String solver = getSolver();
+    /**
+     * The maximum time (in seconds) to wait for the solver to check each assertion.
+     */
+    private int timeout = getTimeout();
+    /**
+     * The number of solvers used to check assertions at once.
+     */
+    private int threads = getThreads();
+
+    /**
+     * The session with the external SMT solver. This is started on first use and kept running
+     * between files (and builds), unless it has to be closed after a failure.
+     */
+    private Session session;
+
+    /**
+     * The pool of external SMT solvers, used when more than one thread is requested. This is
+     * started on first use and kept running between files (and builds).
+     */
+    private SessionPool pool;
+
+    /**
+     * The assertions for each file which have been sent off to the pool of solvers, but not yet
+     * had their outcomes checked. The assertions are in the order they are written, so that
+     * failures are reported deterministically.
+     */
+    private final Map<WycsFile, List<Query>> pending = new HashMap<WycsFile, List<Query>>();
 
     /**
      * The WycsFile we are currently applying this check to.
@@ -104,7 +139,8 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
     private WycsFile wycsFile;
 
     /**
-     * The SMT2 file we are generating during the verification check process.
+     * The SMT2 file we are generating during the verification check process. The statements are
+     * sent to the solver as they are generated, so this is only written out when debugging.
      */
     private Smt2File smt2File;
     /**
@@ -133,11 +169,27 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
     private int gen = 0;
     /**
      * A list of uninterpreted functions that have already had their declaration and assertion
-     * statements added into the current block. This list should be cleared each time a new block is
-     * created. This list is used to help prevent a {@link java.lang.StackOverflowError} in the
-     * event a function is recursive.
+     * statements added into the declarations of the current file. This list should be cleared each
+     * time a new file is applied. This list is used to help prevent a {@link
+     * java.lang.StackOverflowError} in the event a function is recursive.
      */
     private Set<Pair<String, Map<String, SemanticType>>> functions;
+    /**
+     * The declarations (i.e., sorts, uninterpreted functions and their assertions) made for the
+     * current file, in the order they were generated. These are shared by all assertions in the
+     * file, so they are made once in the scope of the file rather than in each assertion block.
+     */
+    private Set<Element> declarations;
+    /**
+     * The declarations generated while translating the current assertion which have not yet been
+     * made in the scope of the file.
+     */
+    private List<Element> undeclared;
+    /**
+     * Determines whether a declaration is currently being generated, in which case any constants it
+     * needs belong to the declarations of the file rather than to the current assertion block.
+     */
+    private boolean declaring;
 
     /**
      * Creates a new {@code SmtVerificationCheck} with the given project builder.
@@ -164,20 +216,98 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         conditions = new Stack();
         gen = 0;
         functions = new HashSet<Pair<String, Map<String, SemanticType>>>();
+        declarations = new LinkedHashSet<Element>();
+        declaring = false;
 
         // Write out the header
         writeHeader();
 
-        // Translate the WycsFile
-        for (WycsFile.Declaration declaration : file.declarations()) {
-            translate(declaration);
+        // Translate the WycsFile, verifying each assertion as it is translated within a scope for
+        // the file. When using a pool, the assertions are only sent off and are checked later on
+        Session session = null;
+        if (threads == 1) {
+            session = session();
+            session.send(new Stmt.Push(1));
+        } else {
+            pending.put(file, new ArrayList<Query>());
         }
+        boolean translated = false;
+        try {
+            for (WycsFile.Declaration declaration : file.declarations()) {
+                translate(declaration);
+            }
+            translated = true;
+        } finally {
+            if (!translated) {
+                // Abandon any outstanding assertions, the build is stopping here
+                abandon();
+            }
+
+
+            // Discard the scope for the file, unless the session had to be closed
+            if (session != null && this.session == session && session.isAlive()) {
+                session.send(new Stmt.Pop(1));
+            }
 
-        // Write out the footer
-        writeFooter();
+            // Write out the footer
+            writeFooter();
 
-        // Attempt to verify the generated SMT2 file
-        verify(write());
+            if (debug) {
+                write();
+            }
+        }
+    }
+
+    /**
+     * Checks the outcomes of the assertions in the given file which were sent off to the pool of
+     * solvers when the file was applied, waiting for them as necessary. The outcomes are examined in
+     * the order the assertions are written, so the first failing assertion is always the one
+     * reported. If an assertion failed, any outstanding assertions (for all files) are abandoned.
+     * This method has no effect if the assertions were checked when the file was applied.
+     *
+     * @param file the file to check.
+     * @throws IOException if the solver could not be communicated with.
+     */
+    public void check(WycsFile file) throws IOException {
+        List<Query> queries = pending.remove(file);
+        if (queries == null) {
+            return;
+        }
+
+        boolean passed = false;
+        try {
+            for (Query query : queries) {
+                String line;
+                try {
+                    line = query.response.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof TimeoutException) {
+                        throw new SolverFailure(
+                                "solver timed out after " + timeout + " " + TIMEOUT_UNIT.toString());
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SolverFailure("interrupted waiting for solver");
+                }
+
+                check(query.assertion, query.expectedResult, line);
+            }
+            passed = true;
+        } finally {
+            if (!passed) {
+                // Abandon any outstanding assertions, the build is stopping here
+                pending.put(file, queries);
+                abandon();
+            }
+        }
     }
 
     /**
@@ -198,6 +328,24 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         return "Enable/disable verification";
     }
 
+    /**
+     * Gets the description of the threads option.
+     *
+     * @return the threads description.
+     */
+    public static String describeThreads() {
+        return "Set the number of SMT solvers used to check assertions at once";
+    }
+
+    /**
+     * Gets the description of the timeout option.
+     *
+     * @return the timeout description.
+     */
+    public static String describeTimeout() {
+        return "Set the time (in seconds) the SMT solver may take to check each assertion";
+    }
+
     /**
      * Gets the description of the solver option.
      *
@@ -235,6 +383,24 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
     	return System.getenv("SMT_SOLVER");        
     }
 
+    /**
+     * Gets the default value of the threads option. The default is {@value 1}.
+     *
+     * @return the threads default value.
+     */
+    public static int getThreads() {
+        return 1;
+    }
+
+    /**
+     * Gets the default value of the timeout option. The default is {@value 10}.
+     *
+     * @return the timeout default value.
+     */
+    public static int getTimeout() {
+        return 10;
+    }
+
     /**
      * Sets the value of the debug option.
      *
@@ -260,9 +426,36 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
      * @param solver the new solver value.
      */
     public void setSolver(String solver) {
+        if (solver == null || !solver.equals(this.solver)) {
+            close();
+        }
         this.solver = solver;
     }
 
+    /**
+     * Sets the value of the threads option.
+     *
+     * @param threads the new threads value.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + threads);
+        }
+        if (threads != this.threads) {
+            close();
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the value of the timeout option.
+     *
+     * @param timeout the new timeout value (in seconds).
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
     /**
      * Builds up a generic binding map that can be used to instantiate generics in function or macro
      * definitions.
@@ -282,6 +475,44 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         return binding;
     }
 
+    /**
+     * Appends the given statements to the current assertion block or, if a declaration is being
+     * generated, to the declarations of the file.
+     *
+     * @param stmts the statements to append.
+     */
+    private void append(Stmt... stmts) {
+        if (declaring) {
+            declare(stmts);
+        } else {
+            block.append(stmts);
+        }
+    }
+
+    /**
+     * Adds the given statements to the declarations of the file. Any which have not been made
+     * already are made before the current assertion block is checked.
+     *
+     * @param stmts the statements to add.
+     */
+    private void declare(Stmt... stmts) {
+        declare(Arrays.asList(stmts));
+    }
+
+    /**
+     * Adds the given statements to the declarations of the file. Any which have not been made
+     * already are made before the current assertion block is checked.
+     *
+     * @param stmts the statements to add.
+     */
+    private void declare(Collection<? extends Stmt> stmts) {
+        for (Stmt stmt : stmts) {
+            if (declarations.add(stmt)) {
+                undeclared.add(stmt);
+            }
+        }
+    }
+
     /**
      * Generates a unique name for a new variable.
      *
@@ -341,35 +572,6 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         throw new InternalError("getSort(SemanticType) not fully implemented: " + type.getClass());
     }
 
-    /**
-     * Reads in an input stream and converts it to a {@link java.lang.String}. Uses the {@link
-     * java.nio.charset.StandardCharsets#UTF_8} character set by default.
-     *
-     * @param in the input stream to read fully.
-     * @return the string.
-     * @throws IOException if the stream could not be read.
-     */
-    private static String readInputStream(InputStream in) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
-        try {
-            StringBuilder sb = new StringBuilder();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-                sb.append("\n");
-            }
-
-            return sb.toString();
-        } finally {
-            try {
-                reader.close();
-            } catch (IOException e) {
-                // Ignore
-            }
-        }
-    }
-
     /**
      * Simplifies the given load code. This method first recursively simplifies the operand of the
      * load before attempting to simplify the load itself. The load may only be simplified if it has
@@ -408,7 +610,7 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         return code;
     }
 
-    private void translate(WycsFile.Declaration declaration) {
+    private void translate(WycsFile.Declaration declaration) throws IOException {
         if (declaration instanceof WycsFile.Assert) {
             translate((WycsFile.Assert) declaration);
         } else if (declaration instanceof WycsFile.Function) {
@@ -421,23 +623,18 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         }
     }
 
-    private void translate(WycsFile.Assert declaration) {
-        // Use a new block for each assertion to remove redundant declarations after each
+    private void translate(WycsFile.Assert declaration) throws IOException {
+        // Use a new block for each assertion to remove its constants and assertions after its
         // "(check-sat)"
-        // Should help to prevent exponential bloating
         // Each block automatically outputs a "(push 1)" and "(pop 1)" statement when being written
         // out
+        // Declarations are instead made in the scope of the file, so that they are only made once
         block = new Block();
-
-        // Clear the list of defined functions
-        functions.clear();
+        undeclared = new ArrayList<Element>();
 
         // Push an extra conditions list onto the stack
         conditions.add(new ArrayList<String>());
 
-        // Reset the variable name counter
-        gen = 0;
-
         // Returns a pair, (expr, result)
         Pair<String, String> pair = translateAssertCode(declaration.condition);
 
@@ -456,10 +653,15 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         block.append(new Stmt.Assert(pair.first()));
         block.append(new Stmt.CheckSat());
 
+        smt2File.append(undeclared);
         smt2File.append(block);
 
+        // Send the block off to be checked straight away
+        verify(declaration, block, pair.second());
+
         // Sanity assignment to ensure code isn't called without a block!
         block = null;
+        undeclared = null;
     }
 
     private String translate(Code<?> code) {
@@ -736,13 +938,18 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         if (!functions.contains(new Pair<String, Map<String, SemanticType>>(id, generics))) {
             functions.add(new Pair<String, Map<String, SemanticType>>(id, generics));
 
+            // The declaration and assertion don't depend on the current assertion, so they are
+            // made in the scope of the file
+            boolean outer = declaring;
+            declaring = true;
+
             // Generate the uninterpreted function declaration
 
             List<String> parameters = new ArrayList<String>();
             parameters.add(translate(type.from()));
             String returnSort = translate(type.to());
 
-            block.append(new Stmt.DeclareFun(id, parameters, returnSort));
+            declare(new Stmt.DeclareFun(id, parameters, returnSort));
 
             // Generate the uninterpreted function assertion
             if (function.constraint != null) {
@@ -756,8 +963,10 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
                 // TODO: What type should a quantifier have?
                 Code assertion = Code.Quantifier(SemanticType.Bool, Code.Op.FORALL, operand, types);
 
-                block.append(new Stmt.Assert(translate(assertion)));
+                declare(new Stmt.Assert(translate(assertion)));
             }
+
+            declaring = outer;
         }
 
         return "(" + id + " " + translate(code.operands[0]) + ")";
@@ -837,7 +1046,7 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         String var = generateVariable();
 
         // Add the constant declaration
-        block.append(new Stmt.DeclareFun(var, Collections.EMPTY_LIST, translate(value.type())));
+        append(new Stmt.DeclareFun(var, Collections.EMPTY_LIST, translate(value.type())));
 
         // Create the extra conditions to assert the value of the tuple
         for (int i = 0; i < value.values.size(); i++) {
@@ -854,7 +1063,7 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         Sort sort = getSort(type);
 
         // Generate some initialisation statements for the sort and relevant functions
-        block.append(sort.generateInitialisers());
+        declare(sort.generateInitialisers());
 
         return sort.toString();
     }
@@ -971,8 +1180,7 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
         String var = generateVariable();
 
         // Add the constant declaration
-        block.append(new Stmt.DeclareFun(var, Collections.EMPTY_LIST, translate(
-                code.returnType())));
+        append(new Stmt.DeclareFun(var, Collections.EMPTY_LIST, translate(code.returnType())));
 
         // Create the extra conditions to assert the value of the tuple
         for (int i = 0; i < code.operands.length; i++) {
@@ -986,113 +1194,158 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
     }
 
     /**
-     * Runs a solver on the given file and checks that all of the assertions passed. If any
-     * assertion failed, then an appropriate error is thrown.
+     * Gets the session with the external SMT solver, starting a new one if there is no usable
+     * session. A new session is sent the header before being returned.
      *
-     * @param file the file to verify.
-     * @throws IOException if the file could not be read.
+     * @return the session.
+     * @throws IOException if the solver could not be started.
      */
-    private void verify(File file) throws IOException {
-        // Create the process to call the solver
-        List<String> args = new ArrayList();
-        String solver = getSolver();
-        if(solver == null) {
-        	throw new InternalError("Environment variable $SMT_SOLVER not set");
-        } 
-        args.add(getSolver());
-        // Add the solvers custom arguments        
-        args.add(file.getAbsolutePath());
-        ProcessBuilder pb = new ProcessBuilder(args);
-        final Process process = pb.start();
-
-        List<String> output = null;
-        Timer timer = new Timer();
-        try {
-            // TODO: Fix this up and don't use a timer, two exceptions are being thrown with this implementation
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    process.destroy();
-                    throw new SolverFailure(
-                            "solver timed out after " + SMT2_TIMEOUT + " " + TIMEOUT_UNIT
-                                    .toString());
-                }
-            }, TimeUnit.MILLISECONDS.convert(SMT2_TIMEOUT, TIMEOUT_UNIT));
+    private Session session() throws IOException {
+        if (session == null || !session.isAlive()) {
+            if (solver == null) {
+                throw new InternalError("Environment variable $SMT_SOLVER not set");
+            }
 
-            process.waitFor();
-            timer.cancel();
+            session = new Session(Session.command(solver));
+            session.send(header());
+        }
 
-            if (process.exitValue() != 0) {
-                throw new SolverFailure(
-                        "verification exited with non-zero value: " + readInputStream(
-                                process.getInputStream()));
-            }
+        return session;
+    }
 
-            // Read all of the standard output from the process
-            output = Arrays.asList(readInputStream(process.getInputStream()).split("\n"));
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } finally {
-            // Make sure the process is finished
-            process.destroy();
+    /**
+     * Runs the solver on the given assertion block and checks that the assertion passed. If the
+     * assertion failed, then an appropriate error is thrown. Any new declarations are first made in
+     * the scope of the file, while the block has its own scope, so the session may be used for
+     * further assertions afterwards. However, if the solver failed then the session is closed, as
+     * its state is no longer known. When using a pool of solvers, the block is only sent off here
+     * and is checked by {@link #check(wycs.core.WycsFile)}.
+     *
+     * @param assertion the assertion being checked.
+     * @param block the translated assertion block, ending with a {@code (check-sat)}.
+     * @param expectedResult the response expected if the assertion is valid.
+     * @throws IOException if the solver could not be communicated with.
+     */
+    private void verify(WycsFile.Assert assertion, Block block, String expectedResult)
+            throws IOException {
+        if (threads > 1) {
+            // The solvers in the pool are shared between files, so the block is sent off within a
+            // scope of its own which makes all of the file's declarations
+            Block query = new Block();
+            query.append(declarations);
+            query.append(block);
+
+            // Send the query off to the pool, the outcome is checked later on
+            Future<String> response = pool().submit(query, timeout, TIMEOUT_UNIT);
+            pending.get(wycsFile).add(new Query(assertion, expectedResult, response));
+            return;
         }
 
-        if (output == null) {
-            throw new RuntimeException("verification did not complete");
+        // Don't restart the session here, as a new session would be missing the file's scope
+        session.send(undeclared.toArray(new Element[undeclared.size()]));
+        session.send(block);
+
+        String line;
+        try {
+            line = session.read(timeout, TIMEOUT_UNIT);
+        } catch (TimeoutException e) {
+            throw new SolverFailure(
+                    "solver timed out after " + timeout + " " + TIMEOUT_UNIT.toString());
         }
 
-        // A counter for what assertion we're up to
-        // Each "(check-sat)" command in the file corresponds to an assertion in the #assertions
-        // field
-        int index = 0;
-        for (String line : output) {
-            if (line.isEmpty()) {
-                continue;
-            }
+        if (!line.equals(Response.SAT) && !line.equals(Response.UNSAT)) {
+            // The solver failed, so we can't trust its state any more
+            session.close();
+        }
 
-            // Get the current assertion and expected result
-            Pair<WycsFile.Assert, String> pair = assertions.get(index);
-            WycsFile.Assert assertion = pair.first();
-            String expectedResult = pair.second();
-
-            if (line.equals(expectedResult)) {
-                // Assertion was valid, move to the next assertion
-                index++;
-            } else if (line.equals(Response.UNKNOWN)) {
-                throw new SolverFailure("solver returned unknown");
-            } else if (line.equals(Response.SAT) || line.equals(Response.UNSAT)) {
-                // Assertion was invalid, create an appropriate error
-                if (assertion.message == null) {
-                    throw new AssertionFailure(assertion);
-                } else {
-                    throw new AssertionFailure(assertion.message, assertion);
-                }
-            } else if (line.equals(Response.UNSUPPORTED)) {
-                // A set-option was unsupported, skip this line
-            } else if (line.startsWith("(error")) {
-                // Internal error occurred that shouldn't have, unwrap the error message
-                String error = line.substring(7, line.length() - 1);
-                throw new SolverFailure(error);
+        check(assertion, expectedResult, line);
+    }
+
+    /**
+     * Checks the response of the solver for the given assertion. If the assertion failed, or the
+     * solver failed to check it, then an appropriate error is thrown.
+     *
+     * @param assertion the assertion which was checked.
+     * @param expectedResult the response expected if the assertion is valid.
+     * @param line the response of the solver.
+     */
+    private static void check(WycsFile.Assert assertion, String expectedResult, String line) {
+        if (line.equals(expectedResult)) {
+            // Assertion was valid
+            return;
+        } else if (line.equals(Response.SAT) || line.equals(Response.UNSAT)) {
+            // Assertion was invalid, create an appropriate error
+            if (assertion.message == null) {
+                throw new AssertionFailure(assertion);
             } else {
-                throw new RuntimeException(line);
+                throw new AssertionFailure(assertion.message, assertion);
             }
+        } else if (line.equals(Response.UNKNOWN)) {
+            throw new SolverFailure("solver returned unknown");
+        } else if (line.startsWith("(error")) {
+            // Internal error occurred that shouldn't have, unwrap the error message
+            String error = line.substring(7, line.length() - 1);
+            throw new SolverFailure(error);
+        } else {
+            throw new RuntimeException(line);
         }
     }
 
     /**
-     * Writes out the {@link #smt2File} to a temporary file and returns it. This method also adds a
-     * trap onto the file to ensure it is deleted upon application exit.
+     * Gets the pool of external SMT solvers, creating it if necessary.
      *
-     * @return the written temporary file.
+     * @return the pool.
+     */
+    private SessionPool pool() {
+        if (pool == null) {
+            if (solver == null) {
+                throw new InternalError("Environment variable $SMT_SOLVER not set");
+            }
+
+            pool = new SessionPool(Session.command(solver), threads, header());
+        }
+
+        return pool;
+    }
+
+    /**
+     * Abandons all assertions which have been sent off to the pool of solvers but not yet checked.
+     */
+    private void abandon() {
+        for (List<Query> queries : pending.values()) {
+            for (Query query : queries) {
+                query.response.cancel(true);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Closes the session and pool of external SMT solvers, if they have been started. They will be
+     * started again if needed.
+     */
+    private void close() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Writes out the {@link #smt2File} alongside the source file and returns it. This is only used
+     * for debugging, as the solver is sent the statements directly.
+     *
+     * @return the written file.
      * @throws IOException if the file could not be written.
      */
     private File write() throws IOException {
         // Prepare the output destination
     	// FIXME: the following is a bit of a hack and needs to be fixed!
         File out = new File(wycsFile.filename().replace(".whiley",".smt2").replace(".wyal",".smt2"));
-        if (!DEBUG) {
-            out.deleteOnExit();
-        }
 
         FileOutputStream fos = null;
         try {
@@ -1125,11 +1378,39 @@ public final class SmtVerificationCheck implements Transform<WycsFile> {
      * logic to use.
      */
     private void writeHeader() {
-        // Don't print "success" for each command
-        smt2File.append(new Stmt.SetOption(Option.PRINT_SUCCESS, " false "));
+        smt2File.append(header());
+    }
 
-        // Append the logic
-        smt2File.append(new Stmt.SetLogic(Logic.AUFNIRA));
+    /**
+     * Creates the header, which includes options to set and the logic to use. This is sent to the
+     * solver once, at the start of each session.
+     *
+     * @return the header statements.
+     */
+    private static Element[] header() {
+        return new Element[] {
+                // Don't print "success" for each command
+                new Stmt.SetOption(Option.PRINT_SUCCESS, " false "),
+                // Append the logic
+                new Stmt.SetLogic(Logic.AUFNIRA)
+        };
+    }
+
+    /**
+     * An assertion which has been sent off to a pool of solvers, along with its expected result and
+     * the pending response.
+     */
+    private static final class Query {
+
+        private final WycsFile.Assert assertion;
+        private final String expectedResult;
+        private final Future<String> response;
+
+        public Query(WycsFile.Assert assertion, String expectedResult, Future<String> response) {
+            this.assertion = assertion;
+            this.expectedResult = expectedResult;
+            this.response = response;
+        }
     }
 
     /**
@@ -0,0 +1,255 @@
+package wycs.transforms;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import wyautl.rw.Rewriter;
+import wycc.util.Pair;
+import wycs.core.Code;
+import wycs.core.SemanticType;
+
+/**
+ * <p>
+ * A persistent record of the outcome of verifying individual assertions,
+ * which allows assertions that have not changed since a previous build to be
+ * skipped. Each outcome is keyed by a digest of the verification condition
+ * handed to the rewriter (i.e. after the assertion has been negated, put into
+ * negation normal form and had any axioms instantiated). Since instantiating
+ * axioms brings in the relevant parts of any functions the assertion depends
+ * upon, a change to one of these gives a different key.
+ * </p>
+ *
+ * <p>
+ * The cache is stored as a simple text file, with one line per entry giving
+ * the key, the outcome, the time taken and the rewriting statistics. It is
+ * loaded in full when opened, and written back in full when saved.
+ * </p>
+ */
+final class VerificationCache {
+	/**
+	 * Identifies the format of keys and entries. This should be changed
+	 * whenever the format or the way in which verification conditions are
+	 * generated changes, so as to invalidate existing caches.
+	 */
+	private static final String VERSION = "1";
+
+	private final File file;
+
+	private final HashMap<String, Entry> entries = new HashMap<String, Entry>();
+
+	private boolean dirty;
+
+	/**
+	 * Open the cache stored in a given file, loading any existing entries. If
+	 * the file does not exist, the cache is initially empty. Entries which
+	 * cannot be read (e.g. from a different version) are ignored.
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public VerificationCache(File file) throws IOException {
+		this.file = file;
+		if (file.exists()) {
+			BufferedReader reader = new BufferedReader(new FileReader(file));
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					Pair<String, Entry> p = parse(line);
+					if (p != null) {
+						entries.put(p.first(), p.second());
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Get the recorded outcome for a given verification condition, or
+	 * <code>null</code> if there is none.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public synchronized Entry get(String key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Record the outcome for a given verification condition.
+	 *
+	 * @param key
+	 * @param entry
+	 */
+	public synchronized void put(String key, Entry entry) {
+		entries.put(key, entry);
+		dirty = true;
+	}
+
+	/**
+	 * Write the cache back to its file, if it has changed since being opened.
+	 * The entries are written to a temporary file first, so that an
+	 * interrupted build does not leave a partially written cache behind.
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void save() throws IOException {
+		if (!dirty) {
+			return;
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		File tmp = new File(file.getPath() + ".tmp");
+		PrintWriter writer = new PrintWriter(new FileWriter(tmp));
+		try {
+			for (Map.Entry<String, Entry> e : entries.entrySet()) {
+				writer.println(format(e.getKey(), e.getValue()));
+			}
+		} finally {
+			writer.close();
+		}
+		if (!tmp.renameTo(file)) {
+			// renaming over an existing file fails on some platforms
+			file.delete();
+			if (!tmp.renameTo(file)) {
+				throw new IOException("unable to write verification cache "
+						+ file);
+			}
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Compute the key for a given verification condition. This is a digest of
+	 * a canonical form of the condition, in which variables are numbered in
+	 * order of appearance. The given settings (e.g. rewrite limits) are
+	 * included as well, since they can affect the outcome.
+	 *
+	 * @param vc
+	 *            --- verification condition given to the rewriter.
+	 * @param settings
+	 *            --- any settings which affect the outcome.
+	 * @return
+	 */
+	public static String key(Code<?> vc, String settings) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(VERSION).append(';').append(settings).append(';');
+		canonicalise(vc, new HashMap<Integer, Integer>(), sb);
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-1");
+			byte[] digest = md.digest(sb.toString().getBytes("UTF-8"));
+			StringBuilder r = new StringBuilder();
+			for (byte b : digest) {
+				r.append(Character.forDigit((b >> 4) & 0xF, 16));
+				r.append(Character.forDigit(b & 0xF, 16));
+			}
+			return r.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		} catch (UnsupportedEncodingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void canonicalise(Code<?> code,
+			HashMap<Integer, Integer> variables, StringBuilder sb) {
+		sb.append('(').append(code.opcode.name()).append(' ');
+		sb.append(code.type).append(' ');
+		if (code instanceof Code.Variable) {
+			Code.Variable v = (Code.Variable) code;
+			sb.append('v').append(variable(v.index, variables));
+		} else if (code instanceof Code.Constant) {
+			sb.append(((Code.Constant) code).value);
+		} else if (code instanceof Code.Load) {
+			sb.append(((Code.Load) code).index);
+		} else if (code instanceof Code.Quantifier) {
+			for (Pair<SemanticType, Integer> p : ((Code.Quantifier) code).types) {
+				sb.append(p.first()).append(" v")
+						.append(variable(p.second(), variables)).append(' ');
+			}
+		} else if (code instanceof Code.FunCall) {
+			sb.append(((Code.FunCall) code).nid);
+		}
+		for (Code<?> operand : code.operands) {
+			sb.append(' ');
+			canonicalise(operand, variables, sb);
+		}
+		sb.append(')');
+	}
+
+	private static int variable(int index, HashMap<Integer, Integer> variables) {
+		Integer v = variables.get(index);
+		if (v == null) {
+			v = variables.size();
+			variables.put(index, v);
+		}
+		return v;
+	}
+
+	private static String format(String key, Entry e) {
+		Rewriter.Stats s = e.stats;
+		return key + " " + (e.valid ? "valid" : "invalid") + " " + e.time
+				+ " " + s.numProbes() + " " + s.numReductionActivations() + " "
+				+ s.numReductionFailures() + " " + s.numReductionSuccesses()
+				+ " " + s.numInferenceActivations() + " "
+				+ s.numInferenceFailures() + " " + s.numInferenceSuccesses();
+	}
+
+	private static Pair<String, Entry> parse(String line) {
+		String[] fields = line.trim().split(" ");
+		if (fields.length != 10) {
+			return null;
+		}
+		try {
+			boolean valid = fields[1].equals("valid");
+			long time = Long.parseLong(fields[2]);
+			int[] stats = new int[7];
+			for (int i = 0; i != stats.length; ++i) {
+				stats[i] = Integer.parseInt(fields[i + 3]);
+			}
+			Rewriter.Stats s = new Rewriter.Stats(stats[0], stats[1],
+					stats[2], stats[3], stats[4], stats[5], stats[6]);
+			return new Pair<String, Entry>(fields[0], new Entry(valid, time, s));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The recorded outcome of verifying a given assertion.
+	 */
+	public static final class Entry {
+		/**
+		 * Indicates whether the assertion was shown to hold.
+		 */
+		public final boolean valid;
+
+		/**
+		 * The time taken (in milliseconds) to verify the assertion.
+		 */
+		public final long time;
+
+		/**
+		 * The rewriting statistics for the assertion.
+		 */
+		public final Rewriter.Stats stats;
+
+		public Entry(boolean valid, long time, Rewriter.Stats stats) {
+			this.valid = valid;
+			this.time = time;
+			this.stats = stats;
+		}
+	}
+}
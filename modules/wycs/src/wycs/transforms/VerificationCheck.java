@@ -3,9 +3,16 @@ package wycs.transforms;
 import static wycc.lang.SyntaxError.*;
 import static wycs.solver.Solver.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import wyautl.core.*;
 import wyautl.io.PrettyAutomataWriter;
@@ -41,7 +48,7 @@ import wyfs.util.Trie;
  * 
  */
 public class VerificationCheck implements Transform<WycsFile> {
-    private enum RewriteMode { SIMPLE, STATICDISPATCH, GLOBALDISPATCH };
+    private enum RewriteMode { SIMPLE, STATICDISPATCH, GLOBALDISPATCH, INCREMENTALDISPATCH };
     
 	/**
 	 * Determines whether this transform is enabled or not.
@@ -67,6 +74,22 @@ public class VerificationCheck implements Transform<WycsFile> {
 	 * Determine the maximum number of inference steps permitted
 	 */
 	private int maxInferences = getMaxInferences();
+
+	/**
+	 * Determine the number of worker threads used to verify assertions
+	 */
+	private int threads = getThreads();
+	
+	/**
+	 * The file in which verification outcomes are cached between builds, or
+	 * the empty string if caching is disabled.
+	 */
+	private String cache = getCache();
+	
+	/**
+	 * The verification cache, which is opened on first use.
+	 */
+	private VerificationCache verificationCache;
 	
 	private final Wyal2WycsBuilder builder;
 			
@@ -109,7 +132,7 @@ public class VerificationCheck implements Transform<WycsFile> {
 	}
 
 	public static String describeRwMode() {
-		return "Set the rewrite mode to use (simple or static-dispatch)";
+		return "Set the rewrite mode to use (simple, staticdispatch, globaldispatch or incrementaldispatch)";
 	}
 
 	public static String getRwmode() {
@@ -150,6 +173,34 @@ public class VerificationCheck implements Transform<WycsFile> {
 		this.maxInferences = limit;
 	}
 
+	public static String describeThreads() {
+		return "Set the number of worker threads used to verify assertions";
+	}
+
+	public static int getThreads() {
+		return 1; // default value
+	}
+
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException(
+					"number of threads must be positive: " + threads);
+		}
+		this.threads = threads;
+	}
+
+	public static String describeCache() {
+		return "Set the file in which verification outcomes are cached between builds";
+	}
+
+	public static String getCache() {
+		return ""; // default value (disabled)
+	}
+
+	public void setCache(String cache) {
+		this.cache = cache;
+	}
+
 	
 	// ======================================================================
 	// Apply Method
@@ -161,19 +212,22 @@ public class VerificationCheck implements Transform<WycsFile> {
 	 * @param statements
 	 * @return the set of failing assertions (if any).
 	 */
-	public void apply(WycsFile wf) {
+	public void apply(WycsFile wf) throws IOException {
 		if (enabled) {
+			Runtime runtime = Runtime.getRuntime();
+			long startTime = System.currentTimeMillis();
+			long startMemory = runtime.freeMemory();
 			this.filename = wf.filename();
 								
-			// Traverse each statement and verify any assertions we
+			// Traverse each statement and collect any assertions we
 			// encounter.  
 			List<WycsFile.Declaration> statements = wf.declarations();
-			int count = 0;
+			ArrayList<WycsFile.Assert> assertions = new ArrayList<WycsFile.Assert>();
 			for (int i = 0; i != statements.size(); ++i) {
 				WycsFile.Declaration stmt = statements.get(i);
 
 				if (stmt instanceof WycsFile.Assert) {
-					checkValid((WycsFile.Assert) stmt, ++count);
+					assertions.add((WycsFile.Assert) stmt);
 				} else if (stmt instanceof WycsFile.Function
 						|| stmt instanceof WycsFile.Macro) {
 					// TODO: we could try to verify that the function makes
@@ -184,58 +238,246 @@ public class VerificationCheck implements Transform<WycsFile> {
 							filename, stmt);
 				}
 			}
+
+			if (assertions.size() == 0) {
+				return;
+			}
+
+			if (verificationCache == null && cache.length() > 0) {
+				verificationCache = new VerificationCache(new File(cache));
+			}
+			
+			Stats stats;
+			try {
+				if (threads == 1 || assertions.size() == 1) {
+					stats = checkValid(assertions);
+				} else {
+					stats = checkValidInParallel(assertions);
+				}
+			} finally {
+				// NOTE: outcomes are saved even if an assertion failed, so
+				// those verified before it need not be verified again.
+				if (verificationCache != null) {
+					verificationCache.save();
+				}
+			}
+
+			long endTime = System.currentTimeMillis();
+			builder.logTimedMessage("[" + filename + "] Verified "
+					+ assertions.size() + " assertion(s) (" + stats + ")",
+					endTime - startTime, startMemory - runtime.freeMemory());
 		}
 	}
-	
-	private void checkValid(WycsFile.Assert stmt, int number) {
-		Runtime runtime = Runtime.getRuntime();
-		long startTime = System.currentTimeMillis();
-		long startMemory = runtime.freeMemory();
-				
-		Automaton automaton = new Automaton();
-		Automaton original = null;
-		
-		Code neg = Code.Unary(SemanticType.Bool,
-				Code.Op.NOT, stmt.condition);
-		// The following conversion is potentially very expensive, but is
-		// currently necessary for the instantiate axioms phase.
-		Code nnf = NormalForms.negationNormalForm(neg);
-		
-		///debug(nnf,filename);
-		int maxVar = findLargestVariable(nnf);
-		
-		Code vc = instantiateAxioms(nnf, maxVar + 1);					
+
+	/**
+	 * Verify a list of assertions one after the other, stopping at the first
+	 * which cannot be shown to hold.
+	 * 
+	 * @param assertions
+	 * @return the combined rewriting statistics for all assertions.
+	 */
+	private Stats checkValid(List<WycsFile.Assert> assertions) {
+		Stats stats = null;
+		for (int i = 0; i != assertions.size(); ++i) {
+			Verification v = new Verification(assertions.get(i));
+			v.call();
+			stats = report(v, i + 1, stats);
+		}
+		return stats;
+	}
+
+	/**
+	 * Verify a list of assertions using a pool of worker threads. The
+	 * automaton for each assertion is constructed on the calling thread, since
+	 * this may require access to the builder; only the rewriting itself is
+	 * performed by the workers. The outcomes are then examined in the order
+	 * the assertions were given, so that the same failure is reported as
+	 * would be when verifying them one after the other.
+	 * 
+	 * @param assertions
+	 * @return the combined rewriting statistics for all assertions.
+	 */
+	private Stats checkValidInParallel(List<WycsFile.Assert> assertions) {
+		int nThreads = Math.min(threads, assertions.size());
+		// NOTE: worker threads are daemons, so that a verification which has
+		// not yet noticed it was abandoned cannot prevent the JVM from
+		// exiting.
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads,
+				new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "verification");
+						t.setDaemon(true);
+						return t;
+					}
+				});
+		try {
+			ArrayList<Verification> verifications = new ArrayList<Verification>();
+			ArrayList<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (WycsFile.Assert stmt : assertions) {
+				Verification v = new Verification(stmt);
+				verifications.add(v);
+				futures.add(pool.submit(v));
+			}
+
+			Stats stats = null;
+			for (int i = 0; i != verifications.size(); ++i) {
+				Verification v = verifications.get(i);
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					} else if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					internalFailure(cause.getMessage(), filename, v.stmt, cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					internalFailure("interrupted during verification",
+							filename, v.stmt, e);
+				}
+				stats = report(v, i + 1, stats);
+			}
+			return stats;
+		} finally {
+			// Abandon any outstanding verifications (e.g. after a failure). This
+			// interrupts their workers, and the rewriter stops at its next step.
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Check the outcome of a completed verification, throwing an
+	 * <code>AssertionFailure</code> if the assertion could not be shown to
+	 * hold. Otherwise, report the time taken and combine its rewriting
+	 * statistics with those accumulated so far.
+	 * 
+	 * @param v
+	 *            --- completed verification.
+	 * @param number
+	 *            --- position of the assertion within the file.
+	 * @param stats
+	 *            --- statistics accumulated so far (may be null).
+	 * @return
+	 */
+	private Stats report(Verification v, int number, Stats stats) {
+		Automaton automaton = v.automaton;
+		WycsFile.Assert stmt = v.stmt;
 		
-		//debug(vc,filename);
+		if (v.cached != null) {
+			builder.logTimedMessage("[" + filename + "] Verified assertion #"
+					+ number + " (cached)", v.cached.time, 0);
+			return stats;
+		}
 		
-		int assertion = translate(vc,automaton,new HashMap<String,Integer>());
-		automaton.setRoot(0, assertion);		
-		// NOTE: don't need to minimise or compact here since the rewriter does
-		// this for me.
-		//
-		//		automaton.minimise();
-		//		automaton.compact();
-				
-		if (debug) {
-			debug(neg,filename);			
-			original = new Automaton(automaton);
-			//debug(original);
+		if (verificationCache != null) {
+			boolean valid = v.result
+					&& automaton.get(automaton.getRoot(0)).equals(Solver.False);
+			verificationCache.put(v.key, new VerificationCache.Entry(valid,
+					v.time, v.rewriter.getStats()));
 		}
+		
 
-		Rewriter rewriter = createRewriter(automaton);
-		boolean r = rewriter.apply();		
-
-		if(!r) {
-			throw new AssertionFailure("timeout occurred during verification",stmt,rewriter,automaton,original);
+		if(!v.result) {
+			throw new AssertionFailure("timeout occurred during verification",stmt,v.rewriter,automaton,v.original);
 		} else if(!automaton.get(automaton.getRoot(0)).equals(Solver.False)) {
 			String msg = stmt.message;
 			msg = msg == null ? "assertion failure" : msg;
-			throw new AssertionFailure(msg,stmt,rewriter,automaton,original);			
+			throw new AssertionFailure(msg,stmt,v.rewriter,automaton,v.original);			
 		}		
 		
-		long endTime = System.currentTimeMillis();
 		builder.logTimedMessage("[" + filename + "] Verified assertion #" + number,
-				endTime - startTime, startMemory - runtime.freeMemory());		
+				v.time, v.memory);
+
+		Stats s = v.rewriter.getStats();
+		return stats == null ? s : stats.add(s);
+	}
+
+	/**
+	 * Represents the verification of a single assertion. The automaton is
+	 * constructed when this is created, whilst the (potentially expensive)
+	 * rewriting happens when it is called. The latter does not access any
+	 * state shared with other verifications and, hence, may be performed on a
+	 * separate thread. If the cache records that the same verification
+	 * condition was previously shown to hold, then both steps are skipped.
+	 */
+	private final class Verification implements Callable<Boolean> {
+		private final WycsFile.Assert stmt;
+		private final Automaton automaton;
+		private final Automaton original;
+		private final String key;
+		private final VerificationCache.Entry cached;
+		private Rewriter rewriter;
+		private boolean result;
+		private long time;
+		private long memory;
+
+		public Verification(WycsFile.Assert stmt) {
+			this.stmt = stmt;
+
+			Code neg = Code.Unary(SemanticType.Bool,
+					Code.Op.NOT, stmt.condition);
+			// The following conversion is potentially very expensive, but is
+			// currently necessary for the instantiate axioms phase.
+			Code nnf = NormalForms.negationNormalForm(neg);
+			
+			///debug(nnf,filename);
+			int maxVar = findLargestVariable(nnf);
+			
+			Code vc = instantiateAxioms(nnf, maxVar + 1);					
+			
+			//debug(vc,filename);
+			
+			if (verificationCache != null) {
+				key = VerificationCache.key(vc, rwMode + ":" + maxReductions
+						+ ":" + maxInferences);
+				VerificationCache.Entry entry = verificationCache.get(key);
+				cached = entry != null && entry.valid ? entry : null;
+			} else {
+				key = null;
+				cached = null;
+			}
+			
+			if (cached != null) {
+				automaton = null;
+				original = null;
+				return;
+			}
+			
+			automaton = new Automaton();
+			int assertion = translate(vc,automaton,new HashMap<String,Integer>());
+			automaton.setRoot(0, assertion);		
+			// NOTE: don't need to minimise or compact here since the rewriter does
+			// this for me.
+			//
+			//		automaton.minimise();
+			//		automaton.compact();
+					
+			if (debug) {
+				debug(neg,filename);			
+				original = new Automaton(automaton);
+				//debug(original);
+			} else {
+				original = null;
+			}
+		}
+
+		public Boolean call() {
+			if (cached != null) {
+				return true;
+			}
+			Runtime runtime = Runtime.getRuntime();
+			long startTime = System.currentTimeMillis();
+			long startMemory = runtime.freeMemory();
+
+			rewriter = createRewriter(automaton);
+			result = rewriter.apply();
+
+			time = System.currentTimeMillis() - startTime;
+			memory = startMemory - runtime.freeMemory();
+			return result;
+		}
 	}
 	
 	private int translate(Code expr, Automaton automaton, HashMap<String,Integer> environment) {
@@ -806,6 +1048,12 @@ public class VerificationCheck implements Transform<WycsFile> {
 			reductionStrategy = new UnfairStateRuleRewriteStrategy<ReductionRule>(
 					automaton, Solver.reductions,Solver.SCHEMA);
 			break;
+		case INCREMENTALDISPATCH:
+			inferenceStrategy = new IncrementalStateRuleRewriteStrategy<InferenceRule>(
+					automaton, Solver.inferences,Solver.SCHEMA);
+			reductionStrategy = new IncrementalStateRuleRewriteStrategy<ReductionRule>(
+					automaton, Solver.reductions,Solver.SCHEMA);
+			break;
 		case GLOBALDISPATCH:
 			// NOTE: I don't supply a max steps value here because the
 			// default value would be way too small for the simple rewriter.
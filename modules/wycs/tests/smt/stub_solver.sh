@@ -0,0 +1,63 @@
+#!/bin/sh
+#
+# A stub SMT solver, used to test verification against a pool of solvers
+# without needing a real solver installed. Statements are read from standard
+# input, and a response is written for each (check-sat). The process id is
+# appended to LOG for every (check-sat), so tests can see which process
+# checked each query. Every statement read is also appended to LOG.in, so
+# tests can see what each process was sent.
+#
+# Usage: stub_solver.sh LOG MODE
+#
+# MODE is one of:
+#
+#   unsat  Answer every query "unsat".
+#
+#   hash   Answer each query "sat" or "unsat" based on a checksum of its
+#          statements (ignoring digits, so that variable numbering does not
+#          matter). The same query therefore always gets the same answer.
+#          Each answer is delayed by up to 0.35s, so that responses from
+#          several processes arrive out of order.
+#
+#   hang   As for unsat, except that the first process started with this
+#          LOG never answers its first query.
+
+log=$1
+mode=$2
+query=""
+
+while IFS= read -r line; do
+    printf '%s\n' "$line" >> "$log.in"
+    case "$line" in
+    "(exit)")
+        exit 0
+        ;;
+    "(push 1)")
+        query=""
+        ;;
+    "(check-sat)")
+        echo $$ >> "$log"
+        if [ "$mode" = "hang" ] && mkdir "$log.hung" 2>/dev/null; then
+            # Never answer, like a solver stuck on a hard query
+            while true; do
+                sleep 1
+            done
+        fi
+        if [ "$mode" = "hash" ]; then
+            sum=$(printf '%s' "$query" | tr -d '0-9' | cksum | cut -d ' ' -f 1)
+            sleep "0.$(( ($sum + $$) % 4 ))5"
+            if [ $(( $sum % 3 )) -eq 0 ]; then
+                echo sat
+            else
+                echo unsat
+            fi
+        else
+            echo unsat
+        fi
+        ;;
+    *)
+        query="$query$line
+"
+        ;;
+    esac
+done
@@ -390,12 +390,16 @@ public final class Automata {
 	 * </p>
 	 * 
 	 * <p>
-	 * The canonical form is computed using a straightforward (brute-force)
-	 * back-tracking search. This means it is potentially quite expensive,
-	 * although in most cases it probably runs in polynomial time. The number of
-	 * non-deterministic states in the automaton directly affects how hard the
-	 * computation is. In particular, if there are no non-deterministic states,
-	 * the algorithm runs in guaranteed polynomial time.
+	 * The canonical form is computed by first <i>colouring</i> the states using
+	 * colour refinement (see <code>colour()</code>), and then placing states
+	 * one at a time in breadth-first order from the root. The children of a
+	 * non-deterministic state are placed in order of their colour, and only
+	 * children which share a colour are <i>individualised</i> by a
+	 * back-tracking search over their permutations. Since a minimised
+	 * automaton has no two equivalent states, its colouring almost always
+	 * distinguishes every state and the search collapses to a single
+	 * candidate. The search is only exponential when large numbers of states
+	 * cannot be distinguished by their colour.
 	 * </p>
 	 * 
 	 * <p>
@@ -413,20 +417,30 @@ public final class Automata {
 	 */
 	public static void canonicalise(Automaton automaton,
 			Comparator<State> dataComparator) {
-		int size = automaton.size();				
+		int size = automaton.size();
+		int[] colours = colour(automaton, dataComparator);
 		ArrayList<Morphism> candidates = new ArrayList<Morphism>();		
 		candidates.add(new Morphism(size));		
 		for(int i=0;i!=size;++i) {
-			extend(i,candidates,automaton,dataComparator);			
+			extend(i,candidates,colours,automaton,dataComparator);			
 		}		
 		inplaceReorder(automaton,candidates.get(0).n2i);					
 	}
 
-	/*
-	 * The following provides a brute-force way of determining the canonical
-	 * form. It's really really slow, but useful for testing.	
+	/**
+	 * The following provides a brute-force way of determining a canonical
+	 * form. It's really really slow, but useful for testing: two automata have
+	 * the same canonical form under <code>canonicalise()</code> if, and only
+	 * if, they have the same form under this method.
+	 * 
+	 * @param automaton
+	 *            --- automaton to be canonicalised (which is not modified).
+	 * @param dataComparator
+	 *            --- comparator for supplementary data. May be null if no state
+	 *            has supplementary data.
+	 * @return
 	 */
-	private static Automaton bruteForce(Automaton automaton, Comparator dataComparator) {
+	public static Automaton bruteForce(Automaton automaton, Comparator<State> dataComparator) {
 		int[] init = new int[automaton.size()-1];
 		for(int i=0;i<init.length;++i) {
 			init[i] = i+1;
@@ -445,6 +459,137 @@ public final class Automata {
 		return reorder(automaton,winner.n2i);
 	}
 
+	/**
+	 * <p>
+	 * Compute a stable colouring of the states in a given automaton using
+	 * <i>colour refinement</i>. Initially, states are coloured by their kind,
+	 * determinism, number of children and supplementary data. Then, states of
+	 * the same colour are repeatedly split according to the colours of their
+	 * children (taken in order for deterministic states, and as a sorted
+	 * sequence for non-deterministic states) until no more splits occur.
+	 * </p>
+	 * 
+	 * <p>
+	 * Colours are allocated by sorting, rather than hashing, and hence are
+	 * invariant under any permutation of the states. That is, two states of
+	 * isomorphic automata which are related by the isomorphism always receive
+	 * the same colour.
+	 * </p>
+	 * 
+	 * @param automaton
+	 *            --- automaton whose states are to be coloured.
+	 * @param dataComparator
+	 *            --- comparator for supplementary data. May be null if no state
+	 *            has supplementary data.
+	 * @return --- an array mapping each state to its colour.
+	 */
+	private static int[] colour(Automaton automaton,
+			final Comparator<State> dataComparator) {
+		final State[] states = automaton.states;
+		int size = states.length;
+		Integer[] order = new Integer[size];
+		for(int i=0;i!=size;++i) {
+			order[i] = i;
+		}
+		
+		Comparator<Integer> comparator = new Comparator<Integer>() {
+			public int compare(Integer i1, Integer i2) {
+				return compareLocal(states[i1], states[i2], dataComparator);
+			}
+		};
+		int[] colours = new int[size];
+		int ncolours = rank(order, comparator, colours);
+		
+		while(ncolours < size) {
+			final int[] current = colours;
+			final int[][] signatures = new int[size][];
+			for(int i=0;i!=size;++i) {
+				State state = states[i];
+				int[] children = state.children;
+				int[] signature = new int[children.length];
+				for(int j=0;j!=children.length;++j) {
+					signature[j] = current[children[j]];
+				}
+				if(!state.deterministic) {
+					Arrays.sort(signature);
+				}
+				signatures[i] = signature;
+			}
+			comparator = new Comparator<Integer>() {
+				public int compare(Integer i1, Integer i2) {
+					int c = current[i1] - current[i2];
+					if(c != 0) {
+						return c;
+					}
+					// states of the same colour have the same number of children 
+					int[] s1 = signatures[i1];
+					int[] s2 = signatures[i2];
+					for(int j=0;j!=s1.length;++j) {
+						c = s1[j] - s2[j];
+						if(c != 0) {
+							return c;
+						}
+					}
+					return 0;
+				}
+			};
+			colours = new int[size];
+			int n = rank(order, comparator, colours);
+			if(n == ncolours) {
+				// colouring is stable
+				break;
+			}
+			ncolours = n;
+		}
+		
+		return colours;
+	}
+	
+	/**
+	 * Sort the given states and assign each a colour according to its position
+	 * in the sorted order, such that states which are equal under the
+	 * comparator receive the same colour.
+	 * 
+	 * @param order
+	 *            --- the states to be sorted.
+	 * @param comparator
+	 *            --- comparator used for sorting.
+	 * @param colours
+	 *            --- array into which the colours are written.
+	 * @return --- the number of distinct colours.
+	 */
+	private static int rank(Integer[] order, Comparator<Integer> comparator,
+			int[] colours) {
+		Arrays.sort(order, comparator);
+		int colour = 0;
+		for(int i=0;i!=order.length;++i) {
+			if(i != 0 && comparator.compare(order[i-1], order[i]) != 0) {
+				colour = colour + 1;
+			}
+			colours[order[i]] = colour;
+		}
+		return colour + 1;
+	}
+	
+	/**
+	 * Compare two states by their kind, determinism, number of children and
+	 * supplementary data, in the same order as used by <code>lessThan()</code>.
+	 */
+	private static int compareLocal(State s1, State s2,
+			Comparator<State> dataComparator) {
+		if(s1.kind != s2.kind) {
+			return s1.kind < s2.kind ? -1 : 1;
+		} else if(s1.deterministic != s2.deterministic) {
+			return s1.deterministic ? -1 : 1;
+		} else if(s1.children.length != s2.children.length) {
+			return s1.children.length < s2.children.length ? -1 : 1;
+		} else if(s1.data != null) {
+			return s2.data == null ? 1 : dataComparator.compare(s1, s2);
+		} else {
+			return s2.data == null ? 0 : -1;
+		}
+	}
+	
 	/**
 	 * <p>
 	 * This algorithm extends all of the current morphisms by a single place.
@@ -465,6 +610,8 @@ public final class Automata {
 	 *            explored. An invariant of this algorithm is that all
 	 *            candidates are equivalent under the <code>lessThan()</code>
 	 *            relation.
+	 * @param colours
+	 *            --- stable colouring of the automaton's states.
 	 * @param automaton
 	 *            --- the automaton being canonicalised
 	 * @param dataComparator
@@ -474,22 +621,21 @@ public final class Automata {
 	 * 
 	 */
 	private static void extend(int index, ArrayList<Morphism> candidates,
-			Automaton automaton, Comparator<State> dataComparator) {
-
-		// Please note, this algorithm is really not very efficient. There is
-		// quite a lot more pruning that could be done!
-		
+			int[] colours, Automaton automaton,
+			Comparator<State> dataComparator) {
 		int size = candidates.size();
 		for(int i=0;i!=size;++i) {
 			Morphism candidate = candidates.get(i);			
-			extend(index,candidate,candidates,automaton);
+			extend(index,candidate,candidates,colours,automaton);
 		}
 		
-		prune(candidates, automaton, dataComparator);
+		if(candidates.size() > 1) {
+			prune(candidates, automaton, dataComparator);
+		}
 	}
 
 	private static void extend(int index, Morphism candidate,
-			ArrayList<Morphism> candidates, Automaton automaton) {
+			ArrayList<Morphism> candidates, int[] colours, Automaton automaton) {
 		State[] states = automaton.states;
 		State s = states[candidate.i2n[index]];
 		int[] children = s.children;
@@ -501,32 +647,94 @@ public final class Automata {
 				}
 			}
 		} else {
-			// harder case
-			
-			// This loop is why the algorithm has exponential running time.			
-			ArrayList<int[]> permutations = permutations(children);
-			for(int i=0;i!=permutations.size();++i) {
+			// harder case. Children which are already allocated are fixed, and
+			// the remainder are placed in order of colour. Only children which
+			// share a colour cannot be distinguished, and these must be
+			// permuted.			
+			ArrayList<int[]> orderings = orderings(
+					unallocated(children, candidate, colours), colours);
+			for(int i=0;i!=orderings.size();++i) {
 				Morphism ncandidate;
-				if((i+1) == permutations.size()) {
+				if((i+1) == orderings.size()) {
 					// last one, so overwrite original
 					ncandidate = candidate;
 				} else {
 					ncandidate = new Morphism(candidate);
 					candidates.add(ncandidate);
 				}				
-				int[] permutation = permutations.get(i);				
-				for(int child : permutation) {
-					// GAH --- the following line is horrendously stupid. It's
-					// guaranteed to generate idendical candidates in the case
-					// of a child which is already allocated.
-					if(!ncandidate.isAllocated(child)) {
-						ncandidate.allocate(child);
-					}
+				for(int child : orderings.get(i)) {
+					ncandidate.allocate(child);
 				}
 			}			
 		}		
 	}
 	
+	/**
+	 * Determine the distinct children of a non-deterministic state which are
+	 * not yet allocated in a given morphism, sorted by colour.
+	 */
+	private static int[] unallocated(int[] children, Morphism candidate,
+			final int[] colours) {
+		int length = 0;
+		Integer[] unallocated = new Integer[children.length];
+		for(int child : children) {
+			if(!candidate.isAllocated(child)) {
+				boolean duplicate = false;
+				for(int j=0;j!=length;++j) {
+					duplicate |= unallocated[j] == child;
+				}
+				if(!duplicate) {
+					unallocated[length++] = child;
+				}
+			}
+		}
+		Arrays.sort(unallocated, 0, length, new Comparator<Integer>() {
+			public int compare(Integer c1, Integer c2) {
+				return colours[c1] - colours[c2];
+			}
+		});
+		int[] result = new int[length];
+		for(int i=0;i!=length;++i) {
+			result[i] = unallocated[i];
+		}
+		return result;
+	}
+	
+	/**
+	 * Generate every ordering of the given children (which are sorted by
+	 * colour) obtained by permuting those children which share a colour.
+	 */
+	private static ArrayList<int[]> orderings(int[] children, int[] colours) {
+		ArrayList<int[]> orderings = new ArrayList<int[]>();
+		orderings.add(children);
+		int start = 0;
+		while(start < children.length) {
+			int end = start + 1;
+			while(end < children.length
+					&& colours[children[end]] == colours[children[start]]) {
+				end = end + 1;
+			}
+			if((end - start) > 1) {
+				// This is why the algorithm has exponential running time.
+				ArrayList<int[]> permutations = permutations(Arrays
+						.copyOfRange(children, start, end));
+				ArrayList<int[]> norderings = new ArrayList<int[]>();
+				for(int[] ordering : orderings) {
+					for(int[] permutation : permutations) {
+						int[] nordering = Arrays.copyOf(ordering,
+								ordering.length);
+						System.arraycopy(permutation, 0, nordering, start,
+								permutation.length);
+						norderings.add(nordering);
+					}
+				}
+				orderings = norderings;
+			}
+			start = end;
+		}
+		return orderings;
+	}
+	
 	/**
 	 * <p>
 	 * The following method produces every possible permutation of the give
@@ -583,8 +791,6 @@ public final class Automata {
 	 * @param automaton
 	 */
 	private static void prune(ArrayList<Morphism> candidates, Automaton automaton, Comparator<State> dataComparator) {
-		// this is really inefficient!
-		// at a minimum, we could avoid recomputing lessThan twice for each candidate.		
 		Morphism least = candidates.get(0); 
 		for(Morphism candidate : candidates) {			
 			if(lessThan(candidate,least,automaton, dataComparator)) {
@@ -26,9 +26,9 @@
 package wyil.builders;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import wycc.lang.Attribute;
@@ -90,6 +90,15 @@ import wyil.lang.*;
  * branches. Finding the LCA can be useful, for example, to identify constraints
  * common to both branches.
  * </p>
+ * <p>
+ * By default, every branch runs to the end of the block and branches are only
+ * joined once they have all finished. Thus, a sequence of <code>n</code>
+ * conditionals gives rise to <code>2^n</code> branches. Alternatively, in
+ * <i>merging</i> mode, branches are advanced in step and are joined as soon
+ * as they reach the same point in the block. Any register which holds a
+ * different expression on each branch is then assigned a fresh variable at
+ * the meet point (in the style of static-single assignment).
+ * </p>
  * 
  * @author David J. Pearce
  * 
@@ -105,12 +114,20 @@ public class VcBranch {
 	/**
 	 * Maintains the current assignment of variables to expressions.
 	 */
-	private final Expr[] environment;
+	private Expr[] environment;
 
 	/**
 	 * Maintains the current assignment of variables to their types.
 	 */
-	private final Type[] types;
+	private Type[] types;
+	
+	/**
+	 * Indicates whether the environment and types arrays may be shared with
+	 * another branch. When forking, both branches share the same arrays and
+	 * whichever writes first takes a copy. This makes forking a branch
+	 * constant time.
+	 */
+	private boolean shared;
 	
 	/**
 	 * The stack of currently active scopes (e.g. for-loop). When the branch
@@ -119,6 +136,22 @@ public class VcBranch {
 	 */
 	public final ArrayList<Scope> scopes;
 	
+	/**
+	 * Indicates whether branches are joined at meet points in the control-flow
+	 * graph, or only once every branch has finished.
+	 */
+	private boolean merging;
+	
+	/**
+	 * The fresh variables introduced at meet points, along with their types.
+	 * This is shared between all branches forked from the same master branch.
+	 * These are named "m" + register + "_" + n, where n is the number of such
+	 * variables introduced before. This keeps them distinct from each other
+	 * and from the variables introduced by <code>invalidate()</code>, even
+	 * when both occur at the same bytecode.
+	 */
+	private final LinkedHashMap<String, Type> joinVariables;
+	
 	/**
 	 * The block of Wyil bytecode instructions which this branch is traversing
 	 * (note: <code>parent == null || block == parent.block</code> must hold).
@@ -153,6 +186,7 @@ public class VcBranch {
 		this.environment = new Expr[block.numSlots()];
 		this.types = new Type[block.numSlots()];
 		this.scopes = new ArrayList<Scope>();		
+		this.joinVariables = new LinkedHashMap<String, Type>();
 		this.origin = 0;
 		this.pc = 0;
 		scopes.add(new Scope(block.size(), Collections.EMPTY_LIST));
@@ -174,6 +208,7 @@ public class VcBranch {
 		this.environment = new Expr[block.numSlots()];
 		this.types = new Type[block.numSlots()];
 		this.scopes = new ArrayList<Scope>();
+		this.joinVariables = new LinkedHashMap<String, Type>();
 		this.block = block;
 		this.origin = 0;
 		this.pc = 0;
@@ -189,18 +224,36 @@ public class VcBranch {
 	 */
 	private VcBranch(VcBranch parent) {
 		this.parent = parent;
-		this.environment = parent.environment.clone();
-		this.types = Arrays
-				.copyOf(parent.types, environment.length);
-		this.scopes = new ArrayList<Scope>();
+		this.environment = parent.environment;
+		this.types = parent.types;
+		this.shared = true;
+		this.scopes = new ArrayList<Scope>(parent.scopes);
+		this.merging = parent.merging;
+		this.joinVariables = parent.joinVariables;
 		this.block = parent.block;
 		this.origin = parent.pc;
 		this.pc = parent.pc;
-		for(Scope scope : parent.scopes) {
-			this.scopes.add(scope.clone());
+		parent.shared = true;
+		for (Scope scope : scopes) {
+			// scopes are now shared, hence neither branch owns them.
+			scope.owner = null;
 		}
 	}
 
+	/**
+	 * Set whether or not this branch (and any branches forked from it) should
+	 * be joined at meet points in the control-flow graph.
+	 * 
+	 * @param merging
+	 */
+	public void setMerging(boolean merging) {
+		this.merging = merging;
+	}
+	
+	public boolean isMerging() {
+		return merging;
+	}
+
 	/**
 	 * Return the current Program Counter (PC) value for this branch. This must
 	 * be a valid index into the code block this branch is operating over.
@@ -261,6 +314,7 @@ public class VcBranch {
 	 * @param expr
 	 */
 	public void write(int register, Expr expr, Type type) {
+		editEnvironment();
 		environment[register] = expr;
 		types[register] = type;
 	}
@@ -305,6 +359,7 @@ public class VcBranch {
 		// a fresh variable which has not been previously encountered in the
 		// branch.
 		Expr.Variable var = new Expr.Variable("r" + Integer.toString(register) + "_" + pc);
+		editEnvironment();
 		environment[register] = var;
 		types[register] = type;
 		return var;
@@ -372,142 +427,238 @@ public class VcBranch {
 	 */
 	public Expr transform(VcTransformer transformer) {		
 		ArrayList<VcBranch> children = new ArrayList<VcBranch>();
+		
+		if (merging) {
+			transform(transformer, children);
+			if (!joinVariables.isEmpty()) {
+				// The fresh variables introduced at meet points are local to
+				// this block and, hence, must not escape from it.
+				return transformer.exists(joinVariables, constraints(),
+						block.get(block.size() - 1));
+			}
+		} else {
+			int blockSize = block.size();
+			while (pc < blockSize && step(transformer, children)) {
+				// keep going
+			}
+
+			// Now, transform child branches!!!
+			for (VcBranch child : children) {
+				child.transform(transformer);
+				join(child);
+			}
+		}
+		
+		return constraints();
+	}
+	
+	/**
+	 * Transform this branch, along with any branches forked from it, joining
+	 * branches at meet points as they are encountered. At each step, the
+	 * branch with the lowest PC is advanced. Since branches only go forwards,
+	 * any other branch which can meet it at that point must already be there.
+	 * When all branches have finished, they are joined into this one.
+	 * 
+	 * @param transformer
+	 *            --- responsible for transformining individual bytecodes into
+	 *            constraints capturing their semantics.
+	 * @param active
+	 *            --- the list of branches still being transformed.
+	 */
+	private void transform(VcTransformer transformer, ArrayList<VcBranch> active) {
+		ArrayList<VcBranch> finished = new ArrayList<VcBranch>();
 		int blockSize = block.size();
-		while (pc < blockSize) {
-									
-			// first, check whether we're departing a scope or not.
-			int top = scopes.size() - 1;
-			while (top >= 0 && scopes.get(top).end < pc) {
-				// yes, we're leaving a scope ... so notify transformer.
-				Scope topScope = scopes.get(top);
-				scopes.remove(top);
-				dispatchExit(topScope, transformer);
-				top = top - 1;
-			}			
-			
-			// second, continue to transform the given bytecode
-			Code.Block.Entry entry = block.get(pc);
-			Code code = entry.code;
-			if(code instanceof Codes.Goto) {				
-				goTo(((Codes.Goto) code).target);
-			} else if(code instanceof Codes.If) {
-				Codes.If ifc = (Codes.If) code;
-				VcBranch trueBranch = fork();	
-				transformer.transform(ifc,this,trueBranch);
-				trueBranch.goTo(ifc.target);				
-				children.add(trueBranch);
-			} else if(code instanceof Codes.Switch) {
-				Codes.Switch sw = (Codes.Switch) code;
-				VcBranch[] cases = new VcBranch[sw.branches.size()];
-				for(int i=0;i!=cases.length;++i) {					
-					cases[i] = fork();
-					children.add(cases[i]);
-				}				
-				transformer.transform(sw,this,cases);
-				for(int i=0;i!=cases.length;++i) {					
-					cases[i].goTo(sw.branches.get(i).second());					
-				}				
-				goTo(sw.defaultTarget);
-			} else if(code instanceof Codes.IfIs) {
-				Codes.IfIs ifs = (Codes.IfIs) code;
-				Type type = typeOf(ifs.operand);				
-				// First, determine the true test
-				Type trueType = Type.intersect(type,ifs.rightOperand);		
-				Type falseType = Type.intersect(type,Type.Negation(ifs.rightOperand));
-				
-				if(trueType.equals(Type.T_VOID)) {
-					// This indicate that the true branch is unreachable and
-					// should not be explored. Observe that this does not mean
-					// the true branch is dead-code. Rather, since we're
-					// preforming a path-sensitive traversal it means we've
-					// uncovered an unreachable path. In this case, this branch
-					// remains as the false branch.
-					this.write(ifs.operand, read(ifs.operand), falseType);
-				} else if(falseType.equals(Type.T_VOID)) {
-					// This indicate that the false branch is unreachable (ditto
-					// as for true branch). In this case, this branch becomes
-					// the true branch.
-					goTo(ifs.target);
-					this.write(ifs.operand, read(ifs.operand), trueType);
-				} else {
-					VcBranch trueBranch = fork();
-					trueBranch.goTo(ifs.target);
-					this.write(ifs.operand, read(ifs.operand), falseType);
-					trueBranch.write(ifs.operand, trueBranch.read(ifs.operand), trueType);
-					children.add(trueBranch);
-				}				
-			} else if(code instanceof Codes.ForAll) {
-				Codes.ForAll fall = (Codes.ForAll) code;
-				// FIXME: where should this go?
-				for (int i : fall.modifiedOperands) {
-					invalidate(i,types[i]);
-				}
-				Expr.Variable var = invalidate(fall.indexOperand,fall.type.element());
-				
-				scopes.add(new ForScope(fall, findLabelIndex(fall.target),
-						Collections.EMPTY_LIST, read(fall.sourceOperand),
-						var));
-				transformer.transform(fall, this);
-			} else if(code instanceof Codes.Loop) {
-				Codes.Loop loop = (Codes.Loop) code; 				
-				// FIXME: where should this go?				
-				for (int i : loop.modifiedOperands) {
-					invalidate(i,types[i]);
+		active.add(this);
+		
+		while (!active.isEmpty()) {
+			// First, pick the branch which is furthest behind. This branch is
+			// preferred, since it is the one into which others are joined.
+			VcBranch branch = active.get(0);
+			for (VcBranch b : active) {
+				if (b.pc < branch.pc || (b.pc == branch.pc && b == this)) {
+					branch = b;
 				}
-				
-				scopes.add(new LoopScope(loop, findLabelIndex(loop.target),
-						Collections.EMPTY_LIST));
-				
-				transformer.transform(loop, this);
-			} else if(code instanceof Codes.LoopEnd) {
-				top = scopes.size() - 1;
-				LoopScope ls = (LoopScope) scopes.get(top);
-				scopes.remove(top);
-				if(ls instanceof ForScope) {
-					ForScope fs = (ForScope) ls;
-					transformer.end(fs,this);
-				} else {
-					// normal loop, so the branch ends here
-					transformer.end(ls,this);
-					break; 
+			}
+			
+			if (branch.pc >= blockSize) {
+				active.remove(branch);
+				finished.add(branch);
+				continue;
+			}
+			
+			// Second, join any other branch at the same point into it.
+			branch.exitScopes(transformer);
+			for (int i = active.size() - 1; i >= 0; --i) {
+				VcBranch b = active.get(i);
+				if (b != branch && b.pc == branch.pc) {
+					b.exitScopes(transformer);
+					if (branch.canMerge(b)) {
+						branch.merge(b);
+						active.remove(i);
+					}
 				}
-			} else if(code instanceof Codes.TryCatch) {
-				Codes.TryCatch tc = (Codes.TryCatch) code;
-				scopes.add(new TryScope(findLabelIndex(tc.target),
-						Collections.EMPTY_LIST));
-				transformer.transform(tc, this);
-			} else if(code instanceof Codes.AssertOrAssume) {
-				Codes.AssertOrAssume ac = (Codes.AssertOrAssume) code;
-				boolean isAssertion = code instanceof Codes.Assert;
-				scopes.add(new AssertOrAssumeScope(isAssertion,
-						findLabelIndex(ac.target), Collections.EMPTY_LIST));
-				transformer.transform(ac, this);
-			} else if(code instanceof Codes.Return) {
-				transformer.transform((Codes.Return) code, this);
-				kill();
-				break; // we're done!!!
-			} else if(code instanceof Codes.Throw) {
-				transformer.transform((Codes.Throw) code, this);
-				break; // we're done!!!
-			} else if(code instanceof Codes.Fail) {
-				transformer.transform((Codes.Fail) code, this);
-				kill();
-				break;
-			} else {				
-				dispatch(transformer);				
 			}
-
-			// move on to next instruction.
-			pc = pc + 1;
+			
+			// Third, transform the next bytecode.
+			if (!branch.step(transformer, active)) {
+				active.remove(branch);
+				finished.add(branch);
+			}
 		}
 		
-		// Now, transform child branches!!!
-		for(VcBranch child : children) {
-			child.transform(transformer);
-			join(child);
+		for (VcBranch b : finished) {
+			if (b != this) {
+				join(b);
+			}
 		}
+	}
+	
+	/**
+	 * Transform the bytecode at the current PC position, and advance to the
+	 * next one. Any branches forked off along the way are added to the given
+	 * list of children.
+	 * 
+	 * @param transformer
+	 *            --- responsible for transformining individual bytecodes into
+	 *            constraints capturing their semantics.
+	 * @param children
+	 *            --- list of branches forked from this branch.
+	 * @return --- <code>false</code> if this branch has terminated, or
+	 *         <code>true</code> otherwise.
+	 */
+	private boolean step(VcTransformer transformer, List<VcBranch> children) {
+		// first, check whether we're departing a scope or not.
+		exitScopes(transformer);
 		
-		return constraints();
+		// second, continue to transform the given bytecode
+		Code.Block.Entry entry = block.get(pc);
+		Code code = entry.code;
+		if(code instanceof Codes.Goto) {				
+			goTo(((Codes.Goto) code).target);
+		} else if(code instanceof Codes.If) {
+			Codes.If ifc = (Codes.If) code;
+			VcBranch trueBranch = fork();	
+			transformer.transform(ifc,this,trueBranch);
+			trueBranch.goTo(ifc.target);				
+			children.add(trueBranch);
+		} else if(code instanceof Codes.Switch) {
+			Codes.Switch sw = (Codes.Switch) code;
+			VcBranch[] cases = new VcBranch[sw.branches.size()];
+			for(int i=0;i!=cases.length;++i) {					
+				cases[i] = fork();
+				children.add(cases[i]);
+			}				
+			transformer.transform(sw,this,cases);
+			for(int i=0;i!=cases.length;++i) {					
+				cases[i].goTo(sw.branches.get(i).second());					
+			}				
+			goTo(sw.defaultTarget);
+		} else if(code instanceof Codes.IfIs) {
+			Codes.IfIs ifs = (Codes.IfIs) code;
+			Type type = typeOf(ifs.operand);				
+			// First, determine the true test
+			Type trueType = Type.intersect(type,ifs.rightOperand);		
+			Type falseType = Type.intersect(type,Type.Negation(ifs.rightOperand));
+			
+			if(trueType.equals(Type.T_VOID)) {
+				// This indicate that the true branch is unreachable and
+				// should not be explored. Observe that this does not mean
+				// the true branch is dead-code. Rather, since we're
+				// preforming a path-sensitive traversal it means we've
+				// uncovered an unreachable path. In this case, this branch
+				// remains as the false branch.
+				this.write(ifs.operand, read(ifs.operand), falseType);
+			} else if(falseType.equals(Type.T_VOID)) {
+				// This indicate that the false branch is unreachable (ditto
+				// as for true branch). In this case, this branch becomes
+				// the true branch.
+				goTo(ifs.target);
+				this.write(ifs.operand, read(ifs.operand), trueType);
+			} else {
+				VcBranch trueBranch = fork();
+				trueBranch.goTo(ifs.target);
+				this.write(ifs.operand, read(ifs.operand), falseType);
+				trueBranch.write(ifs.operand, trueBranch.read(ifs.operand), trueType);
+				children.add(trueBranch);
+			}				
+		} else if(code instanceof Codes.ForAll) {
+			Codes.ForAll fall = (Codes.ForAll) code;
+			// FIXME: where should this go?
+			for (int i : fall.modifiedOperands) {
+				invalidate(i,types[i]);
+			}
+			Expr.Variable var = invalidate(fall.indexOperand,fall.type.element());
+			
+			scopes.add(new ForScope(fall, findLabelIndex(fall.target),
+					Collections.EMPTY_LIST, read(fall.sourceOperand),
+					var));
+			transformer.transform(fall, this);
+		} else if(code instanceof Codes.Loop) {
+			Codes.Loop loop = (Codes.Loop) code; 				
+			// FIXME: where should this go?				
+			for (int i : loop.modifiedOperands) {
+				invalidate(i,types[i]);
+			}
+			
+			scopes.add(new LoopScope(loop, findLabelIndex(loop.target),
+					Collections.EMPTY_LIST));
+			
+			transformer.transform(loop, this);
+		} else if(code instanceof Codes.LoopEnd) {
+			LoopScope ls = (LoopScope) popScope();
+			if(ls instanceof ForScope) {
+				ForScope fs = (ForScope) ls;
+				transformer.end(fs,this);
+			} else {
+				// normal loop, so the branch ends here
+				transformer.end(ls,this);
+				return false;
+			}
+		} else if(code instanceof Codes.TryCatch) {
+			Codes.TryCatch tc = (Codes.TryCatch) code;
+			scopes.add(new TryScope(findLabelIndex(tc.target),
+					Collections.EMPTY_LIST));
+			transformer.transform(tc, this);
+		} else if(code instanceof Codes.AssertOrAssume) {
+			Codes.AssertOrAssume ac = (Codes.AssertOrAssume) code;
+			boolean isAssertion = code instanceof Codes.Assert;
+			scopes.add(new AssertOrAssumeScope(isAssertion,
+					findLabelIndex(ac.target), Collections.EMPTY_LIST));
+			transformer.transform(ac, this);
+		} else if(code instanceof Codes.Return) {
+			transformer.transform((Codes.Return) code, this);
+			kill();
+			return false; // we're done!!!
+		} else if(code instanceof Codes.Throw) {
+			transformer.transform((Codes.Throw) code, this);
+			return false; // we're done!!!
+		} else if(code instanceof Codes.Fail) {
+			transformer.transform((Codes.Fail) code, this);
+			kill();
+			return false;
+		} else {				
+			dispatch(transformer);				
+		}
+
+		// move on to next instruction.
+		pc = pc + 1;
+		return true;
+	}
+	
+	/**
+	 * Exit any scopes which this branch has departed, notifying the
+	 * transformer of each in turn.
+	 * 
+	 * @param transformer
+	 */
+	private void exitScopes(VcTransformer transformer) {
+		int top = scopes.size() - 1;
+		while (top >= 0 && scopes.get(top).end < pc) {
+			// yes, we're leaving a scope ... so notify transformer.
+			Scope topScope = popScope();
+			dispatchExit(topScope, transformer);
+			top = top - 1;
+		}
 	}
 		
 	/**
@@ -611,6 +762,131 @@ public class VcBranch {
 		top.constraints.addAll(common);
 		top.constraints.add(join);		
 	}
+	
+	/**
+	 * <p>
+	 * Merge a branch which has reached the same point as this branch into it.
+	 * This is similar to <code>join()</code>, except that both branches will
+	 * continue from this point as one. Therefore, any register which holds a
+	 * different expression on each branch is assigned a fresh variable, and an
+	 * equality relating it to the original expression is added to each side
+	 * of the disjunction. For example, we might have:
+	 * </p>
+	 * 
+	 * <pre>
+	 *   y$0 != 0    y$0 != 0
+	 *   && x$1 < 1  && x$1 >= 1
+	 *   r2 = 1      r2 = x$1
+	 *        ||      ||
+	 *         \\    //
+	 *          \\  //
+	 *           \\//
+	 *            ##
+	 *   y$0 != 0 &&
+	 * ((x$1 < 1 && m2_0 == 1) || 
+	 *  (x$1 >= 1 && m2_0 == x$1))
+	 *   r2 = m2_0
+	 * </pre>
+	 * <p>
+	 * Constraints added from here on refer to the fresh variable, rather than
+	 * duplicating the expressions from each branch. Thus, the size of the
+	 * constraints grows linearly with the number of meet points, rather than
+	 * exponentially.
+	 * </p>
+	 * 
+	 * @param incoming
+	 *            --- A branch at the same point as this one, for which
+	 *            <code>canMerge()</code> holds.
+	 */
+	private void merge(VcBranch incoming) {
+		ArrayList<Expr> common = new ArrayList<Expr>();
+		ArrayList<Expr> lhsConstraints = new ArrayList<Expr>();
+		ArrayList<Expr> rhsConstraints = new ArrayList<Expr>();
+		
+		splitConstraints(incoming,common,lhsConstraints,rhsConstraints);
+		
+		// Second, reconcile the two environments
+		List<Attribute> attributes = entry().attributes();
+		editEnvironment();
+		for (int i = 0; i != environment.length; ++i) {
+			Expr lhs = environment[i];
+			Expr rhs = incoming.environment[i];
+			Type lhsType = types[i];
+			Type rhsType = incoming.types[i];
+			if (lhsType == null) {
+				types[i] = rhsType;
+			} else if (rhsType != null && !lhsType.equals(rhsType)) {
+				types[i] = Type.Union(lhsType, rhsType);
+			}
+			if (lhs == rhs) {
+				continue;
+			} else if (lhs == null || rhs == null) {
+				// register is not defined on both branches, hence cannot be
+				// used after this point.
+				environment[i] = null;
+			} else {
+				Expr.Variable var = new Expr.Variable("m" + Integer.toString(i)
+						+ "_" + joinVariables.size());
+				lhsConstraints.add(new Expr.Binary(Expr.Binary.Op.EQ, var, lhs,
+						attributes));
+				rhsConstraints.add(new Expr.Binary(Expr.Binary.Op.EQ, var, rhs,
+						attributes));
+				environment[i] = var;
+				joinVariables.put(var.name, types[i]);
+			}
+		}
+		
+		// Finally, put it all together
+		Scope top = topScope();
+		top.constraints.clear();		
+		top.constraints.addAll(common);
+		if (lhsConstraints.size() > 0 || rhsConstraints.size() > 0) {
+			top.constraints.add(Or(And(lhsConstraints), And(rhsConstraints)));
+		}
+	}
+	
+	/**
+	 * Determine whether a branch which has reached the same point as this
+	 * branch can be merged into it. This requires that both have the same
+	 * scopes and that, aside from the innermost scope, these contain the same
+	 * constraints. The latter is necessary because constraints in an outer
+	 * scope cannot be moved into an inner scope without changing their
+	 * meaning (e.g. when leaving a for loop).
+	 * 
+	 * @param incoming
+	 * @return
+	 */
+	private boolean canMerge(VcBranch incoming) {
+		int nScopes = scopes.size();
+		if (pc != incoming.pc || nScopes != incoming.scopes.size()) {
+			return false;
+		}
+		for (int i = 0; i != nScopes; ++i) {
+			Scope mine = scopes.get(i);
+			Scope theirs = incoming.scopes.get(i);
+			if (mine == theirs) {
+				continue;
+			} else if (!mine.matches(theirs)) {
+				return false;
+			} else if (i + 1 != nScopes
+					&& !sameConstraints(mine.constraints, theirs.constraints)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean sameConstraints(List<Expr> lhs, List<Expr> rhs) {
+		if (lhs.size() != rhs.size()) {
+			return false;
+		}
+		for (int i = 0; i != lhs.size(); ++i) {
+			if (lhs.get(i) != rhs.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
 
 	/**
 	 * Kill this branch. Namely, it does not proceed any further.
@@ -619,7 +895,7 @@ public class VcBranch {
 		// Because this branch is unreachable, need to kill it properly [that
 		// includes all subscopes as well].
 		for(int i=scopes.size();i>0;--i) {
-			VcBranch.Scope s = scope(i-1);
+			VcBranch.Scope s = editableScope(i-1);
 			s.constraints.clear();				
 		}		
 		topScope().constraints.add(new Expr.Constant(Value.Bool(false)));
@@ -636,6 +912,12 @@ public class VcBranch {
 	public static class Scope implements Cloneable {
 		public final ArrayList<Expr> constraints;
 		public int end;
+		
+		/**
+		 * The branch which may modify this scope, or <code>null</code> if it
+		 * may be shared between branches.
+		 */
+		private VcBranch owner;
 
 		public Scope(int end, List<Expr> constraints) {
 			this.end = end;
@@ -645,6 +927,17 @@ public class VcBranch {
 		public Scope clone() {
 			return new Scope(end,constraints);
 		}
+		
+		/**
+		 * Check whether a given scope represents the same region of bytecodes
+		 * as this scope, although their constraints may differ.
+		 * 
+		 * @param scope
+		 * @return
+		 */
+		public boolean matches(Scope scope) {
+			return getClass() == scope.getClass() && end == scope.end;
+		}
 	}
 			
 	/**
@@ -666,6 +959,10 @@ public class VcBranch {
 		public LoopScope<T> clone() {
 			return new LoopScope(loop,end,constraints);
 		}
+		
+		public boolean matches(Scope scope) {
+			return super.matches(scope) && loop == ((LoopScope) scope).loop;
+		}
 	}
 	
 	/**
@@ -687,6 +984,11 @@ public class VcBranch {
 		public AssertOrAssumeScope clone() {
 			return new AssertOrAssumeScope(isAssertion, end,constraints);
 		}
+		
+		public boolean matches(Scope scope) {
+			return super.matches(scope)
+					&& isAssertion == ((AssertOrAssumeScope) scope).isAssertion;
+		}
 	}
 	
 	/**
@@ -709,6 +1011,12 @@ public class VcBranch {
 		public ForScope clone() {
 			return new ForScope(loop, end, constraints, source, index);
 		}
+		
+		public boolean matches(Scope scope) {
+			ForScope fs = (ForScope) scope;
+			return super.matches(scope) && source == fs.source
+					&& index == fs.index;
+		}
 	}
 	
 	/**
@@ -749,6 +1057,11 @@ public class VcBranch {
 		public EntryScope clone() {
 			return new EntryScope(declaration, end, constraints);
 		}
+		
+		public boolean matches(Scope scope) {
+			return super.matches(scope)
+					&& declaration == ((EntryScope) scope).declaration;
+		}
 	}
 
 	/**
@@ -889,8 +1202,53 @@ public class VcBranch {
 		throw new IllegalArgumentException("unknown label --- " + label);
 	}
 	
+	/**
+	 * Get the innermost scope, such that its constraints can be modified.
+	 * 
+	 * @return
+	 */
 	private Scope topScope() {
-		return scopes.get(scopes.size()-1);
+		return editableScope(scopes.size()-1);
+	}
+	
+	/**
+	 * Get the scope at a given position in the stack, taking a copy of it
+	 * first if it may be shared with another branch. As for the environment,
+	 * scopes are shared after a fork and only copied when their constraints
+	 * are first modified.
+	 * 
+	 * @param i
+	 * @return
+	 */
+	private Scope editableScope(int i) {
+		Scope scope = scopes.get(i);
+		if (scope.owner != this) {
+			scope = scope.clone();
+			scope.owner = this;
+			scopes.set(i, scope);
+		}
+		return scope;
+	}
+	
+	/**
+	 * Remove the innermost scope from the stack.
+	 * 
+	 * @return
+	 */
+	private Scope popScope() {
+		return scopes.remove(scopes.size() - 1);
+	}
+	
+	/**
+	 * Ensure the environment is not shared with another branch, so that it
+	 * can be modified.
+	 */
+	private void editEnvironment() {
+		if (shared) {
+			environment = environment.clone();
+			types = types.clone();
+			shared = false;
+		}
 	}
 	
 	/**
@@ -905,8 +1263,8 @@ public class VcBranch {
 	 */
 	private void splitConstraints(VcBranch incoming, ArrayList<Expr> common,
 			ArrayList<Expr> myRemainder, ArrayList<Expr> incomingRemainder) {
-		ArrayList<Expr> constraints = topScope().constraints;
-		ArrayList<Expr> incomingConstraints = incoming.topScope().constraints;
+		ArrayList<Expr> constraints = scopes.get(scopes.size() - 1).constraints;
+		ArrayList<Expr> incomingConstraints = incoming.scopes.get(incoming.scopes.size() - 1).constraints;
 		
 		int min = 0;
 		
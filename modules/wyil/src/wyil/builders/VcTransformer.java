@@ -31,6 +31,7 @@ import static wyil.util.ErrorMessages.errorMessage;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import wyautl.util.BigRational;
 import wybs.lang.*;
@@ -81,7 +82,11 @@ public class VcTransformer {
 		branch.addAll(scope.constraints);
 	}
 
-	private static int indexCount = 0;
+	/**
+	 * Used to generate fresh index variables. This is shared between all
+	 * transformers, which may be running on different threads.
+	 */
+	private static final AtomicInteger indexCount = new AtomicInteger();
 	
 	public void end(VcBranch.ForScope scope, VcBranch branch) {
 		// we need to build up a quantified formula here.
@@ -95,7 +100,7 @@ public class VcTransformer {
 		if (scope.loop.type instanceof Type.EffectiveList) {
 			// FIXME: hack to work around limitations of whiley for
 			// loops.
-			Expr.Variable idx = new Expr.Variable("i" + indexCount++);
+			Expr.Variable idx = new Expr.Variable("i" + indexCount.getAndIncrement());
 			Expr.Variable tmp = new Expr.Variable("_"
 					+ scope.index.name);
 			varExpr = new Expr.Nary(Expr.Nary.Op.TUPLE, new Expr[] {idx,tmp});
@@ -132,7 +137,7 @@ public class VcTransformer {
 		if (scope.loop.type instanceof Type.EffectiveList) {
 			// FIXME: hack to work around limitations of whiley for
 			// loops.
-			Expr.Variable idx = new Expr.Variable("i" + indexCount++);
+			Expr.Variable idx = new Expr.Variable("i" + indexCount.getAndIncrement());
 			Expr.Variable tmp = new Expr.Variable("_"
 					+ scope.index.name);
 			varExpr = new Expr.Nary(Expr.Nary.Op.TUPLE, new Expr[] {idx,tmp});
@@ -159,6 +164,29 @@ public class VcTransformer {
 		branch.add(new Expr.Exists(var, root, branch.entry().attributes()));
 	}
 
+	/**
+	 * Existentially quantify a given set of variables over a constraint. This
+	 * is used for variables introduced when joining branches, which are local
+	 * to the block being transformed.
+	 * 
+	 * @param variables
+	 *            --- map from variable names to their types.
+	 * @param constraint
+	 * @param elem
+	 *            --- element used for reporting errors.
+	 * @return
+	 */
+	public Expr exists(Map<String, Type> variables, Expr constraint,
+			SyntacticElement elem) {
+		for (Map.Entry<String, Type> e : variables.entrySet()) {
+			SyntacticType type = convert(e.getValue(), elem);
+			TypePattern var = new TypePattern.Leaf(type, new Expr.Variable(
+					e.getKey()));
+			constraint = new Expr.Exists(var, constraint, constraint.attributes());
+		}
+		return constraint;
+	}
+
 	public void exit(VcBranch.TryScope scope,
 			VcBranch branch) {
 
@@ -686,6 +714,7 @@ public class VcTransformer {
 
 		// first, generate a constraint representing the post-condition.
 		VcBranch master = new VcBranch(externalBlock);
+		master.setMerging(branch.isMerging());
 
 		AssertOrAssumeScope scope = new AssertOrAssumeScope(false, externalBlock.size(), Collections.EMPTY_LIST); 
 		master.scopes.add(scope);
@@ -760,7 +789,7 @@ public class VcTransformer {
 					if (ls.loop.type instanceof Type.EffectiveList) {
 						// FIXME: hack to work around limitations of whiley for
 						// loops.
-						String i = "i" + indexCount++;
+						String i = "i" + indexCount.getAndIncrement();
 						vars.add(new TypePattern.Leaf(new SyntacticType.Int(),
 								new Expr.Variable(i)));
 						vars.add(new TypePattern.Leaf(type, ls.index));
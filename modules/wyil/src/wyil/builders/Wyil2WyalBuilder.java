@@ -62,6 +62,12 @@ public class Wyil2WyalBuilder implements Builder {
 
 	private String filename;
 	
+	/**
+	 * Indicates whether verification branches should be joined at meet
+	 * points in the control-flow graph (see <code>VcBranch</code>).
+	 */
+	private boolean mergeBranches;
+	
 	public Wyil2WyalBuilder(Build.Project project) {
 		this.project = project;
 	}
@@ -74,6 +80,10 @@ public class Wyil2WyalBuilder implements Builder {
 		this.logger = logger;
 	}
 	
+	public void setMergeBranches(boolean mergeBranches) {
+		this.mergeBranches = mergeBranches;
+	}
+	
 	public Set<Path.Entry<?>> build(
 			Collection<Pair<Path.Entry<?>, Path.Root>> delta)
 			throws IOException {
@@ -153,6 +163,7 @@ public class Wyil2WyalBuilder implements Builder {
 		Code.Block body = methodCase.body();
 
 		VcBranch master = new VcBranch(method, body);
+		master.setMerging(mergeBranches);
 
 		for (int i = paramStart; i != fmm.params().size(); ++i) {
 			Type paramType = fmm.params().get(i);
@@ -167,6 +178,7 @@ public class Wyil2WyalBuilder implements Builder {
 				block.addAll(precondition);
 			}
 			VcBranch precond = new VcBranch(method, block);
+			precond.setMerging(mergeBranches);
 
 			AssertOrAssumeScope scope = new AssertOrAssumeScope(false, block.size(), Collections.EMPTY_LIST); 
 			precond.scopes.add(scope);
@@ -55,120 +55,83 @@ import static wyil.util.ErrorMessages.*;
  * In the above example, variable z is used in the return statement before it
  * has been defined any value. This is considered a syntax error in whiley.
  * </p>
+ * 
+ * <p>
+ * This is implemented as a forwards "must" analysis, where the store at each
+ * point is the set of registers which are definitely assigned there. Once a
+ * fixed point is reached, every reachable bytecode is checked against the
+ * registers defined immediately before it.
+ * </p>
  * @author David J. Pearce
  * 
  */
-public class DefiniteAssignmentCheck extends
-		ForwardFlowAnalysis<HashSet<Integer>> implements Transform<WyilFile> {
+public class DefiniteAssignmentCheck extends BitVectorFlowAnalysis implements
+		Transform<WyilFile> {
+	private WyilFile.FunctionOrMethodDeclaration method;
 	
 	public DefiniteAssignmentCheck(Builder builder) {
-		
+		super(true, true);
 	}
 	
 	@Override
-	public HashSet<Integer> initialStore() {
-		HashSet<Integer> defined = new HashSet<Integer>();
-		int diff = 0;
-										
-		for(int i=0;i!=method.type().params().size();++i) {
-			defined.add(i+diff);
-		}								
-		
-		return defined;
-	}
-	
-	@Override
-	public HashSet<Integer> propagate(int idx, Entry entry, HashSet<Integer> in) {						
-		Code code = entry.code;			
-		checkUses(code,entry,in);
-		
-		int def = defs(code,entry);
-		if(def >= 0) {			
-			in = new HashSet<Integer>(in);			
-			in.add(def); 
-		} 	
+	public void apply(WyilFile module) {
+		filename = module.filename();
 		
-		return in;
-	}
-		
-	@Override
-	public Pair<HashSet<Integer>, HashSet<Integer>> propagate(int index,
-			Codes.If igoto, Entry entry, HashSet<Integer> in) {
-
-		if (!in.contains(igoto.leftOperand) || !in.contains(igoto.rightOperand)) {
-			syntaxError(errorMessage(VARIABLE_POSSIBLY_UNITIALISED), filename,
-					entry);
+		for (WyilFile.FunctionOrMethodDeclaration md : module.functionOrMethods()) {
+			if (!md.hasModifier(Modifier.NATIVE)) {
+				// native functions/methods don't have bodies
+				method = md;
+				for (WyilFile.Case c : md.cases()) {
+					Code.Block body = c.body();
+					int width = Math.max(body.numSlots(), md.type().params()
+							.size());
+					solve(body, width);
+				}
+			}
 		}
-
-		return new Pair(in, in);
 	}
-
+	
 	@Override
-	public Pair<HashSet<Integer>, HashSet<Integer>> propagate(int index,
-			Codes.IfIs iftype, Entry entry, HashSet<Integer> in) {
-		
-		if (!in.contains(iftype.operand)) {
-			syntaxError(errorMessage(VARIABLE_POSSIBLY_UNITIALISED), filename,
-					entry);
+	protected void boundary(BitVector defined) {
+		for (int i = 0; i != method.type().params().size(); ++i) {
+			defined.add(i);
 		}
-		
-		return new Pair(in,in);
 	}
 	
 	@Override
-	public List<HashSet<Integer>> propagate(int index, Codes.Switch sw,
-			Entry entry, HashSet<Integer> in) {
-
-		if (!in.contains(sw.operand)) {
-			syntaxError(errorMessage(VARIABLE_POSSIBLY_UNITIALISED), filename,
-					entry);
-		}
-
-		ArrayList<HashSet<Integer>> stores = new ArrayList();
-		for (int i = 0; i != sw.branches.size(); ++i) {
-			stores.add(in);
+	protected void transfer(int idx, Entry entry, BitVector in) {
+		Code code = entry.code;
+		if (code instanceof Codes.ForAll) {
+			Codes.ForAll fall = (Codes.ForAll) code;
+			in.add(fall.indexOperand);
+		} else {
+			int def = defs(code, entry);
+			if (def >= 0) {
+				in.add(def);
+			}
 		}
-		return stores;
 	}
-
+	
 	@Override
-	public HashSet<Integer> propagate(Type handler, Codes.TryCatch tc, HashSet<Integer> in) {
-		in = new HashSet<Integer>(in);
+	protected void transfer(Codes.TryCatch tc, BitVector in) {
 		in.add(tc.operand);
-		return in;
 	}
 	
 	@Override
-	public HashSet<Integer> propagate(int start, int end, Codes.Loop loop,
-			Entry entry, HashSet<Integer> in, List<Codes.TryCatch> handlers) {
-		if (loop instanceof Codes.ForAll) {						
-			Codes.ForAll fall = (Codes.ForAll) loop;
-			
+	protected void visit(int idx, Entry entry, BitVector in) {
+		Code code = entry.code;
+		if (code instanceof Codes.ForAll) {
+			Codes.ForAll fall = (Codes.ForAll) code;
 			if (!in.contains(fall.sourceOperand)) {
 				syntaxError(errorMessage(VARIABLE_POSSIBLY_UNITIALISED),
 						filename, entry);
 			}
-			
-			in = new HashSet<Integer>(in);
-			in.add(fall.indexOperand);
-		}
-
-		HashSet<Integer> r = propagate(start + 1, end, in, handlers);
-		return join(in, r);
-	}
-	
-	protected HashSet<Integer> join(HashSet<Integer> s1, HashSet<Integer> s2) {		
-		HashSet<Integer> r = new HashSet<Integer>();
-		// set intersection
-		for (Integer s : s1) {
-			if (s2.contains(s)) {
-				r.add(s);
-			}
+		} else {
+			checkUses(code, entry, in);
 		}
-		return r;
 	}
 		
-	public void checkUses(Code code, Entry entry, HashSet<Integer> in) {
+	public void checkUses(Code code, Entry entry, BitVector in) {
 		if(code instanceof Code.AbstractUnaryOp) {
 			Code.AbstractUnaryOp a = (Code.AbstractUnaryOp) code;
 			if(a.operand == Codes.NULL_REG || in.contains(a.operand)) {
@@ -105,17 +105,7 @@ public class ModuleCheck implements Transform<WyilFile> {
 				if (code instanceof TryCatch) {
 					TryCatch sw = (TryCatch) code;
 					int s = i;
-					// Note, I could make this more efficient!					
-					while (++i < block.size()) {
-						entry = block.get(i);
-						if (entry.code instanceof Codes.Label) {
-							Codes.Label l = (Codes.Label) entry.code;
-							if (l.label.equals(sw.target)) {
-								// end of loop body found
-								break;
-							}
-						}						
-					}
+					i = block.cfg().end(s);
 					
 					Handler nhandler = new Handler(sw.catches,handler);
 					checkTryCatchBlocks(s + 1, i, block, nhandler, labelMap);
@@ -29,6 +29,7 @@ import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import wycc.lang.NameID;
 import wycc.util.Pair;
@@ -1020,13 +1021,18 @@ public final class WyilFileReader {
 		}
 	}
 	
-	private static int labelCount = 0;
+	/**
+	 * Used to generate label names which are unique across all modules read,
+	 * since blocks from one module may be imported into another. This is
+	 * shared between readers which may be running on different threads.
+	 */
+	private static final AtomicInteger labelCount = new AtomicInteger();
 
 	private static Codes.Label findLabel(int target,
 			HashMap<Integer, Codes.Label> labels) {
 		Codes.Label label = labels.get(target);
 		if (label == null) {
-			label = Codes.Label("label" + labelCount++);
+			label = Codes.Label("label" + labelCount.getAndIncrement());
 			labels.put(target, label);
 		}
 		return label;
@@ -1036,7 +1042,7 @@ public final class WyilFileReader {
 			HashMap<Integer, Codes.Label> labels) {
 		Codes.Label label = labels.get(target);
 		if (label == null) {
-			Codes.LoopEnd end = Codes.LoopEnd("label" + labelCount++);
+			Codes.LoopEnd end = Codes.LoopEnd("label" + labelCount.getAndIncrement());
 			labels.put(target, end);
 			return end;
 		} else {
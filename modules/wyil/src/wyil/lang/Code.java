@@ -220,6 +220,12 @@ public interface Code {
 	 */
 	public static class Block extends ArrayList<Block.Entry> implements List<Block.Entry> {
 		private final int numInputs;
+		
+		/**
+		 * Cached control-flow graph for this block, or null if it has not been
+		 * constructed since the block was last modified.
+		 */
+		private ControlFlowGraph cfg;
 				
 		public Block(int numInputs) {		
 			this.numInputs = numInputs;
@@ -272,6 +278,22 @@ public interface Code {
 			}
 			return slots;
 		}
+		
+		/**
+		 * Return the control-flow graph for this block. This is constructed on
+		 * demand, and then retained until the block is next modified. Since
+		 * the body of a function or method case is not normally modified once
+		 * generated, the graph is typically constructed once for each case and
+		 * shared by every analysis over it.
+		 * 
+		 * @return
+		 */
+		public ControlFlowGraph cfg() {
+			if(cfg == null) {
+				cfg = new ControlFlowGraph(this);
+			}
+			return cfg;
+		}
 						
 		// ===================================================================
 		// Append Methods
@@ -365,6 +387,69 @@ public interface Code {
 			set(index, new Entry(code, attributes));
 		}
 		
+		// ===================================================================
+		// List Methods
+		// ===================================================================
+		
+		// NOTE: the following override every method which modifies the list,
+		// so that the cached control-flow graph is discarded. Modifications
+		// made through a sublist are not seen, and should be avoided.
+		
+		public boolean add(Entry entry) {
+			cfg = null;
+			return super.add(entry);
+		}
+		
+		public void add(int index, Entry entry) {
+			cfg = null;
+			super.add(index, entry);
+		}
+		
+		public boolean addAll(Collection<? extends Entry> entries) {
+			cfg = null;
+			return super.addAll(entries);
+		}
+		
+		public boolean addAll(int index, Collection<? extends Entry> entries) {
+			cfg = null;
+			return super.addAll(index, entries);
+		}
+		
+		public Entry set(int index, Entry entry) {
+			cfg = null;
+			return super.set(index, entry);
+		}
+		
+		public Entry remove(int index) {
+			cfg = null;
+			return super.remove(index);
+		}
+		
+		public boolean remove(Object o) {
+			cfg = null;
+			return super.remove(o);
+		}
+		
+		public boolean removeAll(Collection<?> c) {
+			cfg = null;
+			return super.removeAll(c);
+		}
+		
+		public boolean retainAll(Collection<?> c) {
+			cfg = null;
+			return super.retainAll(c);
+		}
+		
+		protected void removeRange(int fromIndex, int toIndex) {
+			cfg = null;
+			super.removeRange(fromIndex, toIndex);
+		}
+		
+		public void clear() {
+			cfg = null;
+			super.clear();
+		}
+		
 		// ===================================================================
 		// Miscellaneous
 		// =================================================================== 
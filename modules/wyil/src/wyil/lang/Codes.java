@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import wycc.lang.NameID;
 import wycc.util.Pair;
@@ -3978,16 +3979,13 @@ public abstract class Codes {
 		return noperands;
 	}
 	
-	private static final ArrayList<Code> values = new ArrayList<Code>();
-	private static final HashMap<Code, Integer> cache = new HashMap<Code, Integer>();
+	private static final ConcurrentHashMap<Code, Code> cache = new ConcurrentHashMap<Code, Code>();
 
 	private static <T extends Code> T get(T type) {
-		Integer idx = cache.get(type);
-		if (idx != null) {
-			return (T) values.get(idx);
+		Code existing = cache.putIfAbsent(type, type);
+		if (existing != null) {
+			return (T) existing;
 		} else {
-			cache.put(type, values.size());
-			values.add(type);
 			return type;
 		}
 	}
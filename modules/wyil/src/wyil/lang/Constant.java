@@ -28,6 +28,7 @@ package wyil.lang;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import wycc.lang.NameID;
 import wycc.util.Pair;
@@ -849,16 +850,13 @@ public abstract class Constant implements Comparable<Constant> {
 		}
 	}
 		
-	private static final ArrayList<Constant> values = new ArrayList<Constant>();
-	private static final HashMap<Constant,java.lang.Integer> cache = new HashMap<Constant,java.lang.Integer>();
+	private static final ConcurrentHashMap<Constant,Constant> cache = new ConcurrentHashMap<Constant,Constant>();
 	
 	private static <T extends Constant> T get(T type) {
-		java.lang.Integer idx = cache.get(type);
-		if(idx != null) {
-			return (T) values.get(idx);
-		} else {					
-			cache.put(type, values.size());
-			values.add(type);
+		Constant existing = cache.putIfAbsent(type, type);
+		if(existing != null) {
+			return (T) existing;
+		} else {
 			return type;
 		}
 	}
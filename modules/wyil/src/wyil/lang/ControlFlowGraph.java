@@ -0,0 +1,531 @@
+// Copyright (c) 2011, David J. Pearce (David J. Pearce@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import wycc.util.Pair;
+
+/**
+ * <p>
+ * An index over the control-flow structure of a given block, which allows the
+ * destination of a branch, or the end of a loop or try-catch block, to be
+ * found directly rather than by scanning through the block. The index also
+ * provides the successors and predecessors of every bytecode and groups the
+ * bytecodes into basic blocks, each of which is given an integer identifier.
+ * Basic blocks are numbered in the order they appear in the block, so the
+ * entry block always has identifier zero. A loop bytecode always ends a basic
+ * block.
+ * </p>
+ *
+ * <p>
+ * The index reflects the block at the time it was constructed and is not
+ * updated when the block is changed. Normally, an index is obtained through
+ * <code>Code.Block.cfg()</code>, which caches it in the block and discards it
+ * whenever the block is modified.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> the end of a loop block (i.e. <code>Codes.LoopEnd</code>)
+ * represents two things: control which falls through into it returns to the
+ * loop bytecode (i.e. the loop head), whilst its label identifies the exit
+ * point of the loop (e.g. for break statements). Therefore, a bytecode which
+ * falls through into the end of a loop has the loop bytecode as its successor.
+ * Likewise, a <code>Codes.ForAll</code> bytecode has the end of its loop as a
+ * successor, which is taken when there are no more elements to iterate over.
+ * Finally, a bytecode which may throw an exception within a try-catch block has
+ * the handlers of every enclosing try-catch block as successors.
+ * </p>
+ */
+public final class ControlFlowGraph {
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * Maps each label to the index of the (first) bytecode which declares it.
+	 */
+	private final HashMap<String, Integer> labels;
+
+	/**
+	 * For each loop or try-catch bytecode, the index of the label which ends
+	 * its block; for any other bytecode, -1.
+	 */
+	private final int[] ends;
+
+	/**
+	 * For each label ending a loop or try-catch block, the index of the
+	 * bytecode which starts that block; for any other bytecode, -1.
+	 */
+	private final int[] starts;
+
+	private final int[][] successors;
+	private final int[][] predecessors;
+
+	/**
+	 * For each bytecode, those successors which are reached by normal (i.e.
+	 * non-exceptional) control flow.
+	 */
+	private final int[][] normalSuccessors;
+
+	/**
+	 * For each bytecode, the index of the bytecode reached by falling through
+	 * it, or -1 if there is none.
+	 */
+	private final int[] next;
+
+	/**
+	 * For each bytecode, the indices of the try-catch bytecodes whose blocks
+	 * enclose it, innermost first.
+	 */
+	private final int[][] handlers;
+
+	/**
+	 * Maps each bytecode to the identifier of the basic block containing it.
+	 */
+	private final int[] blockOf;
+
+	/**
+	 * Maps each basic block to the index of its first bytecode. An additional
+	 * entry holds the size of the block, so that basic block <code>b</code>
+	 * spans from <code>blockStarts[b]</code> up to (but not including)
+	 * <code>blockStarts[b+1]</code>.
+	 */
+	private final int[] blockStarts;
+
+	private final int[][] blockSuccessors;
+	private final int[][] blockPredecessors;
+
+	public ControlFlowGraph(Code.Block block) {
+		int size = block.size();
+		this.labels = new HashMap<String, Integer>();
+		this.ends = new int[size];
+		this.starts = new int[size];
+		Arrays.fill(ends, -1);
+		Arrays.fill(starts, -1);
+
+		// First, index the labels and match every loop and try-catch with its
+		// end. This is done in a single backwards pass, such that the label
+		// matched is the first with the target label after the start (as
+		// would be found by scanning forwards).
+		for (int i = size - 1; i >= 0; --i) {
+			Code code = block.get(i).code;
+			if (code instanceof Codes.Label) {
+				labels.put(((Codes.Label) code).label, i);
+			} else if (code instanceof Codes.Loop) {
+				ends[i] = end(((Codes.Loop) code).target, size);
+			} else if (code instanceof Codes.TryCatch) {
+				ends[i] = end(((Codes.TryCatch) code).target, size);
+			}
+		}
+		for (int i = 0; i != size; ++i) {
+			if (ends[i] >= 0 && ends[i] < size) {
+				starts[ends[i]] = i;
+			}
+		}
+
+		// Second, determine the successors of every bytecode.
+		this.successors = new int[size][];
+		this.normalSuccessors = new int[size][];
+		this.next = new int[size];
+		this.handlers = new int[size][];
+		ArrayList<Integer> tries = new ArrayList<Integer>();
+		int[] enclosing = EMPTY;
+		for (int i = 0; i != size; ++i) {
+			Code code = block.get(i).code;
+			// pop any try-catch blocks which have now ended
+			while (!tries.isEmpty() && ends[tries.get(tries.size() - 1)] <= i) {
+				tries.remove(tries.size() - 1);
+				enclosing = innermostFirst(tries);
+			}
+			handlers[i] = enclosing;
+			next[i] = fallThrough(block, i);
+			Successors succs = new Successors();
+			if (code instanceof Codes.Goto) {
+				succs.add(target(((Codes.Goto) code).target));
+			} else if (code instanceof Codes.If) {
+				succs.add(fallThrough(block, i));
+				succs.add(target(((Codes.If) code).target));
+			} else if (code instanceof Codes.IfIs) {
+				succs.add(fallThrough(block, i));
+				succs.add(target(((Codes.IfIs) code).target));
+			} else if (code instanceof Codes.Switch) {
+				Codes.Switch sw = (Codes.Switch) code;
+				for (Pair<Constant, String> p : sw.branches) {
+					succs.add(target(p.second()));
+				}
+				succs.add(target(sw.defaultTarget));
+			} else if (code instanceof Codes.Return
+					|| code instanceof Codes.Throw
+					|| code instanceof Codes.Fail) {
+				// terminating bytecode
+			} else if (code instanceof Codes.ForAll) {
+				succs.add(fallThrough(block, i));
+				if (ends[i] < size) {
+					succs.add(ends[i]);
+				}
+			} else {
+				if (code instanceof Codes.TryCatch) {
+					tries.add(i);
+					enclosing = innermostFirst(tries);
+				}
+				succs.add(fallThrough(block, i));
+			}
+			normalSuccessors[i] = succs.toArray();
+			if (code instanceof Codes.Throw || code instanceof Codes.Invoke
+					|| code instanceof Codes.IndirectInvoke) {
+				for (int t : handlers[i]) {
+					Codes.TryCatch tc = (Codes.TryCatch) block.get(t).code;
+					for (Pair<Type, String> p : tc.catches) {
+						succs.add(target(p.second()));
+					}
+				}
+			}
+			successors[i] = succs.toArray();
+		}
+		this.predecessors = invert(successors);
+
+		// Third, group the bytecodes into basic blocks. A basic block starts
+		// at the beginning, at any bytecode reached other than by falling
+		// through and after any bytecode which does not simply fall through.
+		// The body of a loop also starts a new basic block, so that the loop
+		// bytecode always ends one.
+		boolean[] leaders = new boolean[size];
+		for (int i = 0; i != size; ++i) {
+			int[] succs = successors[i];
+			boolean fallsThrough = succs.length == 1 && succs[0] == i + 1
+					&& !(block.get(i).code instanceof Codes.Loop);
+			if (!fallsThrough && i + 1 < size) {
+				leaders[i + 1] = true;
+			}
+			for (int s : succs) {
+				if (s != i + 1) {
+					leaders[s] = true;
+				}
+			}
+		}
+		if (size > 0) {
+			leaders[0] = true;
+		}
+		int numBlocks = 0;
+		for (boolean leader : leaders) {
+			if (leader) {
+				numBlocks++;
+			}
+		}
+		this.blockOf = new int[size];
+		this.blockStarts = new int[numBlocks + 1];
+		for (int i = 0, b = -1; i != size; ++i) {
+			if (leaders[i]) {
+				blockStarts[++b] = i;
+			}
+			blockOf[i] = b;
+		}
+		blockStarts[numBlocks] = size;
+
+		this.blockSuccessors = new int[numBlocks][];
+		for (int b = 0; b != numBlocks; ++b) {
+			Successors succs = new Successors();
+			// only the last bytecode of a basic block can have successors
+			// outside of it
+			for (int s : successors[blockStarts[b + 1] - 1]) {
+				succs.add(blockOf[s]);
+			}
+			blockSuccessors[b] = succs.toArray();
+		}
+		this.blockPredecessors = invert(blockSuccessors);
+	}
+
+	// ===================================================================
+	// Accessor Methods
+	// ===================================================================
+
+	/**
+	 * Return the number of bytecodes in the indexed block.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return ends.length;
+	}
+
+	/**
+	 * Return the index of the bytecode which declares a given label, or -1 if
+	 * there is no such label.
+	 *
+	 * @param label
+	 * @return
+	 */
+	public int indexOf(String label) {
+		Integer index = labels.get(label);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Return the index of the label which ends the loop or try-catch block
+	 * started at a given index. If the block is not properly terminated, then
+	 * the size of the indexed block is returned.
+	 *
+	 * @param index
+	 *            --- index of a loop or try-catch bytecode.
+	 * @return
+	 */
+	public int end(int index) {
+		int end = ends[index];
+		if (end < 0) {
+			throw new IllegalArgumentException(
+					"bytecode does not start a loop or try-catch block: "
+							+ index);
+		}
+		return end;
+	}
+
+	/**
+	 * Return the index of the loop or try-catch bytecode whose block is ended
+	 * by the label at a given index, or -1 if there is none.
+	 *
+	 * @param index
+	 *            --- index of a label.
+	 * @return
+	 */
+	public int start(int index) {
+		return starts[index];
+	}
+
+	/**
+	 * Return the indices of the bytecodes which may execute immediately after
+	 * that at a given index. The returned array must not be modified.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int[] successors(int index) {
+		return successors[index];
+	}
+
+	/**
+	 * Return the indices of the bytecodes which may execute immediately before
+	 * that at a given index. The returned array must not be modified.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int[] predecessors(int index) {
+		return predecessors[index];
+	}
+
+	/**
+	 * Return the indices of the bytecodes which may execute immediately after
+	 * that at a given index, ignoring any exceptions it may throw. The
+	 * returned array must not be modified.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int[] normalSuccessors(int index) {
+		return normalSuccessors[index];
+	}
+
+	/**
+	 * Return the index of the bytecode reached by falling through that at a
+	 * given index, or -1 if there is none (i.e. at the end of the block). This
+	 * is normally the following bytecode, except that falling into the end of
+	 * a loop returns to the loop bytecode.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int next(int index) {
+		return next[index];
+	}
+
+	/**
+	 * Return the indices of the try-catch bytecodes whose blocks enclose that
+	 * at a given index, innermost first. The handlers of these may catch an
+	 * exception thrown by the bytecode. The returned array must not be
+	 * modified.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int[] handlers(int index) {
+		return handlers[index];
+	}
+
+	/**
+	 * Return the number of basic blocks.
+	 *
+	 * @return
+	 */
+	public int numBlocks() {
+		return blockSuccessors.length;
+	}
+
+	/**
+	 * Return the identifier of the basic block containing the bytecode at a
+	 * given index.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int blockOf(int index) {
+		return blockOf[index];
+	}
+
+	/**
+	 * Return the index of the first bytecode in a given basic block.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int blockStart(int id) {
+		return blockStarts[id];
+	}
+
+	/**
+	 * Return the index immediately after the last bytecode in a given basic
+	 * block.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int blockEnd(int id) {
+		return blockStarts[id + 1];
+	}
+
+	/**
+	 * Return the identifiers of the basic blocks which may execute immediately
+	 * after a given basic block. The returned array must not be modified.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int[] blockSuccessors(int id) {
+		return blockSuccessors[id];
+	}
+
+	/**
+	 * Return the identifiers of the basic blocks which may execute immediately
+	 * before a given basic block. The returned array must not be modified.
+	 *
+	 * @param id
+	 * @return
+	 */
+	public int[] blockPredecessors(int id) {
+		return blockPredecessors[id];
+	}
+
+	// ===================================================================
+	// Helper Methods
+	// ===================================================================
+
+	/**
+	 * Determine the end of a loop or try-catch block during the backwards
+	 * pass, where the labels map holds the first occurrence of each label
+	 * after the current position.
+	 */
+	private int end(String target, int size) {
+		Integer end = labels.get(target);
+		return end == null ? size : end;
+	}
+
+	private int target(String label) {
+		Integer index = labels.get(label);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Determine where control goes after falling through the bytecode at a
+	 * given index. Normally, this is the next bytecode. However, falling into
+	 * the end of a loop returns control to the loop bytecode.
+	 */
+	private int fallThrough(Code.Block block, int index) {
+		int next = index + 1;
+		if (next >= block.size()) {
+			return -1;
+		} else if (block.get(next).code instanceof Codes.LoopEnd
+				&& starts[next] >= 0) {
+			return starts[next];
+		}
+		return next;
+	}
+
+	private static int[] innermostFirst(ArrayList<Integer> tries) {
+		int[] r = new int[tries.size()];
+		for (int i = 0; i != r.length; ++i) {
+			r[i] = tries.get(r.length - i - 1);
+		}
+		return r;
+	}
+
+	private static int[][] invert(int[][] edges) {
+		int[] counts = new int[edges.length];
+		for (int[] succs : edges) {
+			for (int s : succs) {
+				counts[s]++;
+			}
+		}
+		int[][] inverse = new int[edges.length][];
+		for (int i = 0; i != edges.length; ++i) {
+			inverse[i] = counts[i] == 0 ? EMPTY : new int[counts[i]];
+			counts[i] = 0;
+		}
+		for (int i = 0; i != edges.length; ++i) {
+			for (int s : edges[i]) {
+				inverse[s][counts[s]++] = i;
+			}
+		}
+		return inverse;
+	}
+
+	/**
+	 * A small set of indices, used to accumulate the successors of a bytecode
+	 * or basic block. Missing targets (i.e. -1) are ignored.
+	 */
+	private static final class Successors {
+		private int[] items = new int[2];
+		private int size;
+
+		public void add(int item) {
+			if (item < 0) {
+				return;
+			}
+			for (int i = 0; i != size; ++i) {
+				if (items[i] == item) {
+					return;
+				}
+			}
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+			}
+			items[size++] = item;
+		}
+
+		public int[] toArray() {
+			return size == 0 ? EMPTY : Arrays.copyOf(items, size);
+		}
+	}
+}
@@ -72,6 +72,29 @@ public abstract class Type {
 	// Type Constructors
 	// =============================================================
 
+	/**
+	 * The table of interned types. This must be initialised before the type
+	 * constants below, as some of these are constructed.
+	 */
+	private static final TypeInterner interned = new TypeInterner();
+
+	/**
+	 * The default number of results retained by each of the caches below.
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 65536;
+
+	/**
+	 * Caches the results of subtype tests, explicit coercion tests and
+	 * intersections. These operations are expensive, yet the same pairs of
+	 * types are queried repeatedly during type checking and code generation.
+	 */
+	private static final TypePairCache<Boolean> subtypes = new TypePairCache<Boolean>(
+			DEFAULT_CACHE_CAPACITY);
+	private static final TypePairCache<Boolean> coercions = new TypePairCache<Boolean>(
+			DEFAULT_CACHE_CAPACITY);
+	private static final TypePairCache<Type> intersections = new TypePairCache<Type>(
+			DEFAULT_CACHE_CAPACITY);
+
 	public static final Any T_ANY = new Any();
 	public static final Void T_VOID = new Void();
 	public static final Null T_NULL = new Null();	
@@ -151,7 +174,13 @@ public abstract class Type {
 			throw new IllegalArgumentException(
 					"nominal name cannot be null");
 		}
-		return new Nominal(name);
+		Automaton automaton = new Automaton(new State(K_NOMINAL, name, true,
+				Automaton.NOCHILDREN));
+		Type type = interned.get(automaton);
+		if (type == null) {
+			type = interned.intern(automaton, new Nominal(name));
+		}
+		return (Nominal) type;
 	}
 	
 	/**
@@ -532,10 +561,15 @@ public abstract class Type {
 	 * subtype</i> of type <code>t1</code>.  
 	 */
 	public static boolean isExplicitCoerciveSubtype(Type t1, Type t2) {				
-		Automaton a1 = destruct(t1);
-		Automaton a2 = destruct(t2);
-		ExplicitCoercionOperator relation = new ExplicitCoercionOperator(a1,a2);				
-		return relation.isSubtype(0, 0); 
+		Boolean r = coercions.get(t1, t2);
+		if (r == null) {
+			Automaton a1 = destruct(t1);
+			Automaton a2 = destruct(t2);
+			ExplicitCoercionOperator relation = new ExplicitCoercionOperator(a1,a2);				
+			r = relation.isSubtype(0, 0);
+			coercions.put(t1, t2, r);
+		}
+		return r; 
 	}
 	
 	/**
@@ -545,10 +579,15 @@ public abstract class Type {
 	 * that described by <code>t1</code>.
 	 */
 	public static boolean isSubtype(Type t1, Type t2) {		
-		Automaton a1 = destruct(t1);
-		Automaton a2 = destruct(t2);
-		SubtypeOperator relation = new SubtypeOperator(a1,a2);		
-		return relation.isSubtype(0, 0);		
+		Boolean r = subtypes.get(t1, t2);
+		if (r == null) {
+			Automaton a1 = destruct(t1);
+			Automaton a2 = destruct(t2);
+			SubtypeOperator relation = new SubtypeOperator(a1,a2);		
+			r = relation.isSubtype(0, 0);
+			subtypes.put(t1, t2, r);
+		}
+		return r;		
 	}
 	
 	/**
@@ -587,7 +626,42 @@ public abstract class Type {
 	 * @return
 	 */
 	public static Type intersect(Type t1, Type t2) {
-		return TypeAlgorithms.intersect(t1,t2);
+		Type r = intersections.get(t1, t2);
+		if (r == null) {
+			r = TypeAlgorithms.intersect(t1,t2);
+			intersections.put(t1, t2, r);
+		}
+		return r;
+	}
+
+	/**
+	 * Set the number of results retained by each of the caches used for
+	 * subtype tests, explicit coercion tests and intersections. A capacity of
+	 * zero disables caching. Any results currently cached are discarded.
+	 * 
+	 * @param capacity
+	 */
+	public static void setCacheCapacity(int capacity) {
+		subtypes.setCapacity(capacity);
+		coercions.setCapacity(capacity);
+		intersections.setCapacity(capacity);
+	}
+
+	/**
+	 * Return the number of results retained by each of the type caches.
+	 */
+	public static int cacheCapacity() {
+		return subtypes.capacity();
+	}
+
+	/**
+	 * Return an overview of how effective the type caches have been. This is
+	 * useful for reporting via a builder's logger.
+	 */
+	public static String cacheStatistics() {
+		return "subtypes: " + subtypes + "; coercions: " + coercions
+				+ "; intersections: " + intersections + "; interned: "
+				+ interned;
 	}
 		
 	public static Reference effectiveReference(Type t) {
@@ -2064,9 +2138,13 @@ public abstract class Type {
 	 */
 	public final static Type construct(Automaton automaton) {
 		automaton = normalise(automaton);
-		// second, construc the appropriate face
+		// first, check whether this type has been constructed before
+		Type type = interned.get(automaton);
+		if (type != null) {
+			return type;
+		}
+		// second, construct the appropriate face
 		State root = automaton.states[0];
-		Type type;
 		
 		switch(root.kind) {
 		case K_VOID:
@@ -2176,7 +2254,7 @@ public abstract class Type {
 		
 		//distinctTypes.add(type);
 		
-		return type;
+		return interned.intern(automaton, type);
 	}
 
 	/**
@@ -2333,22 +2411,13 @@ public abstract class Type {
 	public static final byte K_METHOD = 20; 
 	public static final byte K_NOMINAL = 21;
 	
-	private static final ArrayList<Automaton> values = new ArrayList<Automaton>();
-	private static final HashMap<Automaton,Integer> cache = new HashMap<Automaton,Integer>();
-
 	/**
-	 * The following method is for implementing the fly-weight pattern.
+	 * Get the table of interned types. This is primarily useful for reporting
+	 * statistics on its use.
 	 */
-	private static <T extends Automaton> T get(T type) {
-		Integer idx = cache.get(type);
-		if(idx != null) {
-			return (T) values.get(idx);
-		} else {					
-			cache.put(type, values.size());
-			values.add(type);
-			return type;
-		}
-	}	
+	public static TypeInterner interner() {
+		return interned;
+	}
 	
 	public static void main(String[] args) {
 		//Type from = fromString("(null,null)");
@@ -315,7 +315,7 @@ public final class WyilFile implements CompilationUnit {
 	 * @param name
 	 * @return
 	 */
-	public FunctionOrMethodDeclaration functionOrMethod(String name, Type.FunctionOrMethod ft) {
+	public synchronized FunctionOrMethodDeclaration functionOrMethod(String name, Type.FunctionOrMethod ft) {
 		for (Block d : blocks) {
 			if (d instanceof FunctionOrMethodDeclaration) {
 				FunctionOrMethodDeclaration md = (FunctionOrMethodDeclaration) d;
@@ -348,7 +348,7 @@ public final class WyilFile implements CompilationUnit {
 	// Mutators
 	// =========================================================================
 	
-	public void replace(WyilFile.Block old, WyilFile.Block nuw) {
+	public synchronized void replace(WyilFile.Block old, WyilFile.Block nuw) {
 		for(int i=0;i!=blocks.size();++i) {
 			if(blocks.get(i) == old) {
 				blocks.set(i,nuw);
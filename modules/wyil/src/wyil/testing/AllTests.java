@@ -29,7 +29,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ListSubtypeTests.class, RecordSubtypeTests.class,
+@Suite.SuiteClasses({ BitVectorTests.class,
+		BitVectorFlowAnalysisTests.class, CanonicalisationTests.class,
+		ListSubtypeTests.class, RecordSubtypeTests.class,
 		RecursiveSubtypeTests.class, TupleSubtypeTests.class })
 public class AllTests {
 }
@@ -0,0 +1,259 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.testing;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+
+import org.junit.*;
+
+import wyil.lang.*;
+import wyil.lang.Code.Block.Entry;
+import wyil.util.dfa.BitVector;
+import wyil.util.dfa.BitVectorFlowAnalysis;
+
+/**
+ * Tests for the bit-vector dataflow engine. Each test constructs a small block
+ * by hand and checks the final stores with which every bytecode is visited,
+ * using a forwards analysis of the registers assigned and a backwards analysis
+ * of the registers live.
+ */
+public class BitVectorFlowAnalysisTests {
+
+	/**
+	 * <pre>
+	 * 0: const %0 = 1
+	 * 1: const %1 = 1
+	 * 2: assign %2 = %0
+	 * 3: return %2
+	 * </pre>
+	 */
+	@Test
+	public void testStraightLine() {
+		Code.Block block = new Code.Block(0);
+		block.add(Codes.Const(0, ONE));
+		block.add(Codes.Const(1, ONE));
+		block.add(Codes.Assign(Type.T_INT, 2, 0));
+		block.add(Codes.Return(Type.T_INT, 2));
+
+		BitVector[] assigned = new Assigned(true).run(block, 3);
+		assertStores(assigned, "{}", "{0}", "{0,1}", "{0,1,2}");
+
+		BitVector[] live = new Live().run(block, 3);
+		assertStores(live, "{0}", "{0}", "{2}", "{}");
+	}
+
+	/**
+	 * <pre>
+	 * 0: const %0 = 1
+	 * 1: ifeq %0, %0 goto L
+	 * 2: const %1 = 1
+	 * 3: goto E
+	 * 4: .L
+	 * 5: const %1 = 1
+	 * 6: const %2 = 1
+	 * 7: .E
+	 * 8: return %1
+	 * </pre>
+	 */
+	@Test
+	public void testDiamond() {
+		Code.Block block = new Code.Block(0);
+		block.add(Codes.Const(0, ONE));
+		block.add(Codes.If(Type.T_INT, 0, 0, Codes.Comparator.EQ, "L"));
+		block.add(Codes.Const(1, ONE));
+		block.add(Codes.Goto("E"));
+		block.add(Codes.Label("L"));
+		block.add(Codes.Const(1, ONE));
+		block.add(Codes.Const(2, ONE));
+		block.add(Codes.Label("E"));
+		block.add(Codes.Return(Type.T_INT, 1));
+
+		// %2 is only assigned on one side, so is not definitely assigned
+		// after the join, but may be
+		BitVector[] must = new Assigned(true).run(block, 3);
+		assertStores(must, "{}", "{0}", "{0}", "{0,1}", "{0}", "{0}",
+				"{0,1}", "{0,1}", "{0,1}");
+		BitVector[] may = new Assigned(false).run(block, 3);
+		assertEquals("{0,1,2}", may[7].toString());
+		assertEquals("{0,1,2}", may[8].toString());
+
+		BitVector[] live = new Live().run(block, 3);
+		assertStores(live, "{0}", "{}", "{1}", "{1}", "{}", "{1}", "{1}",
+				"{1}", "{}");
+	}
+
+	/**
+	 * <pre>
+	 * 0: const %0 = 1
+	 * 1: loop L
+	 * 2:   ifeq %0, %0 goto E
+	 * 3:   const %1 = 1
+	 * 4:   assign %0 = %1
+	 * 5: .L
+	 * 6: .E
+	 * 7: return %0
+	 * </pre>
+	 */
+	@Test
+	public void testLoop() {
+		Code.Block block = new Code.Block(0);
+		block.add(Codes.Const(0, ONE));
+		block.add(Codes.Loop("L", new int[] { 0, 1 }));
+		block.add(Codes.If(Type.T_INT, 0, 0, Codes.Comparator.EQ, "E"));
+		block.add(Codes.Const(1, ONE));
+		block.add(Codes.Assign(Type.T_INT, 0, 1));
+		block.add(Codes.LoopEnd("L"));
+		block.add(Codes.Label("E"));
+		block.add(Codes.Return(Type.T_INT, 0));
+
+		// %1 is assigned on the back edge, but not on entry to the loop.
+		// Falling into the end of the loop returns to the loop bytecode, so
+		// the end itself is never reached in a forwards analysis.
+		BitVector[] must = new Assigned(true).run(block, 2);
+		assertStores(must, "{}", "{0}", "{0}", "{0}", "{0,1}", null, "{0}",
+				"{0}");
+		BitVector[] may = new Assigned(false).run(block, 2);
+		assertStores(may, "{}", "{0,1}", "{0,1}", "{0,1}", "{0,1}", null,
+				"{0,1}", "{0,1}");
+
+		// %0 is live around the loop, since it is used by the condition
+		BitVector[] live = new Live().run(block, 2);
+		assertStores(live, "{0}", "{0}", "{0}", "{1}", "{0}", "{0}", "{0}",
+				"{}");
+	}
+
+	/**
+	 * <pre>
+	 * 0: const %0 = 1
+	 * 1: return %0
+	 * 2: const %1 = 1
+	 * </pre>
+	 */
+	@Test
+	public void testUnreachable() {
+		Code.Block block = new Code.Block(0);
+		block.add(Codes.Const(0, ONE));
+		block.add(Codes.Return(Type.T_INT, 0));
+		block.add(Codes.Const(1, ONE));
+
+		BitVector[] assigned = new Assigned(true).run(block, 2);
+		assertEquals("{0}", assigned[1].toString());
+		// the forwards analysis only visits reachable bytecodes
+		assertNull(assigned[2]);
+	}
+
+	/**
+	 * Check the store with which each bytecode was visited, where
+	 * <code>null</code> indicates a bytecode which should not be visited.
+	 *
+	 * @param stores
+	 * @param expected
+	 */
+	private static void assertStores(BitVector[] stores, String... expected) {
+		assertEquals(expected.length, stores.length);
+		for (int i = 0; i != expected.length; ++i) {
+			if (expected[i] == null) {
+				assertNull("bytecode " + i + " visited", stores[i]);
+			} else {
+				assertNotNull("bytecode " + i + " not visited", stores[i]);
+				assertEquals("bytecode " + i, expected[i],
+						stores[i].toString());
+			}
+		}
+	}
+
+	private static final Constant ONE = Constant.V_INTEGER(BigInteger.ONE);
+
+	/**
+	 * An analysis which records the store with which each bytecode is visited.
+	 */
+	private static abstract class Recorder extends BitVectorFlowAnalysis {
+		private BitVector[] visited;
+
+		public Recorder(boolean forwards, boolean intersection) {
+			super(forwards, intersection);
+		}
+
+		public BitVector[] run(Code.Block block, int width) {
+			visited = new BitVector[block.size()];
+			super.solve(block, width);
+			return visited;
+		}
+
+		@Override
+		protected void boundary(BitVector store) {
+		}
+
+		@Override
+		protected void visit(int index, Entry entry, BitVector store) {
+			visited[index] = new BitVector(store);
+		}
+	}
+
+	/**
+	 * Forwards analysis of the registers assigned before each bytecode.
+	 */
+	private static final class Assigned extends Recorder {
+		public Assigned(boolean must) {
+			super(true, must);
+		}
+
+		@Override
+		protected void transfer(int index, Entry entry, BitVector store) {
+			if (entry.code instanceof Code.AbstractAssignable) {
+				store.add(((Code.AbstractAssignable) entry.code).target());
+			}
+		}
+	}
+
+	/**
+	 * Backwards analysis of the registers live after each bytecode.
+	 */
+	private static final class Live extends Recorder {
+		public Live() {
+			super(false, false);
+		}
+
+		@Override
+		protected void transfer(int index, Entry entry, BitVector store) {
+			HashSet<Integer> uses = new HashSet<Integer>();
+			entry.code.registers(uses);
+			if (entry.code instanceof Code.AbstractAssignable) {
+				int target = ((Code.AbstractAssignable) entry.code).target();
+				store.remove(target);
+				uses.remove(target);
+			}
+			if (!(entry.code instanceof Codes.Loop)) {
+				for (int r : uses) {
+					store.add(r);
+				}
+			}
+		}
+	}
+}
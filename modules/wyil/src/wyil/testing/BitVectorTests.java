@@ -0,0 +1,166 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.testing;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import wyil.util.dfa.BitVector;
+
+/**
+ * Tests for the register sets used as stores by
+ * <code>BitVectorFlowAnalysis</code>. Widths are chosen to exercise sets which
+ * occupy part of a word, exactly one word and several words.
+ */
+public class BitVectorTests {
+
+	private static final int[] WIDTHS = { 0, 1, 5, 63, 64, 65, 130 };
+
+	@Test
+	public void testAddAndContains() {
+		for (int width : WIDTHS) {
+			BitVector v = new BitVector(width);
+			assertTrue(v.isEmpty());
+			for (int i = 0; i < width; i += 3) {
+				assertTrue(v.add(i));
+				assertFalse(v.add(i));
+			}
+			for (int i = 0; i != width; ++i) {
+				assertEquals(i % 3 == 0, v.contains(i));
+			}
+			assertEquals((width + 2) / 3, v.size());
+			assertEquals(width == 0, v.isEmpty());
+		}
+	}
+
+	@Test
+	public void testRemove() {
+		BitVector v = create(130, 0, 63, 64, 129);
+		assertTrue(v.remove(64));
+		assertFalse(v.remove(64));
+		assertFalse(v.remove(1));
+		assertEquals(create(130, 0, 63, 129), v);
+		v.clear();
+		assertTrue(v.isEmpty());
+	}
+
+	@Test
+	public void testOutOfRange() {
+		BitVector v = new BitVector(65);
+		assertFalse(v.contains(-1));
+		assertFalse(v.contains(65));
+		assertFalse(v.remove(-1));
+		assertFalse(v.remove(65));
+		try {
+			v.add(65);
+			fail("expected IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			v.add(-1);
+			fail("expected IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		assertTrue(v.isEmpty());
+	}
+
+	@Test
+	public void testFill() {
+		for (int width : WIDTHS) {
+			BitVector v = new BitVector(width);
+			v.fill();
+			assertEquals(width, v.size());
+			assertFalse(v.contains(width));
+			// unused bits are not set, so the filled set equals one built
+			// by adding every register
+			BitVector w = new BitVector(width);
+			for (int i = 0; i != width; ++i) {
+				w.add(i);
+			}
+			assertEquals(w, v);
+			assertEquals(w.hashCode(), v.hashCode());
+		}
+	}
+
+	@Test
+	public void testJoin() {
+		BitVector v = create(130, 1, 64);
+		assertTrue(v.join(create(130, 2, 64, 129)));
+		assertEquals(create(130, 1, 2, 64, 129), v);
+		assertFalse(v.join(create(130, 1, 129)));
+		assertFalse(v.join(new BitVector(130)));
+		assertEquals(create(130, 1, 2, 64, 129), v);
+	}
+
+	@Test
+	public void testMeet() {
+		BitVector v = create(130, 1, 2, 64, 129);
+		assertTrue(v.meet(create(130, 2, 64, 100)));
+		assertEquals(create(130, 2, 64), v);
+		assertFalse(v.meet(create(130, 1, 2, 64)));
+		BitVector top = new BitVector(130);
+		top.fill();
+		assertFalse(v.meet(top));
+		assertTrue(v.meet(new BitVector(130)));
+		assertTrue(v.isEmpty());
+	}
+
+	@Test
+	public void testCopyAndAssign() {
+		BitVector v = create(70, 3, 66);
+		BitVector copy = new BitVector(v);
+		assertEquals(v, copy);
+		copy.add(4);
+		assertFalse(v.contains(4));
+		v.assign(copy);
+		assertEquals(create(70, 3, 4, 66), v);
+		copy.remove(3);
+		assertTrue(v.contains(3));
+	}
+
+	@Test
+	public void testEquals() {
+		assertEquals(create(10, 1, 2), create(10, 1, 2));
+		assertFalse(create(10, 1, 2).equals(create(10, 1)));
+		// sets drawn from different ranges are never equal
+		assertFalse(create(10, 1, 2).equals(create(11, 1, 2)));
+	}
+
+	@Test
+	public void testToString() {
+		assertEquals("{}", new BitVector(5).toString());
+		assertEquals("{0,3,64}", create(65, 0, 3, 64).toString());
+	}
+
+	private static BitVector create(int width, int... registers) {
+		BitVector v = new BitVector(width);
+		for (int r : registers) {
+			v.add(r);
+		}
+		return v;
+	}
+}
@@ -0,0 +1,232 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.testing;
+
+import static org.junit.Assert.*;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.*;
+
+import wyautl_old.lang.Automata;
+import wyautl_old.lang.Automaton;
+import wyautl_old.lang.Automaton.State;
+
+/**
+ * Checks the canonical form computed by <code>Automata.canonicalise()</code>
+ * against that computed by <code>Automata.bruteForce()</code>. Each test
+ * constructs random automata (some of which are minimised, and some of which
+ * are not, although all states are reachable from the root) and checks that: the canonical form is unchanged by permuting the
+ * states of an automaton; the canonical form is isomorphic to the original
+ * automaton; and, two automata have the same canonical form if, and only if,
+ * they have the same brute-force form.
+ */
+public class CanonicalisationTests {
+
+	@Test public void Test_Deterministic_1() { checkRandom(1, 100, 6, 0); }
+	@Test public void Test_Deterministic_2() { checkRandom(2, 100, 8, 0); }
+	@Test public void Test_NonDeterministic_1() { checkRandom(3, 100, 6, 1); }
+	@Test public void Test_NonDeterministic_2() { checkRandom(4, 100, 8, 1); }
+	@Test public void Test_Mixed_1() { checkRandom(5, 200, 6, 3); }
+	@Test public void Test_Mixed_2() { checkRandom(6, 200, 8, 3); }
+	@Test public void Test_Mixed_3() { checkRandom(7, 500, 7, 2); }
+
+	@Test
+	public void Test_WideUnion_1() {
+		// A union of many distinct leaves, which is far too large for the
+		// brute-force search.
+		int width = 40;
+		State[] states = new State[width + 1];
+		int[] children = new int[width];
+		for (int i = 0; i != width; ++i) {
+			states[i + 1] = new State(KIND_LEAF, i, true);
+			children[i] = i + 1;
+		}
+		states[0] = new State(KIND_UNION, null, false, children);
+		checkCanonical(new Automaton(states), new Random(8), 10);
+	}
+
+	@Test
+	public void Test_WideUnion_2() {
+		// A union of many identical leaves, whose states cannot be
+		// distinguished. Minimisation would normally remove these.
+		int width = 8;
+		State[] states = new State[width + 1];
+		int[] children = new int[width];
+		for (int i = 0; i != width; ++i) {
+			states[i + 1] = new State(KIND_LEAF, 0, true);
+			children[i] = i + 1;
+		}
+		states[0] = new State(KIND_UNION, null, false, children);
+		checkCanonical(new Automaton(states), new Random(9), 10);
+	}
+
+	// =======================================================================
+	// Helpers
+	// =======================================================================
+
+	private static final int KIND_LEAF = 0;
+	private static final int KIND_UNION = 3;
+	private static final int NUM_KINDS = 3;
+
+	private static final Comparator<State> DATA_COMPARATOR = new Comparator<State>() {
+		public int compare(State s1, State s2) {
+			return ((Integer) s1.data).compareTo((Integer) s2.data);
+		}
+	};
+
+	/**
+	 * Generate a number of random automata and check them. Each automaton is
+	 * compared against a random permutation of itself, and against the
+	 * previously generated automaton.
+	 * 
+	 * @param seed
+	 *            --- seed for the random number generator.
+	 * @param count
+	 *            --- number of automata to generate.
+	 * @param maxSize
+	 *            --- maximum number of states in an automaton.
+	 * @param nonDeterminism
+	 *            --- weighting of non-deterministic states, where 0 means
+	 *            none are generated.
+	 */
+	private static void checkRandom(long seed, int count, int maxSize,
+			int nonDeterminism) {
+		Random random = new Random(seed);
+		Automaton last = null;
+		for (int i = 0; i != count; ++i) {
+			Automaton automaton = Automata.extract(
+					randomAutomaton(random, 1 + random.nextInt(maxSize),
+							nonDeterminism), 0);
+			if (random.nextBoolean()) {
+				automaton = Automata.minimise(automaton);
+			}
+			checkCanonical(automaton, random, 3);
+			checkBruteForce(automaton, permute(automaton, random));
+			if (last != null && last.size() == automaton.size()) {
+				checkBruteForce(automaton, last);
+			}
+			last = automaton;
+		}
+	}
+
+	/**
+	 * Check that the canonical form of an automaton is unaffected by
+	 * permuting its states.
+	 */
+	private static void checkCanonical(Automaton automaton, Random random,
+			int count) {
+		Automaton expected = canonicalise(automaton);
+		for (int i = 0; i != count; ++i) {
+			Automaton actual = canonicalise(permute(automaton, random));
+			assertEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Check that two automata have the same canonical form if, and only if,
+	 * they have the same brute-force form. This also checks that the
+	 * canonical form of each automaton is isomorphic to it.
+	 */
+	private static void checkBruteForce(Automaton a1, Automaton a2) {
+		Automaton b1 = bruteForce(a1);
+		Automaton b2 = bruteForce(a2);
+		Automaton c1 = canonicalise(a1);
+		Automaton c2 = canonicalise(a2);
+		assertEquals(b1, bruteForce(c1));
+		assertEquals(b2, bruteForce(c2));
+		assertEquals(b1.equals(b2), c1.equals(c2));
+	}
+
+	private static Automaton canonicalise(Automaton automaton) {
+		Automaton copy = new Automaton(automaton);
+		Automata.canonicalise(copy, DATA_COMPARATOR);
+		return copy;
+	}
+
+	private static Automaton bruteForce(Automaton automaton) {
+		// NOTE: bruteForce() remaps the states of its argument in place
+		return Automata.bruteForce(new Automaton(automaton), DATA_COMPARATOR);
+	}
+
+	/**
+	 * Randomly permute the states of an automaton, whilst keeping the root at
+	 * index zero.
+	 */
+	private static Automaton permute(Automaton automaton, Random random) {
+		int size = automaton.size();
+		int[] rmap = new int[size];
+		for (int i = 0; i != size; ++i) {
+			rmap[i] = i;
+		}
+		for (int i = size - 1; i > 1; --i) {
+			int j = 1 + random.nextInt(i);
+			int tmp = rmap[i];
+			rmap[i] = rmap[j];
+			rmap[j] = tmp;
+		}
+		return Automata.reorder(new Automaton(automaton), rmap);
+	}
+
+	/**
+	 * Construct a random automaton of a given size, which may contain cycles.
+	 * Deterministic states have kinds below <code>NUM_KINDS</code>, and
+	 * non-deterministic states have kinds above. Leaf states are given a small
+	 * amount of supplementary data.
+	 */
+	private static Automaton randomAutomaton(Random random, int size,
+			int nonDeterminism) {
+		State[] states = new State[size];
+		for (int i = 0; i != size; ++i) {
+			boolean deterministic = random.nextInt(4) >= nonDeterminism;
+			int nchildren = random.nextInt(4);
+			int[] children = new int[nchildren];
+			for (int j = 0; j != nchildren; ++j) {
+				children[j] = random.nextInt(size);
+			}
+			if (deterministic) {
+				int kind = random.nextInt(NUM_KINDS);
+				Object data = kind == KIND_LEAF ? random.nextInt(2) : null;
+				states[i] = new State(kind, data, true, children);
+			} else {
+				TreeSet<Integer> set = new TreeSet<Integer>();
+				for (int child : children) {
+					set.add(child);
+				}
+				children = new int[set.size()];
+				int j = 0;
+				for (int child : set) {
+					children[j++] = child;
+				}
+				int kind = NUM_KINDS + random.nextInt(NUM_KINDS);
+				states[i] = new State(kind, null, false, children);
+			}
+		}
+		return new Automaton(states);
+	}
+}
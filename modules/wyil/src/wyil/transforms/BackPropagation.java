@@ -40,6 +40,7 @@ import wyfs.util.Trie;
 import wyil.lang.*;
 import wyil.lang.Code.Block.Entry;
 import wyil.util.dfa.BackwardFlowAnalysis;
+import wyil.util.dfa.SharedList;
 
 /**
  * <p>
@@ -89,8 +90,8 @@ import wyil.util.dfa.BackwardFlowAnalysis;
  * 
  */
 public final class BackPropagation extends BackwardFlowAnalysis<BackPropagation.Env> implements Transform<WyilFile> {	
-	private static final HashMap<Integer,Code.Block> afterInserts = new HashMap<Integer,Code.Block>();
-	private static final HashMap<Integer,Code.Block.Entry> rewrites = new HashMap<Integer,Code.Block.Entry>();
+	private final HashMap<Integer,Code.Block> afterInserts = new HashMap<Integer,Code.Block>();
+	private final HashMap<Integer,Code.Block.Entry> rewrites = new HashMap<Integer,Code.Block.Entry>();
 	
 	/**
 	 * Determines whether constant propagation is enabled or not.
@@ -175,13 +176,12 @@ public final class BackPropagation extends BackwardFlowAnalysis<BackPropagation.
 	protected Code.Block propagate(Code.Block block) {
 		
 		// Setup global items
-		stores = new HashMap<String,Env>();
 		afterInserts.clear();
 		rewrites.clear();
 		this.block = block;
 		
 		// Now, propagate through the block
-		propagate(0,block.size(), lastStore(), Collections.EMPTY_LIST);	
+		solve();	
 		
 		// At this point, we apply the inserts
 		Code.Block nblock = new Code.Block(block.numInputs());
@@ -750,20 +750,10 @@ public final class BackPropagation extends BackwardFlowAnalysis<BackPropagation.
 	}
 		
 	@Override
-	protected Env propagate(int start, int end, Codes.Loop loop,
-			Entry stmt, Env environment, List<Pair<Type,String>> handlers) {
+	protected Env propagate(int index, Codes.Loop loop, Entry stmt,
+			Env bodyEnv, Env exitEnv) {
 
-		environment = new Env(environment); 
-
-		Env oldEnv = null;
-		Env newEnv = null;
-		
-		do {			
-			// iterate until a fixed point reached
-			oldEnv = newEnv != null ? newEnv : environment;
-			newEnv = propagate(start+1,end, oldEnv, handlers);
-			newEnv = join(environment,newEnv);
-		} while (!newEnv.equals(oldEnv));
+		Env environment = (Env) exitEnv.clone(); 
 		
 		if(loop instanceof Codes.ForAll) {
 			Codes.ForAll fall = (Codes.ForAll) loop; 								
@@ -919,11 +909,14 @@ public final class BackPropagation extends BackwardFlowAnalysis<BackPropagation.
 		return new Pair<Type.Function,NameID>(ft,name);
 	}
 	
-	private Env join(Env env1, Env env2) {
+	@Override
+	protected Env join(Env env1, Env env2) {
+		// NOTE: the result is always a fresh store, since it may be updated
+		// and its inputs are held by the caller.
 		if (env2 == null) {
-			return env1;
+			return (Env) env1.clone();
 		} else if (env1 == null) {
-			return env2;
+			return (Env) env2.clone();
 		}
 		
 		Env env = new Env();
@@ -959,10 +952,10 @@ public final class BackPropagation extends BackwardFlowAnalysis<BackPropagation.
 		return env;
 	}
 	
-	protected static class Env extends ArrayList<Type> {
+	protected static class Env extends SharedList<Type> {
 		public Env() {
 		}
-		public Env(Collection<Type> v) {
+		public Env(Env v) {
 			super(v);
 		}		
 		public Env clone() {
@@ -39,9 +39,10 @@ import wyil.lang.*;
 import wyil.lang.Code.Block.Entry;
 import wyil.util.*;
 import wyil.util.dfa.ForwardFlowAnalysis;
+import wyil.util.dfa.SharedList;
 
 public class ConstantPropagation extends ForwardFlowAnalysis<ConstantPropagation.Env> implements Transform<WyilFile> {	
-	private static final HashMap<Integer,Rewrite> rewrites = new HashMap<Integer,Rewrite>();
+	private final HashMap<Integer,Rewrite> rewrites = new HashMap<Integer,Rewrite>();
 	
 	/**
 	 * Determines whether constant propagation is enabled or not.
@@ -118,13 +119,12 @@ public class ConstantPropagation extends ForwardFlowAnalysis<ConstantPropagation
 	
 	public Code.Block propagate(Code.Block body) {				
 		block = body;
-		stores = new HashMap<String,Env>();		
 		rewrites.clear();
 
 		// TODO: propagate constants through pre- and post-conditions.
 		
 		Env environment = initialStore();		
-		propagate(0,body.size(), environment, Collections.EMPTY_LIST);	
+		solve(environment);	
 		
 		// At this point, we apply the inserts
 		Code.Block nbody = new Code.Block(body.numInputs());		
@@ -900,16 +900,16 @@ public class ConstantPropagation extends ForwardFlowAnalysis<ConstantPropagation
 	}
 	
 	@Override
-	public Env propagate(int start, int end, Codes.Loop loop,
-			Entry entry, Env environment, List<Codes.TryCatch> handlers) {
+	public Env propagate(int index, Codes.Loop loop, Entry entry,
+			Env environment) {
 		
-		environment = new Env(environment);
+		environment = (Env) environment.clone();
 		
 		if(loop instanceof Codes.ForAll) {
 			Codes.ForAll fall = (Codes.ForAll) loop; 	
 			
 			// TO DO: could unroll loop if src collection is a value.
-			invalidate(fall.indexOperand,environment,start,entry);
+			invalidate(fall.indexOperand,environment,index,entry);
 		} 
 		
 		// Now, kill every variable which is modified in the loop. This is a
@@ -917,22 +917,12 @@ public class ConstantPropagation extends ForwardFlowAnalysis<ConstantPropagation
 		// circumstances (e.g. by unrolling the loop).
 		
 		for(int slot : loop.modifiedOperands) {
-			invalidate(slot,environment,start,entry);			
+			invalidate(slot,environment,index,entry);			
 		}
 		
-		remap(environment, start, entry);
-		
-		Env oldEnv = null;
-		Env newEnv = environment;				
-		
-		do {						
-			// iterate until a fixed point reached
-			oldEnv = newEnv;
-			newEnv = propagate(start+1,end, oldEnv, handlers);
-			newEnv = join(environment,newEnv);
-		} while (!newEnv.equals(oldEnv));
+		remap(environment, index, entry);
 		
-		return newEnv;		
+		return environment;		
 	}
 	
 	public void invalidate(int slot, Env environment, int index, Code.Block.Entry entry) {
@@ -1008,10 +998,10 @@ public class ConstantPropagation extends ForwardFlowAnalysis<ConstantPropagation
 		return env;
 	}	
 	
-	public final static class Env extends ArrayList<Constant> {
+	public final static class Env extends SharedList<Constant> {
 		public Env() {
 		}
-		public Env(Collection<Constant> v) {
+		public Env(Env v) {
 			super(v);
 		}		
 		public Env clone() {
@@ -101,7 +101,7 @@ public class DeadCodeElimination implements Transform<WyilFile> {
 	}
 	
 	private void transform(Code.Block block) {
-		HashMap<String,Integer> labelMap = buildLabelMap(block);
+		ControlFlowGraph cfg = block.cfg();
 		BitSet visited = new BitSet(block.size());
 		Stack<Integer> worklist = new Stack();
 		worklist.push(0);
@@ -113,27 +113,33 @@ public class DeadCodeElimination implements Transform<WyilFile> {
 			
 			if(code instanceof Codes.Goto) {
 				Codes.Goto g = (Codes.Goto) code;				
-				addTarget(labelMap.get(g.target),visited,worklist);
+				addTarget(cfg.indexOf(g.target),visited,worklist);
 			} else if(code instanceof Codes.If) {								
 				Codes.If ig = (Codes.If) code;				
 				addTarget(index+1,visited,worklist);
-				addTarget(labelMap.get(ig.target),visited,worklist);				
+				addTarget(cfg.indexOf(ig.target),visited,worklist);				
 			} else if(code instanceof Codes.IfIs) {								
 				Codes.IfIs ig = (Codes.IfIs) code;				
 				addTarget(index+1,visited,worklist);
-				addTarget(labelMap.get(ig.target),visited,worklist);				
+				addTarget(cfg.indexOf(ig.target),visited,worklist);				
 			} else if(code instanceof Codes.Switch) {
 				Codes.Switch sw = (Codes.Switch) code;
 				for(Pair<Constant,String> p : sw.branches) {
-					addTarget(labelMap.get(p.second()),visited,worklist);
+					addTarget(cfg.indexOf(p.second()),visited,worklist);
 				}
-				addTarget(labelMap.get(sw.defaultTarget),visited,worklist);
+				addTarget(cfg.indexOf(sw.defaultTarget),visited,worklist);
 			} else if(code instanceof Codes.TryCatch) {
 				Codes.TryCatch tc = (Codes.TryCatch) code;
 				for(Pair<Type,String> p : tc.catches) {
-					addTarget(labelMap.get(p.second()),visited,worklist);
+					addTarget(cfg.indexOf(p.second()),visited,worklist);
 				}
 				addTarget(index+1,visited,worklist);
+			} else if(code instanceof Codes.Loop) {
+				// The end of the loop must be retained, even when it cannot be
+				// reached from the loop body, since it is the loop's target.
+				Codes.Loop loop = (Codes.Loop) code;
+				addTarget(index+1,visited,worklist);
+				addTarget(cfg.indexOf(loop.target),visited,worklist);
 			} else if(code instanceof Codes.Throw || code instanceof Codes.Return) {
 				// terminating bytecode
 			} else {
@@ -156,18 +162,6 @@ public class DeadCodeElimination implements Transform<WyilFile> {
 		}
 	}
 	
-	private static HashMap<String,Integer> buildLabelMap(Code.Block block) {
-		HashMap<String,Integer> map = new HashMap<String,Integer>();
-		for(int i=0;i!=block.size();++i) {
-			Code c = block.get(i).code;
-			if(c instanceof Codes.Label) {
-				Codes.Label l = (Codes.Label) c;				
-				map.put(l.label,i);
-			}
-		}
-		return map;
-	}
-	
 	private static void addTarget(int index, BitSet visited, Stack<Integer> worklist) {
 		if(!visited.get(index)) {
 			visited.set(index);			
@@ -36,6 +36,7 @@ import wyfs.lang.Path;
 import wyil.lang.Code.Block;
 import wyil.lang.Code;
 import wyil.lang.Codes;
+import wyil.lang.Modifier;
 import wyil.lang.WyilFile;
 import wyil.lang.Type;
 import wyil.lang.Code.Block.Entry;
@@ -67,8 +68,8 @@ import wyil.util.dfa.*;
  * @author David J. Pearce, 2011
  * 
  */
-public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAnalysis.Env> implements Transform<WyilFile> {
-	private static final HashMap<Integer,Code.Block.Entry> rewrites = new HashMap<Integer,Code.Block.Entry>();
+public class LiveVariablesAnalysis extends BitVectorFlowAnalysis implements Transform<WyilFile> {
+	private final HashMap<Integer,Code.Block.Entry> rewrites = new HashMap<Integer,Code.Block.Entry>();
 	
 	/**
 	 * Determines whether constant propagation is enabled or not.
@@ -77,14 +78,33 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 	
 	private boolean nops = getNops();
 	
+	/**
+	 * When non-null, records the registers which are live immediately after
+	 * each bytecode (see <code>liveAfter()</code>).
+	 */
+	private BitVector[] liveAfter;
+	
 	public LiveVariablesAnalysis(Builder builder) {
-		
+		super(false, false);
 	}	
 	
 	@Override
 	public void apply(WyilFile module) {
 		if(enabled) {
-			super.apply(module);
+			filename = module.filename();
+			
+			for(WyilFile.Block d : module.blocks()) {
+				if(d instanceof WyilFile.TypeDeclaration) {
+					WyilFile.TypeDeclaration td = (WyilFile.TypeDeclaration) d;
+					module.replace(td,propagate(td));	
+				} else if(d instanceof WyilFile.FunctionOrMethodDeclaration) {
+					WyilFile.FunctionOrMethodDeclaration md = (WyilFile.FunctionOrMethodDeclaration) d;
+					if(!md.hasModifier(Modifier.NATIVE)) {
+						// native functions/methods don't have bodies
+						module.replace(md,propagate(md));
+					}
+				}
+			}
 		}
 	}
 	
@@ -113,7 +133,6 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 		this.nops = flag;
 	}
 	
-	@Override
 	public WyilFile.TypeDeclaration propagate(WyilFile.TypeDeclaration type) {
 		Code.Block invariant = type.invariant();
 		if (invariant != null) {
@@ -124,6 +143,14 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 		return type;
 	}
 	
+	public WyilFile.FunctionOrMethodDeclaration propagate(WyilFile.FunctionOrMethodDeclaration method) {
+		ArrayList<WyilFile.Case> cases = new ArrayList<WyilFile.Case>();
+		for (WyilFile.Case c : method.cases()) {
+			cases.add(propagate(c));
+		}
+		return new WyilFile.FunctionOrMethodDeclaration(method.modifiers(), method.name(), method.type(), cases);
+	}
+	
 	/**
 	 * Last store for the live variables analysis is empty, because all
 	 * variables are considered to be dead at the end of a method/function.
@@ -131,9 +158,8 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 	 * @return
 	 */
 	@Override
-	public Env lastStore() { return EMPTY_ENV; }
+	protected void boundary(BitVector store) { }
 	
-	@Override
 	public WyilFile.Case propagate(WyilFile.Case mcase) {
 
 		ArrayList<Code.Block> requires = new ArrayList<Code.Block>(
@@ -157,11 +183,8 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 	}
 	
 	public Code.Block propagate(Code.Block body) {		
-		block = body;
-		stores = new HashMap<String,Env>();
 		rewrites.clear();
-		Env environment = lastStore();		
-		propagate(0,body.size(), environment, Collections.EMPTY_LIST);	
+		solve(body, body.numSlots());	
 		
 		// At this point, we apply the inserts	
 		Code.Block nbody = new Code.Block(body.numInputs());		
@@ -179,29 +202,59 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 		return nbody;
 	}
 	
+	/**
+	 * Determine, for each bytecode in the given block, the set of registers
+	 * which are live immediately after it. Unlike the transform, this never
+	 * considers a bytecode dead, since the block is about to be executed as
+	 * is. This allows a back-end to determine when the value held in a
+	 * register can be handed over to the bytecode consuming it, rather than
+	 * shared with it. An entry is <code>null</code> where no information is
+	 * available (i.e. inside a try-catch block, where handlers may also read
+	 * registers), and then every register must be assumed live.
+	 * 
+	 * @param body
+	 *            --- block to analyse.
+	 * @return
+	 */
+	public static BitVector[] liveAfter(Code.Block body) {
+		LiveVariablesAnalysis lva = new LiveVariablesAnalysis(null);
+		lva.liveAfter = new BitVector[body.size()];
+		lva.solve(body, body.numSlots());
+		return lva.liveAfter;
+	}
+	
+	@Override
+	protected void visit(int index, Entry entry, BitVector environment) {
+		Code code = entry.code;
+		if (liveAfter != null) {
+			if (cfg.handlers(index).length == 0) {
+				liveAfter[index] = new BitVector(environment);
+			}
+		} else if (code instanceof Codes.Loop) {
+			rewrite(index, (Codes.Loop) code, entry, environment);
+		} else if (!isLive(code, environment)) {
+			rewrites.put(index, new Code.Block.Entry(Codes.Nop, entry.attributes()));
+		}
+	}
+	
 	@Override
-	public Env propagate(int index, Entry entry, Env environment) {		
-		rewrites.put(index,null);
-		Code code = entry.code;		
-		boolean isLive = true;
-		environment = (Env) environment.clone();
+	protected void transfer(int index, Entry entry, BitVector environment) {
+		Code code = entry.code;
 		
-		if (code instanceof Code.AbstractAssignable) {
+		if (code instanceof Codes.ForAll) {
+			Codes.ForAll fall = (Codes.ForAll) code;
+			// FIXME: is the following really necessary?
+			environment.remove(fall.indexOperand);
+			environment.add(fall.sourceOperand);
+			return;
+		}
+		
+		boolean isLive = isLive(code, environment);
+		if (code instanceof Code.AbstractAssignable
+				&& !(code instanceof Codes.Update)) {
 			Code.AbstractAssignable aa = (Code.AbstractAssignable) code;
-			if(code instanceof Codes.Update) {
-				Codes.Update cu = (Codes.Update) code;
-				// In the normal case, this bytecode is considered live if the
-				// assigned register is live. However, in the case of an
-				// indirect assignment, then it is always considered live.
-				if(!(cu.type() instanceof Type.Reference)) {
-					// No, this is not an indirect assignment through a
-					// reference
-					isLive = environment.contains(aa.target());
-				}
-			} else {
-				isLive = environment.remove(aa.target());
-			}
-		} 
+			environment.remove(aa.target());
+		}
 		
 		if(isLive && code instanceof Code.AbstractUnaryOp) {
 			Code.AbstractUnaryOp c = (Code.AbstractUnaryOp) code;
@@ -213,93 +266,59 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 			Code.AbstractBinaryOp c = (Code.AbstractBinaryOp) code;
 			environment.add(c.leftOperand);
 			environment.add(c.rightOperand);
-		} else if ((isLive && code instanceof Code.AbstractNaryAssignable)
-				|| (code instanceof Codes.Invoke && ((Codes.Invoke) code).type() instanceof Type.Method)
-				|| (code instanceof Codes.IndirectInvoke && ((Codes.IndirectInvoke) code).type() instanceof Type.Method)) {
+		} else if(isLive && code instanceof Code.AbstractNaryAssignable) {
 			Code.AbstractNaryAssignable c = (Code.AbstractNaryAssignable) code;
 			for(int operand : c.operands()) {
-				environment.add(operand);
+				if(operand != Codes.NULL_REG) {
+					environment.add(operand);
+				}
 			}
-		} else if(!isLive) {			
-			entry = new Code.Block.Entry(Codes.Nop, entry.attributes());
-			rewrites.put(index, entry);
-		} else {
-			// const
-		}
-		
-		return environment;
-	}
-	
-	@Override
-	public Env propagate(int index, Codes.If code, Entry entry, Env trueEnv,
-			Env falseEnv) {
-		Env r = join(trueEnv, falseEnv);
-
-		r.add(code.leftOperand);
-		r.add(code.rightOperand);
-
-		return r;
-	}
-	
-	@Override
-	protected Env propagate(Type handler, Env normalEnv, Env exceptionEnv) {
-		
-		return join(normalEnv, exceptionEnv);
-	}
-	
-	@Override
-	public Env propagate(int index,
-			Codes.IfIs code, Entry entry, Env trueEnv, Env falseEnv) {
-		Env r = join(trueEnv,falseEnv);
-				
-		r.add(code.operand);		
-		
-		return r;
+		} 
 	}
 	
-	@Override
-	public Env propagate(int index, Codes.Switch code,
-			Entry stmt, List<Env> environments, Env defEnv) {
-		Env environment = defEnv;
-		
-		for(int i=0;i!=code.branches.size();++i) {
-			environment = join(environment,environments.get(i));
-		} 		
-		
-		environment.add(code.operand);
-		
-		return environment;
-	}
-		
-	public Env propagate(int start, int end, Codes.Loop loop,
-			Entry stmt, Env environment, List<Pair<Type,String>> handlers) {
-		rewrites.put(start,null); // to overrule any earlier rewrites
-		 
-		Env oldEnv = null;
-		Env newEnv = null;
-		
-		if(loop instanceof Codes.ForAll) {
-			Codes.ForAll fall = (Codes.ForAll) loop;
-			environment = new Env(environment);	
-			environment.add(fall.sourceOperand);
+	/**
+	 * Determine whether a given bytecode is live, given the registers which are
+	 * live immediately after it. Only bytecodes which assign a register can be
+	 * dead, and method calls are always live as they may have side-effects.
+	 * 
+	 * @param code
+	 * @param environment
+	 * @return
+	 */
+	private boolean isLive(Code code, BitVector environment) {
+		if (liveAfter != null || !(code instanceof Code.AbstractAssignable)) {
+			// when recording, every bytecode will be executed
+			return true;
+		} else if ((code instanceof Codes.Invoke && ((Codes.Invoke) code).type() instanceof Type.Method)
+				|| (code instanceof Codes.IndirectInvoke && ((Codes.IndirectInvoke) code).type() instanceof Type.Method)) {
+			return true;
+		} else if (code instanceof Codes.Update) {
+			Codes.Update cu = (Codes.Update) code;
+			// In the normal case, this bytecode is considered live if the
+			// assigned register is live. However, in the case of an
+			// indirect assignment, then it is always considered live.
+			return cu.type() instanceof Type.Reference
+					|| environment.contains(cu.target());
 		} else {
-			environment = EMPTY_ENV;
+			Code.AbstractAssignable aa = (Code.AbstractAssignable) code;
+			return environment.contains(aa.target());
 		}
-				
-		do {			
-			// iterate until a fixed point reached
-			oldEnv = newEnv != null ? newEnv : environment;
-			newEnv = propagate(start+1,end, oldEnv, handlers);
-			newEnv = join(environment,newEnv);
-		} while (!newEnv.equals(oldEnv));
-		
-		environment = newEnv;
-		
-		if(loop instanceof Codes.ForAll) {
-			Codes.ForAll fall = (Codes.ForAll) loop; 		
-			// FIXME: is the following really necessary?
-			environment.remove(fall.indexOperand);
-		} 		
+	}
+	
+	/**
+	 * Check whether any of the operands modified by a loop are no longer live
+	 * and, if so, rewrite the loop bytecode to exclude them.
+	 * 
+	 * @param index
+	 * @param loop
+	 * @param stmt
+	 * @param after
+	 *            --- registers live immediately after the loop bytecode.
+	 */
+	private void rewrite(int index, Codes.Loop loop, Entry stmt,
+			BitVector after) {
+		BitVector environment = new BitVector(after);
+		transfer(index, stmt, environment);
 		
 		// Now, check whether any of the modified operands are no longer live.
 		int nInvalidatedOperands = 0;
@@ -325,28 +344,7 @@ public class LiveVariablesAnalysis extends BackwardFlowAnalysis<LiveVariablesAna
 			} else {
 				stmt = new Code.Block.Entry(Codes.Loop(loop.target,nModifiedOperands), stmt.attributes());
 			}
-			rewrites.put(start, stmt);
-		}
-		
-		return environment;		
-	}
-	
-	private Env join(Env env1, Env env2) {		
-		// implements set union
-		Env r = new Env(env1);
-		r.addAll(env2);
-		return r;
-	}
-	
-	private static final Env EMPTY_ENV = new Env();
-	
-	public static final class Env extends HashSet<Integer> {
-		public Env() {
-			super();
-		}
-		
-		public Env(Env env) {
-			super(env);
+			rewrites.put(index, stmt);
 		}
 	}
 }
@@ -10,6 +10,7 @@ import wycc.lang.Transform;
 import wyil.lang.Code.Block;
 import wyil.lang.Code;
 import wyil.lang.Codes;
+import wyil.lang.ControlFlowGraph;
 import wyil.lang.Type;
 import wyil.lang.WyilFile;
 
@@ -111,6 +112,22 @@ public class LoopVariants implements Transform<WyilFile> {
 	 * @return
 	 */
 	protected BitSet infer(Code.Block block, int start, int end) {
+		return infer(block, block.cfg(), start, end);
+	}
+	
+	/**
+	 * Determine the modified variables for a given block of Wyil bytecodes,
+	 * using a given control-flow graph for the block. Observe that updating
+	 * the modified operands of a loop bytecode does not change the structure
+	 * of the block and, hence, the same graph can be used throughout.
+	 * 
+	 * @param block
+	 * @param cfg
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	private BitSet infer(Code.Block block, ControlFlowGraph cfg, int start, int end) {
 		BitSet modified = new BitSet(block.numSlots());
 		int size = block.size();		
 		for(int i=start;i<end;++i) {
@@ -125,19 +142,9 @@ public class LoopVariants implements Transform<WyilFile> {
 			} if(code instanceof Codes.Loop) {
 				Codes.Loop loop = (Codes.Loop) code;
 				int s = i;
-				// Note, I could make this more efficient!					
-				while (++i < block.size()) {
-					Code.Block.Entry nEntry = block.get(i);
-					if (nEntry.code instanceof Codes.LoopEnd) {
-						Codes.Label l = (Codes.Label) nEntry.code;
-						if (l.label.equals(loop.target)) {
-							// end of loop body found
-							break;
-						}
-					}						
-				}
+				i = cfg.end(s);
 				
-				BitSet loopModified = infer(block,s+1,i);
+				BitSet loopModified = infer(block,cfg,s+1,i);
 				if (code instanceof Codes.ForAll) {
 					// Unset the modified status of the index operand, it is
 					// already implied that this is modified.
@@ -28,36 +28,59 @@ package wyil.util.dfa;
 import static wycc.lang.SyntaxError.internalFailure;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import wycc.lang.SyntaxError;
-import wycc.lang.Transform;
 import wycc.util.Pair;
-import wyfs.lang.Path;
 import wyil.lang.*;
 import wyil.lang.Code.Block.Entry;
-import wyil.util.*;
 
+/**
+ * <p>
+ * A backwards dataflow analysis over the abstract stores of some lattice. As
+ * for <code>ForwardFlowAnalysis</code>, a fixed point is computed using a
+ * worklist over the basic blocks of the block's control-flow graph, such that
+ * only those basic blocks whose outgoing stores have changed are revisited.
+ * Once a fixed point is reached, the last store passed to each hook is that
+ * which holds in the fixed point.
+ * </p>
+ *
+ * <p>
+ * A loop is treated as a loop head, from which control may either enter the
+ * body or leave the loop. Thus, the store holding at the end of the loop body
+ * is the join of those holding at the start of the body and on leaving the
+ * loop.
+ * </p>
+ */
 public abstract class BackwardFlowAnalysis<T> {
 	protected String filename;
 	protected Code.Block block;
 	protected WyilFile.FunctionOrMethodDeclaration method;
 	protected WyilFile.Case methodCase;
-	protected HashMap<String,T> stores;
-	
-	public void apply(WyilFile module) {	
+
+	/**
+	 * For each basic block, the store which holds immediately before its first
+	 * bytecode, or null if it has not yet been determined.
+	 */
+	private ArrayList<T> stores;
+
+	/**
+	 * For each bytecode, the try-catch bytecodes and handlers which may catch
+	 * an exception it throws (see <code>Handlers</code>).
+	 */
+	private int[][] catches;
+
+	public void apply(WyilFile module) {
 		filename = module.filename();
-		
+
 		for(WyilFile.Block d : module.blocks()) {
 			if(d instanceof WyilFile.ConstantDeclaration) {
-				WyilFile.ConstantDeclaration cd = (WyilFile.ConstantDeclaration) d; 
+				WyilFile.ConstantDeclaration cd = (WyilFile.ConstantDeclaration) d;
 				module.replace(cd,propagate((cd)));
 			} else if(d instanceof WyilFile.TypeDeclaration) {
 				WyilFile.TypeDeclaration td = (WyilFile.TypeDeclaration) d;
-				module.replace(td,propagate(td));	
+				module.replace(td,propagate(td));
 			} else if(d instanceof WyilFile.FunctionOrMethodDeclaration) {
 				WyilFile.FunctionOrMethodDeclaration md = (WyilFile.FunctionOrMethodDeclaration) d;
 				if(!md.hasModifier(Modifier.NATIVE)) {
@@ -65,16 +88,16 @@ public abstract class BackwardFlowAnalysis<T> {
 					module.replace(md,propagate(md));
 				}
 			}
-		}				
+		}
 	}
-	
+
 	protected WyilFile.ConstantDeclaration propagate(WyilFile.ConstantDeclaration constant) {
 		return constant;
 	}
 	protected WyilFile.TypeDeclaration propagate(WyilFile.TypeDeclaration type) {
 		return type;
 	}
-	
+
 	protected WyilFile.FunctionOrMethodDeclaration propagate(WyilFile.FunctionOrMethodDeclaration method) {
 		this.method = method;
 		ArrayList<WyilFile.Case> cases = new ArrayList<WyilFile.Case>();
@@ -83,146 +106,254 @@ public abstract class BackwardFlowAnalysis<T> {
 		}
 		return new WyilFile.FunctionOrMethodDeclaration(method.modifiers(), method.name(), method.type(), cases);
 	}
-	
+
 	protected WyilFile.Case propagate(WyilFile.Case mcase) {
 		this.methodCase = mcase;
-		this.stores = new HashMap<String,T>();
 		this.block = mcase.body();
-		T last = lastStore();						
-		propagate(0, mcase.body().size(), last, Collections.EMPTY_LIST);		
+		solve();
 		return mcase;
-	}		
-	
-	protected T propagate(int start, int end, T store, List<Pair<Type,String>> handlers) {
-		
-		for(int i=end-1;i>=start;--i) {						
-			Entry stmt = block.get(i);						
-			try {				
-				Code code = stmt.code;
-				
-				// First, check for a label which may have incoming information.
-				if (code instanceof Codes.LoopEnd) {					
-					Codes.Loop loop = null;
-					String label = ((Codes.LoopEnd) code).label;
-					// first, save the store since it might be needed for break
-					// statements.
-					stores.put(label,store);
-					// now, identify the loop body.
-					int loopEnd = i;
-					while (--i >= 0) {						
-						stmt = block.get(i);
-						if (stmt.code instanceof Codes.Loop) {
-							loop = (Codes.Loop) stmt.code;
-							if (label.equals(loop.target)) {
-								// start of loop body found
-								break;
-							}
-						}						
-					}			
-					
-					store = propagate(i, loopEnd, loop, stmt, store, handlers);															
-					continue;
-				} else if (code instanceof Codes.TryEnd) {					
-					Codes.TryCatch tc = null;
-					String label = ((Codes.TryEnd) code).label;
-					stores.put(label,store);
-					// now, identify the try-catch body.
-					int tcEnd = i;
-					while (--i >= 0) {						
-						stmt = block.get(i);
-						if (stmt.code instanceof Codes.TryCatch) {
-							tc = (Codes.TryCatch) stmt.code;
-							if (label.equals(tc.target)) {
-								// start of loop body found
-								break;
-							}
-						}						
-					}			
-					ArrayList<Pair<Type, String>> nhandlers = new ArrayList<Pair<Type, String>>(
-							handlers);
-					nhandlers.addAll(0, tc.catches);					
-					store = propagate(i+1, tcEnd, store, nhandlers);															
-					continue;
-				} else if (code instanceof Codes.Label) {
-					Codes.Label l = (Codes.Label) code;
-					stores.put(l.label,store);
-				} else if (code instanceof Codes.If) {
-					Codes.If ifgoto = (Codes.If) code;
-					T trueStore = stores.get(ifgoto.target);					
-					store = propagate(i, ifgoto, stmt, trueStore,store);										
-				} else if (code instanceof Codes.IfIs) {
-					Codes.IfIs iftype = (Codes.IfIs) code;
-					T trueStore = stores.get(iftype.target);					
-					store = propagate(i, iftype, stmt, trueStore,store);										
-				} else if (code instanceof Codes.Switch) {
-					Codes.Switch sw = (Codes.Switch) code;
-					
-					ArrayList<T> swStores = new ArrayList<T>();
-					for(int j=0;j!=sw.branches.size();++j){
-						String target = sw.branches.get(j).second();
-						swStores.add(stores.get(target));
-					}
-					T defStore = stores.get(sw.defaultTarget);
-					
-					store = propagate(i, sw, stmt, swStores, defStore);																				
-				} else if (code instanceof Codes.Goto) {
-					Codes.Goto gto = (Codes.Goto) stmt.code;
-					store = stores.get(gto.target);					
-				} else {
-					// This indicates a sequential statement was encountered.
-					if (code instanceof Codes.Return
-						|| code instanceof Codes.Throw
-						|| code instanceof Codes.Fail) {
-						store = lastStore();
-					}
-					store = propagate(i, stmt, store);									
+	}
+
+	/**
+	 * Propagate backwards through the current block until a fixed point is
+	 * reached, starting from the store given by <code>lastStore()</code> after
+	 * any bytecode which ends the block.
+	 */
+	protected void solve() {
+		ControlFlowGraph cfg = block.cfg();
+		int numBlocks = cfg.numBlocks();
+		catches = Handlers.compute(filename, block, cfg);
+		stores = new ArrayList<T>();
+		for (int b = 0; b != numBlocks; ++b) {
+			stores.add(null);
+		}
+		// The worklist holds basic blocks in reverse order, so they are
+		// taken from the end of the block first.
+		BitSet worklist = new BitSet(numBlocks);
+		worklist.set(0, numBlocks);
+		int[][] dependents = dependents(cfg);
+
+		for (int r = worklist.nextSetBit(0); r >= 0; r = worklist
+				.nextSetBit(0)) {
+			worklist.clear(r);
+			int b = numBlocks - r - 1;
+			T store = propagate(cfg, b);
+			if (store != null && !store.equals(stores.get(b))) {
+				stores.set(b, store);
+				for (int d : dependents[b]) {
+					worklist.set(numBlocks - d - 1);
+				}
+			}
+		}
+
+		stores = null;
+		catches = null;
+	}
+
+	/**
+	 * Propagate backwards through a given basic block, producing the store
+	 * which holds immediately before it; or null, if the stores it depends
+	 * upon have not yet been determined.
+	 */
+	private T propagate(ControlFlowGraph cfg, int b) {
+		int last = cfg.blockEnd(b) - 1;
+		Entry stmt = block.get(last);
+		T store;
+		try {
+			Code code = stmt.code;
+			if (code instanceof Codes.Loop) {
+				Codes.Loop loop = (Codes.Loop) code;
+				T exitStore = storeAt(cfg, last, cfg.end(last));
+				if (exitStore == null) {
+					return null;
 				}
-				
-				store = mergeHandlers(i,code,store,handlers,stores);
+				store = propagate(last, loop, stmt, storeAt(cfg, last, last + 1),
+						exitStore);
+			} else if (code instanceof Codes.If) {
+				Codes.If ifgoto = (Codes.If) code;
+				T trueStore = storeAt(cfg, last, cfg.indexOf(ifgoto.target));
+				T falseStore = storeAt(cfg, last, cfg.next(last));
+				if (trueStore == null && falseStore == null) {
+					return null;
+				}
+				store = propagate(last, ifgoto, stmt, trueStore, falseStore);
+			} else if (code instanceof Codes.IfIs) {
+				Codes.IfIs iftype = (Codes.IfIs) code;
+				T trueStore = storeAt(cfg, last, cfg.indexOf(iftype.target));
+				T falseStore = storeAt(cfg, last, cfg.next(last));
+				if (trueStore == null && falseStore == null) {
+					return null;
+				}
+				store = propagate(last, iftype, stmt, trueStore, falseStore);
+			} else if (code instanceof Codes.Switch) {
+				Codes.Switch sw = (Codes.Switch) code;
+				ArrayList<T> swStores = new ArrayList<T>();
+				boolean known = false;
+				for (int j = 0; j != sw.branches.size(); ++j) {
+					String target = sw.branches.get(j).second();
+					T swStore = storeAt(cfg, last, cfg.indexOf(target));
+					swStores.add(swStore);
+					known |= swStore != null;
+				}
+				T defStore = storeAt(cfg, last, cfg.indexOf(sw.defaultTarget));
+				if (!known && defStore == null) {
+					return null;
+				}
+				store = propagate(last, sw, stmt, swStores, defStore);
+			} else if (code instanceof Codes.Goto) {
+				Codes.Goto gto = (Codes.Goto) code;
+				store = storeAt(cfg, last, cfg.indexOf(gto.target));
+			} else if (code instanceof Codes.Return
+					|| code instanceof Codes.Throw
+					|| code instanceof Codes.Fail) {
+				store = propagate(last, stmt, lastStore());
+			} else {
+				int next = cfg.next(last);
+				store = next < 0 ? lastStore() : storeAt(cfg, last, next);
+				store = transfer(last, stmt, store);
+			}
+			if (store == null) {
+				return null;
+			}
+			store = mergeHandlers(last, store);
+		} catch (SyntaxError se) {
+			throw se;
+		} catch (Throwable ex) {
+			internalFailure("internal failure", filename, stmt, ex);
+			return null;
+		}
+
+		for (int i = last - 1; i >= cfg.blockStart(b); --i) {
+			stmt = block.get(i);
+			try {
+				store = transfer(i, stmt, store);
+				store = mergeHandlers(i, store);
 			} catch (SyntaxError se) {
 				throw se;
 			} catch (Throwable ex) {
 				internalFailure("internal failure", filename, stmt, ex);
 			}
 		}
-		
+
 		return store;
 	}
 
-	protected T mergeHandlers(int index, Code code, T store, List<Pair<Type, String>> handlers,
-			Map<String, T> stores) {
-		if(code instanceof Codes.Throw) {
-			Codes.Throw t = (Codes.Throw) code;	
-			return mergeHandler(t.type,store,handlers,stores);
-		} else if(code instanceof Codes.IndirectInvoke) {
-			Codes.IndirectInvoke i = (Codes.IndirectInvoke) code;			
-			return mergeHandler(i.type().throwsClause(),store,handlers,stores);
-		} else if(code instanceof Codes.Invoke) {
-			Codes.Invoke i = (Codes.Invoke) code;	
-			return mergeHandler(i.type().throwsClause(),store,handlers,stores);
-		} 
-		return store;
+	/**
+	 * Propagate back from a bytecode which falls through, skipping those
+	 * which have no effect (i.e. labels and the start of a try-catch block).
+	 */
+	private T transfer(int index, Entry stmt, T store) {
+		if (store == null || stmt.code instanceof Codes.Label
+				|| stmt.code instanceof Codes.TryCatch) {
+			return store;
+		} else {
+			return propagate(index, stmt, store);
+		}
 	}
-	
-	protected T mergeHandler(Type type, T store, List<Pair<Type, String>> handlers,
-			Map<String, T> stores) {
-		for(Pair<Type,String> p : handlers) {
-			Type handler = p.first();			
-			T exceptionStore = stores.get(p.second());
-			if(exceptionStore == null) {
-				continue;
-			} else if(Type.isSubtype(handler,type)) {
-				return propagate(handler,store,exceptionStore);				
-			} else if(Type.isSubtype(type, handler)) {
-				store = propagate(handler,store,exceptionStore);				
-				// not completely subsumed
-				type = Type.intersect(type,Type.Negation(handler));
-			} 
+
+	/**
+	 * Combine a given store with those of any handlers which may catch an
+	 * exception thrown by a given bytecode.
+	 */
+	private T mergeHandlers(int index, T store) {
+		int[] cs = catches[index];
+		if (cs != null) {
+			ControlFlowGraph cfg = block.cfg();
+			for (int j = 0; j != cs.length; j += 2) {
+				Codes.TryCatch tc = (Codes.TryCatch) block.get(cs[j]).code;
+				Pair<Type, String> p = tc.catches.get(cs[j + 1]);
+				T exceptionStore = storeAt(cfg, index, cfg.indexOf(p.second()));
+				if (exceptionStore != null) {
+					store = propagate(p.first(), store, exceptionStore);
+				}
+			}
 		}
-		
 		return store;
 	}
-	
+
+	/**
+	 * Determine the store which holds immediately before a given bytecode,
+	 * which begins a basic block and is reached from another. When this
+	 * returns from the end of a loop body to the loop, control arrives at its
+	 * head and the store is the join of those holding at the start of the
+	 * body and on leaving the loop.
+	 */
+	private T storeAt(ControlFlowGraph cfg, int from, int index) {
+		if (index < 0 || index >= block.size()) {
+			return null;
+		} else if (index <= from && block.get(index).code instanceof Codes.Loop) {
+			T bodyStore = storeAt(cfg, index, index + 1);
+			T exitStore = storeAt(cfg, index, cfg.end(index));
+			if (bodyStore == null) {
+				return exitStore;
+			} else if (exitStore == null) {
+				return bodyStore;
+			} else {
+				return join(exitStore, bodyStore);
+			}
+		} else {
+			return stores.get(cfg.blockOf(index));
+		}
+	}
+
+	/**
+	 * Determine, for each basic block, those basic blocks whose stores are
+	 * determined from its own (i.e. which must be revisited when it changes).
+	 */
+	private int[][] dependents(ControlFlowGraph cfg) {
+		int numBlocks = cfg.numBlocks();
+		ArrayList<ArrayList<Integer>> deps = new ArrayList<ArrayList<Integer>>();
+		for (int b = 0; b != numBlocks; ++b) {
+			deps.add(new ArrayList<Integer>());
+		}
+		for (int b = 0; b != numBlocks; ++b) {
+			int last = cfg.blockEnd(b) - 1;
+			Code code = block.get(last).code;
+			if (code instanceof Codes.Loop) {
+				addDependent(cfg, last, last + 1, b, deps);
+				addDependent(cfg, last, cfg.end(last), b, deps);
+			} else {
+				for (int s : cfg.normalSuccessors(last)) {
+					addDependent(cfg, last, s, b, deps);
+				}
+			}
+			for (int i = cfg.blockStart(b); i <= last; ++i) {
+				int[] cs = catches[i];
+				if (cs != null) {
+					for (int j = 0; j != cs.length; j += 2) {
+						Codes.TryCatch tc = (Codes.TryCatch) block.get(cs[j]).code;
+						String label = tc.catches.get(cs[j + 1]).second();
+						addDependent(cfg, i, cfg.indexOf(label), b, deps);
+					}
+				}
+			}
+		}
+		int[][] dependents = new int[numBlocks][];
+		for (int b = 0; b != numBlocks; ++b) {
+			ArrayList<Integer> ds = deps.get(b);
+			dependents[b] = new int[ds.size()];
+			for (int i = 0; i != ds.size(); ++i) {
+				dependents[b][i] = ds.get(i);
+			}
+		}
+		return dependents;
+	}
+
+	private void addDependent(ControlFlowGraph cfg, int from, int index,
+			int dependent, List<ArrayList<Integer>> deps) {
+		if (index < 0 || index >= block.size()) {
+			return;
+		} else if (index <= from && block.get(index).code instanceof Codes.Loop) {
+			addDependent(cfg, index, index + 1, dependent, deps);
+			addDependent(cfg, index, cfg.end(index), dependent, deps);
+		} else {
+			ArrayList<Integer> ds = deps.get(cfg.blockOf(index));
+			if (!ds.contains(dependent)) {
+				ds.add(dependent);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Propagate back from a conditional branch. This produces a potentially
@@ -296,25 +427,27 @@ public abstract class BackwardFlowAnalysis<T> {
 
 	/**
 	 * <p>
-	 * Propagate back from a loop statement, producing a store which holds true
-	 * immediately before the statement
+	 * Propagate back from the head of a loop, producing a store which holds
+	 * true immediately before the statement. The method accepts two stores ---
+	 * one holding at the start of the loop body, and the other on leaving the
+	 * loop. The loop body itself is not propagated through here.
 	 * </p>
-	 * 
+	 *
 	 * @param index
 	 *            --- the index of this bytecode in the method's block
 	 * @param loop
-	 *            --- the code of the block
-	 * @param body
-	 *            --- the body of the block
+	 *            --- the code of this statement
 	 * @param stmt
 	 *            --- the statement being propagated through
-	 * @param store
-	 *            --- abstract store which holds true immediately before this
-	 *            statement.
+	 * @param bodyStore
+	 *            --- abstract store which holds true at the start of the loop
+	 *            body, or null if this is not yet known.
+	 * @param exitStore
+	 *            --- abstract store which holds true on leaving the loop.
 	 * @return
 	 */
-	protected abstract T propagate(int start, int end, Codes.Loop code, Entry stmt,
-			T store, List<Pair<Type,String>> handlers);
+	protected abstract T propagate(int index, Codes.Loop loop, Entry stmt,
+			T bodyStore, T exitStore);
 
 	/**
 	 * <p>
@@ -356,4 +489,15 @@ public abstract class BackwardFlowAnalysis<T> {
 	protected T lastStore() {
 		return null;
 	}	
+
+	/**
+	 * Join two abstract stores together producing a new abstract store. Observe
+	 * that this operation must not side-effect the two input stores. This is
+	 * because they may currently be held as the store of some basic block.
+	 * 
+	 * @param store1
+	 * @param store2
+	 * @return
+	 */
+	protected abstract T join(T store1, T store2);
 }
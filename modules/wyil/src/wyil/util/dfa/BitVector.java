@@ -0,0 +1,240 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.dfa;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A set of registers drawn from a fixed range (i.e. those used in a given
+ * block), represented as a dense vector of bits. This forms a lattice whose
+ * bottom is the empty set and whose top is the set of all registers in range.
+ * The lattice operations (<code>join()</code> and <code>meet()</code>) update
+ * the vector in place, and report whether or not it was changed. This makes
+ * them suitable for use in a worklist algorithm (see
+ * <code>BitVectorFlowAnalysis</code>), where they are applied many times and a
+ * change indicates more work to do.
+ * </p>
+ *
+ * <p>
+ * Registers outside the range are never contained in the set; attempting to
+ * add one is an error.
+ * </p>
+ */
+public final class BitVector {
+	private final long[] words;
+	private final int width;
+
+	/**
+	 * Construct an empty set of registers drawn from the range
+	 * <code>0 .. width-1</code>.
+	 *
+	 * @param width
+	 *            --- number of registers in range.
+	 */
+	public BitVector(int width) {
+		this.width = width;
+		this.words = new long[(width + 63) >> 6];
+	}
+
+	public BitVector(BitVector vector) {
+		this.width = vector.width;
+		this.words = vector.words.clone();
+	}
+
+	/**
+	 * Return the number of registers in range.
+	 *
+	 * @return
+	 */
+	public int width() {
+		return width;
+	}
+
+	/**
+	 * Return the number of registers in this set.
+	 *
+	 * @return
+	 */
+	public int size() {
+		int r = 0;
+		for (long word : words) {
+			r += Long.bitCount(word);
+		}
+		return r;
+	}
+
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean contains(int register) {
+		if (register < 0 || register >= width) {
+			return false;
+		}
+		return (words[register >> 6] & (1L << register)) != 0;
+	}
+
+	/**
+	 * Add a register to this set, returning true if it was not already
+	 * present.
+	 *
+	 * @param register
+	 * @return
+	 */
+	public boolean add(int register) {
+		if (register < 0 || register >= width) {
+			throw new IndexOutOfBoundsException("register out of range: "
+					+ register);
+		}
+		long word = words[register >> 6];
+		long nword = word | (1L << register);
+		words[register >> 6] = nword;
+		return word != nword;
+	}
+
+	/**
+	 * Remove a register from this set, returning true if it was present.
+	 *
+	 * @param register
+	 * @return
+	 */
+	public boolean remove(int register) {
+		if (register < 0 || register >= width) {
+			return false;
+		}
+		long word = words[register >> 6];
+		long nword = word & ~(1L << register);
+		words[register >> 6] = nword;
+		return word != nword;
+	}
+
+	/**
+	 * Remove all registers from this set, making it the bottom of the
+	 * lattice.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0);
+	}
+
+	/**
+	 * Add every register in range to this set, making it the top of the
+	 * lattice.
+	 */
+	public void fill() {
+		if (words.length > 0) {
+			Arrays.fill(words, -1L);
+			// clear the unused bits of the last word, so that equals() is
+			// unaffected by them.
+			int used = width & 63;
+			if (used != 0) {
+				words[words.length - 1] = (1L << used) - 1;
+			}
+		}
+	}
+
+	/**
+	 * Make this set hold exactly the registers of another.
+	 *
+	 * @param vector
+	 *            --- set of registers drawn from the same range.
+	 */
+	public void assign(BitVector vector) {
+		System.arraycopy(vector.words, 0, words, 0, words.length);
+	}
+
+	/**
+	 * Update this set to be its union with another, returning true if it was
+	 * changed.
+	 *
+	 * @param vector
+	 *            --- set of registers drawn from the same range.
+	 * @return
+	 */
+	public boolean join(BitVector vector) {
+		long[] vwords = vector.words;
+		long changed = 0;
+		for (int i = 0; i != words.length; ++i) {
+			long word = words[i];
+			long nword = word | vwords[i];
+			changed |= word ^ nword;
+			words[i] = nword;
+		}
+		return changed != 0;
+	}
+
+	/**
+	 * Update this set to be its intersection with another, returning true if
+	 * it was changed.
+	 *
+	 * @param vector
+	 *            --- set of registers drawn from the same range.
+	 * @return
+	 */
+	public boolean meet(BitVector vector) {
+		long[] vwords = vector.words;
+		long changed = 0;
+		for (int i = 0; i != words.length; ++i) {
+			long word = words[i];
+			long nword = word & vwords[i];
+			changed |= word ^ nword;
+			words[i] = nword;
+		}
+		return changed != 0;
+	}
+
+	public boolean equals(Object o) {
+		if (o instanceof BitVector) {
+			BitVector v = (BitVector) o;
+			return width == v.width && Arrays.equals(words, v.words);
+		}
+		return false;
+	}
+
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		boolean firstTime = true;
+		for (int i = 0; i != width; ++i) {
+			if (contains(i)) {
+				if (!firstTime) {
+					sb.append(",");
+				}
+				firstTime = false;
+				sb.append(i);
+			}
+		}
+		return sb.append("}").toString();
+	}
+}
@@ -0,0 +1,349 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.dfa;
+
+import java.util.BitSet;
+
+import wyil.lang.*;
+import wyil.lang.Code.Block.Entry;
+
+/**
+ * <p>
+ * A dataflow analysis whose abstract stores are sets of registers (e.g. those
+ * which are live, or those which are definitely assigned). Stores are
+ * represented as bit vectors which are updated in place, rather than being
+ * copied at every bytecode (as for <code>ForwardFlowAnalysis</code> and
+ * <code>BackwardFlowAnalysis</code>). The analysis can proceed either forwards
+ * or backwards, and stores are combined at join points using either set union
+ * (for "may" analyses) or set intersection (for "must" analyses).
+ * </p>
+ *
+ * <p>
+ * A fixed point is computed using a worklist over the basic blocks of the
+ * block's control-flow graph, such that only those basic blocks whose incoming
+ * store has changed are revisited. Once a fixed point is reached, every
+ * bytecode is visited once more (see <code>visit()</code>) with the final
+ * store which holds immediately before it (for a forwards analysis) or after
+ * it (for a backwards analysis). Subclasses use this to report errors, or to
+ * rewrite the block.
+ * </p>
+ *
+ * <p>
+ * Exceptions are propagated along the same lines as
+ * <code>ForwardFlowAnalysis</code>: a bytecode which may throw an exception
+ * passes the store which holds immediately before it to any handler which may
+ * catch the exception, taking into account the types caught by each handler.
+ * For a backwards analysis, the stores of those handlers are combined with the
+ * store holding immediately before the bytecode.
+ * </p>
+ */
+public abstract class BitVectorFlowAnalysis {
+	private final boolean forwards;
+	private final boolean intersection;
+
+	protected String filename;
+	protected Code.Block block;
+	protected ControlFlowGraph cfg;
+
+	/**
+	 * For each basic block, the store which holds immediately before its first
+	 * bytecode.
+	 */
+	private BitVector[] stores;
+
+	/**
+	 * For each basic block, the basic blocks reached by normal control flow
+	 * from its end.
+	 */
+	private int[][] successors;
+
+	/**
+	 * For each bytecode, the try-catch bytecodes which may catch an exception
+	 * it throws, given as pairs of the try-catch index and the index of the
+	 * handler's label; or <code>null</code>, if there are none.
+	 */
+	private int[][] catches;
+
+	/**
+	 * Construct an analysis of a given direction and kind.
+	 *
+	 * @param forwards
+	 *            --- true if information flows forwards through the block
+	 *            (i.e. from predecessors to successors); false otherwise.
+	 * @param intersection
+	 *            --- true if stores are combined at join points using set
+	 *            intersection (i.e. a "must" analysis); false if they are
+	 *            combined using set union (i.e. a "may" analysis).
+	 */
+	protected BitVectorFlowAnalysis(boolean forwards, boolean intersection) {
+		this.forwards = forwards;
+		this.intersection = intersection;
+	}
+
+	/**
+	 * Compute a fixed point for a given block, and then visit each bytecode
+	 * with the final stores.
+	 *
+	 * @param block
+	 *            --- block to analyse.
+	 * @param width
+	 *            --- number of registers used in the block (i.e. the range
+	 *            from which stores are drawn).
+	 */
+	protected void solve(Code.Block block, int width) {
+		this.block = block;
+		this.cfg = block.cfg();
+		this.catches = catches(Handlers.compute(filename, block, cfg));
+		int numBlocks = cfg.numBlocks();
+		this.stores = new BitVector[numBlocks];
+		this.successors = new int[numBlocks][];
+		for (int b = 0; b != numBlocks; ++b) {
+			stores[b] = initial(width);
+			successors[b] = normalSuccessors(b);
+		}
+		if (numBlocks == 0) {
+			return;
+		}
+		if (forwards) {
+			solveForwards(width);
+		} else {
+			solveBackwards(width);
+		}
+	}
+
+	private void solveForwards(int width) {
+		int numBlocks = stores.length;
+		boolean[] visited = new boolean[numBlocks];
+		BitSet worklist = new BitSet(numBlocks);
+		BitVector store = new BitVector(width);
+		BitVector exception = new BitVector(width);
+
+		stores[0].clear();
+		boundary(stores[0]);
+		worklist.set(0);
+
+		for (int b = worklist.nextSetBit(0); b >= 0; b = worklist
+				.nextSetBit(0)) {
+			worklist.clear(b);
+			visited[b] = true;
+			store.assign(stores[b]);
+			for (int i = cfg.blockStart(b); i != cfg.blockEnd(b); ++i) {
+				int[] cs = catches[i];
+				if (cs != null) {
+					for (int j = 0; j != cs.length; j += 2) {
+						exception.assign(store);
+						transfer((Codes.TryCatch) block.get(cs[j]).code,
+								exception);
+						int h = cfg.blockOf(cs[j + 1]);
+						if (combine(stores[h], exception) || !visited[h]) {
+							worklist.set(h);
+						}
+					}
+				}
+				transfer(i, block.get(i), store);
+			}
+			for (int s : successors[b]) {
+				if (combine(stores[s], store) || !visited[s]) {
+					worklist.set(s);
+				}
+			}
+		}
+
+		// Finally, visit every reachable bytecode with the fixed point.
+		for (int b = 0; b != numBlocks; ++b) {
+			if (visited[b]) {
+				store.assign(stores[b]);
+				for (int i = cfg.blockStart(b); i != cfg.blockEnd(b); ++i) {
+					Entry entry = block.get(i);
+					visit(i, entry, store);
+					transfer(i, entry, store);
+				}
+			}
+		}
+	}
+
+	private void solveBackwards(int width) {
+		int numBlocks = stores.length;
+		// The worklist holds basic blocks in reverse order, so they are
+		// taken from the end of the block first.
+		BitSet worklist = new BitSet(numBlocks);
+		BitVector store = new BitVector(width);
+		BitVector exception = new BitVector(width);
+
+		worklist.set(0, numBlocks);
+
+		for (int r = worklist.nextSetBit(0); r >= 0; r = worklist
+				.nextSetBit(0)) {
+			worklist.clear(r);
+			int b = numBlocks - r - 1;
+			propagateBackwards(b, store, exception, false);
+			if (!store.equals(stores[b])) {
+				stores[b].assign(store);
+				for (int p : cfg.blockPredecessors(b)) {
+					worklist.set(numBlocks - p - 1);
+				}
+			}
+		}
+
+		// Finally, visit every bytecode with the fixed point.
+		for (int b = numBlocks - 1; b >= 0; --b) {
+			propagateBackwards(b, store, exception, true);
+		}
+	}
+
+	/**
+	 * Propagate backwards through a given basic block, starting from the
+	 * stores of its successors and leaving the store which holds immediately
+	 * before it.
+	 */
+	private void propagateBackwards(int b, BitVector store,
+			BitVector exception, boolean visit) {
+		int[] succs = successors[b];
+		if (succs.length == 0) {
+			store.clear();
+			boundary(store);
+		} else {
+			store.assign(stores[succs[0]]);
+			for (int i = 1; i != succs.length; ++i) {
+				combine(store, stores[succs[i]]);
+			}
+		}
+		for (int i = cfg.blockEnd(b) - 1; i >= cfg.blockStart(b); --i) {
+			Entry entry = block.get(i);
+			if (visit) {
+				visit(i, entry, store);
+			}
+			transfer(i, entry, store);
+			int[] cs = catches[i];
+			if (cs != null) {
+				for (int j = 0; j != cs.length; j += 2) {
+					exception.assign(stores[cfg.blockOf(cs[j + 1])]);
+					transfer((Codes.TryCatch) block.get(cs[j]).code,
+							exception);
+					combine(store, exception);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replace the index of each handler within its list of catches with the
+	 * index of its label.
+	 */
+	private int[][] catches(int[][] catches) {
+		for (int[] cs : catches) {
+			if (cs != null) {
+				for (int j = 0; j != cs.length; j += 2) {
+					Codes.TryCatch tc = (Codes.TryCatch) block.get(cs[j]).code;
+					cs[j + 1] = cfg.indexOf(tc.catches.get(cs[j + 1]).second());
+				}
+			}
+		}
+		return catches;
+	}
+
+	private BitVector initial(int width) {
+		BitVector store = new BitVector(width);
+		if (intersection) {
+			store.fill();
+		}
+		return store;
+	}
+
+	private boolean combine(BitVector store, BitVector other) {
+		return intersection ? store.meet(other) : store.join(other);
+	}
+
+	/**
+	 * Determine the basic blocks reached by normal control flow from the end
+	 * of a given basic block.
+	 */
+	private int[] normalSuccessors(int b) {
+		int[] succs = cfg.normalSuccessors(cfg.blockEnd(b) - 1);
+		int[] r = new int[succs.length];
+		for (int i = 0; i != succs.length; ++i) {
+			r[i] = cfg.blockOf(succs[i]);
+		}
+		return r;
+	}
+
+	/**
+	 * Initialise the store which holds immediately before the first bytecode
+	 * (for a forwards analysis), or immediately after any bytecode which ends
+	 * the block (for a backwards analysis). The given store is empty.
+	 *
+	 * @param store
+	 */
+	protected abstract void boundary(BitVector store);
+
+	/**
+	 * Update a store to reflect the effect of a given bytecode. For a forwards
+	 * analysis, the store initially holds immediately before the bytecode and
+	 * should be updated to that holding immediately after it; for a backwards
+	 * analysis, the reverse is true.
+	 *
+	 * @param index
+	 *            --- the index of this bytecode in the block
+	 * @param entry
+	 *            --- block entry for this bytecode
+	 * @param store
+	 *            --- store to update in place.
+	 */
+	protected abstract void transfer(int index, Entry entry, BitVector store);
+
+	/**
+	 * Update a store to reflect an exception being caught by a given try-catch
+	 * block. For a forwards analysis, the store initially holds immediately
+	 * before the bytecode throwing the exception; for a backwards analysis, it
+	 * holds at the start of the handler. By default, the store is unchanged.
+	 *
+	 * @param tc
+	 *            --- the code of the try-catch block catching the exception.
+	 * @param store
+	 *            --- store to update in place.
+	 */
+	protected void transfer(Codes.TryCatch tc, BitVector store) {
+
+	}
+
+	/**
+	 * Visit a bytecode once a fixed point has been reached. For a forwards
+	 * analysis, the store holds immediately before the bytecode; for a
+	 * backwards analysis, it holds immediately after it (ignoring any
+	 * exceptions thrown). The store must not be modified. By default, this
+	 * does nothing.
+	 *
+	 * @param index
+	 *            --- the index of this bytecode in the block
+	 * @param entry
+	 *            --- block entry for this bytecode
+	 * @param store
+	 *            --- the final store for this bytecode.
+	 */
+	protected void visit(int index, Entry entry, BitVector store) {
+
+	}
+}
@@ -28,35 +28,49 @@ package wyil.util.dfa;
 import static wycc.lang.SyntaxError.internalFailure;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import wycc.lang.SyntaxError;
-import wycc.lang.Transform;
 import wycc.util.Pair;
 import wyil.lang.*;
-import wyil.util.*;
 import static wyil.lang.Code.Block.*;
 
+/**
+ * <p>
+ * A forwards dataflow analysis over the abstract stores of some lattice. A
+ * fixed point is computed using a worklist over the basic blocks of the
+ * block's control-flow graph, such that only those basic blocks whose incoming
+ * store has changed are revisited. This means that a loop body is revisited
+ * only in part when some of its stores change, and that nested loops are not
+ * solved afresh on every iteration of an enclosing loop. Once a fixed point is
+ * reached, the last store passed to each hook is that which holds in the
+ * fixed point; hence, subclasses can safely record rewrites as they go.
+ * </p>
+ *
+ * <p>
+ * A loop is treated as a loop head, which is reached both from before the loop
+ * and from the end of its body, and from which control may either enter the
+ * body or leave the loop. Since stores are copied at almost every bytecode,
+ * they should be cheap to copy (see <code>SharedList</code>).
+ * </p>
+ */
 public abstract class ForwardFlowAnalysis<T> {
 	protected String filename;
 	protected WyilFile.FunctionOrMethodDeclaration method;
 	protected WyilFile.Case methodCase;
 	protected Code.Block block;
-	protected HashMap<String,T> stores;
-	
-	public void apply(WyilFile module) {			
+
+	public void apply(WyilFile module) {
 		filename = module.filename();
-		
+
 		for(WyilFile.Block d : module.blocks()) {
 			if(d instanceof WyilFile.ConstantDeclaration) {
-				WyilFile.ConstantDeclaration cd = (WyilFile.ConstantDeclaration) d; 
+				WyilFile.ConstantDeclaration cd = (WyilFile.ConstantDeclaration) d;
 				module.replace(cd,propagate((cd)));
 			} else if(d instanceof WyilFile.TypeDeclaration) {
 				WyilFile.TypeDeclaration td = (WyilFile.TypeDeclaration) d;
-				module.replace(td,propagate(td));	
+				module.replace(td,propagate(td));
 			} else if(d instanceof WyilFile.FunctionOrMethodDeclaration) {
 				WyilFile.FunctionOrMethodDeclaration md = (WyilFile.FunctionOrMethodDeclaration) d;
 				if (!md.hasModifier(Modifier.NATIVE)) {
@@ -64,17 +78,17 @@ public abstract class ForwardFlowAnalysis<T> {
 					module.replace(md,propagate(md));
 				}
 			}
-		}		
+		}
 	}
-	
+
 	protected WyilFile.ConstantDeclaration propagate(WyilFile.ConstantDeclaration constant) {
 		return constant;
 	}
-	
+
 	protected WyilFile.TypeDeclaration propagate(WyilFile.TypeDeclaration type) {
 		return type;
 	}
-	
+
 	protected WyilFile.FunctionOrMethodDeclaration propagate(
 			WyilFile.FunctionOrMethodDeclaration method) {
 		this.method = method;
@@ -85,177 +99,141 @@ public abstract class ForwardFlowAnalysis<T> {
 		return new WyilFile.FunctionOrMethodDeclaration(method.modifiers(),
 				method.name(), method.type(), cases);
 	}
-	
+
 	protected WyilFile.Case propagate(WyilFile.Case mcase) {
-		this.methodCase = mcase;		
-		this.stores = new HashMap<String,T>();
+		this.methodCase = mcase;
 		this.block = mcase.body();
-		T init = initialStore();		
-		propagate(0, block.size(), init, Collections.EMPTY_LIST);		
+		solve(initialStore());
 		return mcase;
-	}		
-	
-	protected T propagate(int start, int end, T store,
-			List<Codes.TryCatch> handlers) {
-		
-		for (int i = start; i < end; ++i) {
-			Entry entry = block.get(i);
-			try {
-				Code code = entry.code;
+	}
 
-				// First, check for a label which may have incoming information.
-				if (code instanceof Codes.Label) {
-					Codes.Label l = (Codes.Label) code;
-					T tmp = stores.get(l.label);
-					if (tmp != null && store != null) {
-						store = join(store, tmp);
-					} else if (tmp != null) {
-						store = tmp;
-					}
-				}
+	/**
+	 * Propagate a given store, which holds immediately before the first
+	 * bytecode, through the current block until a fixed point is reached.
+	 * Bytecodes which cannot be reached are never propagated through.
+	 *
+	 * @param init
+	 *            --- the initial store.
+	 */
+	protected void solve(T init) {
+		ControlFlowGraph cfg = block.cfg();
+		int numBlocks = cfg.numBlocks();
+		if (numBlocks == 0) {
+			return;
+		}
+		int[][] catches = Handlers.compute(filename, block, cfg);
+		// the store holding immediately before each basic block, or null if
+		// it has not yet been reached.
+		ArrayList<T> stores = new ArrayList<T>();
+		for (int b = 0; b != numBlocks; ++b) {
+			stores.add(null);
+		}
+		BitSet worklist = new BitSet(numBlocks);
 
-				T oldStore = store;
+		stores.set(0, init);
+		worklist.set(0);
 
-				if (store == null) {
-					// this indicates dead-code has been reached.
-					continue;
-				} else if (code instanceof Codes.Loop) {
-					Codes.Loop loop = (Codes.Loop) code;
-					Code.Block.Entry nEntry = entry;
-					int s = i;
-					// Note, I could make this more efficient!
-					while (++i < block.size()) {
-						nEntry = block.get(i);
-						if (nEntry.code instanceof Codes.Label) {
-							Codes.Label l = (Codes.Label) nEntry.code;
-							if (l.label.equals(loop.target)) {
-								// end of loop body found
-								break;
-							}
+		for (int b = worklist.nextSetBit(0); b >= 0; b = worklist
+				.nextSetBit(0)) {
+			worklist.clear(b);
+			T store = stores.get(b);
+			for (int i = cfg.blockStart(b); i != cfg.blockEnd(b); ++i) {
+				Entry entry = block.get(i);
+				try {
+					Code code = entry.code;
+					int[] cs = catches[i];
+					if (cs != null) {
+						for (int j = 0; j != cs.length; j += 2) {
+							Codes.TryCatch tc = (Codes.TryCatch) block
+									.get(cs[j]).code;
+							Pair<Type, String> p = tc.catches.get(cs[j + 1]);
+							T nstore = propagate(p.first(), tc, store);
+							merge(cfg.indexOf(p.second()), nstore, stores,
+									worklist);
 						}
 					}
-					// propagate through the loop body
-					store = propagate(s, i, loop, entry, store, handlers);
-					// following is needed to ensure branches to exit label
-					// (e.g. from break) are properly accounted for.
-					i = i - 1;
-					continue;
-				} else if (code instanceof Codes.If) {
-					Codes.If ifgoto = (Codes.If) code;
-					Pair<T, T> r = propagate(i, ifgoto, entry, store);
-					store = r.second();
-					merge(ifgoto.target, r.first(), stores);
-				} else if (code instanceof Codes.IfIs) {
-					Codes.IfIs ifgoto = (Codes.IfIs) code;
-					Pair<T, T> r = propagate(i, ifgoto, entry, store);
-					store = r.second();
-					merge(ifgoto.target, r.first(), stores);
-				} else if (code instanceof Codes.Switch) {
-					Codes.Switch sw = (Codes.Switch) code;
 
-					List<T> r = propagate(i, sw, entry, store);
-
-					// assert r.second().size() == nsw.branches.size()
-					Codes.Switch nsw = (Codes.Switch) entry.code;
-					for (int j = 0; j != nsw.branches.size(); ++j) {
-						String target = nsw.branches.get(j).second();
-						T nstore = r.get(j);
-						merge(target, nstore, stores);
-					}
-					merge(sw.defaultTarget, store, stores);
-					store = null;
-				} else if (code instanceof Codes.TryCatch) {
-					Codes.TryCatch tc = (Codes.TryCatch) code;
-					int s = i;
-
-					// Note, I could make this more efficient!
-					while (++i < block.size()) {
-						entry = block.get(i);
-						if (entry.code instanceof Codes.Label) {
-							Codes.Label l = (Codes.Label) entry.code;
-							if (l.label.equals(tc.target)) {
-								// end of loop body found
-								break;
-							}
+					if (code instanceof Codes.Loop) {
+						Codes.Loop loop = (Codes.Loop) code;
+						store = propagate(i, loop, entry, store);
+						merge(i + 1, store, stores, worklist);
+						// control may also leave the loop from its head
+						merge(cfg.end(i), store, stores, worklist);
+						store = null;
+					} else if (code instanceof Codes.If) {
+						Codes.If ifgoto = (Codes.If) code;
+						Pair<T, T> r = propagate(i, ifgoto, entry, store);
+						store = r.second();
+						merge(cfg.indexOf(ifgoto.target), r.first(), stores,
+								worklist);
+					} else if (code instanceof Codes.IfIs) {
+						Codes.IfIs ifgoto = (Codes.IfIs) code;
+						Pair<T, T> r = propagate(i, ifgoto, entry, store);
+						store = r.second();
+						merge(cfg.indexOf(ifgoto.target), r.first(), stores,
+								worklist);
+					} else if (code instanceof Codes.Switch) {
+						Codes.Switch sw = (Codes.Switch) code;
+						List<T> r = propagate(i, sw, entry, store);
+						for (int j = 0; j != sw.branches.size(); ++j) {
+							String target = sw.branches.get(j).second();
+							merge(cfg.indexOf(target), r.get(j), stores,
+									worklist);
 						}
-					}
-
-					ArrayList<Codes.TryCatch> nhandlers = new ArrayList<Codes.TryCatch>(
-							handlers);
-					nhandlers.add(tc);
-					store = propagate(s + 1, i, store, nhandlers);
-					i = i - 1; // this is necessary since last label of
-								// try-catch is first label of catch handler
-				} else if (code instanceof Codes.Goto) {
-					Codes.Goto gto = (Codes.Goto) entry.code;
-					merge(gto.target, store, stores);
-					store = null;
-				} else {
-					// This indicates a sequential statement was encountered.
-					store = propagate(i, entry, store);
-					if (entry.code instanceof Codes.Return
-							|| entry.code instanceof Codes.Throw
-							|| entry.code instanceof Codes.Fail) {
+						merge(cfg.indexOf(sw.defaultTarget), store, stores,
+								worklist);
 						store = null;
+					} else if (code instanceof Codes.Goto) {
+						Codes.Goto gto = (Codes.Goto) code;
+						merge(cfg.indexOf(gto.target), store, stores, worklist);
+						store = null;
+					} else if (code instanceof Codes.Label
+							|| code instanceof Codes.TryCatch) {
+						// nothing to do here
+					} else {
+						// This indicates a sequential statement was encountered.
+						store = propagate(i, entry, store);
+						if (code instanceof Codes.Return
+								|| code instanceof Codes.Throw
+								|| code instanceof Codes.Fail) {
+							store = null;
+						}
 					}
+				} catch (SyntaxError se) {
+					throw se;
+				} catch (Throwable ex) {
+					internalFailure("internal failure", filename, entry, ex);
 				}
-
-				mergeHandlers(i, code, oldStore, handlers, stores);
-
-			} catch (SyntaxError se) {
-				throw se;
-			} catch (Throwable ex) {
-				internalFailure("internal failure", filename, entry, ex);
+			}
+			if (store != null) {
+				merge(cfg.next(cfg.blockEnd(b) - 1), store, stores, worklist);
 			}
 		}
-
-		return store;
 	}
-	
-	private void merge(String target, T store, Map<String, T> stores) {		
-		T old = stores.get(target);
+
+	/**
+	 * Merge a store into that holding immediately before a given bytecode,
+	 * which begins a basic block. If this changes the latter, the basic block
+	 * is added to the worklist.
+	 */
+	private void merge(int index, T store, List<T> stores, BitSet worklist) {
+		if (index < 0 || index >= block.size()) {
+			return;
+		}
+		int b = block.cfg().blockOf(index);
+		T old = stores.get(b);
 		if (old == null) {
-			stores.put(target, store);
+			stores.set(b, store);
+			worklist.set(b);
 		} else {
-			stores.put(target, join(old, store));
-		}
-	}
-
-	protected void mergeHandlers(int index, Code code, T store, List<Codes.TryCatch> handlers,
-			Map<String, T> stores) {
-		if(code instanceof Codes.Throw) {
-			Codes.Throw t = (Codes.Throw) code;	
-			mergeHandler(t.type,store,handlers,stores);
-		} else if(code instanceof Codes.IndirectInvoke) {
-			Codes.IndirectInvoke i = (Codes.IndirectInvoke) code;			
-			mergeHandler(i.type().throwsClause(),store,handlers,stores);
-		} else if(code instanceof Codes.Invoke) {
-			Codes.Invoke i = (Codes.Invoke) code;	
-			mergeHandler(i.type().throwsClause(),store,handlers,stores);
-		} 
-	}
-	
-	protected void mergeHandler(Type type, T store, List<Codes.TryCatch> handlers,
-			Map<String, T> stores) {
-		for(int i=handlers.size()-1;i>=0;--i) {
-			Codes.TryCatch tc = handlers.get(i);
-			for(Pair<Type,String> p : tc.catches) { 
-				Type handler = p.first();			
-
-				if(Type.isSubtype(handler,type)) {
-					T nstore = propagate(handler,tc,store);
-					merge(p.second(),nstore,stores);
-					return; // completely subsumed
-				} else if(Type.isSubtype(type, handler)) {
-					T nstore = propagate(handler,tc,store);
-					merge(p.second(),nstore,stores);
-					// not completely subsumed
-					type = Type.intersect(type,Type.Negation(handler));
-				}
+			T nstore = join(old, store);
+			if (!nstore.equals(old)) {
+				stores.set(b, nstore);
+				worklist.set(b);
 			}
 		}
 	}
-	
+
 	/**
 	 * <p>
 	 * Propagate through a conditional branch. This produces two stores for the
@@ -335,22 +313,17 @@ public abstract class ForwardFlowAnalysis<T> {
 	
 	/**
 	 * <p>
-	 * Propagate through a loop statement, producing a store which holds true
-	 * immediately after the statement
+	 * Propagate through the head of a loop, producing a store which holds true
+	 * both at the start of the loop body and on leaving the loop from its
+	 * head. The given store is the join of those holding immediately before
+	 * the loop and at the end of its body; thus, the loop body itself is not
+	 * propagated through here.
 	 * </p>
-	 * <p>
-	 * <b>NOTE: the <code>start</code> index holds the loop code, whilst the
-	 * <code>end</code> index holds the end code.
-	 * </p>
-	 * 
-	 * @param start
-	 *            --- the start index of loop block
-	 * @param end
-	 *            --- last index of loop block
-	 * @param end
-	 *            --- instruction block
-	 * @param code
-	 *            --- the start code of the block
+	 *
+	 * @param index
+	 *            --- the index of this bytecode in the method's block
+	 * @param loop
+	 *            --- the code of this statement
 	 * @param entry
 	 *            --- the block entry for the loop statement
 	 * @param store
@@ -358,8 +331,8 @@ public abstract class ForwardFlowAnalysis<T> {
 	 *            statement.
 	 * @return
 	 */
-	protected abstract T propagate(int start, int end, 
-			Codes.Loop code, Entry entry, T store, List<Codes.TryCatch> handlers);
+	protected abstract T propagate(int index, Codes.Loop loop, Entry entry,
+			T store);
 
 	/**
 	 * <p>
@@ -388,7 +361,7 @@ public abstract class ForwardFlowAnalysis<T> {
 	/**
 	 * Join two abstract stores together producing a new abstract store. Observe
 	 * that this operation must not side-effect the two input stores. This is
-	 * because they may currently be stored in the stores map.
+	 * because they may currently be held as the store of some basic block.
 	 * 
 	 * @param store1
 	 * @param store2
@@ -0,0 +1,118 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.dfa;
+
+import static wycc.lang.SyntaxError.internalFailure;
+
+import wycc.lang.SyntaxError;
+import wycc.util.Pair;
+import wyil.lang.*;
+import wyil.lang.Code.Block.Entry;
+
+/**
+ * Determines which exception handlers may catch an exception thrown by a given
+ * bytecode. This is shared by the various dataflow analyses, which all
+ * propagate exceptions in the same way.
+ */
+final class Handlers {
+
+	private Handlers() {
+
+	}
+
+	/**
+	 * Determine, for each bytecode which may throw an exception, the handlers
+	 * which may catch it. An exception is passed to each handler which catches
+	 * some part of its type, starting from the innermost try-catch block,
+	 * until it is completely subsumed. The handlers of each bytecode are given
+	 * as pairs of indices, namely that of the try-catch bytecode and that of
+	 * the handler within its list of catches. Bytecodes for which there are no
+	 * handlers have <code>null</code> instead.
+	 *
+	 * @param filename
+	 *            --- used for reporting internal failures.
+	 * @param block
+	 * @param cfg
+	 *            --- control-flow graph of the block.
+	 * @return
+	 */
+	static int[][] compute(String filename, Code.Block block,
+			ControlFlowGraph cfg) {
+		int[][] catches = new int[block.size()][];
+		for (int i = 0; i != catches.length; ++i) {
+			int[] handlers = cfg.handlers(i);
+			if (handlers.length == 0) {
+				continue;
+			}
+			Entry entry = block.get(i);
+			Code code = entry.code;
+			Type type;
+			if (code instanceof Codes.Throw) {
+				type = ((Codes.Throw) code).type;
+			} else if (code instanceof Codes.IndirectInvoke) {
+				type = ((Codes.IndirectInvoke) code).type().throwsClause();
+			} else if (code instanceof Codes.Invoke) {
+				type = ((Codes.Invoke) code).type().throwsClause();
+			} else {
+				continue;
+			}
+			try {
+				int[] cs = new int[0];
+				outer: for (int t : handlers) {
+					Codes.TryCatch tc = (Codes.TryCatch) block.get(t).code;
+					for (int c = 0; c != tc.catches.size(); ++c) {
+						Pair<Type, String> p = tc.catches.get(c);
+						Type handler = p.first();
+						if (cfg.indexOf(p.second()) < 0) {
+							continue;
+						} else if (Type.isSubtype(handler, type)) {
+							cs = append(cs, t, c);
+							break outer; // completely subsumed
+						} else if (Type.isSubtype(type, handler)) {
+							cs = append(cs, t, c);
+							// not completely subsumed
+							type = Type.intersect(type, Type.Negation(handler));
+						}
+					}
+				}
+				catches[i] = cs.length == 0 ? null : cs;
+			} catch (SyntaxError se) {
+				throw se;
+			} catch (Throwable ex) {
+				internalFailure("internal failure", filename, entry, ex);
+			}
+		}
+		return catches;
+	}
+
+	private static int[] append(int[] pairs, int first, int second) {
+		int[] r = new int[pairs.length + 2];
+		System.arraycopy(pairs, 0, r, 0, pairs.length);
+		r[pairs.length] = first;
+		r[pairs.length + 1] = second;
+		return r;
+	}
+}
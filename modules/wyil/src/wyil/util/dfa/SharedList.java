@@ -0,0 +1,157 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.dfa;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A list suitable for use as an abstract store in a dataflow analysis, where
+ * stores are copied at almost every bytecode but each bytecode updates only a
+ * few registers. Elements are held in fixed-size chunks, and a copy of the
+ * list initially shares all of its chunks with the original. A chunk is copied
+ * only when it is first updated through one of the lists sharing it; thus,
+ * copying a list and updating a few of its elements costs time proportional to
+ * the number of chunks updated, rather than the number of elements.
+ * </p>
+ *
+ * <p>
+ * Comparing two lists which share chunks is also cheaper, since shared chunks
+ * need not be compared element by element.
+ * </p>
+ *
+ * @param <T>
+ */
+public class SharedList<T> extends AbstractList<T> implements RandomAccess {
+	private static final int SHIFT = 4;
+	private static final int CHUNK_SIZE = 1 << SHIFT;
+	private static final int MASK = CHUNK_SIZE - 1;
+
+	private Object[][] chunks;
+
+	/**
+	 * Indicates, for each chunk, whether it is owned by this list (and, hence,
+	 * can be updated in place) or may be shared with others.
+	 */
+	private boolean[] owned;
+
+	private int size;
+
+	public SharedList() {
+		this.chunks = new Object[0][];
+		this.owned = new boolean[0];
+	}
+
+	/**
+	 * Construct a copy of a given list, which shares its chunks.
+	 *
+	 * @param list
+	 */
+	public SharedList(SharedList<T> list) {
+		this.chunks = list.chunks.clone();
+		this.owned = new boolean[chunks.length];
+		this.size = list.size;
+		// neither list may now update a chunk in place
+		Arrays.fill(list.owned, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index out of range: " + index);
+		}
+		return (T) chunks[index >> SHIFT][index & MASK];
+	}
+
+	@SuppressWarnings("unchecked")
+	public T set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index out of range: " + index);
+		}
+		int c = index >> SHIFT;
+		Object[] chunk = chunks[c];
+		Object old = chunk[index & MASK];
+		if (old != element) {
+			if (!owned[c]) {
+				chunk = chunk.clone();
+				chunks[c] = chunk;
+				owned[c] = true;
+			}
+			chunk[index & MASK] = element;
+		}
+		return (T) old;
+	}
+
+	public boolean add(T element) {
+		int c = size >> SHIFT;
+		if (c == chunks.length) {
+			chunks = Arrays.copyOf(chunks, c + 1);
+			owned = Arrays.copyOf(owned, c + 1);
+			chunks[c] = new Object[CHUNK_SIZE];
+			owned[c] = true;
+		}
+		size = size + 1;
+		modCount++;
+		set(size - 1, element);
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean equals(Object o) {
+		if (o instanceof SharedList) {
+			SharedList<?> l = (SharedList<?>) o;
+			if (size != l.size) {
+				return false;
+			}
+			for (int c = 0; c != chunks.length; ++c) {
+				Object[] chunk = chunks[c];
+				Object[] lchunk = l.chunks[c];
+				if (chunk == lchunk) {
+					continue;
+				}
+				int n = Math.min(CHUNK_SIZE, size - (c << SHIFT));
+				for (int i = 0; i != n; ++i) {
+					Object e = chunk[i];
+					Object le = lchunk[i];
+					if (e == null ? le != null : !e.equals(le)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+		return super.equals(o);
+	}
+
+	public int hashCode() {
+		return super.hashCode();
+	}
+}
@@ -0,0 +1,169 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.type;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import wyautl_old.lang.Automaton;
+import wyil.lang.Type;
+
+/**
+ * <p>
+ * Implements the fly-weight pattern for types. Every type constructed via
+ * <code>Type.construct()</code> is normalised into a canonical automaton and,
+ * hence, two types are equivalent when their automata are identical. This
+ * table maps each such automaton to the (unique) type object constructed for
+ * it, so that identical types share the same object.
+ * </p>
+ * 
+ * <p>
+ * Types are held only weakly by the table. Thus, once a type is no longer
+ * referenced elsewhere, it may be garbage collected and its entry is then
+ * removed. This prevents the table from growing without bound in a
+ * long-running process. The table may be safely accessed by multiple threads
+ * concurrently.
+ * </p>
+ */
+public final class TypeInterner {
+	
+	/**
+	 * The table of interned types, keyed on their automata.
+	 */
+	private final ConcurrentHashMap<Automaton, Entry> table = new ConcurrentHashMap<Automaton, Entry>();
+
+	/**
+	 * Queue onto which entries are placed once their type has been garbage
+	 * collected.
+	 */
+	private final ReferenceQueue<Type> queue = new ReferenceQueue<Type>();
+
+	/**
+	 * Counts the number of lookups which found an existing type.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * Counts the number of lookups which did not find an existing type.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * Look up the type previously interned for a given automaton (if any).
+	 * 
+	 * @param automaton
+	 *            --- normalised automaton of the type being looked up.
+	 * @return the interned type, or null if there is none.
+	 */
+	public Type get(Automaton automaton) {
+		Entry e = table.get(automaton);
+		Type type = e == null ? null : e.get();
+		if (type != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return type;
+	}
+
+	/**
+	 * Intern a type for a given automaton. If another thread has interned a
+	 * type for the same automaton in the meantime, then that type is returned
+	 * instead.
+	 * 
+	 * @param automaton
+	 *            --- normalised automaton of the type being interned.
+	 * @param type
+	 *            --- type being interned.
+	 * @return the interned type.
+	 */
+	public Type intern(Automaton automaton, Type type) {
+		purge();
+		Entry entry = new Entry(automaton, type, queue);
+		while (true) {
+			Entry e = table.putIfAbsent(automaton, entry);
+			if (e == null) {
+				return type;
+			}
+			Type existing = e.get();
+			if (existing != null) {
+				return existing;
+			} else if (table.replace(automaton, e, entry)) {
+				// The existing type has been collected, but its entry not yet
+				// purged.
+				return type;
+			}
+		}
+	}
+	
+	/**
+	 * Get the number of types currently held in the table. This includes any
+	 * which have been collected, but whose entries have yet to be removed.
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * Get the number of lookups which found an existing type.
+	 */
+	public long hits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of lookups which did not find an existing type.
+	 */
+	public long misses() {
+		return misses.get();
+	}
+	
+	public String toString() {
+		return "#types = " + size() + ", #hits = " + hits() + ", #misses = "
+				+ misses();
+	}
+	
+	/**
+	 * Remove all entries whose types have been garbage collected.
+	 */
+	private void purge() {
+		Entry e;
+		while ((e = (Entry) queue.poll()) != null) {
+			table.remove(e.automaton, e);
+		}
+	}
+	
+	private static final class Entry extends WeakReference<Type> {
+		private final Automaton automaton;
+
+		public Entry(Automaton automaton, Type type, ReferenceQueue<Type> queue) {
+			super(type, queue);
+			this.automaton = automaton;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyil.util.type;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import wyil.lang.Type;
+
+/**
+ * <p>
+ * A bounded cache for the results of operations on pairs of types, such as
+ * subtype tests and intersections. Since types are interned (see
+ * <code>TypeInterner</code>), pairs are compared by identity rather than by
+ * structural equality. This avoids comparing the underlying automata on every
+ * lookup.
+ * </p>
+ * 
+ * <p>
+ * The cache is split into a fixed number of segments, each of which is
+ * independently locked and evicts its least recently used entry when full.
+ * This allows multiple threads to access the cache concurrently, whilst
+ * bounding the amount of memory retained. A capacity of zero disables
+ * caching altogether.
+ * </p>
+ */
+public final class TypePairCache<V> {
+
+	/**
+	 * The number of segments used by the cache. This must be a power of two.
+	 */
+	private static final int NSEGMENTS = 16;
+
+	private final List<Segment<V>> segments;
+
+	/**
+	 * Counts the number of lookups which found a cached result.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * Counts the number of lookups which did not find a cached result.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Counts the number of entries evicted to make room for others.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * The maximum number of entries held by the cache.
+	 */
+	private volatile int capacity;
+
+	public TypePairCache(int capacity) {
+		this.segments = new ArrayList<Segment<V>>(NSEGMENTS);
+		for (int i = 0; i != NSEGMENTS; ++i) {
+			segments.add(new Segment<V>(evictions));
+		}
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Look up the cached result for a given pair of types (if any).
+	 * 
+	 * @param t1
+	 * @param t2
+	 * @return the cached result, or null if there is none.
+	 */
+	public V get(Type t1, Type t2) {
+		if (capacity == 0) {
+			return null;
+		}
+		Pair key = new Pair(t1, t2);
+		Segment<V> segment = segmentFor(key);
+		V value;
+		synchronized (segment) {
+			value = segment.get(key);
+		}
+		if (value != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return value;
+	}
+
+	/**
+	 * Cache the result for a given pair of types. This may cause the least
+	 * recently used entry to be evicted.
+	 * 
+	 * @param t1
+	 * @param t2
+	 * @param value
+	 */
+	public void put(Type t1, Type t2, V value) {
+		if (capacity == 0) {
+			return;
+		}
+		Pair key = new Pair(t1, t2);
+		Segment<V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	/**
+	 * Set the maximum number of entries held by this cache. Any entries
+	 * currently held are discarded.
+	 * 
+	 * @param capacity
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("invalid cache capacity: "
+					+ capacity);
+		}
+		this.capacity = capacity;
+		int limit = (capacity + NSEGMENTS - 1) / NSEGMENTS;
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+				segment.limit = limit;
+			}
+		}
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Get the number of entries currently held in the cache.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Get the number of lookups which found a cached result.
+	 */
+	public long hits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of lookups which did not find a cached result.
+	 */
+	public long misses() {
+		return misses.get();
+	}
+
+	/**
+	 * Get the number of entries evicted to make room for others.
+	 */
+	public long evictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * Return a standard overview of the statistics for this cache.
+	 */
+	public String toString() {
+		long h = hits();
+		long total = h + misses();
+		long rate = total == 0 ? 0 : (h * 100) / total;
+		return "#entries = " + size() + ", #hits = " + h + " / " + total
+				+ " (" + rate + "%), #evictions = " + evictions();
+	}
+
+	private Segment<V> segmentFor(Pair key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments.get(h & (NSEGMENTS - 1));
+	}
+
+	/**
+	 * A single segment of the cache, which maintains its entries in access
+	 * order so that the least recently used can be evicted.
+	 */
+	private static final class Segment<T> extends LinkedHashMap<Pair, T> {
+		private static final long serialVersionUID = 1L;
+
+		private final AtomicLong evictions;
+		private int limit;
+
+		public Segment(AtomicLong evictions) {
+			super(16, 0.75f, true);
+			this.evictions = evictions;
+		}
+
+		protected boolean removeEldestEntry(Map.Entry<Pair, T> eldest) {
+			if (size() > limit) {
+				evictions.incrementAndGet();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * A pair of types compared by identity.
+	 */
+	private static final class Pair {
+		private final Type first;
+		private final Type second;
+
+		public Pair(Type first, Type second) {
+			this.first = first;
+			this.second = second;
+		}
+
+		public int hashCode() {
+			return (System.identityHashCode(first) * 31)
+					+ System.identityHashCode(second);
+		}
+
+		public boolean equals(Object o) {
+			if (o instanceof Pair) {
+				Pair p = (Pair) o;
+				return first == p.first && second == p.second;
+			}
+			return false;
+		}
+	}
+}
@@ -42,6 +42,8 @@ import wyfs.io.BinaryOutputStream;
 import wyfs.lang.Path;
 import wyil.lang.*;
 import wyil.lang.Constant;
+import wyil.transforms.LiveVariablesAnalysis;
+import wyil.util.dfa.BitVector;
 import wyjc.util.WyjcBuildTask;
 import jasm.attributes.Code.Handler;
 import jasm.attributes.LineNumberTable;
@@ -76,9 +78,52 @@ public class Wyil2JavaBuilder implements Builder {
 	 */
 	private Logger logger = Logger.NULL;
 
+	/**
+	 * Determines whether generated programs use persistent lists, sets and
+	 * maps (see <code>wyjc.runtime.WyCollection</code>). These make updates to
+	 * shared collections O(log n), rather than requiring a full clone. When
+	 * set, the static initialiser of a class with a main launcher sets the
+	 * <code>wyjc.persistent</code> system property.
+	 */
+	private boolean persistentCollections = false;
+	
 	protected String filename;
 	protected JvmType.Clazz owner;
 	
+	/**
+	 * The registers which are live immediately after the bytecode currently
+	 * being translated, or <code>null</code> if this is unknown. This is used
+	 * to determine when a compound value can be handed over to the bytecode
+	 * consuming it, rather than shared with it.
+	 */
+	private BitVector live;
+
+	/**
+	 * Maps each register of the method being translated which holds a Whiley
+	 * <code>int</code> in unboxed form to the (two word) <code>long</code>
+	 * slot used for its value, or to -1 for any other register. The
+	 * register's own slot then holds <code>null</code> whenever the value fits
+	 * in a <code>long</code>, and holds the value as a <code>BigInteger</code>
+	 * otherwise (e.g. after an arithmetic operation has overflowed). See
+	 * <code>findLongRegisters()</code> for how these registers are chosen.
+	 */
+	private int[] longSlots;
+
+	/**
+	 * The loads and stores which access the slot of an unboxed register
+	 * directly and, hence, must not be converted by
+	 * <code>addLongConversions()</code>.
+	 */
+	private Set<Bytecode> rawAccesses;
+	
+	/**
+	 * The record shapes used by the class being built, each of which is held
+	 * in a static field initialised when the class is loaded. A shape is the
+	 * sorted list of field names for a record (see
+	 * <code>wyjc.runtime.WyRecord</code>).
+	 */
+	private LinkedHashMap<List<String>,Integer> shapes;
+	
 	public Wyil2JavaBuilder(Build.Project project) {
 		this.project = project;
 	}
@@ -87,6 +132,10 @@ public class Wyil2JavaBuilder implements Builder {
 		this.logger = logger;
 	}
 	
+	public void setPersistentCollections(boolean flag) {
+		this.persistentCollections = flag;
+	}
+	
 	public Build.Project project() {
 		return project;
 	}
@@ -164,6 +213,7 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 		
 		boolean addMainLauncher = false;		
+		shapes = new LinkedHashMap<List<String>,Integer>();
 								
 		HashMap<JvmConstant,Integer> constants = new HashMap<JvmConstant,Integer>();
 		for(WyilFile.FunctionOrMethodDeclaration method : module.functionOrMethods()) {				
@@ -173,7 +223,7 @@ public class Wyil2JavaBuilder implements Builder {
 			cf.methods().addAll(build(method, constants, lambdas));			
 		}		
 			
-		buildConstants(constants,lambdas,cf);		
+		buildConstants(constants,lambdas,addMainLauncher,cf);		
 				
 		if(addMainLauncher) {
 			cf.methods().add(buildMainLauncher(owner));
@@ -183,9 +233,9 @@ public class Wyil2JavaBuilder implements Builder {
 	}	
 	
 	private void buildConstants(HashMap<JvmConstant, Integer> constants,
-			ArrayList<ClassFile> lambdas, ClassFile cf) {						
+			ArrayList<ClassFile> lambdas, boolean launcher, ClassFile cf) {						
 		buildCoercions(constants,cf);
-		buildValues(constants,lambdas,cf);
+		buildValues(constants,lambdas,launcher,cf);
 	}
 	
 	private void buildCoercions(HashMap<JvmConstant,Integer> constants, ClassFile cf) {
@@ -196,14 +246,18 @@ public class Wyil2JavaBuilder implements Builder {
 			// We have to clone the constants map, since it may be expanded as a
 			// result of buildCoercion(). This will occur if the coercion
 			// constructed requires a helper coercion that was not in the
-			// original constants map.  
+			// original constants map. Likewise, type tests may require helper
+			// type tests for their element types.
 			HashMap<JvmConstant,Integer> nconstants = new HashMap<JvmConstant,Integer>(constants);		
 			for(Map.Entry<JvmConstant,Integer> entry : constants.entrySet()) {
 				JvmConstant e = entry.getKey();
 				if(!done.contains(e) && e instanceof JvmCoercion) {
 					JvmCoercion c = (JvmCoercion) e;
 					buildCoercion(c.from,c.to,entry.getValue(),nconstants,cf);
-				} 
+				} else if(!done.contains(e) && e instanceof JvmTypeTest) {
+					JvmTypeTest t = (JvmTypeTest) e;
+					buildTypeTest(t.test,entry.getValue(),nconstants,cf);
+				}
 				done.add(e);
 			}
 			constants = nconstants;
@@ -212,7 +266,7 @@ public class Wyil2JavaBuilder implements Builder {
 	}
 	
 	private void buildValues(HashMap<JvmConstant, Integer> constants,
-			ArrayList<ClassFile> lambdas, ClassFile cf) {
+			ArrayList<ClassFile> lambdas, boolean launcher, ClassFile cf) {
 		int nvalues = 0;
 		ArrayList<Bytecode> bytecodes = new ArrayList<Bytecode>();
 		
@@ -239,7 +293,24 @@ public class Wyil2JavaBuilder implements Builder {
 			} 
 		}
 		
-		if(nvalues > 0) {
+		// record shapes must be initialised before any constant records
+		bytecodes.addAll(0, buildShapes(cf));
+		
+		boolean persistent = launcher && persistentCollections;
+		if(persistent) {
+			// The runtime reads this property once, when the first collection
+			// is created. Hence, it must be set before any constants are.
+			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_STRING,
+					JAVA_LANG_STRING, JAVA_LANG_STRING);
+			bytecodes.add(0, new Bytecode.LoadConst(
+					wyjc.runtime.WyCollection.PERSISTENT_PROPERTY));
+			bytecodes.add(1, new Bytecode.LoadConst("true"));
+			bytecodes.add(2, new Bytecode.Invoke(JAVA_LANG_SYSTEM,
+					"setProperty", ftype, Bytecode.InvokeMode.STATIC));
+			bytecodes.add(3, new Bytecode.Pop(JAVA_LANG_STRING));
+		}
+		
+		if(nvalues > 0 || !shapes.isEmpty() || persistent) {
 			// create static initialiser method, but only if we really need to.
 			bytecodes.add(new Bytecode.Return(null));
 
@@ -257,6 +328,42 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 	}
 		
+	/**
+	 * Create a static field for each record shape used in the class being
+	 * built, and return the bytecodes which initialise them.
+	 * 
+	 * @param cf
+	 * @return
+	 */
+	private ArrayList<Bytecode> buildShapes(ClassFile cf) {
+		ArrayList<Bytecode> bytecodes = new ArrayList<Bytecode>();
+		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_STRING_ARRAY,
+				JAVA_LANG_STRING_ARRAY);
+		for (Map.Entry<List<String>, Integer> entry : shapes.entrySet()) {
+			List<String> fields = entry.getKey();
+			String name = "shape$" + entry.getValue();
+			ArrayList<Modifier> fmods = new ArrayList<Modifier>();
+			fmods.add(Modifier.ACC_PRIVATE);
+			fmods.add(Modifier.ACC_STATIC);
+			fmods.add(Modifier.ACC_FINAL);
+			cf.fields().add(new ClassFile.Field(name, JAVA_LANG_STRING_ARRAY, fmods));
+
+			bytecodes.add(new Bytecode.LoadConst(fields.size()));
+			bytecodes.add(new Bytecode.New(JAVA_LANG_STRING_ARRAY));
+			for (int i = 0; i != fields.size(); ++i) {
+				bytecodes.add(new Bytecode.Dup(JAVA_LANG_STRING_ARRAY));
+				bytecodes.add(new Bytecode.LoadConst(i));
+				bytecodes.add(new Bytecode.LoadConst(fields.get(i)));
+				bytecodes.add(new Bytecode.ArrayStore(JAVA_LANG_STRING_ARRAY));
+			}
+			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "shape", ftype,
+					Bytecode.InvokeMode.STATIC));
+			bytecodes.add(new Bytecode.PutField(owner, name,
+					JAVA_LANG_STRING_ARRAY, Bytecode.FieldMode.STATIC));
+		}
+		return bytecodes;
+	}
+	
 	private ClassFile.Method buildMainLauncher(JvmType.Clazz owner) {
 		ArrayList<Modifier> modifiers = new ArrayList<Modifier>();
 		modifiers.add(Modifier.ACC_PUBLIC);
@@ -336,7 +443,7 @@ public class Wyil2JavaBuilder implements Builder {
 		ArrayList<Handler> handlers = new ArrayList<Handler>();
 		ArrayList<LineNumberTable.Entry> lineNumbers = new ArrayList<LineNumberTable.Entry>();		
 		ArrayList<Bytecode> codes;				
-		codes = translate(mcase,constants,lambdas,handlers,lineNumbers);		
+		codes = translate(mcase,method.type(),constants,lambdas,handlers,lineNumbers);
 		jasm.attributes.Code code = new jasm.attributes.Code(codes,handlers,cm);
 		if(!lineNumbers.isEmpty()) {
 			code.attributes().add(new LineNumberTable(lineNumbers));
@@ -412,14 +519,44 @@ public class Wyil2JavaBuilder implements Builder {
 	}
 	
 	private ArrayList<Bytecode> translate(WyilFile.Case mcase,
+			Type.FunctionOrMethod type,
 			HashMap<JvmConstant, Integer> constants,
 			ArrayList<ClassFile> lambdas,
 			ArrayList<Handler> handlers,
 			ArrayList<LineNumberTable.Entry> lineNumbers) {
 		ArrayList<Bytecode> bytecodes = new ArrayList<Bytecode>();
 		Code.Block block = mcase.body();
-		translate(block, block.numSlots(), constants, lambdas, handlers,
+		int freeSlot = block.numSlots();
+
+		// Allocate a long slot for each register which can be unboxed. These
+		// are all initialised here, so that they are always readable
+		// regardless of how the register itself was last assigned.
+		boolean[] unboxed = findLongRegisters(block, type);
+		longSlots = new int[unboxed.length];
+		rawAccesses = Collections.newSetFromMap(new IdentityHashMap<Bytecode,Boolean>());
+		for (int i = 0; i != unboxed.length; ++i) {
+			if (unboxed[i]) {
+				longSlots[i] = freeSlot;
+				freeSlot += 2;
+				bytecodes.add(new Bytecode.LoadConst(0L));
+				bytecodes.add(new Bytecode.Store(longSlots[i], T_LONG));
+			} else {
+				longSlots[i] = -1;
+			}
+		}
+		// Parameters are always passed as BigIntegers
+		for (int i = 0; i < type.params().size() && i < unboxed.length; ++i) {
+			if (unboxed[i]) {
+				bytecodes.add(raw(new Bytecode.Load(i, WHILEYINT)));
+				addLongStore(i, WHILEYINT, bytecodes);
+			}
+		}
+
+		translate(block, freeSlot, constants, lambdas, handlers,
 				lineNumbers, bytecodes);
+
+		longSlots = null;
+		rawAccesses = null;
 		return bytecodes;
 	}
 
@@ -441,14 +578,20 @@ public class Wyil2JavaBuilder implements Builder {
 			ArrayList<Bytecode> bytecodes) {
 		
 		ArrayList<UnresolvedHandler> unresolvedHandlers = new ArrayList<UnresolvedHandler>();
-		for (Code.Block.Entry s : blk) {
+		BitVector[] liveness = LiveVariablesAnalysis.liveAfter(blk);
+		for (int i = 0; i != blk.size(); ++i) {
+			Code.Block.Entry s = blk.get(i);
 			Attribute.Source loc = s.attribute(Attribute.Source.class);
 			if(loc != null) {				
 				lineNumbers.add(new LineNumberTable.Entry(bytecodes.size(),loc.line));
 			}
+			live = liveness[i];
+			int start = bytecodes.size();
 			freeSlot = translate(s, freeSlot, constants, lambdas,
 					unresolvedHandlers, bytecodes);
+			addLongConversions(start, bytecodes);
 		}
+		live = null;
 		
 		if (unresolvedHandlers.size() > 0) {
 			HashMap<String, Integer> labels = new HashMap<String, Integer>();
@@ -581,6 +724,13 @@ public class Wyil2JavaBuilder implements Builder {
 			ArrayList<ClassFile> lambdas, ArrayList<Bytecode> bytecodes) {
 		Constant constant = c.constant;
 		JvmType jt = convertType(constant.type());
+
+		if (constant instanceof Constant.Integer && isLongRegister(c.target())
+				&& ((Constant.Integer) constant).value.bitLength() < 64) {
+			bytecodes.add(new Bytecode.LoadConst(((Constant.Integer) constant).value.longValue()));
+			addLongResult(c.target(), bytecodes);
+			return;
+		}
 		
 		if (constant instanceof Constant.Decimal || constant instanceof Constant.Bool
 				|| constant instanceof Constant.Null || constant instanceof Constant.Byte) {
@@ -599,6 +749,8 @@ public class Wyil2JavaBuilder implements Builder {
 	private void translate(Codes.Convert c, int freeSlot,
 			HashMap<JvmConstant, Integer> constants, ArrayList<Bytecode> bytecodes) {
 		bytecodes.add(new Bytecode.Load(c.operand(0), convertType(c.type())));
+		// the coercion may return its argument unchanged
+		addIncRefs(c, 0, c.type(), bytecodes);
 		addCoercion(c.type(), c.result, freeSlot, constants, bytecodes);
 		bytecodes.add(new Bytecode.Store(c.target(), convertType(c.result)));
 	}
@@ -697,25 +849,33 @@ public class Wyil2JavaBuilder implements Builder {
 			Codes.RecordLVal l = (Codes.RecordLVal) lv;
 			Type.EffectiveRecord type = l.rawType();
 			
+			int index = fieldIndex(type, l.field);
+			
 			if (iterator.hasNext()) {
 				bytecodes.add(new Bytecode.Dup(WHILEYRECORD));
+				bytecodes.add(new Bytecode.LoadConst(index));
 				bytecodes.add(new Bytecode.LoadConst(l.field));
 				JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
-						WHILEYRECORD, JAVA_LANG_STRING);
+						WHILEYRECORD, T_INT, JAVA_LANG_STRING);
 				bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "internal_get",
 						ftype, Bytecode.InvokeMode.STATIC));
 				addReadConversion(type.field(l.field), bytecodes);
 				translateUpdate(iterator, code, bytecodes);
+				// stack is now record, value; so insert index and field below value
+				bytecodes.add(new Bytecode.LoadConst(index));
+				bytecodes.add(new Bytecode.Swap());
 				bytecodes.add(new Bytecode.LoadConst(l.field));
 				bytecodes.add(new Bytecode.Swap());
 			} else {
+				bytecodes.add(new Bytecode.LoadConst(index));
 				bytecodes.add(new Bytecode.LoadConst(l.field));
 				bytecodes.add(new Bytecode.Load(code.result(), convertType(type
 						.field(l.field))));
 				addWriteConversion(type.field(l.field), bytecodes);
 			}
 			
-			JvmType.Function ftype = new JvmType.Function(WHILEYRECORD,WHILEYRECORD,JAVA_LANG_STRING,JAVA_LANG_OBJECT);						
+			JvmType.Function ftype = new JvmType.Function(WHILEYRECORD,
+					WHILEYRECORD, T_INT, JAVA_LANG_STRING, JAVA_LANG_OBJECT);
 			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"put",ftype,Bytecode.InvokeMode.STATIC));	
 		} else {
 			Codes.ReferenceLVal l = (Codes.ReferenceLVal) lv;
@@ -747,6 +907,9 @@ public class Wyil2JavaBuilder implements Builder {
 		bytecodes.add(new Bytecode.New(WHILEYEXCEPTION));
 		bytecodes.add(new Bytecode.Dup(WHILEYEXCEPTION));
 		bytecodes.add(new Bytecode.Load(c.operand,convertType(c.type)));		
+		if(isLive(c.operand)) {
+			addIncRefs(c.type, bytecodes);
+		}
 		JvmType.Function ftype = new JvmType.Function(T_VOID,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYEXCEPTION, "<init>", ftype,
 				Bytecode.InvokeMode.SPECIAL));		
@@ -857,10 +1020,50 @@ public class Wyil2JavaBuilder implements Builder {
 	
 	private void translateIfGoto(Codes.If code, Code.Block.Entry stmt, int freeSlot,
 			ArrayList<Bytecode> bytecodes) {	
+		String exitLabel = null;
+		Bytecode.IfMode mode = longIfMode(code.op);
+		if (code.type instanceof Type.Int && mode != null
+				&& isLongRegister(code.leftOperand)
+				&& isLongRegister(code.rightOperand)) {
+			// compare unboxed operands directly, falling back to the
+			// BigInteger comparison if either has overflowed.
+			String slowLabel = freshLabel();
+			exitLabel = freshLabel();
+			addLongChecks(slowLabel, bytecodes, code.leftOperand,
+					code.rightOperand);
+			bytecodes.add(new Bytecode.Load(longSlots[code.leftOperand], T_LONG));
+			bytecodes.add(new Bytecode.Load(longSlots[code.rightOperand], T_LONG));
+			bytecodes.add(new Bytecode.Cmp(T_LONG, Bytecode.Cmp.EQ));
+			bytecodes.add(new Bytecode.If(mode, code.target));
+			bytecodes.add(new Bytecode.Goto(exitLabel));
+			bytecodes.add(new Bytecode.Label(slowLabel));
+		}
 		JvmType jt = convertType(code.type);
 		bytecodes.add(new Bytecode.Load(code.leftOperand,jt));
 		bytecodes.add(new Bytecode.Load(code.rightOperand,jt));		
 		translateIfGoto(code.type,code.op,code.target,stmt,freeSlot,bytecodes);
+		if (exitLabel != null) {
+			bytecodes.add(new Bytecode.Label(exitLabel));
+		}
+	}
+
+	private static Bytecode.IfMode longIfMode(Codes.Comparator cop) {
+		switch (cop) {
+		case EQ:
+			return Bytecode.IfMode.EQ;
+		case NEQ:
+			return Bytecode.IfMode.NE;
+		case LT:
+			return Bytecode.IfMode.LT;
+		case LTEQ:
+			return Bytecode.IfMode.LE;
+		case GT:
+			return Bytecode.IfMode.GT;
+		case GTEQ:
+			return Bytecode.IfMode.GE;
+		default:
+			return null;
+		}
 	}
 	
 	private void translateIfGoto(Type c_type, Codes.Comparator cop, String target, Code.Block.Entry stmt, int freeSlot,
@@ -1072,6 +1275,15 @@ public class Wyil2JavaBuilder implements Builder {
 			bytecodes.add(new Bytecode.InstanceOf(JAVA_LANG_STRING));			
 			bytecodes.add(new Bytecode.If(Bytecode.IfMode.NE, trueTarget));
 			
+		} else if (convertType(src) instanceof JvmType.Reference
+				&& isCompiledTypeTest(test)) {
+			// Call the type test method generated for this type
+			int id = JvmTypeTest.get(test, constants);
+			JvmType.Function ftype = new JvmType.Function(T_BOOL,
+					JAVA_LANG_OBJECT);
+			bytecodes.add(new Bytecode.Invoke(owner, "typetest$" + id, ftype,
+					Bytecode.InvokeMode.STATIC));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.NE, trueTarget));
 		} else {
 			// Fall-back to an external (recursive) check			
 			Constant constant = Constant.V_TYPE(test);
@@ -1087,6 +1299,419 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 	}	
 
+	/**
+	 * Determine whether a type test against the given type is implemented by
+	 * a generated method (see <code>buildTypeTest()</code>), rather than by
+	 * interpreting the type at runtime.
+	 * 
+	 * @param test
+	 * @return
+	 */
+	private static boolean isCompiledTypeTest(Type test) {
+		return test instanceof Type.List || test instanceof Type.Set
+				|| test instanceof Type.Map || test instanceof Type.Tuple
+				|| test instanceof Type.Union || test instanceof Type.Negation
+				|| test instanceof Type.Byte
+				|| (test instanceof Type.Record && !((Type.Record) test).isOpen());
+	}
+	
+	/**
+	 * The build type test method constructs a static final private method
+	 * which accepts any value, and determines whether it is an instance of a
+	 * given type. Collections are checked by looping over their elements, and
+	 * closed records by comparing their shape. Tests on the elements are
+	 * either done inline (for primitive types) or by calling the type test
+	 * method for the element type. This avoids walking a
+	 * <code>WyType</code> at runtime (see <code>Util.instanceOf()</code>).
+	 * 
+	 * @param test
+	 * @param id
+	 * @param constants
+	 * @param cf
+	 */
+	protected void buildTypeTest(Type test, int id,
+			HashMap<JvmConstant, Integer> constants, ClassFile cf) {
+		ArrayList<Bytecode> bytecodes = new ArrayList<Bytecode>();
+		String falseLabel = freshLabel();
+		
+		buildTypeTest(test, 0, 1, falseLabel, constants, bytecodes);
+		bytecodes.add(new Bytecode.LoadConst(1));
+		bytecodes.add(new Bytecode.Return(T_BOOL));
+		bytecodes.add(new Bytecode.Label(falseLabel));
+		bytecodes.add(new Bytecode.LoadConst(0));
+		bytecodes.add(new Bytecode.Return(T_BOOL));
+		
+		ArrayList<Modifier> modifiers = new ArrayList<Modifier>();
+		modifiers.add(Modifier.ACC_PRIVATE);
+		modifiers.add(Modifier.ACC_STATIC);
+		modifiers.add(Modifier.ACC_SYNTHETIC);
+		JvmType.Function ftype = new JvmType.Function(T_BOOL,JAVA_LANG_OBJECT);
+		String name = "typetest$" + id;
+		ClassFile.Method method = new ClassFile.Method(name, ftype, modifiers);
+		cf.methods().add(method);
+		jasm.attributes.Code code = new jasm.attributes.Code(bytecodes,new ArrayList(),method);
+		method.attributes().add(code);
+	}
+	
+	/**
+	 * Add bytecodes which fall through if the value in a given slot is an
+	 * instance of the given type, and branch to a given label otherwise.
+	 * 
+	 * @param test
+	 *            --- type being tested against.
+	 * @param slot
+	 *            --- slot holding the value being tested.
+	 * @param freeSlot
+	 *            --- first slot available for temporaries.
+	 * @param falseLabel
+	 *            --- label to branch to if the test fails.
+	 */
+	private void buildTypeTest(Type test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		if (test instanceof Type.List) {
+			buildTypeTest((Type.List) test, slot, freeSlot, falseLabel,
+					constants, bytecodes);
+		} else if (test instanceof Type.Set) {
+			buildTypeTest((Type.Set) test, slot, freeSlot, falseLabel,
+					constants, bytecodes);
+		} else if (test instanceof Type.Map) {
+			buildTypeTest((Type.Map) test, slot, freeSlot, falseLabel,
+					constants, bytecodes);
+		} else if (test instanceof Type.Tuple) {
+			buildTypeTest((Type.Tuple) test, slot, freeSlot, falseLabel,
+					constants, bytecodes);
+		} else if (test instanceof Type.Record
+				&& !((Type.Record) test).isOpen()) {
+			buildTypeTest((Type.Record) test, slot, freeSlot, falseLabel,
+					constants, bytecodes);
+		} else if (test instanceof Type.Union) {
+			String trueLabel = freshLabel();
+			ArrayList<Type> bounds = new ArrayList<Type>(
+					((Type.Union) test).bounds());
+			for (int i = 0; i != bounds.size(); ++i) {
+				if (i + 1 == bounds.size()) {
+					addTypeTest(bounds.get(i), slot, falseLabel, constants,
+							bytecodes);
+				} else {
+					String nextLabel = freshLabel();
+					addTypeTest(bounds.get(i), slot, nextLabel, constants,
+							bytecodes);
+					bytecodes.add(new Bytecode.Goto(trueLabel));
+					bytecodes.add(new Bytecode.Label(nextLabel));
+				}
+			}
+			bytecodes.add(new Bytecode.Label(trueLabel));
+		} else if (test instanceof Type.Negation) {
+			String trueLabel = freshLabel();
+			addTypeTest(((Type.Negation) test).element(), slot, trueLabel,
+					constants, bytecodes);
+			bytecodes.add(new Bytecode.Goto(falseLabel));
+			bytecodes.add(new Bytecode.Label(trueLabel));
+		} else {
+			addTypeTest(test, slot, falseLabel, constants, bytecodes);
+		}
+	}
+
+	private void buildTypeTest(Type.List test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.InstanceOf(WHILEYLIST));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		Type element = test.element();
+		if (element instanceof Type.Any && !test.nonEmpty()) {
+			return;
+		}
+		
+		int list = freeSlot++;
+		int index = freeSlot++;
+		int item = freeSlot++;
+		JvmType.Function sizeType = new JvmType.Function(T_INT);
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.CheckCast(WHILEYLIST));
+		bytecodes.add(new Bytecode.Store(list, WHILEYLIST));
+		if (test.nonEmpty() || element instanceof Type.Void) {
+			bytecodes.add(new Bytecode.Load(list, WHILEYLIST));
+			bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "size", sizeType,
+					Bytecode.InvokeMode.VIRTUAL));
+			bytecodes.add(new Bytecode.If(
+					test.nonEmpty() ? Bytecode.IfMode.EQ : Bytecode.IfMode.NE,
+					falseLabel));
+		}
+		if (element instanceof Type.Any || element instanceof Type.Void) {
+			return;
+		}
+		
+		// The following piece of code implements a java for loop which tests
+		// every element of the list in turn.
+		
+		String loopLabel = freshLabel();
+		String exitLabel = freshLabel();
+		bytecodes.add(new Bytecode.LoadConst(0));
+		bytecodes.add(new Bytecode.Store(index, T_INT));
+		bytecodes.add(new Bytecode.Label(loopLabel));
+		bytecodes.add(new Bytecode.Load(index, T_INT));
+		bytecodes.add(new Bytecode.Load(list, WHILEYLIST));
+		bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "size", sizeType,
+				Bytecode.InvokeMode.VIRTUAL));
+		bytecodes.add(new Bytecode.IfCmp(Bytecode.IfCmp.GE, T_INT, exitLabel));
+		bytecodes.add(new Bytecode.Load(list, WHILEYLIST));
+		bytecodes.add(new Bytecode.Load(index, T_INT));
+		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT, T_INT);
+		bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "get", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+		addTypeTest(element, item, falseLabel, constants, bytecodes);
+		bytecodes.add(new Bytecode.Iinc(index, 1));
+		bytecodes.add(new Bytecode.Goto(loopLabel));
+		bytecodes.add(new Bytecode.Label(exitLabel));
+	}
+	
+	private void buildTypeTest(Type.Set test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.InstanceOf(WHILEYSET));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		Type element = test.element();
+		if (element instanceof Type.Any) {
+			return;
+		}
+		
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.CheckCast(WHILEYSET));
+		if (element instanceof Type.Void) {
+			JvmType.Function ftype = new JvmType.Function(T_BOOL);
+			bytecodes.add(new Bytecode.Invoke(WHILEYSET, "isEmpty", ftype,
+					Bytecode.InvokeMode.VIRTUAL));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+			return;
+		}
+		
+		int iter = freeSlot++;
+		int item = freeSlot++;
+		String loopLabel = freshLabel();
+		String exitLabel = freshLabel();
+		JvmType.Function ftype = new JvmType.Function(JAVA_UTIL_ITERATOR);
+		bytecodes.add(new Bytecode.Invoke(WHILEYSET, "iterator", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		bytecodes.add(new Bytecode.Store(iter, JAVA_UTIL_ITERATOR));
+		bytecodes.add(new Bytecode.Label(loopLabel));
+		bytecodes.add(new Bytecode.Load(iter, JAVA_UTIL_ITERATOR));
+		ftype = new JvmType.Function(T_BOOL);
+		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_ITERATOR, "hasNext",
+				ftype, Bytecode.InvokeMode.INTERFACE));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, exitLabel));
+		bytecodes.add(new Bytecode.Load(iter, JAVA_UTIL_ITERATOR));
+		ftype = new JvmType.Function(JAVA_LANG_OBJECT);
+		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_ITERATOR, "next", ftype,
+				Bytecode.InvokeMode.INTERFACE));
+		bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+		addTypeTest(element, item, falseLabel, constants, bytecodes);
+		bytecodes.add(new Bytecode.Goto(loopLabel));
+		bytecodes.add(new Bytecode.Label(exitLabel));
+	}
+	
+	private void buildTypeTest(Type.Map test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.InstanceOf(WHILEYMAP));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		Type key = test.key();
+		Type value = test.value();
+		if (key instanceof Type.Any && value instanceof Type.Any) {
+			return;
+		}
+		
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.CheckCast(WHILEYMAP));
+		if (key instanceof Type.Void || value instanceof Type.Void) {
+			JvmType.Function ftype = new JvmType.Function(T_BOOL);
+			bytecodes.add(new Bytecode.Invoke(WHILEYMAP, "isEmpty", ftype,
+					Bytecode.InvokeMode.VIRTUAL));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+			return;
+		}
+		
+		int iter = freeSlot++;
+		int entry = freeSlot++;
+		int item = freeSlot++;
+		String loopLabel = freshLabel();
+		String exitLabel = freshLabel();
+		JvmType.Function ftype = new JvmType.Function(JAVA_UTIL_SET);
+		bytecodes.add(new Bytecode.Invoke(WHILEYMAP, "entrySet", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		ftype = new JvmType.Function(JAVA_UTIL_ITERATOR);
+		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_SET, "iterator", ftype,
+				Bytecode.InvokeMode.INTERFACE));
+		bytecodes.add(new Bytecode.Store(iter, JAVA_UTIL_ITERATOR));
+		bytecodes.add(new Bytecode.Label(loopLabel));
+		bytecodes.add(new Bytecode.Load(iter, JAVA_UTIL_ITERATOR));
+		ftype = new JvmType.Function(T_BOOL);
+		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_ITERATOR, "hasNext",
+				ftype, Bytecode.InvokeMode.INTERFACE));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, exitLabel));
+		bytecodes.add(new Bytecode.Load(iter, JAVA_UTIL_ITERATOR));
+		ftype = new JvmType.Function(JAVA_LANG_OBJECT);
+		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_ITERATOR, "next", ftype,
+				Bytecode.InvokeMode.INTERFACE));
+		bytecodes.add(new Bytecode.CheckCast(JAVA_UTIL_MAP_ENTRY));
+		bytecodes.add(new Bytecode.Store(entry, JAVA_UTIL_MAP_ENTRY));
+		if (!(key instanceof Type.Any)) {
+			bytecodes.add(new Bytecode.Load(entry, JAVA_UTIL_MAP_ENTRY));
+			bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_MAP_ENTRY, "getKey",
+					ftype, Bytecode.InvokeMode.INTERFACE));
+			bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+			addTypeTest(key, item, falseLabel, constants, bytecodes);
+		}
+		if (!(value instanceof Type.Any)) {
+			bytecodes.add(new Bytecode.Load(entry, JAVA_UTIL_MAP_ENTRY));
+			bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_MAP_ENTRY, "getValue",
+					ftype, Bytecode.InvokeMode.INTERFACE));
+			bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+			addTypeTest(value, item, falseLabel, constants, bytecodes);
+		}
+		bytecodes.add(new Bytecode.Goto(loopLabel));
+		bytecodes.add(new Bytecode.Label(exitLabel));
+	}
+	
+	private void buildTypeTest(Type.Tuple test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.InstanceOf(WHILEYTUPLE));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		int tuple = freeSlot++;
+		int item = freeSlot++;
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.CheckCast(WHILEYTUPLE));
+		bytecodes.add(new Bytecode.Store(tuple, WHILEYTUPLE));
+		bytecodes.add(new Bytecode.Load(tuple, WHILEYTUPLE));
+		JvmType.Function ftype = new JvmType.Function(T_INT);
+		bytecodes.add(new Bytecode.Invoke(WHILEYTUPLE, "size", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		bytecodes.add(new Bytecode.LoadConst(test.size()));
+		bytecodes.add(new Bytecode.IfCmp(Bytecode.IfCmp.NE, T_INT, falseLabel));
+		
+		ftype = new JvmType.Function(JAVA_LANG_OBJECT, T_INT);
+		for (int i = 0; i != test.size(); ++i) {
+			Type element = test.element(i);
+			if (element instanceof Type.Any) {
+				continue;
+			}
+			bytecodes.add(new Bytecode.Load(tuple, WHILEYTUPLE));
+			bytecodes.add(new Bytecode.LoadConst(i));
+			bytecodes.add(new Bytecode.Invoke(WHILEYTUPLE, "get", ftype,
+					Bytecode.InvokeMode.VIRTUAL));
+			bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+			addTypeTest(element, item, falseLabel, constants, bytecodes);
+		}
+	}
+	
+	private void buildTypeTest(Type.Record test, int slot, int freeSlot,
+			String falseLabel, HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.InstanceOf(WHILEYRECORD));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		// Since shapes are interned, a closed record has exactly the fields
+		// required if, and only if, it has the expected shape.
+		HashMap<String, Type> fields = test.fields();
+		ArrayList<String> names = new ArrayList<String>(fields.keySet());
+		Collections.sort(names);
+		int record = freeSlot++;
+		int item = freeSlot++;
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		bytecodes.add(new Bytecode.CheckCast(WHILEYRECORD));
+		bytecodes.add(new Bytecode.Store(record, WHILEYRECORD));
+		bytecodes.add(new Bytecode.Load(record, WHILEYRECORD));
+		loadShape(names, bytecodes);
+		JvmType.Function ftype = new JvmType.Function(T_BOOL, WHILEYRECORD,
+				JAVA_LANG_STRING_ARRAY);
+		bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "internal_hasShape",
+				ftype, Bytecode.InvokeMode.STATIC));
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+		
+		ftype = new JvmType.Function(JAVA_LANG_OBJECT, WHILEYRECORD, T_INT);
+		for (int i = 0; i != names.size(); ++i) {
+			Type field = fields.get(names.get(i));
+			if (field instanceof Type.Any) {
+				continue;
+			}
+			bytecodes.add(new Bytecode.Load(record, WHILEYRECORD));
+			bytecodes.add(new Bytecode.LoadConst(i));
+			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "internal_value",
+					ftype, Bytecode.InvokeMode.STATIC));
+			bytecodes.add(new Bytecode.Store(item, JAVA_LANG_OBJECT));
+			addTypeTest(field, item, falseLabel, constants, bytecodes);
+		}
+	}
+	
+	/**
+	 * Add bytecodes which branch to a given label unless the value in a given
+	 * slot is an instance of the given type. Tests against primitive types are
+	 * performed inline, whilst other tests call the type test method generated
+	 * for that type.
+	 * 
+	 * @param test
+	 * @param slot
+	 * @param falseLabel
+	 * @param constants
+	 * @param bytecodes
+	 */
+	private void addTypeTest(Type test, int slot, String falseLabel,
+			HashMap<JvmConstant, Integer> constants,
+			ArrayList<Bytecode> bytecodes) {
+		if (test instanceof Type.Any) {
+			return;
+		} else if (test instanceof Type.Void) {
+			bytecodes.add(new Bytecode.Goto(falseLabel));
+			return;
+		} 
+		
+		bytecodes.add(new Bytecode.Load(slot, JAVA_LANG_OBJECT));
+		if (test instanceof Type.Null) {
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.NONNULL, falseLabel));
+			return;
+		} else if (test instanceof Type.Bool) {
+			bytecodes.add(new Bytecode.InstanceOf(JAVA_LANG_BOOLEAN));
+		} else if (test instanceof Type.Byte) {
+			bytecodes.add(new Bytecode.InstanceOf(JAVA_LANG_BYTE));
+		} else if (test instanceof Type.Char) {
+			bytecodes.add(new Bytecode.InstanceOf(JAVA_LANG_CHARACTER));
+		} else if (test instanceof Type.Int) {
+			bytecodes.add(new Bytecode.InstanceOf(WHILEYINT));
+		} else if (test instanceof Type.Real) {
+			bytecodes.add(new Bytecode.InstanceOf(WHILEYRAT));
+		} else if (test instanceof Type.Strung) {
+			bytecodes.add(new Bytecode.InstanceOf(JAVA_LANG_STRING));
+		} else if (isCompiledTypeTest(test)) {
+			int id = JvmTypeTest.get(test, constants);
+			JvmType.Function ftype = new JvmType.Function(T_BOOL,
+					JAVA_LANG_OBJECT);
+			bytecodes.add(new Bytecode.Invoke(owner, "typetest$" + id, ftype,
+					Bytecode.InvokeMode.STATIC));
+		} else {
+			// Fall-back to an external (recursive) check
+			Constant constant = Constant.V_TYPE(test);
+			int id = JvmValue.get(constant, constants);
+			bytecodes.add(new Bytecode.GetField(owner, "constant$" + id,
+					WHILEYTYPE, Bytecode.FieldMode.STATIC));
+			JvmType.Function ftype = new JvmType.Function(T_BOOL,
+					JAVA_LANG_OBJECT, WHILEYTYPE);
+			bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, "instanceOf", ftype,
+					Bytecode.InvokeMode.STATIC));
+		}
+		bytecodes.add(new Bytecode.If(Bytecode.IfMode.EQ, falseLabel));
+	}
+
 	private void translate(Codes.Loop c, int freeSlot,
 			ArrayList<Bytecode> bytecodes) {
 		bytecodes.add(new Bytecode.Label(c.target + "$head"));
@@ -1104,6 +1729,9 @@ public class Wyil2JavaBuilder implements Builder {
 		Type elementType = c.type.element();		
 
 		bytecodes.add(new Bytecode.Load(c.sourceOperand, convertType((Type) c.type)));
+		// the source is shared with the iterator, which prevents the loop body
+		// from updating it in place.
+		addIncRefs((Type) c.type, bytecodes);
 		JvmType.Function ftype = new JvmType.Function(JAVA_UTIL_ITERATOR,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYCOLLECTION, "iterator", ftype, Bytecode.InvokeMode.STATIC));
 		ftype = new JvmType.Function(JAVA_UTIL_ITERATOR);
@@ -1119,6 +1747,7 @@ public class Wyil2JavaBuilder implements Builder {
 		bytecodes.add(new Bytecode.Invoke(JAVA_UTIL_ITERATOR, "next", ftype,
 				Bytecode.InvokeMode.INTERFACE));
 		addReadConversion(elementType, bytecodes);
+		addIncRefs(elementType, bytecodes);
 		bytecodes.add(new Bytecode.Store(c.indexOperand, convertType(elementType)));
 		
 		// we need to increase the freeSlot, since we've allocated one slot to
@@ -1150,13 +1779,21 @@ public class Wyil2JavaBuilder implements Builder {
 	}
 	
 	private void translate(Codes.Assign c, int freeSlot, ArrayList<Bytecode> bytecodes) {
+		if (isLongRegister(c.target()) && isLongRegister(c.operand(0))) {
+			addLongCopy(c.operand(0), c.target(), bytecodes);
+			return;
+		}
 		JvmType jt = convertType(c.type());
 		bytecodes.add(new Bytecode.Load(c.operand(0), jt));
-		addIncRefs(c.type(),bytecodes);
+		addIncRefs(c, 0, c.type(), bytecodes);
 		bytecodes.add(new Bytecode.Store(c.target(), jt));
 	}
 	
 	private void translate(Codes.Move c, int freeSlot, ArrayList<Bytecode> bytecodes) {
+		if (isLongRegister(c.target()) && isLongRegister(c.operand(0))) {
+			addLongCopy(c.operand(0), c.target(), bytecodes);
+			return;
+		}
 		JvmType jt = convertType(c.type());
 		bytecodes.add(new Bytecode.Load(c.operand(0), jt));
 		bytecodes.add(new Bytecode.Store(c.target(), jt));
@@ -1172,12 +1809,15 @@ public class Wyil2JavaBuilder implements Builder {
 			leftType = WHILEYLIST;
 			rightType = WHILEYLIST;
 			bytecodes.add(new Bytecode.Load(c.operand(0), leftType));			
+			addIncRefs(c, 0, (Type) c.type(), bytecodes);
 			bytecodes.add(new Bytecode.Load(c.operand(1), rightType));			
+			addIncRefs(c, 1, (Type) c.type(), bytecodes);
 			break;
 		case LEFT_APPEND:			
 			leftType = WHILEYLIST;
 			rightType = JAVA_LANG_OBJECT;
 			bytecodes.add(new Bytecode.Load(c.operand(0), leftType));			
+			addIncRefs(c, 0, (Type) c.type(), bytecodes);
 			bytecodes.add(new Bytecode.Load(c.operand(1), convertType(c.type().element())));
 			addWriteConversion(c.type().element(),bytecodes);
 			break;
@@ -1187,6 +1827,7 @@ public class Wyil2JavaBuilder implements Builder {
 			bytecodes.add(new Bytecode.Load(c.operand(0), convertType(c.type().element())));
 			addWriteConversion(c.type().element(),bytecodes);
 			bytecodes.add(new Bytecode.Load(c.operand(1), rightType));
+			addIncRefs(c, 1, (Type) c.type(), bytecodes);
 			break;
 		default:
 			internalFailure("unknown list operation",filename,stmt);
@@ -1203,6 +1844,14 @@ public class Wyil2JavaBuilder implements Builder {
 			ArrayList<Bytecode> bytecodes) {
 		bytecodes.add(new Bytecode.Load(c.operand(0), convertType((Type) c.type())));
 		JvmType.Clazz ctype = JAVA_LANG_OBJECT;
+		if (isLongRegister(c.target())) {
+			JvmType.Function ftype = new JvmType.Function(T_INT, ctype);
+			bytecodes.add(new Bytecode.Invoke(WHILEYCOLLECTION, "size", ftype,
+					Bytecode.InvokeMode.STATIC));
+			bytecodes.add(new Bytecode.Conversion(T_INT, T_LONG));
+			addLongResult(c.target(), bytecodes);
+			return;
+		}
 		JvmType.Function ftype = new JvmType.Function(WHILEYINT, ctype);
 		bytecodes.add(new Bytecode.Invoke(WHILEYCOLLECTION, "length", ftype,
 				Bytecode.InvokeMode.STATIC));
@@ -1212,6 +1861,7 @@ public class Wyil2JavaBuilder implements Builder {
 	private void translate(Codes.SubList c, Code.Block.Entry stmt, int freeSlot,
 			ArrayList<Bytecode> bytecodes) {
 		bytecodes.add(new Bytecode.Load(c.operands()[0], WHILEYLIST));
+		addIncRefs(c, 0, (Type) c.type(), bytecodes);
 		bytecodes.add(new Bytecode.Load(c.operands()[1], WHILEYINT));
 		bytecodes.add(new Bytecode.Load(c.operands()[2], WHILEYINT));
 		
@@ -1226,17 +1876,51 @@ public class Wyil2JavaBuilder implements Builder {
 	private void translate(Codes.IndexOf c, int freeSlot,
 			ArrayList<Bytecode> bytecodes) {
 		
+		String exitLabel = null;
+		if (c.type() instanceof Type.EffectiveList
+				&& isLongRegister(c.operand(1))) {
+			// index directly with an unboxed index, falling back to the
+			// BigInteger index if it has overflowed.
+			String slowLabel = freshLabel();
+			exitLabel = freshLabel();
+			addLongChecks(slowLabel, bytecodes, c.operand(1));
+			bytecodes.add(new Bytecode.Load(c.operand(0), WHILEYLIST));
+			bytecodes.add(new Bytecode.Load(longSlots[c.operand(1)], T_LONG));
+			bytecodes.add(new Bytecode.Conversion(T_LONG, T_INT));
+			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
+					WHILEYLIST, T_INT);
+			bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "get", ftype,
+					Bytecode.InvokeMode.STATIC));
+			addReadConversion(c.type().value(), bytecodes);
+			bytecodes.add(new Bytecode.Store(c.target(),
+					convertType(c.type().element())));
+			bytecodes.add(new Bytecode.Goto(exitLabel));
+			bytecodes.add(new Bytecode.Label(slowLabel));
+		}
+
 		bytecodes.add(new Bytecode.Load(c.operand(0), WHILEYLIST));
-		bytecodes.add(new Bytecode.Load(c.operand(1), convertType(c.type().key())));
-		addWriteConversion(c.type().key(),bytecodes);
-		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
-				JAVA_LANG_OBJECT, JAVA_LANG_OBJECT);
-		bytecodes.add(new Bytecode.Invoke(WHILEYCOLLECTION, "indexOf", ftype,
-				Bytecode.InvokeMode.STATIC));
+		if (c.type() instanceof Type.EffectiveList) {
+			// list indexing doesn't need to dispatch on the collection kind
+			bytecodes.add(new Bytecode.Load(c.operand(1), WHILEYINT));
+			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
+					WHILEYLIST, WHILEYINT);
+			bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "get", ftype,
+					Bytecode.InvokeMode.STATIC));
+		} else {
+			bytecodes.add(new Bytecode.Load(c.operand(1), convertType(c.type().key())));
+			addWriteConversion(c.type().key(),bytecodes);
+			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
+					JAVA_LANG_OBJECT, JAVA_LANG_OBJECT);
+			bytecodes.add(new Bytecode.Invoke(WHILEYCOLLECTION, "indexOf", ftype,
+					Bytecode.InvokeMode.STATIC));
+		}
 		addReadConversion(c.type().value(), bytecodes);
 		
 		bytecodes.add(new Bytecode.Store(c.target(),
 				convertType(c.type().element())));
+		if (exitLabel != null) {
+			bytecodes.add(new Bytecode.Label(exitLabel));
+		}
 	}
 	
 	private void translate(Codes.Fail c, int freeSlot,
@@ -1255,8 +1939,19 @@ public class Wyil2JavaBuilder implements Builder {
 		
 		bytecodes.add(new Bytecode.Load(c.operand(0), WHILEYRECORD));
 		
-		bytecodes.add(new Bytecode.LoadConst(c.field));
-		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,WHILEYRECORD,JAVA_LANG_STRING);
+		int index = fieldIndex(c.type(), c.field);
+		JvmType.Function ftype;
+		if (index >= 0) {
+			bytecodes.add(new Bytecode.LoadConst(index));
+			bytecodes.add(new Bytecode.LoadConst(c.field));
+			ftype = new JvmType.Function(JAVA_LANG_OBJECT, WHILEYRECORD, T_INT,
+					JAVA_LANG_STRING);
+		} else {
+			// open record, or union of records
+			bytecodes.add(new Bytecode.LoadConst(c.field));
+			ftype = new JvmType.Function(JAVA_LANG_OBJECT, WHILEYRECORD,
+					JAVA_LANG_STRING);
+		}
 		bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"get",ftype,Bytecode.InvokeMode.STATIC));						
 		addReadConversion(c.fieldType(),bytecodes);
 		
@@ -1268,6 +1963,16 @@ public class Wyil2JavaBuilder implements Builder {
 						
 		JvmType type = convertType(c.type());
 		JvmType.Function ftype = new JvmType.Function(type,type);
+
+		String exitLabel = null;
+		if (type.equals(WHILEYINT) && isLongRegister(c.target())
+				&& isLongRegister(c.operand(0))
+				&& isLongRegister(c.operand(1))) {
+			exitLabel = freshLabel();
+			if (!addLongArithmetic(c, freeSlot, exitLabel, bytecodes)) {
+				exitLabel = null;
+			}
+		}
 		
 		// first, load operands
 		switch(c.kind) {
@@ -1294,6 +1999,38 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 		
 		// second, apply operation
+		if (type.equals(WHILEYINT)) {
+			// integer arithmetic goes through the small-integer fast path
+			String name = null;
+			switch (c.kind) {
+			case ADD:
+				name = "add";
+				break;
+			case SUB:
+				name = "subtract";
+				break;
+			case MUL:
+				name = "multiply";
+				break;
+			case DIV:
+				name = "divide";
+				break;
+			case REM:
+				name = "remainder";
+				break;
+			}
+			if (name != null) {
+				ftype = new JvmType.Function(type, type, type);
+				bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, name, ftype,
+						Bytecode.InvokeMode.STATIC));
+				bytecodes.add(new Bytecode.Store(c.target(), type));
+				if (exitLabel != null) {
+					bytecodes.add(new Bytecode.Label(exitLabel));
+				}
+				return;
+			}
+		}
+		
 		switch(c.kind) {
 		case ADD:			
 			if(type instanceof JvmType.Char) {
@@ -1385,7 +2122,12 @@ public class Wyil2JavaBuilder implements Builder {
 				leftType = WHILEYSET;
 				rightType = WHILEYSET;
 				bytecodes.add(new Bytecode.Load(c.operand(0), leftType));		
+				addIncRefs(c, 0, (Type) c.type(), bytecodes);
 				bytecodes.add(new Bytecode.Load(c.operand(1), rightType));				
+				if(c.kind != Codes.SetOperatorKind.DIFFERENCE) {
+					// union and intersection may update either side in place
+					addIncRefs(c, 1, (Type) c.type(), bytecodes);
+				}
 				break;
 			case LEFT_UNION:
 			case LEFT_DIFFERENCE:
@@ -1393,6 +2135,7 @@ public class Wyil2JavaBuilder implements Builder {
 				leftType = WHILEYSET;
 				rightType = JAVA_LANG_OBJECT;				
 				bytecodes.add(new Bytecode.Load(c.operand(0), leftType));		
+				addIncRefs(c, 0, (Type) c.type(), bytecodes);
 				bytecodes.add(new Bytecode.Load(c.operand(1), convertType(c.type().element())));
 				addWriteConversion(c.type().element(),bytecodes);
 				break;
@@ -1403,6 +2146,7 @@ public class Wyil2JavaBuilder implements Builder {
 				bytecodes.add(new Bytecode.Load(c.operand(0), convertType(c.type().element())));
 				addWriteConversion(c.type().element(),bytecodes);
 				bytecodes.add(new Bytecode.Load(c.operand(1), rightType));				
+				addIncRefs(c, 1, (Type) c.type(), bytecodes);
 				break;
 			default:
 				internalFailure("Unknown set operation encountered: ",filename,stmt);
@@ -1528,6 +2272,7 @@ public class Wyil2JavaBuilder implements Builder {
 		bytecodes.add(new Bytecode.New(WHILEYOBJECT));			
 		bytecodes.add(new Bytecode.Dup(WHILEYOBJECT));	
 		bytecodes.add(new Bytecode.Load(c.operand(0), convertType(c.type().element())));
+		addIncRefs(c, 0, c.type().element(), bytecodes);
 		addWriteConversion(c.type().element(),bytecodes);
 		JvmType.Function ftype = new JvmType.Function(T_VOID,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYOBJECT, "<init>", ftype,
@@ -1545,6 +2290,8 @@ public class Wyil2JavaBuilder implements Builder {
 		// finally, we need to cast the object we got back appropriately.		
 		Type.Reference pt = (Type.Reference) c.type();						
 		addReadConversion(pt.element(), bytecodes);
+		// the state remains reachable through the reference
+		addIncRefs(pt.element(), bytecodes);
 		bytecodes.add(new Bytecode.Store(c.target(), convertType(c.type().element())));
 	}
 	
@@ -1560,6 +2307,7 @@ public class Wyil2JavaBuilder implements Builder {
 		for (int i = 0; i != c.operands().length; ++i) {
 			bytecodes.add(new Bytecode.Load(c.operands()[i], convertType(c.type()
 					.element())));
+			addIncRefs(c, i, c.type().element(), bytecodes);
 			addWriteConversion(c.type().element(), bytecodes);
 			bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "internal_add",
 					ftype, Bytecode.InvokeMode.STATIC));
@@ -1580,8 +2328,10 @@ public class Wyil2JavaBuilder implements Builder {
 		for (int i = 0; i != c.operands().length; i=i+2) {
 			bytecodes.add(new Bytecode.Dup(WHILEYMAP));
 			bytecodes.add(new Bytecode.Load(c.operands()[i], keyType));
+			addIncRefs(c, i, c.type().key(), bytecodes);
 			addWriteConversion(c.type().key(), bytecodes);
 			bytecodes.add(new Bytecode.Load(c.operands()[i + 1],valueType));
+			addIncRefs(c, i + 1, c.type().value(), bytecodes);
 			addWriteConversion(c.type().value(), bytecodes);			
 			bytecodes.add(new Bytecode.Invoke(WHILEYMAP, "put", ftype,
 					Bytecode.InvokeMode.VIRTUAL));
@@ -1593,23 +2343,22 @@ public class Wyil2JavaBuilder implements Builder {
 	
 	private void translate(Codes.NewRecord code, int freeSlot,
 			ArrayList<Bytecode> bytecodes) {
-		construct(WHILEYRECORD, freeSlot, bytecodes);				
-		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
-				JAVA_LANG_OBJECT, JAVA_LANG_OBJECT);
-		
 		HashMap<String,Type> fields = code.type().fields();
 		ArrayList<String> keys = new ArrayList<String>(fields.keySet());
 		Collections.sort(keys);
+		construct(keys, bytecodes);
+		JvmType.Function ftype = new JvmType.Function(WHILEYRECORD,
+				WHILEYRECORD, T_INT, JAVA_LANG_OBJECT);
+		
 		for (int i = 0; i != code.operands().length; i++) {
 			int register = code.operands()[i];
 			String key = keys.get(i);
 			Type fieldType = fields.get(key);				
-			bytecodes.add(new Bytecode.Dup(WHILEYRECORD));
-			bytecodes.add(new Bytecode.LoadConst(key));
+			bytecodes.add(new Bytecode.LoadConst(i));
 			bytecodes.add(new Bytecode.Load(register, convertType(fieldType)));
+			addIncRefs(code, i, fieldType, bytecodes);
 			addWriteConversion(fieldType,bytecodes);			
-			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"put",ftype,Bytecode.InvokeMode.VIRTUAL));						
-			bytecodes.add(new Bytecode.Pop(JAVA_LANG_OBJECT));
+			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"internal_put",ftype,Bytecode.InvokeMode.STATIC));						
 		}
 		
 		bytecodes.add(new Bytecode.Store(code.target(), WHILEYRECORD));
@@ -1623,6 +2372,7 @@ public class Wyil2JavaBuilder implements Builder {
 		for(int i=0;i!=c.operands().length;++i) {
 			bytecodes.add(new Bytecode.Load(c.operands()[i], convertType(c.type()
 					.element())));					
+			addIncRefs(c, i, c.type().element(), bytecodes);
 			addWriteConversion(c.type().element(),bytecodes);			
 			bytecodes.add(new Bytecode.Invoke(WHILEYSET,"internal_add",ftype,Bytecode.InvokeMode.STATIC));
 		}
@@ -1642,6 +2392,7 @@ public class Wyil2JavaBuilder implements Builder {
 		for (int i = 0; i != c.operands().length; ++i) {
 			Type elementType = c.type().elements().get(i);
 			bytecodes.add(new Bytecode.Load(c.operands()[i], convertType(elementType)));
+			addIncRefs(c, i, elementType, bytecodes);
 			addWriteConversion(elementType, bytecodes);
 			bytecodes.add(new Bytecode.Invoke(WHILEYTUPLE , "internal_add",
 					ftype, Bytecode.InvokeMode.STATIC));
@@ -1695,6 +2446,8 @@ public class Wyil2JavaBuilder implements Builder {
 				if (operand != Codes.NULL_REG) {
 					Type pt = c.type().params().get(i);
 					bytecodes.add(new Bytecode.Load(operand, convertType(pt)));
+					// bound values are passed again on every call
+					addIncRefs(pt, bytecodes);
 					addWriteConversion(pt, bytecodes);
 				} else {
 					bytecodes.add(new Bytecode.LoadConst(null));
@@ -1723,6 +2476,7 @@ public class Wyil2JavaBuilder implements Builder {
 			int register = c.operands()[i];
 			JvmType parameterType = convertType(c.type().params().get(i));
 			bytecodes.add(new Bytecode.Load(register, parameterType));
+			addIncRefs(c, i, c.type().params().get(i), bytecodes);
 		}
 		
 		Path.ID mid = c.name.module();
@@ -1759,6 +2513,7 @@ public class Wyil2JavaBuilder implements Builder {
 			bytecodes.add(new Bytecode.Dup(JAVA_LANG_OBJECT_ARRAY));
 			bytecodes.add(new Bytecode.LoadConst(i));
 			bytecodes.add(new Bytecode.Load(register, jpt));
+			addIncRefs(c, i + 1, pt, bytecodes);
 			addWriteConversion(pt,bytecodes);
 			bytecodes.add(new Bytecode.ArrayStore(JAVA_LANG_OBJECT_ARRAY));
 		}		
@@ -1864,12 +2619,12 @@ public class Wyil2JavaBuilder implements Builder {
 			bytecodes.add(new Bytecode.LoadConst(num.intValue()));				
 			bytecodes.add(new Bytecode.Conversion(T_INT,T_LONG));
 			JvmType.Function ftype = new JvmType.Function(WHILEYINT,T_LONG);
-			bytecodes.add(new Bytecode.Invoke(WHILEYINT, "valueOf", ftype,
+			bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, "valueOf", ftype,
 					Bytecode.InvokeMode.STATIC));
 		} else if(num.bitLength() < 64) {			
 			bytecodes.add(new Bytecode.LoadConst(num.longValue()));				
 			JvmType.Function ftype = new JvmType.Function(WHILEYINT,T_LONG);
-			bytecodes.add(new Bytecode.Invoke(WHILEYINT, "valueOf", ftype,
+			bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, "valueOf", ftype,
 					Bytecode.InvokeMode.STATIC));
 		} else {
 			// in this context, we need to use a byte array to construct the
@@ -2049,18 +2804,18 @@ public class Wyil2JavaBuilder implements Builder {
 	protected void translate(Constant.Record expr, int freeSlot,
 			ArrayList<ClassFile> lambdas,
 			ArrayList<Bytecode> bytecodes) {
-		JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,
-				JAVA_LANG_OBJECT, JAVA_LANG_OBJECT);
-		construct(WHILEYRECORD, freeSlot, bytecodes);
-		for (Map.Entry<String, Constant> e : expr.values.entrySet()) {
-			Type et = e.getValue().type();
-			bytecodes.add(new Bytecode.Dup(WHILEYRECORD));
-			bytecodes.add(new Bytecode.LoadConst(e.getKey()));
-			translate(e.getValue(), freeSlot, lambdas, bytecodes);
-			addWriteConversion(et, bytecodes);
-			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "put", ftype,
-					Bytecode.InvokeMode.VIRTUAL));
-			bytecodes.add(new Bytecode.Pop(JAVA_LANG_OBJECT));
+		JvmType.Function ftype = new JvmType.Function(WHILEYRECORD,
+				WHILEYRECORD, T_INT, JAVA_LANG_OBJECT);
+		ArrayList<String> keys = new ArrayList<String>(expr.values.keySet());
+		Collections.sort(keys);
+		construct(keys, bytecodes);
+		for (int i = 0; i != keys.size(); ++i) {
+			Constant value = expr.values.get(keys.get(i));
+			bytecodes.add(new Bytecode.LoadConst(i));
+			translate(value, freeSlot, lambdas, bytecodes);
+			addWriteConversion(value.type(), bytecodes);
+			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "internal_put", ftype,
+					Bytecode.InvokeMode.STATIC));
 		}
 	}
 	
@@ -2276,7 +3031,7 @@ public class Wyil2JavaBuilder implements Builder {
 			} else {
 				bytecodes.add(new Bytecode.Conversion(T_INT, T_LONG));
 				JvmType.Function ftype = new JvmType.Function(WHILEYINT,T_LONG);			
-				bytecodes.add(new Bytecode.Invoke(WHILEYINT,"valueOf",ftype,Bytecode.InvokeMode.STATIC));				
+				bytecodes.add(new Bytecode.Invoke(WHILEYUTIL,"valueOf",ftype,Bytecode.InvokeMode.STATIC));				
 			}
 		} else {
 			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_CHARACTER,T_CHAR);			
@@ -2391,6 +3146,7 @@ public class Wyil2JavaBuilder implements Builder {
 			addReadConversion(from,bytecodes);							
 			// now perform recursive conversion
 			addCoercion(from,to,freeSlot,constants,bytecodes);							
+			addIncRefs(to,bytecodes);
 			ftype = new JvmType.Function(T_BOOL,JAVA_LANG_OBJECT);			
 			bytecodes.add(new Bytecode.Invoke(WHILEYTUPLE,"add",ftype,Bytecode.InvokeMode.VIRTUAL));
 			bytecodes.add(new Bytecode.Pop(T_BOOL));
@@ -2437,6 +3193,8 @@ public class Wyil2JavaBuilder implements Builder {
 		addReadConversion(fromType.element(),bytecodes);
 		addCoercion(fromType.element(), toType.element(), freeSlot,
 				constants, bytecodes);			
+		// an element which is not converted is now shared by both lists
+		addIncRefs(toType.element(), bytecodes);
 		ftype = new JvmType.Function(T_BOOL,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYLIST, "add",
 				ftype, Bytecode.InvokeMode.VIRTUAL));
@@ -2480,7 +3238,7 @@ public class Wyil2JavaBuilder implements Builder {
 		bytecodes.add(new Bytecode.Load(iter,T_INT));
 		bytecodes.add(new Bytecode.Conversion(T_INT,T_LONG));	
 		ftype = new JvmType.Function(WHILEYINT,T_LONG);
-		bytecodes.add(new Bytecode.Invoke(WHILEYINT, "valueOf",
+		bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, "valueOf",
 				ftype, Bytecode.InvokeMode.STATIC));				
 		bytecodes.add(new Bytecode.Load(source,WHILEYMAP));
 		bytecodes.add(new Bytecode.Load(iter,T_INT));
@@ -2490,6 +3248,7 @@ public class Wyil2JavaBuilder implements Builder {
 		addReadConversion(fromType.element(),bytecodes);		
 		addCoercion(fromType.element(), toType.value(), freeSlot,
 				constants, bytecodes);			
+		addIncRefs(toType.value(), bytecodes);
 		ftype = new JvmType.Function(JAVA_LANG_OBJECT,JAVA_LANG_OBJECT,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYMAP, "put",
 				ftype, Bytecode.InvokeMode.VIRTUAL));
@@ -2549,6 +3308,7 @@ public class Wyil2JavaBuilder implements Builder {
 		bytecodes.add(new Bytecode.Dup(convertType(fromType.key())));		
 		addCoercion(fromType.key(), toType.key(), freeSlot,
 				constants, bytecodes);		
+		addIncRefs(toType.key(), bytecodes);
 		addWriteConversion(toType.key(),bytecodes);
 		bytecodes.add(new Bytecode.Swap());		
 		bytecodes.add(new Bytecode.Load(source,WHILEYMAP));
@@ -2559,6 +3319,7 @@ public class Wyil2JavaBuilder implements Builder {
 		addReadConversion(fromType.value(),bytecodes);
 		addCoercion(fromType.value(), toType.value(), freeSlot,
 				constants, bytecodes);
+		addIncRefs(toType.value(), bytecodes);
 		addWriteConversion(toType.value(),bytecodes);		
 		ftype = new JvmType.Function(JAVA_LANG_OBJECT,JAVA_LANG_OBJECT,JAVA_LANG_OBJECT);		
 		bytecodes.add(new Bytecode.Invoke(WHILEYMAP, "put",
@@ -2620,6 +3381,7 @@ public class Wyil2JavaBuilder implements Builder {
 		addReadConversion(fromType.element(),bytecodes);
 		addCoercion(fromType.element(), toType.element(), freeSlot,
 				constants, bytecodes);			
+		addIncRefs(toType.element(), bytecodes);
 		ftype = new JvmType.Function(T_BOOL,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYSET, "add",
 				ftype, Bytecode.InvokeMode.VIRTUAL));
@@ -2666,6 +3428,7 @@ public class Wyil2JavaBuilder implements Builder {
 		addReadConversion(fromType.element(),bytecodes);
 		addCoercion(fromType.element(), toType.element(), freeSlot,
 				constants, bytecodes);			
+		addIncRefs(toType.element(), bytecodes);
 		ftype = new JvmType.Function(T_BOOL,JAVA_LANG_OBJECT);
 		bytecodes.add(new Bytecode.Invoke(WHILEYSET, "add",
 				ftype, Bytecode.InvokeMode.VIRTUAL));
@@ -2681,27 +3444,31 @@ public class Wyil2JavaBuilder implements Builder {
 		int oldSlot = freeSlot++;
 		int newSlot = freeSlot++;		
 		bytecodes.add(new Bytecode.Store(oldSlot,WHILEYRECORD));
-		construct(WHILEYRECORD,freeSlot,bytecodes);
-		bytecodes.add(new Bytecode.Store(newSlot,WHILEYRECORD));
 		Map<String,Type> toFields = toType.fields();
 		Map<String,Type> fromFields = fromType.fields();
-		for(String key : toFields.keySet()) {
+		ArrayList<String> keys = new ArrayList<String>(toFields.keySet());
+		Collections.sort(keys);
+		construct(keys,bytecodes);
+		bytecodes.add(new Bytecode.Store(newSlot,WHILEYRECORD));
+		for(int i=0;i!=keys.size();++i) {
+			String key = keys.get(i);
 			Type to = toFields.get(key);
 			Type from = fromFields.get(key);				
 			bytecodes.add(new Bytecode.Load(newSlot,WHILEYRECORD));
-			bytecodes.add(new Bytecode.LoadConst(key));
+			bytecodes.add(new Bytecode.LoadConst(i));
 			bytecodes.add(new Bytecode.Load(oldSlot,WHILEYRECORD));
 			bytecodes.add(new Bytecode.LoadConst(key));
-			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,JAVA_LANG_OBJECT);			
+			JvmType.Function ftype = new JvmType.Function(JAVA_LANG_OBJECT,JAVA_LANG_STRING);			
 			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"get",ftype,Bytecode.InvokeMode.VIRTUAL));								
 			// TODO: in cases when the read conversion is a no-op, we can do
 			// better here.
 			addReadConversion(from,bytecodes);							
 			addCoercion(from,to,freeSlot,constants,bytecodes);
+			addIncRefs(to,bytecodes);
 			addWriteConversion(from,bytecodes);
-			ftype = new JvmType.Function(JAVA_LANG_OBJECT,JAVA_LANG_OBJECT,JAVA_LANG_OBJECT);			
-			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"put",ftype,Bytecode.InvokeMode.VIRTUAL));
-			bytecodes.add(new Bytecode.Pop(JAVA_LANG_OBJECT));			
+			ftype = new JvmType.Function(WHILEYRECORD,WHILEYRECORD,T_INT,JAVA_LANG_OBJECT);			
+			bytecodes.add(new Bytecode.Invoke(WHILEYRECORD,"internal_put",ftype,Bytecode.InvokeMode.STATIC));
+			bytecodes.add(new Bytecode.Pop(WHILEYRECORD));			
 		}
 		bytecodes.add(new Bytecode.Load(newSlot,WHILEYRECORD));		
 	}
@@ -2853,13 +3620,333 @@ public class Wyil2JavaBuilder implements Builder {
 			}
 			return false;
 		} else {
-			// FIXME: what about negations?
-			return t instanceof Type.Any || t instanceof Type.List
+			// negations are represented as java/lang/Object, and so may hold
+			// anything
+			return t instanceof Type.Any || t instanceof Type.Negation
+					|| t instanceof Type.List
 					|| t instanceof Type.Tuple || t instanceof Type.Set
 					|| t instanceof Type.Map || t instanceof Type.Record;
 		}
 	}
 
+	// ==========================================================================
+	// Unboxed Integers
+	// ==========================================================================
+
+	/**
+	 * <p>
+	 * Determine which registers can hold a Whiley <code>int</code> in unboxed
+	 * form. This is only safe for a register which can never hold anything
+	 * other than an <code>int</code>. Therefore, every bytecode assigning the
+	 * register must produce an <code>int</code> and, if the register is a
+	 * parameter, then it must be declared as an <code>int</code>.
+	 * </p>
+	 *
+	 * <p>
+	 * An unboxed register keeps its value in a <code>long</code> slot, and
+	 * the bytecodes most common in integer loops (constants, assignments,
+	 * arithmetic, comparisons, lengths and list indexing) operate on this
+	 * directly. An arithmetic operation which could overflow is instead
+	 * performed with <code>BigInteger</code>s, and the result is kept in the
+	 * register's own slot until it fits in a <code>long</code> again. Every
+	 * other bytecode sees the register as a <code>BigInteger</code> (see
+	 * <code>addLongConversions()</code>).
+	 * </p>
+	 *
+	 * @param block
+	 *            --- block being translated.
+	 * @param type
+	 *            --- type of the enclosing function or method.
+	 * @return
+	 */
+	private static boolean[] findLongRegisters(Code.Block block,
+			Type.FunctionOrMethod type) {
+		int nSlots = block.numSlots();
+		boolean[] assigned = new boolean[nSlots];
+		boolean[] excluded = new boolean[nSlots];
+		List<Type> params = type.params();
+		for (int i = 0; i < params.size() && i < nSlots; ++i) {
+			assigned[i] = true;
+			excluded[i] = !(params.get(i) instanceof Type.Int);
+		}
+
+		HashSet<Integer> registers = new HashSet<Integer>();
+		for (Code.Block.Entry entry : block) {
+			Code code = entry.code;
+			int target = Codes.NULL_REG;
+			Type assignedType = null;
+			if (code instanceof Code.AbstractAssignable) {
+				Code.AbstractAssignable a = (Code.AbstractAssignable) code;
+				target = a.target();
+				assignedType = a.assignedType();
+				if (code instanceof Codes.Convert) {
+					// assignedType() gives the source type of a conversion
+					assignedType = ((Codes.Convert) code).result;
+				} else if (code instanceof Codes.Lambda) {
+					// assignedType() gives the return type of a lambda
+					assignedType = ((Codes.Lambda) code).type();
+				} else if (code instanceof Codes.BinaryOperator
+						&& ((Codes.BinaryOperator) code).kind == Codes.BinaryOperatorKind.RANGE) {
+					// a range is not an integer, despite its operands
+					assignedType = null;
+				}
+			} else if (code instanceof Codes.ForAll) {
+				Codes.ForAll fa = (Codes.ForAll) code;
+				target = fa.indexOperand;
+				assignedType = fa.type.element();
+			} else if (code instanceof Codes.TryCatch) {
+				// the exception caught is assigned to the operand
+				registers.clear();
+				code.registers(registers);
+				for (int r : registers) {
+					excluded[r] = true;
+				}
+			}
+			if (target != Codes.NULL_REG) {
+				assigned[target] = true;
+				excluded[target] |= !(assignedType instanceof Type.Int);
+			}
+		}
+
+		boolean[] unboxed = new boolean[nSlots];
+		for (int i = 0; i != nSlots; ++i) {
+			unboxed[i] = assigned[i] && !excluded[i];
+		}
+		return unboxed;
+	}
+
+	private boolean isLongRegister(int register) {
+		return longSlots != null && register >= 0
+				&& register < longSlots.length && longSlots[register] >= 0;
+	}
+
+	/**
+	 * Mark a load or store as accessing the slot of an unboxed register
+	 * directly, rather than accessing its value as a <code>BigInteger</code>.
+	 *
+	 * @param bytecode
+	 * @return
+	 */
+	private Bytecode raw(Bytecode bytecode) {
+		rawAccesses.add(bytecode);
+		return bytecode;
+	}
+
+	/**
+	 * Convert all loads and stores of unboxed registers, from a given
+	 * position onwards, so that they load and store <code>BigInteger</code>s
+	 * as expected by the bytecodes translated generically. Raw accesses are
+	 * left unchanged.
+	 *
+	 * @param start
+	 *            --- index of first bytecode to consider.
+	 * @param bytecodes
+	 */
+	private void addLongConversions(int start, ArrayList<Bytecode> bytecodes) {
+		List<Bytecode> tail = bytecodes.subList(start, bytecodes.size());
+		ArrayList<Bytecode> original = new ArrayList<Bytecode>(tail);
+		tail.clear();
+		for (Bytecode b : original) {
+			if (b instanceof Bytecode.Load
+					&& isLongRegister(((Bytecode.Load) b).slot)
+					&& !rawAccesses.contains(b)) {
+				addLongLoad(((Bytecode.Load) b).slot, bytecodes);
+			} else if (b instanceof Bytecode.Store
+					&& isLongRegister(((Bytecode.Store) b).slot)
+					&& !rawAccesses.contains(b)) {
+				Bytecode.Store store = (Bytecode.Store) b;
+				addLongStore(store.slot, store.type, bytecodes);
+			} else {
+				bytecodes.add(b);
+			}
+		}
+	}
+
+	/**
+	 * Add bytecodes to load the value of an unboxed register as a
+	 * <code>BigInteger</code>.
+	 *
+	 * @param register
+	 * @param bytecodes
+	 */
+	private void addLongLoad(int register, ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(raw(new Bytecode.Load(register, WHILEYINT)));
+		bytecodes.add(new Bytecode.Load(longSlots[register], T_LONG));
+		JvmType.Function ftype = new JvmType.Function(WHILEYINT, WHILEYINT,
+				T_LONG);
+		bytecodes.add(new Bytecode.Invoke(WHILEYUTIL, "valueOf", ftype,
+				Bytecode.InvokeMode.STATIC));
+	}
+
+	/**
+	 * Add bytecodes to store a <code>BigInteger</code> on the stack into an
+	 * unboxed register. The value is unboxed if it fits in a
+	 * <code>long</code>.
+	 *
+	 * @param register
+	 * @param type
+	 *            --- type of the value on the stack.
+	 * @param bytecodes
+	 */
+	private void addLongStore(int register, JvmType type,
+			ArrayList<Bytecode> bytecodes) {
+		String exitLabel = freshLabel();
+		if (!type.equals(WHILEYINT)) {
+			bytecodes.add(new Bytecode.CheckCast(WHILEYINT));
+		}
+		bytecodes.add(raw(new Bytecode.Store(register, WHILEYINT)));
+		bytecodes.add(raw(new Bytecode.Load(register, WHILEYINT)));
+		JvmType.Function ftype = new JvmType.Function(T_INT);
+		bytecodes.add(new Bytecode.Invoke(WHILEYINT, "bitLength", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		bytecodes.add(new Bytecode.LoadConst(63));
+		bytecodes.add(new Bytecode.IfCmp(Bytecode.IfCmp.GT, T_INT, exitLabel));
+		bytecodes.add(raw(new Bytecode.Load(register, WHILEYINT)));
+		ftype = new JvmType.Function(T_LONG);
+		bytecodes.add(new Bytecode.Invoke(WHILEYINT, "longValue", ftype,
+				Bytecode.InvokeMode.VIRTUAL));
+		addLongResult(register, bytecodes);
+		bytecodes.add(new Bytecode.Label(exitLabel));
+	}
+
+	/**
+	 * Add bytecodes to store a <code>long</code> on the stack into an unboxed
+	 * register.
+	 *
+	 * @param register
+	 * @param bytecodes
+	 */
+	private void addLongResult(int register, ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.Store(longSlots[register], T_LONG));
+		bytecodes.add(new Bytecode.LoadConst(null));
+		bytecodes.add(raw(new Bytecode.Store(register, WHILEYINT)));
+	}
+
+	/**
+	 * Add bytecodes to copy one unboxed register to another.
+	 *
+	 * @param from
+	 * @param to
+	 * @param bytecodes
+	 */
+	private void addLongCopy(int from, int to, ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(raw(new Bytecode.Load(from, WHILEYINT)));
+		bytecodes.add(raw(new Bytecode.Store(to, WHILEYINT)));
+		bytecodes.add(new Bytecode.Load(longSlots[from], T_LONG));
+		bytecodes.add(new Bytecode.Store(longSlots[to], T_LONG));
+	}
+
+	/**
+	 * Add bytecodes which branch to a given label unless all of the given
+	 * unboxed registers currently hold their values in their
+	 * <code>long</code> slots.
+	 *
+	 * @param label
+	 * @param bytecodes
+	 * @param registers
+	 */
+	private void addLongChecks(String label, ArrayList<Bytecode> bytecodes,
+			int... registers) {
+		for (int register : registers) {
+			bytecodes.add(raw(new Bytecode.Load(register, WHILEYINT)));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.NONNULL, label));
+		}
+	}
+
+	/**
+	 * Add bytecodes which apply an integer operation to unboxed registers
+	 * using <code>long</code> arithmetic, and then branch to the given exit
+	 * label. If either operand is not held in its <code>long</code> slot, or
+	 * the result might overflow, then control falls through to the bytecodes
+	 * which follow (i.e. the <code>BigInteger</code> implementation).
+	 *
+	 * @param c
+	 * @param freeSlot
+	 * @param exitLabel
+	 * @param bytecodes
+	 * @return false if the operation has no fast path.
+	 */
+	private boolean addLongArithmetic(Codes.BinaryOperator c, int freeSlot,
+			String exitLabel, ArrayList<Bytecode> bytecodes) {
+		int lhs = longSlots[c.operand(0)];
+		int rhs = longSlots[c.operand(1)];
+		String slowLabel = freshLabel();
+
+		switch (c.kind) {
+		case ADD:
+		case SUB:
+			addLongChecks(slowLabel, bytecodes, c.operand(0), c.operand(1));
+			bytecodes.add(new Bytecode.Load(lhs, T_LONG));
+			bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+			if (c.kind == Codes.BinaryOperatorKind.ADD) {
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.ADD, T_LONG));
+			} else {
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.SUB, T_LONG));
+			}
+			bytecodes.add(new Bytecode.Store(freeSlot, T_LONG));
+			// As for Math.addExact() and Math.subtractExact(), the result
+			// overflowed iff ((x ^ r) & (y ^ r)) < 0 for an addition, or
+			// ((x ^ y) & (x ^ r)) < 0 for a subtraction.
+			bytecodes.add(new Bytecode.Load(lhs, T_LONG));
+			if (c.kind == Codes.BinaryOperatorKind.ADD) {
+				bytecodes.add(new Bytecode.Load(freeSlot, T_LONG));
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.XOR, T_LONG));
+				bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+			} else {
+				bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.XOR, T_LONG));
+				bytecodes.add(new Bytecode.Load(lhs, T_LONG));
+			}
+			bytecodes.add(new Bytecode.Load(freeSlot, T_LONG));
+			bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.XOR, T_LONG));
+			bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.AND, T_LONG));
+			bytecodes.add(new Bytecode.LoadConst(0L));
+			bytecodes.add(new Bytecode.Cmp(T_LONG, Bytecode.Cmp.EQ));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.LT, slowLabel));
+			bytecodes.add(new Bytecode.Load(freeSlot, T_LONG));
+			break;
+		case MUL:
+			// The product cannot overflow if both operands fit in an int.
+			addLongChecks(slowLabel, bytecodes, c.operand(0), c.operand(1));
+			for (int operand : new int[] { lhs, rhs }) {
+				bytecodes.add(new Bytecode.Load(operand, T_LONG));
+				bytecodes.add(new Bytecode.Dup(T_LONG));
+				bytecodes.add(new Bytecode.Conversion(T_LONG, T_INT));
+				bytecodes.add(new Bytecode.Conversion(T_INT, T_LONG));
+				bytecodes.add(new Bytecode.Cmp(T_LONG, Bytecode.Cmp.EQ));
+				bytecodes.add(new Bytecode.If(Bytecode.IfMode.NE, slowLabel));
+			}
+			bytecodes.add(new Bytecode.Load(lhs, T_LONG));
+			bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+			bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.MUL, T_LONG));
+			break;
+		case DIV:
+		case REM:
+			// A positive divisor rules out both division by zero (which is
+			// reported by the BigInteger implementation) and overflow.
+			addLongChecks(slowLabel, bytecodes, c.operand(0), c.operand(1));
+			bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+			bytecodes.add(new Bytecode.LoadConst(0L));
+			bytecodes.add(new Bytecode.Cmp(T_LONG, Bytecode.Cmp.EQ));
+			bytecodes.add(new Bytecode.If(Bytecode.IfMode.LE, slowLabel));
+			bytecodes.add(new Bytecode.Load(lhs, T_LONG));
+			bytecodes.add(new Bytecode.Load(rhs, T_LONG));
+			if (c.kind == Codes.BinaryOperatorKind.DIV) {
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.DIV, T_LONG));
+			} else {
+				bytecodes.add(new Bytecode.BinOp(Bytecode.BinOp.REM, T_LONG));
+			}
+			break;
+		default:
+			return false;
+		}
+
+		addLongResult(c.target(), bytecodes);
+		bytecodes.add(new Bytecode.Goto(exitLabel));
+		bytecodes.add(new Bytecode.Label(slowLabel));
+		return true;
+	}
+
 	/**
 	 * Add bytecodes for incrementing the reference count.
 	 * 
@@ -2874,6 +3961,46 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 	}
 	
+	/**
+	 * Add bytecodes for incrementing the reference count of a value just
+	 * loaded from the <code>i</code>th operand of a given bytecode, where that
+	 * bytecode retains the value or may update it in place. This is
+	 * unnecessary when the operand's register is not live afterwards, and the
+	 * value is not also read through an earlier operand. In such case, the
+	 * value is simply handed over and its reference count left untouched.
+	 * 
+	 * @param code
+	 *            --- bytecode reading the value.
+	 * @param i
+	 *            --- index of the operand read.
+	 * @param type
+	 *            --- type of the value read.
+	 * @param bytecodes
+	 */
+	private void addIncRefs(Code.AbstractNaryAssignable code, int i,
+			Type type, ArrayList<Bytecode> bytecodes) {
+		int[] operands = code.operands();
+		int operand = operands[i];
+		boolean shared = operand != code.target() && isLive(operand);
+		for (int j = 0; j < i && !shared; ++j) {
+			shared = operands[j] == operand;
+		}
+		if (shared) {
+			addIncRefs(type, bytecodes);
+		}
+	}
+	
+	/**
+	 * Determine whether a given register may be read after the bytecode
+	 * currently being translated.
+	 * 
+	 * @param register
+	 * @return
+	 */
+	private boolean isLive(int register) {
+		return live == null || live.contains(register);
+	}
+	
 	private static void addIncRefs(Type.List type, ArrayList<Bytecode> bytecodes) {				
 		JvmType.Function ftype = new JvmType.Function(WHILEYLIST,WHILEYLIST);			
 		bytecodes.add(new Bytecode.Invoke(WHILEYUTIL,"incRefs",ftype,Bytecode.InvokeMode.STATIC));
@@ -2907,6 +4034,63 @@ public class Wyil2JavaBuilder implements Builder {
 				Bytecode.InvokeMode.SPECIAL));
 	}		 	
 		
+	/**
+	 * Add bytecodes for constructing an empty record with the given (sorted)
+	 * fields. The shape of such records is loaded from a static field of the
+	 * class being built.
+	 * 
+	 * @param fields
+	 *            --- sorted list of field names.
+	 * @param bytecodes
+	 */
+	private void construct(List<String> fields, ArrayList<Bytecode> bytecodes) {
+		bytecodes.add(new Bytecode.New(WHILEYRECORD));
+		bytecodes.add(new Bytecode.Dup(WHILEYRECORD));
+		loadShape(fields, bytecodes);
+		JvmType.Function ftype = new JvmType.Function(T_VOID,
+				JAVA_LANG_STRING_ARRAY);
+		bytecodes.add(new Bytecode.Invoke(WHILEYRECORD, "<init>", ftype,
+				Bytecode.InvokeMode.SPECIAL));
+	}
+	
+	/**
+	 * Add bytecodes for loading the shape of records with the given (sorted)
+	 * fields, which is held in a static field of the class being built.
+	 * 
+	 * @param fields
+	 *            --- sorted list of field names.
+	 * @param bytecodes
+	 */
+	private void loadShape(List<String> fields, ArrayList<Bytecode> bytecodes) {
+		Integer id = shapes.get(fields);
+		if (id == null) {
+			id = shapes.size();
+			shapes.put(new ArrayList<String>(fields), id);
+		}
+		bytecodes.add(new Bytecode.GetField(owner, "shape$" + id,
+				JAVA_LANG_STRING_ARRAY, Bytecode.FieldMode.STATIC));
+	}
+	
+	/**
+	 * Determine the position of a given field within records of a given type,
+	 * or <code>-1</code> if this is not known statically. This is known only
+	 * for closed record types, where every record has exactly the fields
+	 * declared (in sorted order).
+	 * 
+	 * @param type
+	 * @param field
+	 * @return
+	 */
+	private static int fieldIndex(Type.EffectiveRecord type, String field) {
+		if (type instanceof Type.Record && !((Type.Record) type).isOpen()) {
+			ArrayList<String> keys = new ArrayList<String>(type.fields()
+					.keySet());
+			Collections.sort(keys);
+			return keys.indexOf(field);
+		}
+		return -1;
+	}
+	
 	private final static Type.Record WHILEY_PRINTWRITER_T = Type.Record(false,
 			new HashMap() {
 		{
@@ -2940,8 +4124,10 @@ public class Wyil2JavaBuilder implements Builder {
 	private static final JvmType.Clazz JAVA_LANG_CHARACTER = new JvmType.Clazz("java.lang","Character");
 	private static final JvmType.Clazz JAVA_LANG_SYSTEM = new JvmType.Clazz("java.lang","System");
 	private static final JvmType.Array JAVA_LANG_OBJECT_ARRAY = new JvmType.Array(JAVA_LANG_OBJECT);
+	private static final JvmType.Array JAVA_LANG_STRING_ARRAY = new JvmType.Array(JAVA_LANG_STRING);
 	private static final JvmType.Clazz JAVA_UTIL_LIST = new JvmType.Clazz("java.util","List");
 	private static final JvmType.Clazz JAVA_UTIL_SET = new JvmType.Clazz("java.util","Set");
+	private static final JvmType.Clazz JAVA_UTIL_MAP_ENTRY = new JvmType.Clazz("java.util","Map","Entry");
 	//private static final JvmType.Clazz JAVA_LANG_REFLECT_METHOD = new JvmType.Clazz("java.lang.reflect","Method");
 	private static final JvmType.Clazz JAVA_IO_PRINTSTREAM = new JvmType.Clazz("java.io","PrintStream");
 	private static final JvmType.Clazz JAVA_LANG_RUNTIMEEXCEPTION = new JvmType.Clazz("java.lang","RuntimeException");
@@ -3027,7 +4213,7 @@ public class Wyil2JavaBuilder implements Builder {
 	}	
 	
 	/**
-	 * A constant is some kind of auxillary functionality used in generated code, which can be reused at multiple sites.  This includes value constants, and coercion functions. 
+	 * A constant is some kind of auxillary functionality used in generated code, which can be reused at multiple sites.  This includes value constants, coercion functions and type test functions. 
 	 * @author David J. Pearce
 	 *
 	 */
@@ -3090,6 +4276,34 @@ public class Wyil2JavaBuilder implements Builder {
 		}
 	}
 	
+	private static final class JvmTypeTest extends JvmConstant {
+		public final Type test;
+		public JvmTypeTest(Type test) {
+			this.test = test;
+		}
+		public boolean equals(Object o) {
+			if(o instanceof JvmTypeTest) {
+				JvmTypeTest t = (JvmTypeTest) o;
+				return test.equals(t.test);
+			}
+			return false;
+		}
+		public int hashCode() {
+			return test.hashCode();
+		}
+		public static int get(Type test, HashMap<JvmConstant,Integer> constants) {
+			JvmTypeTest vc = new JvmTypeTest(test);
+			Integer r = constants.get(vc);
+			if(r != null) {
+				return r;
+			} else {
+				int x = constants.size();
+				constants.put(vc, x);
+				return x;
+			}			
+		}
+	}
+	
 	private static class UnresolvedHandler {
 		public String start;
 		public String end;
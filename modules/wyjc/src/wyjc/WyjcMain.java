@@ -47,7 +47,9 @@ public class WyjcMain extends WycMain {
 
 	public static final OptArg[] EXTRA_OPTIONS = { 
 		new OptArg("classdir", "cd", OptArg.FILEDIR, "Specify where to place generated class files",
-			new File("."))
+			new File(".")),
+		new OptArg("persistent-collections",
+			"Use persistent lists, sets and maps in generated programs")
 	};
 	
 	public static OptArg[] DEFAULT_OPTIONS;
@@ -75,6 +77,8 @@ public class WyjcMain extends WycMain {
 		if (classDir != null) {
 			((WyjcBuildTask) builder).setClassDir(classDir);
 		}
+		((WyjcBuildTask) builder).setPersistentCollections(values
+				.containsKey("persistent-collections"));
 	}
 	
 	public static void main(String[] args) {
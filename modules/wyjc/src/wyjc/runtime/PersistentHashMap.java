@@ -0,0 +1,442 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyjc.runtime;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A hash array mapped trie (HAMT), used as the backing store for persistent
+ * sets and maps (see <code>WySet</code> and <code>WyMap</code>). Each level
+ * of the trie consumes five bits of a key's hash code, and keys whose hash
+ * codes are identical are kept together in a collision node.
+ * </p>
+ *
+ * <p>
+ * As for <code>PersistentVector</code>, every node records the map which owns
+ * it. A map updates its own nodes in place, but copies any node it does not
+ * own. Forking a map takes constant time and, afterwards, an update copies
+ * only the nodes along the path to the affected key.
+ * </p>
+ */
+final class PersistentHashMap {
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * Returned from lookups when there is no entry for the given key. This is
+	 * necessary because <code>null</code> is a valid Whiley value.
+	 */
+	static final Object NOT_FOUND = new Object();
+
+	/**
+	 * Stands in for a <code>null</code> key inside the trie, where a
+	 * <code>null</code> key slot indicates a subnode.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	private Object owner;
+	private int size;
+	private Node root;
+
+	/**
+	 * Indicates whether the entries of this map may also be held by some other
+	 * map, as a result of a fork. Once set, this is never cleared.
+	 */
+	boolean shared;
+
+	/**
+	 * The value previously associated with the key given to the last
+	 * <code>put</code> or <code>remove</code>, or <code>NOT_FOUND</code>.
+	 */
+	private Object previous;
+
+	PersistentHashMap() {
+		this.owner = new Object();
+		this.root = new BitmapNode(owner, 0, new Object[0]);
+	}
+
+	private PersistentHashMap(int size, Node root) {
+		this.owner = new Object();
+		this.size = size;
+		this.root = root;
+		this.shared = true;
+	}
+
+	/**
+	 * Create a map holding the same entries as this one. This takes constant
+	 * time, since all nodes are shared between the two maps.
+	 *
+	 * @return
+	 */
+	PersistentHashMap fork() {
+		// From this point on, neither map owns the existing nodes.
+		this.owner = new Object();
+		this.shared = true;
+		return new PersistentHashMap(size, root);
+	}
+
+	int size() {
+		return size;
+	}
+
+	Object get(Object key) {
+		key = mask(key);
+		return root.find(0, key.hashCode(), key);
+	}
+
+	Object put(Object key, Object value) {
+		key = mask(key);
+		previous = NOT_FOUND;
+		root = root.put(this, 0, key.hashCode(), key, value);
+		return previous;
+	}
+
+	Object remove(Object key) {
+		key = mask(key);
+		previous = NOT_FOUND;
+		Node r = root.remove(this, 0, key.hashCode(), key);
+		root = r != null ? r : new BitmapNode(owner, 0, new Object[0]);
+		return previous;
+	}
+
+	Iterator iterator() {
+		return new Iterator();
+	}
+
+	private static Object mask(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	private static Object unmask(Object key) {
+		return key == NULL_KEY ? null : key;
+	}
+
+	// ========================================================================
+	// Nodes
+	// ========================================================================
+
+	private static abstract class Node {
+		final Object owner;
+		Object[] array;
+
+		Node(Object owner, Object[] array) {
+			this.owner = owner;
+			this.array = array;
+		}
+
+		abstract Object find(int shift, int hash, Object key);
+
+		abstract Node put(PersistentHashMap map, int shift, int hash,
+				Object key, Object value);
+
+		/**
+		 * Remove the given key from this node, returning <code>null</code> if
+		 * the node becomes empty as a result.
+		 */
+		abstract Node remove(PersistentHashMap map, int shift, int hash,
+				Object key);
+	}
+
+	/**
+	 * A node whose bitmap indicates which of its 32 possible children are
+	 * present. The array holds consecutive key/value pairs for the children
+	 * which are present; a <code>null</code> key indicates that the value is
+	 * a subnode.
+	 */
+	private static final class BitmapNode extends Node {
+		int bitmap;
+
+		BitmapNode(Object owner, int bitmap, Object[] array) {
+			super(owner, array);
+			this.bitmap = bitmap;
+		}
+
+		Object find(int shift, int hash, Object key) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if ((bitmap & bit) == 0) {
+				return NOT_FOUND;
+			}
+			int idx = 2 * Integer.bitCount(bitmap & (bit - 1));
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			if (k == null) {
+				return ((Node) v).find(shift + BITS, hash, key);
+			} else if (key.equals(k)) {
+				return v;
+			} else {
+				return NOT_FOUND;
+			}
+		}
+
+		Node put(PersistentHashMap map, int shift, int hash, Object key,
+				Object value) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			int idx = 2 * Integer.bitCount(bitmap & (bit - 1));
+			if ((bitmap & bit) == 0) {
+				// no entry here yet, so insert one
+				map.size++;
+				Object[] narray = new Object[array.length + 2];
+				System.arraycopy(array, 0, narray, 0, idx);
+				narray[idx] = key;
+				narray[idx + 1] = value;
+				System.arraycopy(array, idx, narray, idx + 2, array.length
+						- idx);
+				BitmapNode node = editable(map);
+				node.array = narray;
+				node.bitmap |= bit;
+				return node;
+			}
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			Object nv;
+			if (k == null) {
+				nv = ((Node) v).put(map, shift + BITS, hash, key, value);
+			} else if (key.equals(k)) {
+				map.previous = v;
+				nv = value;
+			} else {
+				// two different keys share this slot, so push them down
+				map.size++;
+				nv = pair(map.owner, shift + BITS, k.hashCode(), k, v, hash,
+						key, value);
+				k = null;
+			}
+			if (nv == v && k == array[idx]) {
+				return this;
+			}
+			BitmapNode node = editable(map);
+			node.array[idx] = k;
+			node.array[idx + 1] = nv;
+			return node;
+		}
+
+		Node remove(PersistentHashMap map, int shift, int hash, Object key) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int idx = 2 * Integer.bitCount(bitmap & (bit - 1));
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			if (k == null) {
+				Node n = ((Node) v).remove(map, shift + BITS, hash, key);
+				if (n == v) {
+					return this;
+				} else if (n != null) {
+					BitmapNode node = editable(map);
+					node.array[idx + 1] = n;
+					return node;
+				}
+			} else if (key.equals(k)) {
+				map.previous = v;
+				map.size--;
+			} else {
+				return this;
+			}
+			// the slot is now empty, so remove it
+			if (bitmap == bit) {
+				return null;
+			}
+			Object[] narray = new Object[array.length - 2];
+			System.arraycopy(array, 0, narray, 0, idx);
+			System.arraycopy(array, idx + 2, narray, idx, narray.length - idx);
+			BitmapNode node = editable(map);
+			node.array = narray;
+			node.bitmap &= ~bit;
+			return node;
+		}
+
+		private BitmapNode editable(PersistentHashMap map) {
+			if (owner == map.owner) {
+				return this;
+			}
+			return new BitmapNode(map.owner, bitmap, array.clone());
+		}
+	}
+
+	/**
+	 * A node holding key/value pairs for distinct keys which all have the same
+	 * hash code.
+	 */
+	private static final class CollisionNode extends Node {
+		final int hash;
+
+		CollisionNode(Object owner, int hash, Object[] array) {
+			super(owner, array);
+			this.hash = hash;
+		}
+
+		Object find(int shift, int hash, Object key) {
+			int idx = indexOf(key);
+			return idx < 0 ? NOT_FOUND : array[idx + 1];
+		}
+
+		Node put(PersistentHashMap map, int shift, int hash, Object key,
+				Object value) {
+			if (hash != this.hash) {
+				// nest this node beneath a bitmap node, and try again
+				int bit = 1 << ((this.hash >>> shift) & MASK);
+				Node node = new BitmapNode(map.owner, bit, new Object[] {
+						null, this });
+				return node.put(map, shift, hash, key, value);
+			}
+			int idx = indexOf(key);
+			CollisionNode node = editable(map);
+			if (idx < 0) {
+				map.size++;
+				Object[] narray = new Object[array.length + 2];
+				System.arraycopy(array, 0, narray, 0, array.length);
+				narray[array.length] = key;
+				narray[array.length + 1] = value;
+				node.array = narray;
+			} else {
+				map.previous = array[idx + 1];
+				node.array[idx + 1] = value;
+			}
+			return node;
+		}
+
+		Node remove(PersistentHashMap map, int shift, int hash, Object key) {
+			int idx = indexOf(key);
+			if (idx < 0) {
+				return this;
+			}
+			map.previous = array[idx + 1];
+			map.size--;
+			if (array.length == 2) {
+				return null;
+			}
+			Object[] narray = new Object[array.length - 2];
+			System.arraycopy(array, 0, narray, 0, idx);
+			System.arraycopy(array, idx + 2, narray, idx, narray.length - idx);
+			CollisionNode node = editable(map);
+			node.array = narray;
+			return node;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private CollisionNode editable(PersistentHashMap map) {
+			if (owner == map.owner) {
+				return this;
+			}
+			return new CollisionNode(map.owner, hash, array.clone());
+		}
+	}
+
+	/**
+	 * Construct a node holding two distinct keys, starting at the given level
+	 * of the trie.
+	 */
+	private static Node pair(Object owner, int shift, int h1, Object k1,
+			Object v1, int h2, Object k2, Object v2) {
+		if (h1 == h2) {
+			return new CollisionNode(owner, h1, new Object[] { k1, v1, k2, v2 });
+		}
+		int b1 = (h1 >>> shift) & MASK;
+		int b2 = (h2 >>> shift) & MASK;
+		if (b1 == b2) {
+			Node sub = pair(owner, shift + BITS, h1, k1, v1, h2, k2, v2);
+			return new BitmapNode(owner, 1 << b1, new Object[] { null, sub });
+		} else if (b1 < b2) {
+			return new BitmapNode(owner, (1 << b1) | (1 << b2), new Object[] {
+					k1, v1, k2, v2 });
+		} else {
+			return new BitmapNode(owner, (1 << b1) | (1 << b2), new Object[] {
+					k2, v2, k1, v1 });
+		}
+	}
+
+	// ========================================================================
+	// Iteration
+	// ========================================================================
+
+	/**
+	 * Iterates the entries of a map by walking the trie depth first, using an
+	 * explicit stack of the nodes being traversed.
+	 */
+	final class Iterator implements java.util.Iterator<Map.Entry<Object, Object>> {
+		private final ArrayList<Node> nodes = new ArrayList<Node>();
+		private final ArrayList<Integer> indices = new ArrayList<Integer>();
+		private Object key;
+		private Object value;
+		private boolean ready;
+
+		Iterator() {
+			nodes.add(root);
+			indices.add(0);
+		}
+
+		public boolean hasNext() {
+			while (!ready && !nodes.isEmpty()) {
+				int top = nodes.size() - 1;
+				Node node = nodes.get(top);
+				int idx = indices.get(top);
+				if (idx >= node.array.length) {
+					nodes.remove(top);
+					indices.remove(top);
+					continue;
+				}
+				indices.set(top, idx + 2);
+				Object k = node.array[idx];
+				Object v = node.array[idx + 1];
+				if (k == null) {
+					nodes.add((Node) v);
+					indices.add(0);
+				} else {
+					key = unmask(k);
+					value = v;
+					ready = true;
+				}
+			}
+			return ready;
+		}
+
+		public Map.Entry<Object, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ready = false;
+			return new AbstractMap.SimpleImmutableEntry<Object, Object>(key,
+					value);
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
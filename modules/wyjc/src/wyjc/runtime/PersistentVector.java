@@ -0,0 +1,251 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyjc.runtime;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A bit-partitioned vector trie, used as the backing store for persistent
+ * lists (see <code>WyList</code>). Elements live in the leaves of a 32-way
+ * trie, with the last (partial) leaf held separately as the tail so that
+ * appends are cheap.
+ * </p>
+ *
+ * <p>
+ * Every node records the vector which owns it. A vector may update its own
+ * nodes in place, but must copy any node it does not own before changing it.
+ * Forking a vector gives both the original and the fork a fresh owner, which
+ * means all existing nodes become immutable and are shared between the two.
+ * Thus, forking is O(1) and an update after a fork copies only the O(log n)
+ * nodes along the path to the element being changed.
+ * </p>
+ */
+final class PersistentVector {
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private static final class Node {
+		final Object owner;
+		final Object[] array;
+
+		Node(Object owner, Object[] array) {
+			this.owner = owner;
+			this.array = array;
+		}
+	}
+
+	private Object owner;
+	private int size;
+	private int shift;
+	private Node root;
+	private Node tail;
+
+	/**
+	 * Indicates whether the elements of this vector may also be held by some
+	 * other vector, as a result of a fork. Once set, this is never cleared.
+	 */
+	boolean shared;
+
+	PersistentVector() {
+		this.owner = new Object();
+		this.shift = BITS;
+		this.root = new Node(owner, new Object[WIDTH]);
+		this.tail = new Node(owner, new Object[WIDTH]);
+	}
+
+	private PersistentVector(int size, int shift, Node root, Node tail) {
+		this.owner = new Object();
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+		this.shared = true;
+	}
+
+	/**
+	 * Create a vector holding the same elements as this one. This takes
+	 * constant time, since all nodes are shared between the two vectors.
+	 *
+	 * @return
+	 */
+	PersistentVector fork() {
+		// From this point on, neither vector owns the existing nodes.
+		this.owner = new Object();
+		this.shared = true;
+		return new PersistentVector(size, shift, root, tail);
+	}
+
+	int size() {
+		return size;
+	}
+
+	Object get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ size);
+		}
+		return leafFor(index)[index & MASK];
+	}
+
+	Object set(int index, Object value) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ size);
+		}
+		Object old;
+		if (index >= tailOffset()) {
+			tail = editable(tail);
+			old = tail.array[index & MASK];
+			tail.array[index & MASK] = value;
+		} else {
+			old = get(index);
+			root = set(shift, root, index, value);
+		}
+		return old;
+	}
+
+	void add(Object value) {
+		if (size - tailOffset() < WIDTH) {
+			tail = editable(tail);
+			tail.array[size & MASK] = value;
+		} else {
+			// tail is full, so push it into the trie
+			Node leaf = tail;
+			if ((size >>> BITS) > (1 << shift)) {
+				// root is full, so grow the trie by one level
+				Node nroot = new Node(owner, new Object[WIDTH]);
+				nroot.array[0] = root;
+				nroot.array[1] = path(shift, leaf);
+				root = nroot;
+				shift += BITS;
+			} else {
+				root = pushTail(shift, root, leaf);
+			}
+			tail = new Node(owner, new Object[WIDTH]);
+			tail.array[0] = value;
+		}
+		size++;
+	}
+
+	Iterator iterator() {
+		return new Iterator(0);
+	}
+
+	// ========================================================================
+	// Helpers
+	// ========================================================================
+
+	private int tailOffset() {
+		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	private Object[] leafFor(int index) {
+		if (index >= tailOffset()) {
+			return tail.array;
+		}
+		Node node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	private Node editable(Node node) {
+		if (node.owner == owner) {
+			return node;
+		}
+		return new Node(owner, node.array.clone());
+	}
+
+	private Node set(int level, Node node, int index, Object value) {
+		node = editable(node);
+		if (level == 0) {
+			node.array[index & MASK] = value;
+		} else {
+			int sub = (index >>> level) & MASK;
+			node.array[sub] = set(level - BITS, (Node) node.array[sub], index,
+					value);
+		}
+		return node;
+	}
+
+	private Node pushTail(int level, Node parent, Node leaf) {
+		parent = editable(parent);
+		int sub = ((size - 1) >>> level) & MASK;
+		Node child;
+		if (level == BITS) {
+			child = leaf;
+		} else {
+			Node existing = (Node) parent.array[sub];
+			child = existing != null ? pushTail(level - BITS, existing, leaf)
+					: path(level - BITS, leaf);
+		}
+		parent.array[sub] = child;
+		return parent;
+	}
+
+	private Node path(int level, Node leaf) {
+		if (level == 0) {
+			return leaf;
+		}
+		Node node = new Node(owner, new Object[WIDTH]);
+		node.array[0] = path(level - BITS, leaf);
+		return node;
+	}
+
+	/**
+	 * Iterates the elements of a vector one leaf at a time, so that the trie
+	 * is only descended once for every <code>WIDTH</code> elements.
+	 */
+	final class Iterator implements java.util.Iterator<Object> {
+		private int index;
+		private Object[] leaf;
+
+		Iterator(int index) {
+			this.index = index;
+		}
+
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		public Object next() {
+			if (index >= size) {
+				throw new NoSuchElementException();
+			}
+			if (leaf == null || (index & MASK) == 0) {
+				leaf = leafFor(index);
+			}
+			return leaf[index++ & MASK];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -29,7 +29,9 @@ import java.lang.reflect.Method;
 import java.math.*;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static wyil.lang.Type.K_VOID;
 import static wyil.lang.Type.K_ANY;
@@ -50,126 +52,197 @@ import static wyil.lang.Type.K_NEGATION;
 
 public class Util {
 
-	private static final boolean debug = false;
+	/**
+	 * Indicates whether runtime statistics on reference counts, clones and
+	 * in-place updates are being gathered. This is controlled by the system
+	 * property <code>wyjc.runtime.stats</code>, and is fixed when this class
+	 * is initialised. Since the flag is final, the JIT removes the counting
+	 * code altogether when it is disabled.
+	 */
+	static final boolean stats = Boolean.getBoolean("wyjc.runtime.stats");
+	
+	/**
+	 * The time at which the program started, when statistics are enabled.
+	 * This is recorded here, rather than in <code>Stats</code>, because this
+	 * class is initialised on entry to <code>main</code> (see
+	 * <code>systemConsole()</code>), whereas <code>Stats</code> is only
+	 * initialised when the first statistic is counted.
+	 */
+	private static final long startTime = stats ? System.currentTimeMillis() : 0;
+	
 	private static final boolean logRefCounts = false;
-	private static final ArrayList<Object[]> refCounts = new ArrayList();
-	private static long startTime;
 	
 	static { 
-		if(debug) {
-			startTime = System.currentTimeMillis();
+		if(stats) {
 			Runtime.getRuntime().addShutdownHook(new Thread(){
 				public void run() {
-					long totalTime = System.currentTimeMillis() - startTime;
-					System.err.println("==================================================");
-					System.err.println("STATS");
-					System.err.println("==================================================");
-					System.err.println("Time: " + totalTime + "ms");
-					double avg = nset_elems;
-					avg = avg / nset_clones;
-					System.err.println("set clones:        " + nset_clones + " / "
-							+ (nset_clones + nset_inplace_updates) + " (" + avg + ")");
-					avg = nlist_elems;
-					avg = avg / nlist_clones;
-					System.err.println("list clones:       " + nlist_clones + " / "
-							+ (nlist_clones + nlist_inplace_updates)+ " (" + avg + ")");
-					avg = ndict_elems;
-					avg = avg / ndict_clones;
-					System.err.println("dictionary clones: " + ndict_clones
-							+ " / " + (ndict_clones + ndict_inplace_updates)+ " (" + avg + ")");
-					avg = nrecord_elems;
-					avg = avg / nrecord_clones;
-					System.err.println("record clones:     " + nrecord_clones
-							+ " / " + (nrecord_clones + nrecord_strong_updates)+ " (" + avg + ")");		
-					long totalClones = nlist_clones + nset_clones + ndict_clones + nrecord_clones;
-					long totalStrongUpdates = nlist_inplace_updates + nset_inplace_updates + ndict_inplace_updates + nrecord_strong_updates;
-					double ratio = totalClones;
-					ratio = 100 * (ratio / (totalClones+totalStrongUpdates));
-					long totalElems = nset_elems + nlist_elems + ndict_elems + nrecord_elems; 
-					avg = totalElems;
-					avg = (avg / (totalClones));
-					System.err.println("--------------------------------------------------");
-					System.err.println("Total clones: " + totalClones + " / " + (totalClones+totalStrongUpdates) + " (" + ratio + "%)");
-					System.err.println("Average Clone Size: " + totalElems + " / " + totalClones + " (" + avg + ")");
-					avg = total_ref_count;
-					avg = avg / total_population;
-					System.err.println("Avg Reference Count: " + avg);	
-					System.err.println("--------------------------------------------------");
-					if(logRefCounts) {
-						for(Object[] p : refCounts) {
-							System.out.println(System.identityHashCode(p[0]) + " : " + p[1]);
-						}
-					}
+					Stats.report();
 				}
 			});
 		}
 	}	
 	
-	private static long total_ref_count = 0;	
-	private static long total_population = 0; // number of update operations
-	private static int nlist_clones = 0;
-	private static long nlist_elems = 0;
-	static int nlist_inplace_updates = 0;
-	private static int nset_clones = 0;
-	private static long nset_elems = 0;
-	static int nset_inplace_updates = 0;
-	private static int ndict_clones = 0;
-	private static long ndict_elems = 0;
-	static int ndict_inplace_updates = 0;
-	private static int nrecord_clones = 0;
-	private static long nrecord_elems = 0;
-	static int nrecord_strong_updates = 0;
+	/**
+	 * Holds the counters used when statistics are enabled. These are kept
+	 * separate from Util so they are only created when actually needed, and
+	 * are atomic so that multi-threaded programs report accurate totals.
+	 */
+	private static final class Stats {
+		private static final int LIST = 0;
+		private static final int SET = 1;
+		private static final int DICT = 2;
+		private static final int RECORD = 3;
+		
+		private static final AtomicLong total_ref_count = new AtomicLong();
+		private static final AtomicLong total_population = new AtomicLong(); // number of update operations
+		private static final AtomicLong[] clones = counters();
+		private static final AtomicLong[] elems = counters();
+		private static final AtomicLong[] inplace_updates = counters();
+		private static final List<Object[]> refCounts = Collections
+				.synchronizedList(new ArrayList<Object[]>());
+		
+		private static AtomicLong[] counters() {
+			AtomicLong[] counters = new AtomicLong[4];
+			for (int i = 0; i != counters.length; ++i) {
+				counters[i] = new AtomicLong();
+			}
+			return counters;
+		}
+		
+		private static void countRefs(Object o, int refCount) {
+			total_ref_count.addAndGet(refCount);
+			total_population.incrementAndGet();
+			if(logRefCounts) {
+				refCounts.add(new Object[]{o,refCount});
+			}
+		}
+		
+		private static void countClone(int kind, int size) {
+			clones[kind].incrementAndGet();
+			elems[kind].addAndGet(size);
+		}
+		
+		private static void countInplaceUpdate(int kind) {
+			inplace_updates[kind].incrementAndGet();
+		}
+		
+		private static void report() {
+			long totalTime = System.currentTimeMillis() - startTime;
+			System.err.println("==================================================");
+			System.err.println("STATS");
+			System.err.println("==================================================");
+			System.err.println("Time: " + totalTime + "ms");
+			report("set clones:        ", SET);
+			report("list clones:       ", LIST);
+			report("dictionary clones: ", DICT);
+			report("record clones:     ", RECORD);
+			long totalClones = 0;
+			long totalStrongUpdates = 0;
+			long totalElems = 0;
+			for (int i = 0; i != clones.length; ++i) {
+				totalClones += clones[i].get();
+				totalStrongUpdates += inplace_updates[i].get();
+				totalElems += elems[i].get();
+			}
+			double ratio = totalClones;
+			ratio = 100 * (ratio / (totalClones+totalStrongUpdates));
+			double avg = totalElems;
+			avg = (avg / (totalClones));
+			System.err.println("--------------------------------------------------");
+			System.err.println("Total clones: " + totalClones + " / " + (totalClones+totalStrongUpdates) + " (" + ratio + "%)");
+			System.err.println("Average Clone Size: " + totalElems + " / " + totalClones + " (" + avg + ")");
+			avg = total_ref_count.get();
+			avg = avg / total_population.get();
+			System.err.println("Avg Reference Count: " + avg);	
+			System.err.println("--------------------------------------------------");
+			if(logRefCounts) {
+				synchronized(refCounts) {
+					for(Object[] p : refCounts) {
+						System.out.println(System.identityHashCode(p[0]) + " : " + p[1]);
+					}
+				}
+			}
+		}
+		
+		private static void report(String title, int kind) {
+			long nclones = clones[kind].get();
+			double avg = elems[kind].get();
+			avg = avg / nclones;
+			System.err.println(title + nclones + " / "
+					+ (nclones + inplace_updates[kind].get()) + " (" + avg + ")");
+		}
+	}
 
 	public static void countRefs(WyList l) {
-		total_ref_count += l.refCount;		
-		total_population++;
-		if(logRefCounts) {
-			refCounts.add(new Object[]{l,l.refCount});
+		if(stats) {
+			Stats.countRefs(l, l.refCount);
 		}
 	}
 	
 	public static void countRefs(WySet l) {
-		total_ref_count += l.refCount;		
-		total_population++;
-		if(logRefCounts) {
-			refCounts.add(new Object[]{l,l.refCount});
+		if(stats) {
+			Stats.countRefs(l, l.refCount);
 		}
 	}
 	
 	public static void countRefs(WyMap l) {
-		total_ref_count += l.refCount;		
-		total_population++;
-		if(logRefCounts) {
-			refCounts.add(new Object[]{l,l.refCount});
+		if(stats) {
+			Stats.countRefs(l, l.refCount);
 		}
 	}
 	
 	public static void countRefs(WyRecord l) {
-		total_ref_count += l.refCount;
-		total_population++;
-		if(logRefCounts) {
-			refCounts.add(new Object[]{l,l.refCount});
+		if(stats) {
+			Stats.countRefs(l, l.refCount);
 		}
 	}
 	
 	public static void countClone(WyList l) {
-		nlist_clones ++;		
-		nlist_elems += l.size();
+		if(stats) {
+			Stats.countClone(Stats.LIST, l.size());
+		}
 	}
 	
 	public static void countClone(WySet l) {
-		nset_clones ++;		
-		nset_elems += l.size();
+		if(stats) {
+			Stats.countClone(Stats.SET, l.size());
+		}
 	}
 	
 	public static void countClone(WyMap l) {
-		ndict_clones ++;		
-		ndict_elems += l.size();
+		if(stats) {
+			Stats.countClone(Stats.DICT, l.size());
+		}
 	}
 	
 	public static void countClone(WyRecord l) {
-		nrecord_clones ++;		
-		nrecord_elems += l.size();
+		if(stats) {
+			Stats.countClone(Stats.RECORD, l.size());
+		}
+	}
+	
+	static void countInplaceUpdate(WyList l) {
+		if(stats) {
+			Stats.countInplaceUpdate(Stats.LIST);
+		}
+	}
+	
+	static void countInplaceUpdate(WySet l) {
+		if(stats) {
+			Stats.countInplaceUpdate(Stats.SET);
+		}
+	}
+	
+	static void countInplaceUpdate(WyMap l) {
+		if(stats) {
+			Stats.countInplaceUpdate(Stats.DICT);
+		}
+	}
+	
+	static void countInplaceUpdate(WyRecord l) {
+		if(stats) {
+			Stats.countInplaceUpdate(Stats.RECORD);
+		}
 	}
 		
 	public static String append(final String lhs, final String rhs) {		
@@ -185,7 +258,7 @@ public class Util {
 	}
 	
 	public static BigInteger stringlength(final String lhs) {
-		return BigInteger.valueOf(lhs.length());
+		return valueOf(lhs.length());
 	}
 	
 	public static String substring(final String lhs, final BigInteger _start, final BigInteger _end) {
@@ -210,16 +283,106 @@ public class Util {
 		return (byte) ((b1&0xFF) >>> b2.intValue());		
 	}
 	
+	// ================================================================================
+	// Integer Operations
+	// ================================================================================	 
+
+	/**
+	 * Integers in this range are shared rather than allocated afresh each time
+	 * they are produced. This covers the values typically taken by loop
+	 * counters, list indices and collection lengths.
+	 */
+	private static final int SMALL_MIN = -1024;
+	private static final int SMALL_MAX = 65535;
+	private static final BigInteger[] SMALL = new BigInteger[SMALL_MAX - SMALL_MIN + 1];
+	
+	/**
+	 * Return an integer for the given value, reusing a shared instance when
+	 * the value is small. Since <code>BigInteger</code> is immutable, racing
+	 * to populate the cache is benign.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	public static BigInteger valueOf(long value) {
+		if (value >= SMALL_MIN && value <= SMALL_MAX) {
+			int index = (int) value - SMALL_MIN;
+			BigInteger r = SMALL[index];
+			if (r == null) {
+				r = BigInteger.valueOf(value);
+				SMALL[index] = r;
+			}
+			return r;
+		}
+		return BigInteger.valueOf(value);
+	}
+	
+	/**
+	 * Return the integer held by a local variable which generated code keeps
+	 * in unboxed form. Such a variable holds <code>null</code> when its value
+	 * fits in a <code>long</code> (in which case the value is given
+	 * separately), and otherwise holds the value itself.
+	 * 
+	 * @param value
+	 *            --- the value, or <code>null</code> if it is unboxed.
+	 * @param unboxed
+	 *            --- the unboxed value.
+	 * @return
+	 */
+	public static BigInteger valueOf(BigInteger value, long unboxed) {
+		return value != null ? value : valueOf(unboxed);
+	}
+	
+	/**
+	 * The following arithmetic operations take a fast path through
+	 * <code>long</code> arithmetic whenever the operands are small enough
+	 * that the result cannot overflow, and only fall back to
+	 * <code>BigInteger</code> arithmetic otherwise.
+	 */
+	public static BigInteger add(BigInteger lhs, BigInteger rhs) {
+		if (lhs.bitLength() < 63 && rhs.bitLength() < 63) {
+			return valueOf(lhs.longValue() + rhs.longValue());
+		}
+		return lhs.add(rhs);
+	}
+	
+	public static BigInteger subtract(BigInteger lhs, BigInteger rhs) {
+		if (lhs.bitLength() < 63 && rhs.bitLength() < 63) {
+			return valueOf(lhs.longValue() - rhs.longValue());
+		}
+		return lhs.subtract(rhs);
+	}
+	
+	public static BigInteger multiply(BigInteger lhs, BigInteger rhs) {
+		if (lhs.bitLength() + rhs.bitLength() < 63) {
+			return valueOf(lhs.longValue() * rhs.longValue());
+		}
+		return lhs.multiply(rhs);
+	}
+	
+	public static BigInteger divide(BigInteger lhs, BigInteger rhs) {
+		if (lhs.bitLength() < 63 && rhs.bitLength() < 63 && rhs.signum() != 0) {
+			return valueOf(lhs.longValue() / rhs.longValue());
+		}
+		return lhs.divide(rhs);
+	}
+	
+	public static BigInteger remainder(BigInteger lhs, BigInteger rhs) {
+		if (lhs.bitLength() < 63 && rhs.bitLength() < 63 && rhs.signum() != 0) {
+			return valueOf(lhs.longValue() % rhs.longValue());
+		}
+		return lhs.remainder(rhs);
+	}
+	
 	public static WyList range(BigInteger start, BigInteger end) {
 		WyList l = new WyList();
 		
-		long st = start.longValue();
-		long en = start.longValue();
-		if (BigInteger.valueOf(st).equals(start)
-				&& BigInteger.valueOf(en).equals(end)) {
+		if (start.bitLength() < 63 && end.bitLength() < 63) {
+			long st = start.longValue();
+			long en = end.longValue();
 			int dir = st < en ? 1 : -1;
 			while(st != en) {
-				l.add(BigInteger.valueOf(st));
+				l.add(valueOf(st));
 				st = st + dir;
 			}					
 		} else {
@@ -274,7 +437,7 @@ public class Util {
 	public static WyList str2il(String str) {
 		WyList r = new WyList(str.length());
 		for(int i=0;i!=str.length();++i) {
-			r.add(BigInteger.valueOf(str.charAt(i)));
+			r.add(valueOf(str.charAt(i)));
 		}
 		return r;
 	}
@@ -300,7 +463,7 @@ public class Util {
 	public static WySet str2is(String str) {
 		WySet r = new WySet();
 		for(int i=0;i!=str.length();++i) {
-			r.add(BigInteger.valueOf(str.charAt(i)));
+			r.add(valueOf(str.charAt(i)));
 		}
 		return r;
 	}
@@ -382,7 +545,9 @@ public class Util {
 	 * Decrement the reference count for this object. In some cases, this may
 	 * have no effect. In other cases, the current reference count will be
 	 * maintained and in-place updates can only occur when the reference count is
-	 * one.
+	 * zero. At present, references are never released and this has no effect.
+	 * Instead, the compiler avoids incrementing reference counts for values
+	 * which are handed over from a register that is no longer live.
 	 */
 	public static void decRefs(Object obj) {
 //		if(obj instanceof List) {
@@ -1010,29 +1175,28 @@ public class Util {
 	}
 
 	public static int compare(WyRecord o1, WyRecord o2) {
-		ArrayList<String> mKeys = new ArrayList<String>(o1.keySet());
-		ArrayList<String> tKeys = new ArrayList<String>(o2.keySet());
-		Collections.sort(mKeys);
-		Collections.sort(tKeys);
+		// NOTE: the fields of a record are already sorted
+		String[] mKeys = o1.fields;
+		String[] tKeys = o2.fields;
 
-		for(int i=0;i!=Math.min(mKeys.size(),tKeys.size());++i) {
-			String mk = mKeys.get(i);
-			String tk = tKeys.get(i);
+		for(int i=0;i!=Math.min(mKeys.length,tKeys.length);++i) {
+			String mk = mKeys[i];
+			String tk = tKeys[i];
 			int c = mk.compareTo(tk);
 			if(c != 0) {
 				return c;
 			}
-			String mv = o1.get(mk).toString();
-			String tv = o2.get(tk).toString();
+			String mv = o1.values[i].toString();
+			String tv = o2.values[i].toString();
 			c = mv.compareTo(tv);
 			if(c != 0) {
 				return c;
 			}
 		}
 
-		if(mKeys.size() < tKeys.size()) {
+		if(mKeys.length < tKeys.length) {
 			return -1;
-		} else if(mKeys.size() > tKeys.size()) {
+		} else if(mKeys.length > tKeys.length) {
 			return 1;
 		} else {
 			return 0;
@@ -1041,7 +1205,7 @@ public class Util {
 	
 
 	public static WyRecord systemConsole(String[] args) {
-		WyRecord sysout = new WyRecord();
+		WyRecord sysout = new WyRecord(WyRecord.shape("print","println"));
 		
 		sysout.put("print", new WyLambda((Object[]) null) {
 			public Object call(Object[] arguments) {
@@ -1065,7 +1229,7 @@ public class Util {
 				return null;
 			}
 		});		
-		WyRecord console = new WyRecord();
+		WyRecord console = new WyRecord(WyRecord.shape("out","args"));
 		console.put("out", sysout);		
 		console.put("args",fromStringList(args));
 		return console;
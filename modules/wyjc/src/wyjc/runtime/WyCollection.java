@@ -5,6 +5,32 @@ import java.util.Map;
 
 public class WyCollection {
 
+	/**
+	 * The system property which determines whether collections are persistent
+	 * by default.
+	 */
+	public static final String PERSISTENT_PROPERTY = "wyjc.persistent";
+
+	/**
+	 * <p>
+	 * Determines whether lists, sets and maps are, by default, backed by
+	 * persistent data structures, rather than by array lists and hash tables.
+	 * Persistent collections can be copied in constant time, and updating a
+	 * shared persistent collection costs O(log n) rather than a full clone.
+	 * This is given by the <code>PERSISTENT_PROPERTY</code> system property,
+	 * which the static initialiser of programs compiled with persistent
+	 * collections sets (see <code>Wyil2JavaBuilder</code>).
+	 * </p>
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> the property is read once, when the runtime is loaded, and
+	 * setting it afterwards has no effect. A collection with a particular
+	 * representation can still be created through its constructor. The two
+	 * representations can be mixed freely, since they only differ internally.
+	 * </p>
+	 */
+	static final boolean persistent = Boolean.getBoolean(PERSISTENT_PROPERTY);
+
 	public static java.util.Iterator iterator(Object col) {				
 		Util.decRefs(col);
 		if(col instanceof java.util.Collection) {
@@ -20,18 +46,22 @@ public class WyCollection {
 	}
 		
 	public static BigInteger length(Object col) {				
+		return Util.valueOf(size(col));
+	}		
+	
+	public static int size(Object col) {
 		Util.decRefs(col);
 		if(col instanceof java.util.Collection) {
 			java.util.Collection c = (java.util.Collection) col;
-			return BigInteger.valueOf(c.size());
+			return c.size();
 		} else if (col instanceof java.util.Map) {
 			java.util.Map m = (java.util.Map) col;
-			return BigInteger.valueOf(m.size());
+			return m.size();
 		} else {
 			String s = (String) col;
-			return BigInteger.valueOf(s.length());
+			return s.length();
 		}
-	}		
+	}
 	
 	public static final class StringIterator implements java.util.Iterator {
 		public final String string;
@@ -59,10 +89,10 @@ public class WyCollection {
 		if(col instanceof WyList) {
 			WyList l = (WyList) col;
 			BigInteger index = (BigInteger) key;
-			return l.get(index.intValue());
+			return Util.incRefs(l.get(index.intValue()));
 		} else if(col instanceof WyMap) {
 			WyMap d = (WyMap) col;			
-			return d.get(key);
+			return WyMap.get(d,key);
 		} else {
 			String s = (String) col;
 			BigInteger index = (BigInteger) key;
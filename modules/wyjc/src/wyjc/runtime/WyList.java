@@ -29,34 +29,205 @@ import java.math.BigInteger;
 import java.util.Collections;
 import java.util.Map;
 
-public final class WyList extends java.util.ArrayList {		
+public final class WyList extends java.util.AbstractList implements java.util.RandomAccess {		
 	/**
-	 * The reference count is use to indicate how many variables are currently
-	 * referencing this compound structure. This is useful for making imperative
-	 * updates more efficient. In particular, when the <code>refCount</code> is
-	 * <code>1</code> we can safely perform an in-place update of the structure.
+	 * The reference count is used to indicate how many variables, or other
+	 * structures, are currently referencing this compound structure in addition
+	 * to the first. This is useful for making imperative updates more
+	 * efficient. In particular, when the <code>refCount</code> is
+	 * <code>0</code> we can safely perform an in-place update of the structure.
+	 * Since references are not released (see <code>Util.decRefs()</code>), the
+	 * count is a conservative upper bound.
 	 */
-	int refCount = 100; // temporary measure 
+	int refCount = 0;
+	
+	/**
+	 * The elements of this list are held either in an array list or, for a
+	 * persistent list, in a persistent vector. Exactly one of these is
+	 * non-null.
+	 */
+	private java.util.ArrayList items;
+	private PersistentVector vector;
 	
 	// ================================================================================
 	// Generic Operations
 	// ================================================================================	 	
 	
 	public WyList() {
-		super();				
+		this(WyCollection.persistent);
+	}
+	
+	/**
+	 * Create an empty list, which is either persistent or not regardless of
+	 * the default (see <code>WyCollection.persistent</code>).
+	 * 
+	 * @param persistent
+	 */
+	public WyList(boolean persistent) {
+		if(persistent) {
+			vector = new PersistentVector();
+		} else {
+			items = new java.util.ArrayList();
+		}
 	}
 	
 	public WyList(int size) {
-		super(size);			
+		if(WyCollection.persistent) {
+			vector = new PersistentVector();
+		} else {
+			items = new java.util.ArrayList(size);
+		}
 	}
 	
 	WyList(java.util.Collection items) {
-		super(items);			
+		this(items.size());
+		addAll(items);
 		for(Object o : items) {
 			Util.incRefs(o);
 		}
 	}
 	
+	private WyList(PersistentVector vector) {
+		this.vector = vector;
+	}
+	
+	/**
+	 * Create a copy of this list which can be updated independently of it. A
+	 * persistent list shares its structure with the copy, rather than copying
+	 * every element. In this case, the reference counts of the elements are
+	 * not incremented, since that would make the copy O(n). Instead, both
+	 * lists are marked as sharing their elements, and neither will release
+	 * an element it overwrites or removes (see <code>release()</code>).
+	 * 
+	 * @return
+	 */
+	WyList copy() {
+		if(vector != null) {
+			return new WyList(vector.fork());
+		} else {
+			return new WyList(this);
+		}
+	}
+	
+	/**
+	 * Check whether the elements of this list may also be held by another
+	 * list, without their reference counts reflecting this. This happens when
+	 * a persistent list is copied, since its elements are shared rather than
+	 * copied.
+	 * 
+	 * @return
+	 */
+	boolean sharesElements() {
+		return vector != null && vector.shared;
+	}
+	
+	/**
+	 * Release an element which has been overwritten in, or removed from, this
+	 * list. An element which this list shares with another is not released,
+	 * since its reference count never accounted for the other list.
+	 * 
+	 * @param item
+	 */
+	private void release(Object item) {
+		if(!sharesElements()) {
+			Util.decRefs(item);
+		}
+	}
+	
+	public Object get(int index) {
+		if(vector != null) {
+			return vector.get(index);
+		}
+		return items.get(index);
+	}
+	
+	public Object set(int index, Object value) {
+		if(vector != null) {
+			return vector.set(index, value);
+		}
+		return items.set(index, value);
+	}
+	
+	public int size() {
+		if(vector != null) {
+			return vector.size();
+		}
+		return items.size();
+	}
+	
+	public boolean add(Object value) {
+		if(vector != null) {
+			vector.add(value);
+		} else {
+			items.add(value);
+		}
+		modCount++;
+		return true;
+	}
+	
+	public void add(int index, Object value) {
+		if(vector == null) {
+			items.add(index, value);
+		} else if(index == vector.size()) {
+			vector.add(value);
+		} else {
+			// a trie has no efficient insertion, so rebuild it
+			PersistentVector nvector = new PersistentVector();
+			nvector.shared = vector.shared;
+			for(int i=0;i!=index;++i) {
+				nvector.add(vector.get(i));
+			}
+			nvector.add(value);
+			for(int i=index;i!=vector.size();++i) {
+				nvector.add(vector.get(i));
+			}
+			vector = nvector;
+		}
+		modCount++;
+	}
+	
+	public boolean addAll(java.util.Collection c) {
+		if(vector != null) {
+			for(Object o : c) {
+				vector.add(o);
+			}
+		} else {
+			items.addAll(c);
+		}
+		modCount++;
+		return !c.isEmpty();
+	}
+	
+	public Object remove(int index) {
+		Object item = get(index);
+		removeRange(index,index+1);
+		return item;
+	}
+	
+	protected void removeRange(int start, int end) {
+		if(vector == null) {
+			items.subList(start, end).clear();
+		} else if(start != end) {
+			PersistentVector nvector = new PersistentVector();
+			nvector.shared = vector.shared;
+			for(int i=0;i!=start;++i) {
+				nvector.add(vector.get(i));
+			}
+			for(int i=end;i!=vector.size();++i) {
+				nvector.add(vector.get(i));
+			}
+			vector = nvector;
+		}
+		modCount++;
+	}
+	
+	public java.util.Iterator iterator() {
+		if(vector != null) {
+			return vector.iterator();
+		}
+		return items.iterator();
+	}
+	
 	public String toString() {
 		String r = "[";
 		boolean firstTime=true;
@@ -75,8 +246,12 @@ public final class WyList extends java.util.ArrayList {
 	// ================================================================================	 
 		
 	public static Object get(WyList list, BigInteger index) {				
-		Object item = list.get(index.intValue());
-		return Util.incRefs(item);		
+		return get(list, index.intValue());
+	}
+	
+	public static Object get(WyList list, int index) {
+		Object item = list.get(index);
+		return Util.incRefs(item);
 	}
 			
 	public static WyList set(WyList list, final BigInteger index, final Object value) {
@@ -84,12 +259,12 @@ public final class WyList extends java.util.ArrayList {
 		if(list.refCount > 0) {			
 			Util.countClone(list);			
 			// in this case, we need to clone the list in question						
-			list = new WyList(list);						
+			list = list.copy();						
 		} else {
-			Util.nlist_inplace_updates++;
+			Util.countInplaceUpdate(list);
 		}
 		Object v = list.set(index.intValue(),value);
-		Util.decRefs(v);
+		list.release(v);
 		Util.incRefs(value);
 		return list;
 	}
@@ -100,23 +275,23 @@ public final class WyList extends java.util.ArrayList {
 		int en = end.intValue();	
 		
 		if(list.refCount == 0) {
-			Util.nlist_inplace_updates++;
+			Util.countInplaceUpdate(list);
 			if(st <= en) {
 				for(int i=0;i!=st;++i) {
-					Util.decRefs(list.get(i));
+					list.release(list.get(i));
 				}
 				for(int i=en;i!=list.size();++i) {
-					Util.decRefs(list.get(i));
+					list.release(list.get(i));
 				}
 				list.removeRange(0,st);
 				list.removeRange(en-st,list.size());
 				return list;
 			} else {
 				for(int i=0;i!=en;++i) {
-					Util.decRefs(list.get(i));
+					list.release(list.get(i));
 				}
 				for(int i=st;i!=list.size();++i) {
-					Util.decRefs(list.get(i));
+					list.release(list.get(i));
 				}
 				list.removeRange(0,en);
 				list.removeRange(st-en,list.size());
@@ -146,17 +321,17 @@ public final class WyList extends java.util.ArrayList {
 	}
 	
 	public static BigInteger length(WyList list) {						
-		return BigInteger.valueOf(list.size());
+		return Util.valueOf(list.size());
 	}
 	
 	public static WyList append(WyList lhs, WyList rhs) {
 		Util.countRefs(lhs);
 		Util.countRefs(rhs);
 		if(lhs.refCount == 0) {
-			Util.nlist_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else {
 			Util.countClone(lhs);			
-			lhs = new WyList(lhs);				
+			lhs = lhs.copy();				
 		} 
 		
 		lhs.addAll(rhs);
@@ -171,10 +346,10 @@ public final class WyList extends java.util.ArrayList {
 	public static WyList append(WyList list, final Object item) {
 		Util.countRefs(list);
 		if(list.refCount == 0) {
-			Util.nlist_inplace_updates++;						
+			Util.countInplaceUpdate(list);						
 		} else { 
 			Util.countClone(list);			 	
-			list = new WyList(list);
+			list = list.copy();
 		}
 		list.add(item);
 		Util.incRefs(item);
@@ -184,10 +359,10 @@ public final class WyList extends java.util.ArrayList {
 	public static WyList append(final Object item, WyList list) {
 		Util.countRefs(list);
 		if(list.refCount == 0) {
-			Util.nlist_inplace_updates++;						
+			Util.countInplaceUpdate(list);						
 		} else { 
 			Util.countClone(list);						 
-			list = new WyList(list);
+			list = list.copy();
 		}
 		list.add(0,item);
 		Util.incRefs(item);
@@ -221,7 +396,7 @@ public final class WyList extends java.util.ArrayList {
 	 */
 	public static Object internal_get(WyList list, BigInteger index) {		
 		Object item = list.get(index.intValue());
-		if(list.refCount > 0) {
+		if(list.refCount > 0 || list.sharesElements()) {
 			Util.incRefs(item);			
 		} 
 		return item;
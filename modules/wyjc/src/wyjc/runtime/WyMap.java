@@ -28,31 +28,165 @@ package wyjc.runtime;
 import java.math.BigInteger;
 import java.util.*;
 
-public final class WyMap extends java.util.HashMap<Object,Object> {	
+public final class WyMap extends java.util.AbstractMap<Object,Object> {	
 	/**
-	 * The reference count is use to indicate how many variables are currently
-	 * referencing this compound structure. This is useful for making imperative
-	 * updates more efficient. In particular, when the <code>refCount</code> is
-	 * <code>1</code> we can safely perform an in-place update of the structure.
+	 * The reference count is used to indicate how many variables, or other
+	 * structures, are currently referencing this compound structure in addition
+	 * to the first. This is useful for making imperative updates more
+	 * efficient. In particular, when the <code>refCount</code> is
+	 * <code>0</code> we can safely perform an in-place update of the structure.
+	 * Since references are not released (see <code>Util.decRefs()</code>), the
+	 * count is a conservative upper bound.
 	 */
-	int refCount = 100;  // temporary measure
+	int refCount = 0;
 
+	/**
+	 * The entries of this map are held either in a hash map or, for a
+	 * persistent map, in a persistent hash map. Exactly one of these is
+	 * non-null.
+	 */
+	private java.util.HashMap<Object,Object> items;
+	private PersistentHashMap map;
+	
 	// ================================================================================
 	// Generic Operations
 	// ================================================================================	 	
 	
 	public WyMap() {
-		
+		this(WyCollection.persistent);
+	}
+	
+	/**
+	 * Create an empty map, which is either persistent or not regardless of
+	 * the default (see <code>WyCollection.persistent</code>).
+	 * 
+	 * @param persistent
+	 */
+	public WyMap(boolean persistent) {
+		if(persistent) {
+			map = new PersistentHashMap();
+		} else {
+			items = new java.util.HashMap<Object,Object>();
+		}
 	}
 	
 	WyMap(WyMap dict) {
-		super(dict);
+		this();
+		putAll(dict);
 		for(Map.Entry e : dict.entrySet()) {
 			Util.incRefs(e.getKey());
 			Util.incRefs(e.getValue());
 		}
 	}
 	
+	private WyMap(PersistentHashMap map) {
+		this.map = map;
+	}
+	
+	/**
+	 * Create a copy of this map which can be updated independently of it. A
+	 * persistent map shares its structure with the copy, rather than copying
+	 * every entry. In this case, the reference counts of the keys and values
+	 * are not incremented, since that would make the copy O(n). Instead, both
+	 * maps are marked as sharing their entries, and neither will release a
+	 * value it overwrites (see <code>release()</code>).
+	 * 
+	 * @return
+	 */
+	WyMap copy() {
+		if(map != null) {
+			return new WyMap(map.fork());
+		} else {
+			return new WyMap(this);
+		}
+	}
+	
+	/**
+	 * Check whether the values of this map may also be held by another map,
+	 * without their reference counts reflecting this. This happens when a
+	 * persistent map is copied, since its entries are shared rather than
+	 * copied.
+	 * 
+	 * @return
+	 */
+	boolean sharesElements() {
+		return map != null && map.shared;
+	}
+	
+	/**
+	 * Release a value which has been overwritten in this map. A value which
+	 * this map shares with another is not released, since its reference count
+	 * never accounted for the other map.
+	 * 
+	 * @param value
+	 */
+	private void release(Object value) {
+		if(!sharesElements()) {
+			Util.decRefs(value);
+		}
+	}
+	
+	public int size() {
+		if(map != null) {
+			return map.size();
+		}
+		return items.size();
+	}
+	
+	public Object get(Object key) {
+		if(map != null) {
+			Object value = map.get(key);
+			return value == PersistentHashMap.NOT_FOUND ? null : value;
+		}
+		return items.get(key);
+	}
+	
+	public boolean containsKey(Object key) {
+		if(map != null) {
+			return map.get(key) != PersistentHashMap.NOT_FOUND;
+		}
+		return items.containsKey(key);
+	}
+	
+	public Object put(Object key, Object value) {
+		if(map != null) {
+			Object old = map.put(key, value);
+			return old == PersistentHashMap.NOT_FOUND ? null : old;
+		}
+		return items.put(key, value);
+	}
+	
+	public Object remove(Object key) {
+		if(map != null) {
+			Object old = map.remove(key);
+			return old == PersistentHashMap.NOT_FOUND ? null : old;
+		}
+		return items.remove(key);
+	}
+	
+	public void clear() {
+		if(map != null) {
+			map = new PersistentHashMap();
+		} else {
+			items.clear();
+		}
+	}
+	
+	public Set<Map.Entry<Object,Object>> entrySet() {
+		if(map == null) {
+			return items.entrySet();
+		}
+		return new AbstractSet<Map.Entry<Object,Object>>() {
+			public int size() {
+				return map.size();
+			}
+
+			public java.util.Iterator<Map.Entry<Object,Object>> iterator() {
+				return map.iterator();
+			}
+		};
+	}
+	
 	public String toString() {
 		String r = "{";
 		boolean firstTime=true;
@@ -88,13 +222,13 @@ public final class WyMap extends java.util.HashMap<Object,Object> {
 		Util.countRefs(dict);
 		if(dict.refCount > 0) {
 			Util.countClone(dict);			
-			dict = new WyMap(dict);			
+			dict = dict.copy();			
 		} else {
-			Util.ndict_inplace_updates++;
+			Util.countInplaceUpdate(dict);
 		}
 		Object val = dict.put(key, value);
 		if(val != null) {
-			Util.decRefs(val);			
+			dict.release(val);
 		} else {
 			Util.incRefs(key);
 		}
@@ -103,7 +237,7 @@ public final class WyMap extends java.util.HashMap<Object,Object> {
 	}
 	
 	public static BigInteger length(WyMap dict) {		
-		return BigInteger.valueOf(dict.size());
+		return Util.valueOf(dict.size());
 	}
 	
 	public static final class Iterator implements java.util.Iterator {
@@ -137,7 +271,7 @@ public final class WyMap extends java.util.HashMap<Object,Object> {
 	 */
 	public static Object internal_get(WyMap dict, Object key) {			
 		Object item = dict.get(key);
-		if(dict.refCount > 0) {
+		if(dict.refCount > 0 || dict.sharesElements()) {
 			Util.incRefs(item);			
 		} 
 		return item;
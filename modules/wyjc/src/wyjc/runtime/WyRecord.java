@@ -26,41 +26,174 @@
 package wyjc.runtime;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public final class WyRecord extends HashMap<String,Object> {	
+/**
+ * <p>
+ * Represents a Whiley record. Every record has a <i>shape</i>, which is the
+ * sorted array of its field names, and an array holding the value of each
+ * field in the same order. Shapes are interned (see <code>shape()</code>), so
+ * all records with the same fields share a single array.
+ * </p>
+ * <p>
+ * Since the fields of a closed record type are known statically, the compiler
+ * can determine the position of each field at compile time. Such accesses then
+ * require only a single comparison to confirm the record has the expected
+ * field at that position, and fall back to a search of the shape otherwise
+ * (e.g. for open records, or unions of records).
+ * </p>
+ */
+public final class WyRecord {	
 	/**
-	 * The reference count is use to indicate how many variables are currently
-	 * referencing this compound structure. This is useful for making imperative
-	 * updates more efficient. In particular, when the <code>refCount</code> is
-	 * <code>1</code> we can safely perform an in-place update of the structure.
+	 * The reference count is used to indicate how many variables, or other
+	 * structures, are currently referencing this compound structure in addition
+	 * to the first. This is useful for making imperative updates more
+	 * efficient. In particular, when the <code>refCount</code> is
+	 * <code>0</code> we can safely perform an in-place update of the structure.
+	 * Since references are not released (see <code>Util.decRefs()</code>), the
+	 * count is a conservative upper bound.
 	 */
-	int refCount = 100; // temporary measure
+	int refCount = 0;
 	
-	public WyRecord() {}
+	/**
+	 * The interned shapes of all records created so far.
+	 */
+	private static final ConcurrentHashMap<List<String>,String[]> shapes = new ConcurrentHashMap<List<String>,String[]>();
+	
+	/**
+	 * The sorted (and interned) field names of this record.
+	 */
+	final String[] fields;
 	
-	WyRecord(HashMap<String,Object> r) {
-		super(r);
-		for(Object item : r.values()) {
+	/**
+	 * The values of this record's fields, in the same order as their names.
+	 */
+	final Object[] values;
+	
+	/**
+	 * Construct a record with a given shape, whose fields are initially
+	 * <code>null</code>.
+	 * 
+	 * @param shape
+	 *            --- shape returned from <code>shape()</code>.
+	 */
+	public WyRecord(String[] shape) {
+		this.fields = shape;
+		this.values = new Object[shape.length];
+	}
+	
+	WyRecord(WyRecord r) {
+		this.fields = r.fields;
+		this.values = r.values.clone();
+		for(Object item : values) {
 			Util.incRefs(item);
 		}
 	}
 	
+	/**
+	 * Return the unique shape for records with the given field names. The
+	 * names are interned, so they can be compared by identity against string
+	 * constants.
+	 * 
+	 * @param fields
+	 * @return
+	 */
+	public static String[] shape(String... fields) {
+		String[] shape = new String[fields.length];
+		for (int i = 0; i != fields.length; ++i) {
+			shape[i] = fields[i].intern();
+		}
+		Arrays.sort(shape);
+		List<String> key = Arrays.asList(shape);
+		String[] existing = shapes.putIfAbsent(key, shape);
+		return existing != null ? existing : shape;
+	}
+	
+	/**
+	 * Determine the position of a given field in this record, or
+	 * <code>-1</code> if it has no such field.
+	 * 
+	 * @param field
+	 * @return
+	 */
+	int indexOf(String field) {
+		int index = Arrays.binarySearch(fields, field);
+		return index < 0 ? -1 : index;
+	}
+	
+	/**
+	 * Determine the position of a given field in this record, where the
+	 * compiler expects it to be at a given position.
+	 * 
+	 * @param index
+	 *            --- expected position of the field.
+	 * @param field
+	 *            --- interned name of the field.
+	 * @return
+	 */
+	private int indexOf(int index, String field) {
+		if(index < fields.length && fields[index] == field) {
+			return index;
+		} else {
+			return indexOf(field);
+		}
+	}
+	
 	// ================================================================================
 	// Generic Operations
 	// ================================================================================	 	
 		
+	public int size() {
+		return fields.length;
+	}
+	
+	public boolean containsKey(String field) {
+		return indexOf(field) >= 0;
+	}
+	
+	public Object get(String field) {
+		int index = indexOf(field);
+		return index < 0 ? null : values[index];
+	}
+	
+	public Object put(String field, Object value) {
+		int index = indexOf(field);
+		if(index < 0) {
+			throw new IllegalArgumentException("unknown field: " + field);
+		}
+		Object old = values[index];
+		values[index] = value;
+		return old;
+	}
+	
+	public boolean equals(Object o) {
+		if(o instanceof WyRecord) {
+			WyRecord r = (WyRecord) o;
+			return (fields == r.fields || Arrays.equals(fields, r.fields))
+					&& Arrays.equals(values, r.values);
+		}
+		return false;
+	}
+	
+	public int hashCode() {
+		int hashCode = 0;
+		for(int i=0;i!=fields.length;++i) {
+			Object value = values[i];
+			hashCode += fields[i].hashCode()
+					^ (value == null ? 0 : value.hashCode());
+		}
+		return hashCode;
+	}
+	
 	public String toString() {
 		String r = "{";
 		boolean firstTime = true;
-
-		ArrayList<String> ss = new ArrayList<String>(keySet());
-		Collections.sort(ss);
-		for (String s : ss) {
+		for (int i = 0; i != fields.length; ++i) {
 			if (!firstTime) {
 				r = r + ",";
 			}
 			firstTime = false;
-			r = r + s + ":" + whiley.lang.Any$native.toString(get(s));
+			r = r + fields[i] + ":" + whiley.lang.Any$native.toString(values[i]);
 		}
 		return r + "}";
 	}
@@ -75,25 +208,86 @@ public final class WyRecord extends HashMap<String,Object> {
 		return item;
 	}
 	
+	public static Object get(final WyRecord record, final int index, final String field) {
+		int i = record.indexOf(index, field);
+		Object item = i < 0 ? null : record.values[i];
+		Util.incRefs(item);
+		return item;
+	}
+	
 	public static WyRecord put(WyRecord record, final String field, final Object value) {
+		return put(record, -1, field, value);
+	}
+	
+	public static WyRecord put(WyRecord record, final int index, final String field, final Object value) {
 		Util.countRefs(record);
 		if(record.refCount > 0) {
 			Util.countClone(record);			
 			record = new WyRecord(record);			
 		} else {
-			Util.nrecord_strong_updates++;
+			Util.countInplaceUpdate(record);
+		}
+		int i = index < 0 ? record.indexOf(field) : record.indexOf(index, field);
+		if(i < 0) {
+			throw new IllegalArgumentException("unknown field: " + field);
 		}
-		Object val = record.put(field, value);
+		Object val = record.values[i];
+		record.values[i] = value;
 		Util.decRefs(val); // decrement overwritten value
 		Util.incRefs(value);
 		return record;
 	}
 	
 	public static Object internal_get(final WyRecord record, final String field) {
-		Object item = record.get(field);
+		return internal_get(record, -1, field);
+	}
+	
+	public static Object internal_get(final WyRecord record, final int index, final String field) {
+		int i = index < 0 ? record.indexOf(field) : record.indexOf(index, field);
+		Object item = i < 0 ? null : record.values[i];
 		if(record.refCount > 0) {
 			Util.incRefs(item);
 		}
 		return item;		
 	}
+	
+	/**
+	 * This method is not intended for public consumption. It is used internally
+	 * by the compiler during record construction only.
+	 * 
+	 * @param record
+	 * @param index
+	 * @param value
+	 * @return
+	 */
+	public static WyRecord internal_put(WyRecord record, int index, Object value) {
+		record.values[index] = value;
+		return record;
+	}
+	
+	/**
+	 * This method is not intended for public consumption. It is used internally
+	 * by the compiler during type tests only. Since shapes are interned, two
+	 * records have the same fields if, and only if, they share a shape.
+	 * 
+	 * @param record
+	 * @param shape
+	 * @return
+	 */
+	public static boolean internal_hasShape(WyRecord record, String[] shape) {
+		return record.fields == shape;
+	}
+	
+	/**
+	 * This method is not intended for public consumption. It is used internally
+	 * by the compiler during type tests only. Reference counts are left
+	 * untouched, since the value does not escape the test.
+	 * 
+	 * @param record
+	 * @param index
+	 * @return
+	 */
+	public static Object internal_value(WyRecord record, int index) {
+		return record.values[index];
+	}
 }
@@ -29,30 +29,171 @@ import java.math.BigInteger;
 import java.util.*;
 
 
-public final class WySet extends java.util.HashSet {	
+public final class WySet extends java.util.AbstractSet {	
 	/**
-	 * The reference count is use to indicate how many variables are currently
-	 * referencing this compound structure. This is useful for making imperative
-	 * updates more efficient. In particular, when the <code>refCount</code> is
-	 * <code>1</code> we can safely perform an in-place update of the structure.
+	 * The reference count is used to indicate how many variables, or other
+	 * structures, are currently referencing this compound structure in addition
+	 * to the first. This is useful for making imperative updates more
+	 * efficient. In particular, when the <code>refCount</code> is
+	 * <code>0</code> we can safely perform an in-place update of the structure.
+	 * Since references are not released (see <code>Util.decRefs()</code>), the
+	 * count is a conservative upper bound.
 	 */
-	int refCount = 100;  // temporary measure 
+	int refCount = 0;
 
+	/**
+	 * The elements of this set are held either in a hash set or, for a
+	 * persistent set, as the keys of a persistent hash map. Exactly one of
+	 * these is non-null.
+	 */
+	private java.util.HashSet items;
+	private PersistentHashMap map;
+	
 	// ================================================================================
 	// Generic Operations
 	// ================================================================================	 	
 		
 	public WySet() {		
-			
+		this(WyCollection.persistent);
+	}
+	
+	/**
+	 * Create an empty set, which is either persistent or not regardless of
+	 * the default (see <code>WyCollection.persistent</code>).
+	 * 
+	 * @param persistent
+	 */
+	public WySet(boolean persistent) {
+		if(persistent) {
+			map = new PersistentHashMap();
+		} else {
+			items = new java.util.HashSet();
+		}
 	}
 	
 	private WySet(java.util.Collection items) {
-		super(items);
+		this();
+		addAll(items);
 		for(Object o : items) {
 			Util.incRefs(o);
 		}
 	}	
 	
+	private WySet(PersistentHashMap map) {
+		this.map = map;
+	}
+	
+	/**
+	 * Create a copy of this set which can be updated independently of it. A
+	 * persistent set shares its structure with the copy, rather than copying
+	 * every element. In this case, the reference counts of the elements are
+	 * not incremented, since that would make the copy O(n). Instead, both sets
+	 * are marked as sharing their elements, and neither will release an
+	 * element it removes (see <code>release()</code>).
+	 * 
+	 * @return
+	 */
+	WySet copy() {
+		if(map != null) {
+			return new WySet(map.fork());
+		} else {
+			return new WySet(this);
+		}
+	}
+	
+	/**
+	 * Release an element which has been removed from this set. An element
+	 * which this set shares with another is not released, since its reference
+	 * count never accounted for the other set.
+	 * 
+	 * @param item
+	 */
+	private void release(Object item) {
+		if(map == null || !map.shared) {
+			Util.decRefs(item);
+		}
+	}
+	
+	public int size() {
+		if(map != null) {
+			return map.size();
+		}
+		return items.size();
+	}
+	
+	public boolean contains(Object item) {
+		if(map != null) {
+			return map.get(item) != PersistentHashMap.NOT_FOUND;
+		}
+		return items.contains(item);
+	}
+	
+	public boolean add(Object item) {
+		if(map != null) {
+			return map.put(item, Boolean.TRUE) == PersistentHashMap.NOT_FOUND;
+		}
+		return items.add(item);
+	}
+	
+	public boolean remove(Object item) {
+		if(map != null) {
+			return map.remove(item) != PersistentHashMap.NOT_FOUND;
+		}
+		return items.remove(item);
+	}
+	
+	public boolean removeAll(java.util.Collection c) {
+		if(map != null) {
+			boolean changed = false;
+			for(Object o : c) {
+				changed |= remove(o);
+			}
+			return changed;
+		}
+		return items.removeAll(c);
+	}
+	
+	public boolean retainAll(java.util.Collection c) {
+		if(map != null) {
+			ArrayList dead = new ArrayList();
+			for(Object o : this) {
+				if(!c.contains(o)) {
+					dead.add(o);
+				}
+			}
+			return removeAll(dead);
+		}
+		return items.retainAll(c);
+	}
+	
+	public void clear() {
+		if(map != null) {
+			map = new PersistentHashMap();
+		} else {
+			items.clear();
+		}
+	}
+	
+	public java.util.Iterator iterator() {
+		if(map != null) {
+			final PersistentHashMap.Iterator iter = map.iterator();
+			return new java.util.Iterator() {
+				public boolean hasNext() {
+					return iter.hasNext();
+				}
+
+				public Object next() {
+					return iter.next().getKey();
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+		return items.iterator();
+	}
+	
 	public String toString() {
 		String r = "{";
 		boolean firstTime=true;
@@ -86,15 +227,15 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(rhs);
 		
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else if(rhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 			WySet tmp = rhs;
 			rhs = lhs;
 			lhs = tmp;
 		} else {
 			Util.countClone(lhs);
-			lhs = new WySet(lhs);
+			lhs = lhs.copy();
 		}		
 		lhs.addAll(rhs);
 		for(Object o : rhs) {
@@ -107,10 +248,10 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(lhs);
 		
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else {
 			Util.countClone(lhs);			
-			lhs = new WySet(lhs);			
+			lhs = lhs.copy();			
 		}
 		lhs.add(rhs);
 		Util.incRefs(rhs);
@@ -121,10 +262,10 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(rhs);
 		
 		if(rhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(rhs);						
 		} else {
 			Util.countClone(rhs);			
-			rhs = new WySet(rhs);			
+			rhs = rhs.copy();			
 		}		
 		rhs.add(lhs);
 		Util.incRefs(lhs);
@@ -136,10 +277,10 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(rhs);
 		
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else {
 			Util.countClone(lhs);
-			lhs = new WySet(lhs);
+			lhs = lhs.copy();
 		}			
 		lhs.removeAll(rhs);
 		for(Object o : rhs) {
@@ -151,10 +292,10 @@ public final class WySet extends java.util.HashSet {
 	public static WySet difference(WySet lhs, Object rhs) {
 		Util.countRefs(lhs);
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else {
 			Util.countClone(lhs);
-			lhs = new WySet(lhs);
+			lhs = lhs.copy();
 		}	
 		lhs.remove(rhs);
 		Util.decRefs(rhs); // because of constructor increment		
@@ -165,15 +306,15 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(lhs);
 		Util.countRefs(rhs);
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else if(rhs.refCount == 0) {
-			Util.nset_inplace_updates++;			
+			Util.countInplaceUpdate(lhs);			
 			WySet tmp = rhs;
 			rhs = lhs;
 			lhs = tmp;
 		} else {
 			Util.countClone(lhs);
-			lhs = new WySet(lhs);
+			lhs = lhs.copy();
 		}	
 		lhs.retainAll(rhs);
 		for(Object o : rhs) {
@@ -188,14 +329,14 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(lhs);
 		
 		if(lhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(lhs);						
 		} else {
 			Util.countClone(lhs);
-			lhs = new WySet(lhs);
+			lhs = lhs.copy();
 		}
 		
 		for(Object o : lhs) {
-			Util.decRefs(o);
+			lhs.release(o);
 		}
 		
 		lhs.clear();
@@ -212,14 +353,14 @@ public final class WySet extends java.util.HashSet {
 		Util.countRefs(rhs);
 		
 		if(rhs.refCount == 0) {
-			Util.nset_inplace_updates++;						
+			Util.countInplaceUpdate(rhs);						
 		} else {
 			Util.countClone(rhs);
-			rhs = new WySet(rhs);
+			rhs = rhs.copy();
 		}
 		
 		for(Object o : rhs) {
-			Util.decRefs(o);
+			rhs.release(o);
 		}
 		
 		rhs.clear();
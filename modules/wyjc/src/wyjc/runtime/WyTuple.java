@@ -30,12 +30,15 @@ import java.math.BigInteger;
 
 public final class WyTuple extends java.util.ArrayList {		
 	/**
-	 * The reference count is use to indicate how many variables are currently
-	 * referencing this compound structure. This is useful for making imperative
-	 * updates more efficient. In particular, when the <code>refCount</code> is
-	 * <code>1</code> we can safely perform an in-place update of the structure.
+	 * The reference count is used to indicate how many variables, or other
+	 * structures, are currently referencing this compound structure in addition
+	 * to the first. This is useful for making imperative updates more
+	 * efficient. In particular, when the <code>refCount</code> is
+	 * <code>0</code> we can safely perform an in-place update of the structure.
+	 * Since references are not released (see <code>Util.decRefs()</code>), the
+	 * count is a conservative upper bound.
 	 */
-	int refCount = 100; // temporary measure
+	int refCount = 0;
 	
 	// ================================================================================
 	// Generic Operations
@@ -0,0 +1,247 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyjc.testing;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.*;
+
+import wyjc.runtime.Util;
+import wyjc.runtime.WyMap;
+
+/**
+ * Tests for the hash array mapped trie which backs persistent sets and maps.
+ * Since the trie itself is internal to the runtime, it is exercised through
+ * maps created with <code>new WyMap(true)</code>.
+ */
+public class PersistentHashMapTests {
+
+	@Test
+	public void testPutAndGet() {
+		WyMap map = create(5000);
+		assertEquals(5000, map.size());
+		for (int i = 0; i != 5000; ++i) {
+			assertEquals(-i, map.get(i));
+			assertTrue(map.containsKey(i));
+		}
+		assertNull(map.get(5000));
+		assertFalse(map.containsKey(5000));
+	}
+
+	@Test
+	public void testReplace() {
+		WyMap map = create(100);
+		for (int i = 0; i != 100; ++i) {
+			assertEquals(-i, map.put(i, i));
+		}
+		assertEquals(100, map.size());
+		for (int i = 0; i != 100; ++i) {
+			assertEquals(i, map.get(i));
+		}
+	}
+
+	@Test
+	public void testNullKeyAndValue() {
+		WyMap map = create(10);
+		assertNull(map.put(null, 1));
+		assertEquals(-1, map.put(1, null));
+		assertEquals(11, map.size());
+		assertEquals(1, map.get(null));
+		assertTrue(map.containsKey(1));
+		assertNull(map.get(1));
+		assertEquals(1, map.remove(null));
+		assertFalse(map.containsKey(null));
+		assertEquals(10, map.size());
+	}
+
+	@Test
+	public void testFullCollisions() {
+		// every key has the same hash code, so all end up in one node
+		checkCollisions(0, 100);
+	}
+
+	@Test
+	public void testPartialCollisions() {
+		// keys share the lower bits of their hash codes, so they are only
+		// separated near the bottom of the trie
+		checkCollisions(25, 100);
+		checkCollisions(30, 100);
+	}
+
+	@Test
+	public void testIterator() {
+		WyMap map = create(2000);
+		HashMap<Object, Object> seen = new HashMap<Object, Object>();
+		for (Map.Entry<Object, Object> e : map.entrySet()) {
+			assertNull("duplicate key " + e.getKey(),
+					seen.put(e.getKey(), e.getValue()));
+		}
+		assertEquals(2000, seen.size());
+		for (int i = 0; i != 2000; ++i) {
+			assertEquals(-i, seen.get(i));
+		}
+		// iteration order is determined by the trie, so is repeatable
+		java.util.Iterator<Map.Entry<Object, Object>> i1 = map.entrySet()
+				.iterator();
+		java.util.Iterator<Map.Entry<Object, Object>> i2 = map.entrySet()
+				.iterator();
+		while (i1.hasNext()) {
+			assertEquals(i1.next().getKey(), i2.next().getKey());
+		}
+		assertFalse(i2.hasNext());
+	}
+
+	@Test
+	public void testPathCopying() {
+		WyMap original = create(2000);
+		Util.incRefs(original);
+		WyMap fork = WyMap.put(original, 1000, "x");
+		assertNotSame(original, fork);
+		Util.incRefs(fork);
+		WyMap fork2 = WyMap.put(fork, 5000, "y");
+		assertEquals(2000, original.size());
+		assertEquals(2000, fork.size());
+		assertEquals(2001, fork2.size());
+		assertEquals(-1000, original.get(1000));
+		assertEquals("x", fork.get(1000));
+		assertEquals("x", fork2.get(1000));
+		assertFalse(original.containsKey(5000));
+		assertFalse(fork.containsKey(5000));
+		assertEquals("y", fork2.get(5000));
+		for (int i = 0; i != 2000; ++i) {
+			if (i != 1000) {
+				assertEquals(-i, original.get(i));
+				assertEquals(-i, fork.get(i));
+				assertEquals(-i, fork2.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testUpdateOriginalAfterFork() {
+		WyMap original = create(100);
+		Util.incRefs(original);
+		WyMap fork = WyMap.put(original, 1, "x");
+		// the original no longer owns the shared nodes, so must copy them
+		original.put(2, "y");
+		original.remove(3);
+		assertEquals("y", original.get(2));
+		assertEquals(-2, fork.get(2));
+		assertFalse(original.containsKey(3));
+		assertEquals(-3, fork.get(3));
+		assertEquals(99, original.size());
+		assertEquals(100, fork.size());
+	}
+
+	@Test
+	public void testRemoveToEmpty() {
+		WyMap map = create(3000);
+		Util.incRefs(map);
+		WyMap fork = WyMap.put(map, 0, 0);
+		for (int i = 0; i != 3000; ++i) {
+			assertEquals(-i, map.remove(i));
+			assertNull(map.remove(i));
+			assertEquals(3000 - i - 1, map.size());
+		}
+		assertFalse(map.entrySet().iterator().hasNext());
+		assertEquals(3000, fork.size());
+		// an emptied map can still be extended
+		map.put(1, 2);
+		assertEquals(1, map.size());
+		assertEquals(2, map.get(1));
+	}
+
+	private static void checkCollisions(int shift, int n) {
+		WyMap map = new WyMap(true);
+		for (int i = 0; i != n; ++i) {
+			map.put(new Key(i, shift), i);
+		}
+		assertEquals(n, map.size());
+		for (int i = 0; i != n; ++i) {
+			assertEquals(i, map.get(new Key(i, shift)));
+		}
+		Util.incRefs(map);
+		WyMap fork = WyMap.put(map, new Key(0, shift), -1);
+		// remove every other key, then the rest
+		for (int i = 0; i < n; i += 2) {
+			assertEquals(i, map.remove(new Key(i, shift)));
+		}
+		for (int i = 0; i != n; ++i) {
+			assertEquals(i % 2 == 0 ? null : i, map.get(new Key(i, shift)));
+		}
+		for (int i = 1; i < n; i += 2) {
+			assertEquals(i, map.remove(new Key(i, shift)));
+		}
+		assertEquals(0, map.size());
+		assertFalse(map.entrySet().iterator().hasNext());
+		// the fork is unaffected
+		assertEquals(n, fork.size());
+		assertEquals(-1, fork.get(new Key(0, shift)));
+		for (int i = 1; i != n; ++i) {
+			assertEquals(i, fork.get(new Key(i, shift)));
+		}
+	}
+
+	/**
+	 * Create a map from each integer below the given size to its negation.
+	 *
+	 * @param size
+	 * @return
+	 */
+	private static WyMap create(int size) {
+		WyMap map = new WyMap(true);
+		for (int i = 0; i != size; ++i) {
+			map.put(i, -i);
+		}
+		return map;
+	}
+
+	/**
+	 * A key whose hash code is its identifier shifted left by a given amount.
+	 * Keys therefore share all bits of their hash codes below the shift, with
+	 * a shift of zero making all hash codes equal.
+	 */
+	private static final class Key {
+		private final int id;
+		private final int shift;
+
+		public Key(int id, int shift) {
+			this.id = id;
+			this.shift = shift;
+		}
+
+		public int hashCode() {
+			return shift == 0 ? 42 : id << shift;
+		}
+
+		public boolean equals(Object o) {
+			return o instanceof Key && ((Key) o).id == id;
+		}
+	}
+}
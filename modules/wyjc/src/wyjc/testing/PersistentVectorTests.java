@@ -0,0 +1,230 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyjc.testing;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+
+import org.junit.*;
+
+import wyjc.runtime.Util;
+import wyjc.runtime.WyList;
+
+/**
+ * Tests for the persistent vector which backs persistent lists. Since the
+ * vector itself is internal to the runtime, it is exercised through lists
+ * created with <code>new WyList(true)</code>. The sizes used are
+ * chosen to cross the points where the tail is pushed into the trie (32
+ * elements) and where the trie grows a level (1056 and 32800 elements).
+ */
+public class PersistentVectorTests {
+
+	private static final int[] SIZES = { 0, 1, 31, 32, 33, 64, 1055, 1056,
+			1057, 1100, 32799, 32800, 32801, 40000 };
+
+	@Test
+	public void testAddAndGet() {
+		for (int size : SIZES) {
+			WyList list = create(size);
+			assertEquals(size, list.size());
+			for (int i = 0; i != size; ++i) {
+				assertEquals(i, list.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testIteratorOrder() {
+		for (int size : SIZES) {
+			Iterator<?> iter = create(size).iterator();
+			for (int i = 0; i != size; ++i) {
+				assertTrue(iter.hasNext());
+				assertEquals(i, iter.next());
+			}
+			assertFalse(iter.hasNext());
+		}
+	}
+
+	@Test
+	public void testGetOutOfBounds() {
+		WyList list = create(40);
+		try {
+			list.get(40);
+			fail("expected IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			list.get(-1);
+			fail("expected IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+		}
+	}
+
+	@Test
+	public void testSetInPlace() {
+		WyList list = create(2000);
+		for (int i = 0; i < 2000; i += 7) {
+			// not shared, so updated in place
+			assertSame(list, WyList.set(list, BigInteger.valueOf(i), -i));
+		}
+		for (int i = 0; i != 2000; ++i) {
+			assertEquals(i % 7 == 0 ? -i : i, list.get(i));
+		}
+	}
+
+	@Test
+	public void testPathCopying() {
+		// indices in the tail, in the first leaf and deep in the trie
+		int[] indices = { 39999, 39990, 0, 31, 32, 1055, 1056, 20000 };
+		WyList original = create(40000);
+		for (int index : indices) {
+			WyList fork = fork(original, index, -1);
+			assertNotSame(original, fork);
+			assertEquals(40000, fork.size());
+			for (int i = 0; i != 40000; ++i) {
+				assertEquals(i, original.get(i));
+				assertEquals(i == index ? -1 : i, fork.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testUpdateOriginalAfterFork() {
+		WyList original = create(1100);
+		WyList fork = fork(original, 5, -5);
+		// the original no longer owns the shared nodes, so must copy them
+		original.set(5, -50);
+		original.set(1090, -1090);
+		assertEquals(-50, original.get(5));
+		assertEquals(-5, fork.get(5));
+		assertEquals(-1090, original.get(1090));
+		assertEquals(1090, fork.get(1090));
+	}
+
+	@Test
+	public void testRepeatedForks() {
+		WyList list = create(100);
+		WyList[] versions = new WyList[50];
+		for (int i = 0; i != versions.length; ++i) {
+			versions[i] = list;
+			list = fork(list, i, -i - 1);
+		}
+		for (int v = 0; v != versions.length; ++v) {
+			for (int i = 0; i != 100; ++i) {
+				assertEquals(i < v ? -i - 1 : i, versions[v].get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testAddAfterFork() {
+		for (int size : new int[] { 31, 32, 1055, 1056 }) {
+			WyList original = create(size);
+			Util.incRefs(original);
+			WyList fork = WyList.append(original, (Object) (-1));
+			// push both tails into their tries, growing them if necessary
+			for (int i = 0; i != 40; ++i) {
+				original.add(size + i);
+				fork.add(-2 - i);
+			}
+			assertEquals(size + 40, original.size());
+			assertEquals(size + 41, fork.size());
+			for (int i = 0; i != size; ++i) {
+				assertEquals(i, original.get(i));
+				assertEquals(i, fork.get(i));
+			}
+			for (int i = 0; i != 40; ++i) {
+				assertEquals(size + i, original.get(size + i));
+			}
+			assertEquals(-1, fork.get(size));
+			for (int i = 0; i != 40; ++i) {
+				assertEquals(-2 - i, fork.get(size + 1 + i));
+			}
+		}
+	}
+
+	@Test
+	public void testRemoveToEmpty() {
+		WyList list = create(1100);
+		while (list.size() > 0) {
+			int size = list.size();
+			list.remove(size - 1);
+			assertEquals(size - 1, list.size());
+			if (size > 1) {
+				assertEquals(size - 2, list.get(size - 2));
+			}
+		}
+		assertFalse(list.iterator().hasNext());
+		// an emptied list can still be extended
+		list.add(1);
+		assertEquals(1, list.size());
+		assertEquals(1, list.get(0));
+	}
+
+	@Test
+	public void testSublistAfterFork() {
+		WyList original = create(100);
+		Util.incRefs(original);
+		WyList sub = WyList.sublist(original, BigInteger.valueOf(10),
+				BigInteger.valueOf(20));
+		assertEquals(100, original.size());
+		assertEquals(10, sub.size());
+		for (int i = 0; i != 10; ++i) {
+			assertEquals(10 + i, sub.get(i));
+		}
+	}
+
+	/**
+	 * Create a list holding the integers from zero up to (but not including)
+	 * the given size.
+	 *
+	 * @param size
+	 * @return
+	 */
+	private static WyList create(int size) {
+		WyList list = new WyList(true);
+		for (int i = 0; i != size; ++i) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	/**
+	 * Update a list which is shared, so that it is forked rather than updated
+	 * in place.
+	 *
+	 * @param list
+	 * @param index
+	 * @param value
+	 * @return
+	 */
+	private static WyList fork(WyList list, int index, Object value) {
+		Util.incRefs(list);
+		return WyList.set(list, BigInteger.valueOf(index), value);
+	}
+}
@@ -1041,6 +1041,11 @@ import wyjc.util.WyjcBuildTask;
 		runTest("For_Valid_18");
 	}
 
+	@Test
+	public void For_Valid_19() {
+		runTest("For_Valid_19");
+	}
+
 	@Test
 	public void For_Valid_2() {
 		runTest("For_Valid_2");
@@ -1339,6 +1344,11 @@ import wyjc.util.WyjcBuildTask;
 		runTest("IntOp_Valid_1");
 	}
 
+	@Test
+	public void IntOp_Valid_2() {
+		runTest("IntOp_Valid_2");
+	}
+
 	@Ignore("Issue ???") @Test
 	public void Intersection_Valid_1() {
 		runTest("Intersection_Valid_1");
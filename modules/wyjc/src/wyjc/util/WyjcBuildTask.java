@@ -92,6 +92,12 @@ public class WyjcBuildTask extends wyc.util.WycBuildTask {
 	 */
 	protected DirectoryRoot classDir;
 	
+	/**
+	 * Determines whether generated programs use persistent collections (see
+	 * <code>Wyil2JavaBuilder</code>).
+	 */
+	protected boolean persistentCollections = false;
+	
 	public WyjcBuildTask() {
 		super(new Registry());
 	}
@@ -122,6 +128,10 @@ public class WyjcBuildTask extends wyc.util.WycBuildTask {
 		this.classDir = new DirectoryRoot(classdir, classFileFilter,
 				registry);
 	}
+	
+	public void setPersistentCollections(boolean flag) {
+		this.persistentCollections = flag;
+	}
 		
 	@Override
 	protected void addBuildRules(StdProject project) {
@@ -132,6 +142,7 @@ public class WyjcBuildTask extends wyc.util.WycBuildTask {
 		// the Wyil2JavaBuilder.
 		
 		Wyil2JavaBuilder jbuilder = new Wyil2JavaBuilder(project);
+		jbuilder.setPersistentCollections(persistentCollections);
 
 		if (verbose) {
 			jbuilder.setLogger(new Logger.Default(System.err));
@@ -28,6 +28,7 @@ package wyautl.core;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashMap;
 
 import wyautl.core.Automaton.State;
 import wyautl.util.BinaryMatrix;
@@ -373,6 +374,480 @@ public class Automata {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Determine, for every state in the given automaton, the unique
+	 * representative of its equivalence class. The representative is always
+	 * the state with the lowest index in its class. This produces the same
+	 * mapping as <code>determineEquivalenceClasses()</code> followed by
+	 * <code>determineRepresentativeStates()</code>, but without constructing
+	 * an N*N matrix.
+	 * </p>
+	 * <p>
+	 * Equivalence classes are determined by partition refinement, in the style
+	 * of Hopcroft's algorithm. States are initially partitioned by kind (and
+	 * value, for constants), and each block is then repeatedly split according
+	 * to the blocks of its states' children. Whenever a block is split, the
+	 * largest part retains its identifier and only predecessors of states in
+	 * the remaining parts need to be reconsidered. Since every state can only
+	 * be moved into a part at most half the size of its block O(log N) times,
+	 * this runs in O(E log N) time for an automaton with E transitions.
+	 * </p>
+	 * 
+	 * @param automaton
+	 *            --- The automaton being minimised.
+	 * @param mapping
+	 *            --- Returns a mapping of states in the automaton to their
+	 *            representative states. This array must be at least of size
+	 *            <code>nStates</code>.
+	 */
+	public final static void determineRepresentativeStates(
+			Automaton automaton, int[] mapping) {
+		new PartitionRefinement(automaton).apply(mapping);
+	}
+
+	/**
+	 * Determine, for every state in the given automaton, the unique
+	 * representative of its equivalence class using a binary equivalence
+	 * matrix of size N*N. This requires O(N^2) space and can take O(N^3)
+	 * time, and is retained primarily as a reference implementation for
+	 * testing <code>determineRepresentativeStates()</code>.
+	 * 
+	 * @param automaton
+	 *            --- The automaton being minimised.
+	 * @param mapping
+	 *            --- Returns a mapping of states in the automaton to their
+	 *            representative states. This array must be at least of size
+	 *            <code>nStates</code>.
+	 */
+	public final static void determineRepresentativeStatesByMatrix(
+			Automaton automaton, int[] mapping) {
+		int nStates = automaton.nStates();
+		BinaryMatrix equivs = new BinaryMatrix(nStates, nStates, true);
+		determineEquivalenceClasses(automaton, equivs);
+		determineRepresentativeStates(automaton, equivs, mapping);
+	}
+
+	/**
+	 * Implements the partition refinement algorithm used for determining the
+	 * equivalence classes of an automaton. Blocks are identified by
+	 * non-negative integers, whilst virtual states are identified by their
+	 * (negative) index. This ensures the two can never be confused when
+	 * comparing the signatures of states.
+	 */
+	private static final class PartitionRefinement {
+		private final Automaton automaton;
+		private final int nStates;
+
+		/**
+		 * Maps each (non-null) state to the block it's currently in. Null
+		 * states are mapped to K_VOID.
+		 */
+		private final int[] block;
+
+		/**
+		 * Holds every (non-null) state, arranged so that the members of each
+		 * block are contiguous. That is, the members of block b are
+		 * <code>elements[first[b]] .. elements[end[b]-1]</code>. Furthermore,
+		 * the first <code>marked[b]</code> of these are the members which are
+		 * affected by the current splitter.
+		 */
+		private final int[] elements;
+
+		/**
+		 * Maps each (non-null) state to its position in the elements array.
+		 */
+		private final int[] location;
+
+		private final int[] first;
+		private final int[] end;
+		private final int[] marked;
+
+		/**
+		 * The number of blocks currently in the partition.
+		 */
+		private int nBlocks;
+
+		/**
+		 * The predecessors of each state, stored in compressed form. That is,
+		 * the predecessors of state i are
+		 * <code>preds[predStart[i]] .. preds[predStart[i+1]-1]</code>.
+		 */
+		private final int[] predStart;
+		private final int[] preds;
+
+		/**
+		 * The blocks whose states' predecessors must be reconsidered. Since a
+		 * block is only ever added when it is created, this never holds more
+		 * than one entry per block.
+		 */
+		private final int[] worklist;
+		private int worklistHead;
+		private int worklistTail;
+
+		/**
+		 * The blocks containing states marked by the current splitter.
+		 */
+		private final int[] touched;
+		private int nTouched;
+
+		/**
+		 * Scratch space used for collecting the predecessors of a splitter, and
+		 * for grouping the marked states of a block by their signature.
+		 */
+		private final boolean[] stateMarks;
+		private final int[] affected;
+		private final int[] group;
+		private final int[] groupStart;
+
+		public PartitionRefinement(Automaton automaton) {
+			this.automaton = automaton;
+			this.nStates = automaton.nStates();
+			this.block = new int[nStates];
+			this.elements = new int[nStates];
+			this.location = new int[nStates];
+			this.first = new int[nStates];
+			this.end = new int[nStates];
+			this.marked = new int[nStates];
+			this.worklist = new int[nStates];
+			this.touched = new int[nStates];
+			this.stateMarks = new boolean[nStates];
+			this.affected = new int[nStates];
+			this.group = new int[nStates];
+			this.groupStart = new int[nStates + 1];
+			this.predStart = new int[nStates + 1];
+
+			// First, count the predecessors of each state.
+			int nTransitions = 0;
+			for (int i = 0; i != nStates; ++i) {
+				Automaton.State state = automaton.get(i);
+				if (state instanceof Automaton.Term) {
+					int child = ((Automaton.Term) state).contents;
+					if (child >= 0) {
+						predStart[child + 1]++;
+						nTransitions++;
+					}
+				} else if (state instanceof Automaton.Collection) {
+					Automaton.Collection c = (Automaton.Collection) state;
+					for (int j = 0; j != c.length; ++j) {
+						int child = c.children[j];
+						if (child >= 0) {
+							predStart[child + 1]++;
+							nTransitions++;
+						}
+					}
+				}
+			}
+			for (int i = 0; i != nStates; ++i) {
+				predStart[i + 1] += predStart[i];
+			}
+
+			// Second, fill in the predecessors themselves.
+			this.preds = new int[nTransitions];
+			int[] next = Arrays.copyOf(predStart, nStates);
+			for (int i = 0; i != nStates; ++i) {
+				Automaton.State state = automaton.get(i);
+				if (state instanceof Automaton.Term) {
+					int child = ((Automaton.Term) state).contents;
+					if (child >= 0) {
+						preds[next[child]++] = i;
+					}
+				} else if (state instanceof Automaton.Collection) {
+					Automaton.Collection c = (Automaton.Collection) state;
+					for (int j = 0; j != c.length; ++j) {
+						int child = c.children[j];
+						if (child >= 0) {
+							preds[next[child]++] = i;
+						}
+					}
+				}
+			}
+		}
+
+		public void apply(int[] mapping) {
+			initialise();
+
+			while (worklistHead != worklistTail) {
+				int splitter = worklist[worklistHead++];
+				// First, collect the predecessors of all states in the
+				// splitter. These are collected before any are marked, since
+				// marking reorders the members of their blocks (which may
+				// include the splitter itself).
+				int nAffected = 0;
+				for (int k = first[splitter]; k != end[splitter]; ++k) {
+					int s = elements[k];
+					for (int l = predStart[s]; l != predStart[s + 1]; ++l) {
+						int pred = preds[l];
+						if (!stateMarks[pred]) {
+							stateMarks[pred] = true;
+							affected[nAffected++] = pred;
+						}
+					}
+				}
+				// Second, mark them within their blocks.
+				for (int i = 0; i != nAffected; ++i) {
+					int s = affected[i];
+					stateMarks[s] = false;
+					mark(s);
+				}
+				// Finally, split each block containing marked states.
+				for (int i = 0; i != nTouched; ++i) {
+					split(touched[i]);
+				}
+				nTouched = 0;
+			}
+
+			// Select the lowest state in each block as its representative.
+			// Since states are visited in increasing order, this is the first
+			// state seen from each block.
+			int[] representative = new int[nBlocks];
+			Arrays.fill(representative, Automaton.K_VOID);
+			for (int i = 0; i != nStates; ++i) {
+				int b = block[i];
+				if (b != Automaton.K_VOID) {
+					if (representative[b] == Automaton.K_VOID) {
+						representative[b] = i;
+					}
+					mapping[i] = representative[b];
+				}
+			}
+		}
+
+		/**
+		 * Construct the initial partition, where states are divided by kind
+		 * and, in the case of constants, by value. Then, split every block
+		 * according to the initial partition.
+		 */
+		private void initialise() {
+			HashMap<Object, Integer> blocks = new HashMap<Object, Integer>();
+			int[] sizes = new int[nStates];
+			for (int i = 0; i != nStates; ++i) {
+				Automaton.State state = automaton.get(i);
+				if (state == null) {
+					block[i] = Automaton.K_VOID;
+				} else {
+					Object key = state instanceof Automaton.Constant ? state
+							: state.kind;
+					Integer b = blocks.get(key);
+					if (b == null) {
+						b = nBlocks++;
+						blocks.put(key, b);
+					}
+					block[i] = b;
+					sizes[b]++;
+				}
+			}
+			int offset = 0;
+			for (int b = 0; b != nBlocks; ++b) {
+				first[b] = offset;
+				end[b] = offset;
+				offset += sizes[b];
+			}
+			for (int i = 0; i != nStates; ++i) {
+				int b = block[i];
+				if (b != Automaton.K_VOID) {
+					location[i] = end[b];
+					elements[end[b]++] = i;
+				}
+			}
+			// Every state is affected initially
+			int nInitialBlocks = nBlocks;
+			for (int b = 0; b != nInitialBlocks; ++b) {
+				marked[b] = end[b] - first[b];
+				split(b);
+			}
+		}
+
+		/**
+		 * Mark a given state as affected by the current splitter. This moves
+		 * it into the marked region at the front of its block.
+		 * 
+		 * @param s
+		 *            --- state to be marked.
+		 */
+		private void mark(int s) {
+			int b = block[s];
+			int m = marked[b];
+			if (m == 0) {
+				touched[nTouched++] = b;
+			}
+			int pos = first[b] + m;
+			int other = elements[pos];
+			int loc = location[s];
+			elements[loc] = other;
+			location[other] = loc;
+			elements[pos] = s;
+			location[s] = pos;
+			marked[b] = m + 1;
+		}
+
+		/**
+		 * Split a given block according to the signatures of its marked
+		 * members. Only the marked members are visited, whilst the unmarked
+		 * remainder is left untouched. Marked states always have a different
+		 * signature from the unmarked states in the same block, since the
+		 * latter do not refer to any newly created block. The marked states are
+		 * first grouped in place by signature and, then, the largest part
+		 * (which may be the unmarked remainder) retains the identifier of the
+		 * original block. All other parts are given new identifiers and added
+		 * to the worklist. Since a state only ever has its block changed when
+		 * it moves into a part at most half the size of its original block,
+		 * this happens at most O(log N) times for any state.
+		 * 
+		 * @param b
+		 *            --- block to be split.
+		 */
+		private void split(int b) {
+			int f = first[b];
+			int m = marked[b];
+			marked[b] = 0;
+
+			// First, group the marked states by signature.
+			int nGroups = 1;
+			if (m > 1) {
+				HashMap<Signature, Integer> groups = new HashMap<Signature, Integer>();
+				nGroups = 0;
+				for (int k = f; k != f + m; ++k) {
+					int s = elements[k];
+					Signature sig = signature(s);
+					Integer g = groups.get(sig);
+					if (g == null) {
+						g = nGroups++;
+						groups.put(sig, g);
+						groupStart[g + 1] = 0;
+					}
+					group[s] = g;
+					groupStart[g + 1]++;
+				}
+			}
+			int nParts = f + m == end[b] ? nGroups : nGroups + 1;
+			if (nParts == 1) {
+				return; // no split
+			}
+
+			// Second, rearrange the marked region so each group is contiguous.
+			// This uses the scratch space of affected states, which is no
+			// longer required by this point.
+			if (nGroups > 1) {
+				groupStart[0] = 0;
+				for (int g = 0; g != nGroups; ++g) {
+					groupStart[g + 1] += groupStart[g];
+				}
+				for (int k = f; k != f + m; ++k) {
+					int s = elements[k];
+					affected[groupStart[group[s]]++] = s;
+				}
+				for (int i = 0; i != m; ++i) {
+					int s = affected[i];
+					elements[f + i] = s;
+					location[s] = f + i;
+				}
+				// groupStart[g] now holds the end of group g (relative to f)
+				for (int g = nGroups; g > 0; --g) {
+					groupStart[g] = groupStart[g - 1];
+				}
+				groupStart[0] = 0;
+			} else {
+				groupStart[0] = 0;
+				groupStart[1] = m;
+			}
+			// The unmarked remainder forms the final part.
+			groupStart[nGroups] = m;
+			if (nParts > nGroups) {
+				groupStart[nParts] = end[b] - f;
+			}
+
+			// Third, determine the largest part, which retains this block's
+			// identifier.
+			int largest = 0;
+			for (int p = 1; p != nParts; ++p) {
+				int size = groupStart[p + 1] - groupStart[p];
+				if (size > groupStart[largest + 1] - groupStart[largest]) {
+					largest = p;
+				}
+			}
+			for (int p = 0; p != nParts; ++p) {
+				int start = f + groupStart[p];
+				int finish = f + groupStart[p + 1];
+				if (p == largest) {
+					first[b] = start;
+					end[b] = finish;
+				} else {
+					int nb = nBlocks++;
+					first[nb] = start;
+					end[nb] = finish;
+					for (int k = start; k != finish; ++k) {
+						block[elements[k]] = nb;
+					}
+					worklist[worklistTail++] = nb;
+				}
+			}
+		}
+
+		/**
+		 * Determine the signature of a given state with respect to the current
+		 * partition. Two states in the same block are equivalent under the
+		 * current partition iff they have the same signature.
+		 * 
+		 * @param index
+		 *            --- state whose signature to compute.
+		 * @return
+		 */
+		private Signature signature(int index) {
+			Automaton.State state = automaton.get(index);
+			int[] sig;
+			if (state instanceof Automaton.Term) {
+				sig = new int[] { map(((Automaton.Term) state).contents) };
+			} else if (state instanceof Automaton.Collection) {
+				Automaton.Collection c = (Automaton.Collection) state;
+				sig = new int[c.length];
+				for (int j = 0; j != sig.length; ++j) {
+					sig[j] = map(c.children[j]);
+				}
+				if (state instanceof Automaton.Set) {
+					// sets are compared by their distinct child blocks
+					Arrays.sort(sig);
+					int n = 0;
+					for (int j = 0; j != sig.length; ++j) {
+						if (j == 0 || sig[j] != sig[j - 1]) {
+							sig[n++] = sig[j];
+						}
+					}
+					sig = Arrays.copyOf(sig, n);
+				} else if (state instanceof Automaton.Bag) {
+					// bags are compared by the number of children in each block
+					Arrays.sort(sig);
+				}
+			} else {
+				sig = Automaton.NOCHILDREN;
+			}
+			return new Signature(sig);
+		}
+
+		private int map(int child) {
+			return child < 0 ? child : block[child];
+		}
+	}
+
+	private static final class Signature {
+		private final int[] items;
+		private final int hashCode;
+
+		public Signature(int[] items) {
+			this.items = items;
+			this.hashCode = Arrays.hashCode(items);
+		}
+
+		public boolean equals(Object o) {
+			return o instanceof Signature
+					&& Arrays.equals(items, ((Signature) o).items);
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
 	/**
 	 * Determine which states are equivalent using a binary matrix of size N*N,
 	 * where N is the number of states in the given automaton. This method is
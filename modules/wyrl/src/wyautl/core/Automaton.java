@@ -29,7 +29,6 @@ import java.math.BigInteger;
 import java.util.*;
 
 import wyautl.util.BigRational;
-import wyautl.util.BinaryMatrix;
 
 /**
  * <p>
@@ -186,6 +185,58 @@ public final class Automaton {
 	 */
 	private int[] roots;
 
+	/**
+	 * <p>
+	 * An index from the contents of a state to the (lowest) index of that state
+	 * in the states array. This allows <code>add()</code> to identify an
+	 * existing equivalent state without scanning the entire automaton. The
+	 * index is built lazily on the first call to <code>add()</code> and, from
+	 * then on, is kept up to date by every operation which modifies a state.
+	 * In particular, a state which is remapped in place (e.g. by
+	 * <code>rewrite()</code> or <code>minimise()</code>) is removed from the
+	 * index before it is modified and added again afterwards.
+	 * </p>
+	 * <p>
+	 * The key of each entry is the very state object held at the index it
+	 * maps to. Hence, a state is a key exactly when the index maps it to its
+	 * own index, and removing such a state from the index before modifying it
+	 * ensures no key is ever changed whilst in the index.
+	 * </p>
+	 * <p>
+	 * <b>NOTE:</b> a state which is modified in place other than through this
+	 * class will invalidate its entry. Therefore, entries are checked against
+	 * the states array before use.
+	 * </p>
+	 */
+	private HashMap<State,Integer> index;
+
+	/**
+	 * <p>
+	 * When change tracking is enabled, this records the index of every state
+	 * which has been modified, added or removed since the log was last
+	 * cleared. Each index appears at most once, and is accompanied (in
+	 * <code>originals</code>) by a copy of the state as it was before the
+	 * first such change (or <code>null</code> if there was no state at that
+	 * index). This allows a client to update information it maintains about
+	 * the automaton (e.g. which states are reachable) by considering only
+	 * those states which have changed, rather than every state.
+	 * </p>
+	 * <p>
+	 * When change tracking is disabled (the default), this is
+	 * <code>null</code>.
+	 * </p>
+	 */
+	private int[] changes;
+	private State[] originals;
+	private int nChanges;
+
+	/**
+	 * Identifies which states are currently recorded in the change log. More
+	 * specifically, <code>changeMarks[i]</code> holds iff state
+	 * <code>i</code> is in the log.
+	 */
+	private boolean[] changeMarks;
+
 	public Automaton() {
 		this.states = new Automaton.State[DEFAULT_NUM_STATES];
 		this.roots = new int[DEFAULT_NUM_ROOTS];
@@ -299,7 +350,14 @@ public final class Automaton {
 	 *            --- state to replace existing state with.
 	 */
 	public void set(int index, State state) {
-		states[index] = state;
+		record(index);
+		if (this.index != null) {
+			unindex(index);
+			states[index] = state;
+			reindex(index);
+		} else {
+			states[index] = state;
+		}
 	}
 
 	/**
@@ -315,6 +373,12 @@ public final class Automaton {
 	 * the automaton remains minimised (provided it was minimised initially),
 	 * although it may not remain compacted if this state is unreachable.
 	 * </p>
+	 * <p>
+	 * <b>NOTE:</b> equivalent states are located using a hash index, rather
+	 * than by scanning the automaton. Therefore, a state must not be modified
+	 * in place after it has been added, other than through the methods
+	 * provided by this class.
+	 * </p>
 	 * 
 	 * @param state
 	 *            --- automaton state to be added.
@@ -340,15 +404,15 @@ public final class Automaton {
 
 		// Second, check to see whether there already exists an equivalent
 		// state.
-		for (int i = 0; i != nStates; ++i) {
-			State ith = states[i];
-			if (ith != null && ith.equals(state)) {
-				return i; // match
-			}
+		int match = lookup(state);
+		if (match != K_VOID) {
+			return match;
 		}
 
 		// Finally, allocate a new state!
-		return internalAdd(state);
+		int i = internalAdd(state);
+		index.put(state, i);
+		return i;
 	}
 
 	/**
@@ -380,7 +444,7 @@ public final class Automaton {
 			for (int i = 0; i != automaton_nStates; ++i) {
 				int index = binding[i];
 				if (index != K_VOID) {
-					states[index].remap(binding);
+					remap(index, binding);
 				}
 			}
 			// map root from automaton space to this space.
@@ -395,18 +459,23 @@ public final class Automaton {
 	}
 	
 	public void swap(final Automaton other) {
+		recordAll();
+		other.recordAll();
 		int other_nstates = other.nStates;
 		Automaton.State[] other_states = other.states;
 		int other_nroots = other.nRoots;
 		int[] other_roots = other.roots;
+		HashMap<State,Integer> other_index = other.index;
 		other.states = states;
 		other.nStates = nStates;
 		other.roots = roots;
 		other.nRoots = nRoots;
+		other.index = index;
 		this.states = other_states;
 		this.nStates = other_nstates;
 		this.roots = other_roots;
 		this.nRoots = other_nroots;
+		this.index = other_index;
 	}
 	
 	/**
@@ -481,9 +550,8 @@ public final class Automaton {
 			}
 			binding[from] = to;
 			for (int i = 0; i < nStates; ++i) {
-				State s = states[i];
-				if (s != null) {
-					s.remap(binding);
+				if (states[i] != null) {
+					remap(i, binding);
 				}
 			}
 			// map root markers
@@ -533,7 +601,7 @@ public final class Automaton {
 			for (int i = 0; i != initialNumStates; ++i) {
 				int index = binding[i];
 				if (index != K_VOID && i != search) {					
-					states[index].remap(binding);
+					remap(index, binding);
 				}			
 			}		
 			source = binding[source];
@@ -593,7 +661,7 @@ public final class Automaton {
 		for (int i = 0; i != initialNumStates; ++i) {
 			int index = binding[i];
 			if (index != K_VOID && mapping[i] == i) {					
-				states[index].remap(binding);
+				remap(index, binding);
 			}
 		}		
 		source = binding[source];	
@@ -665,6 +733,8 @@ public final class Automaton {
 	 */
 	public void compact(int[] binding) {
 		Automata.eliminateUnreachableStates(this,0,nStates,binding);
+		// Every state may move, so record them all.
+		recordAll();
 		
 		int j=0;
 		for(int i=0;i!=nStates;++i) {
@@ -680,6 +750,10 @@ public final class Automaton {
 		for(int i=0;i!=nStates;++i) {
 			states[i].remap(binding);
 		}
+		if (index != null) {
+			// Every state may have moved, so re-key the index in place.
+			reindexAll();
+		}
 		for (int i = 0; i != nRoots; ++i) {
 			int root = roots[i];
 			if (root >= 0) {
@@ -697,6 +771,10 @@ public final class Automaton {
 	public void resize(int nStates) {
 		if (nStates < this.nStates) {
 			for (int i = this.nStates-1; i >= nStates; --i) {
+				record(i);
+				if (index != null) {
+					unindex(i);
+				}
 				states[i] = null; // nullify
 			}
 		} else if (nStates > states.length) {
@@ -762,7 +840,16 @@ public final class Automaton {
 				Automata.extend(i, candidates, this);
 			}
 
+			// Reordering remaps states before moving them and, hence, the index
+			// cannot be maintained during it. Instead, it is re-keyed afterwards.
+			recordAll();
+			HashMap<State,Integer> saved = index;
+			index = null;
 			Automata.reorder(this, candidates.get(0).n2i);
+			if (saved != null) {
+				index = saved;
+				reindexAll();
+			}
 			
 			// NOTE: the following line if for debugging purposes (as per note above).
 			//
@@ -783,7 +870,9 @@ public final class Automaton {
 	 */
 	public void remap(int[] binding) {
 		for(int i=0;i!=nStates;++i) {
-			states[i].remap(binding);
+			if (states[i] != null) {
+				remap(i, binding);
+			}
 		}
 		for (int i = 0; i != nRoots; ++i) {
 			int root = roots[i];
@@ -793,6 +882,113 @@ public final class Automaton {
 		}
 	}
 	
+	/**
+	 * Remap the state at a given index according to a specific remapping from
+	 * old indices to new indices. This is equivalent to <code>remap()</code>,
+	 * except that only a single state is affected and root markers are left
+	 * unchanged. This is useful when it is known which states could refer to
+	 * states being remapped.
+	 * 
+	 * @param index
+	 *            --- index of state to remap. If there is no state at this
+	 *            index, then nothing happens.
+	 * @param binding
+	 * @return True if the state was changed.
+	 */
+	public boolean remap(int index, int[] binding) {
+		State state = states[index];
+		if (state == null) {
+			return false;
+		} else if ((this.index != null || changes != null)
+				&& isAffected(state, binding)) {
+			// Only states which actually change need be removed from (and
+			// then added back to) the index, or recorded as changed.
+			record(index);
+			if (this.index != null) {
+				unindex(index);
+				state.remap(binding);
+				reindex(index);
+			} else {
+				state.remap(binding);
+			}
+			return true;
+		} else {
+			return state.remap(binding);
+		}
+	}
+
+	/**
+	 * Enable or disable change tracking for this automaton. When enabled, the
+	 * index of every state which is modified, added or removed is recorded in
+	 * a change log, along with a copy of that state before it was first
+	 * changed. Enabling (or disabling) change tracking clears the log.
+	 * 
+	 * @param enable
+	 */
+	public void setChangeTracking(boolean enable) {
+		if (enable) {
+			changes = new int[DEFAULT_NUM_STATES];
+			originals = new State[DEFAULT_NUM_STATES];
+			changeMarks = new boolean[Math.max(states.length, DEFAULT_NUM_STATES)];
+			nChanges = 0;
+		} else {
+			changes = null;
+			originals = null;
+			changeMarks = null;
+			nChanges = 0;
+		}
+	}
+
+	/**
+	 * Return the number of states recorded in the change log. If change
+	 * tracking is not enabled, this is always zero.
+	 * 
+	 * @return
+	 */
+	public int nChanges() {
+		return nChanges;
+	}
+
+	/**
+	 * Return the index of the ith state recorded in the change log. Note that
+	 * this index may be greater or equal to <code>nStates()</code>, in which
+	 * case the state has been removed.
+	 * 
+	 * @param i
+	 *            --- position in the change log, where
+	 *            <code>0 <= i < nChanges()</code>.
+	 * @return
+	 */
+	public int getChange(int i) {
+		return changes[i];
+	}
+
+	/**
+	 * Return the ith state recorded in the change log as it was before being
+	 * changed, or <code>null</code> if there was no state at that index
+	 * beforehand.
+	 * 
+	 * @param i
+	 *            --- position in the change log, where
+	 *            <code>0 <= i < nChanges()</code>.
+	 * @return
+	 */
+	public State getOriginal(int i) {
+		return originals[i];
+	}
+
+	/**
+	 * Clear the change log, such that subsequent changes are recorded relative
+	 * to the automaton as it is now.
+	 */
+	public void clearChanges() {
+		for (int i = 0; i != nChanges; ++i) {
+			changeMarks[changes[i]] = false;
+			originals[i] = null;
+		}
+		nChanges = 0;
+	}
+
 	/**
 	 * Mark a given state. This means it is treated specially, and will never be
 	 * deleted from the automaton as a result of garbage collection.
@@ -1053,7 +1249,7 @@ public final class Automaton {
 		}
 
 		public int hashCode() {
-			return contents * kind;
+			return (kind * 31) + contents;
 		}
 
 		public String toString() {
@@ -1323,7 +1519,7 @@ public final class Automaton {
 		public int hashCode() {
 			int hashCode = kind;
 			for (int i = 0; i != length; ++i) {
-				hashCode ^= children[i];
+				hashCode = (hashCode * 31) + children[i];
 			}
 			return hashCode;
 		}
@@ -1614,6 +1810,8 @@ public final class Automaton {
 	 * @return
 	 */
 	private void copy(Automaton automaton, int root, int[] binding) {
+		// NOTE: the copies are not added to the index here, since they are
+		// subsequently remapped by the caller (which then adds them).
 		Automata.traverse(automaton, root, binding);
 		// I save a snapshot of the automaton size at this point in order to
 		// handle the case where we're copying from *this* automaton into *this*
@@ -1656,27 +1854,32 @@ public final class Automaton {
 	 *            array must be at least of size <code>nStates</code>.
 	 */
 	private void minimise(int[] binding) {
-		BinaryMatrix equivs = new BinaryMatrix(nStates, nStates, true);
-		Automata.determineEquivalenceClasses(this, equivs);
-		Automata.determineRepresentativeStates(this, equivs, binding);
-
-		// First, remap states so all references are to the unique
-		// representatives.
-		for (int i = 0; i != nStates; ++i) {			
-			if(binding[i] != i) {
-				// This state has be subsumed by another state which was the
-				// representative for its equivalence class. Therefore, the
-				// state must now be unreachable.
+		Automata.determineRepresentativeStates(this, binding);
+
+		// First, eliminate every state which has been subsumed by the
+		// representative for its equivalence class. Such states must now be
+		// unreachable. This is done before any representative is remapped, so
+		// that a subsumed state cannot remove the index entry of a
+		// representative which has been remapped onto the same contents.
+		for (int i = 0; i != nStates; ++i) {
+			if (binding[i] != i && states[i] != null) {
+				record(i);
+				if (index != null) {
+					unindex(i);
+				}
 				states[i] = null;
-			} else if(states[i] != null) {
-				// This state is the unique representative for its equivalence
-				// class. Therefore, retain it whilst remapping all of its
-				// references appropriately. 
-				states[i].remap(binding);
 			}
 		}
 
-		// Second, remap the root references so that they also refer to the
+		// Second, remap the representative states so all references are to
+		// the unique representatives.
+		for (int i = 0; i != nStates; ++i) {
+			if (states[i] != null) {
+				remap(i, binding);
+			}
+		}
+
+		// Third, remap the root references so that they also refer to the
 		// unique representatives. 
 		for (int i = 0; i != nRoots; ++i) {
 			int root = roots[i];
@@ -1686,12 +1889,163 @@ public final class Automaton {
 		}
 	}
 	
+	/**
+	 * Determine the index of an existing state which is equivalent to the given
+	 * state, building the index first if necessary. Any match is checked
+	 * against the states array and, should it turn out to be stale (i.e.
+	 * because a state was modified in place outside of this class), then the
+	 * index is rebuilt and the lookup repeated.
+	 * 
+	 * @param state
+	 *            --- state to look for.
+	 * @return the index of an equivalent state, or K_VOID if none exists.
+	 */
+	private int lookup(Automaton.State state) {
+		if (index == null) {
+			buildIndex();
+		}
+		Integer i = index.get(state);
+		if (i == null) {
+			return K_VOID;
+		} else if (i < nStates && state.equals(states[i])) {
+			return i;
+		} else {
+			// stale entry, so rebuild and try again.
+			buildIndex();
+			i = index.get(state);
+			return i == null ? K_VOID : i;
+		}
+	}
+
+	/**
+	 * Construct the index from scratch. Where there are multiple equivalent
+	 * states (i.e. the automaton is not minimised), the one with the lowest
+	 * index is recorded.
+	 */
+	private void buildIndex() {
+		index = new HashMap<State,Integer>(nStates * 2);
+		reindexAll();
+	}
+
+	/**
+	 * Re-key the index from scratch against the current states array. This is
+	 * used when every state may have moved (e.g. after compaction).
+	 */
+	private void reindexAll() {
+		index.clear();
+		for (int i = 0; i != nStates; ++i) {
+			State ith = states[i];
+			if (ith != null && !index.containsKey(ith)) {
+				index.put(ith, i);
+			}
+		}
+	}
+
+	/**
+	 * Add the state at a given index to the index, provided no equivalent
+	 * state with a lower index is already recorded.
+	 * 
+	 * @param i
+	 *            --- index of state being added.
+	 */
+	private void reindex(int i) {
+		State ith = states[i];
+		if (ith != null) {
+			Integer j = index.get(ith);
+			if (j == null) {
+				index.put(ith, i);
+			} else if (j > i) {
+				// Replacing the value alone would leave the state at j as the
+				// key, which is then modified in place when j is remapped.
+				index.remove(ith);
+				index.put(ith, i);
+			}
+		}
+	}
+
+	/**
+	 * Record a state in the change log (if change tracking is enabled) before
+	 * it is modified, added or removed. Only the first change to a state since
+	 * the log was cleared is recorded.
+	 * 
+	 * @param i
+	 *            --- index of state about to change.
+	 */
+	private void record(int i) {
+		if (changes == null) {
+			return;
+		} else if (i >= changeMarks.length) {
+			changeMarks = Arrays.copyOf(changeMarks, (i + 1) * 2);
+		} else if (changeMarks[i]) {
+			return; // already recorded
+		}
+		if (nChanges == changes.length) {
+			changes = Arrays.copyOf(changes, nChanges * 2);
+			originals = Arrays.copyOf(originals, nChanges * 2);
+		}
+		State ith = i < nStates ? states[i] : null;
+		changeMarks[i] = true;
+		changes[nChanges] = i;
+		originals[nChanges++] = ith == null ? null : ith.clone();
+	}
+
+	/**
+	 * Record every state in the change log (if change tracking is enabled).
+	 * This is used by operations which may move any state.
+	 */
+	private void recordAll() {
+		if (changes != null) {
+			for (int i = 0; i != nStates; ++i) {
+				record(i);
+			}
+		}
+	}
+
+	/**
+	 * Check whether remapping a given state according to a binding would change
+	 * it.
+	 */
+	private static boolean isAffected(State state, int[] binding) {
+		if (state instanceof Term) {
+			int child = ((Term) state).contents;
+			return child >= 0 && binding[child] != child;
+		} else if (state instanceof Collection) {
+			Collection compound = (Collection) state;
+			int[] children = compound.children;
+			for (int i = 0; i != compound.length; ++i) {
+				int child = children[i];
+				if (child >= 0 && binding[child] != child) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove the state at a given index from the index, provided it is the
+	 * state which the index currently records for its contents.
+	 * 
+	 * @param i
+	 *            --- index of state being removed.
+	 */
+	private void unindex(int i) {
+		State ith = states[i];
+		if (ith != null) {
+			Integer j = index.get(ith);
+			if (j != null && j == i) {
+				index.remove(ith);
+			}
+		}
+	}
+
 	/**
 	 * Add a state onto the end of the states array, expanding that as
 	 * necessary. However, the state is not collapsed with respect to any
 	 * equivalent states.
 	 */
 	private int internalAdd(Automaton.State state) {
+		record(nStates);
 		if (nStates == states.length) {
 			// oh dear, need to increase space
 			State[] nstates = nStates == 0 ? new State[DEFAULT_NUM_STATES]
@@ -0,0 +1,208 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyautl.rw;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import wyautl.core.Automaton;
+import wyautl.core.Schema;
+import wyrl.util.AbstractRewriteRule;
+
+/**
+ * <p>
+ * An implementation of <code>StrategyRewriter.Strategy</code> which extends
+ * the static dispatch approach of <code>UnfairStateRuleRewriteStrategy</code>
+ * by avoiding probes whose outcome is already known. Rules are dispatched on
+ * the kind of their root term (see <code>AbstractRewriteRule.kind()</code>),
+ * and a state which was previously probed without producing any activations
+ * is not probed again until it, or some state reachable from it, has changed.
+ * </p>
+ * 
+ * <p>
+ * Changes are reported by the rewriter (see
+ * <code>IterativeRewriter.Strategy.changed()</code>) which, since the outcome
+ * of a probe depends only on the states reachable from its root, includes
+ * every ancestor of a changed state. States are still visited in the same
+ * order as <code>UnfairStateRuleRewriteStrategy</code> and, hence, this
+ * strategy produces exactly the same sequence of activations.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> this is not designed to be used in a concurrent setting.
+ * </p>
+ */
+public final class IncrementalStateRuleRewriteStrategy<T extends RewriteRule>
+		extends IterativeRewriter.Strategy<T> {
+
+	/**
+	 * The static dispatch table, indexed by root kind.
+	 */
+	private final RewriteRule[][] dispatchTable;
+
+	/**
+	 * Temporary list of inference activations used.
+	 */
+	private final ArrayList<Activation> worklist = new ArrayList<Activation>();
+
+	/**
+	 * The automaton being rewritten
+	 */
+	private final Automaton automaton;
+
+	/**
+	 * The current state being explored by this strategy
+	 */
+	private int current;
+
+	/**
+	 * Record the number of probes for statistical reporting purposes
+	 */
+	private int numProbes;
+
+	/**
+	 * Identifies states which were probed without producing any activations,
+	 * and which have not changed since.
+	 */
+	private boolean[] clean = new boolean[0];
+
+	public IncrementalStateRuleRewriteStrategy(Automaton automaton, T[] rules,
+			Schema schema) {
+		this(automaton, rules, schema, new RewriteRule.RankComparator());
+	}
+
+	public IncrementalStateRuleRewriteStrategy(Automaton automaton, T[] rules,
+			Schema schema, Comparator<RewriteRule> comparator) {
+		this.automaton = automaton;
+		this.dispatchTable = constructDispatchTable(rules, schema, comparator);
+	}
+
+	@Override
+	protected Activation next(boolean[] reachable) {
+		int nStates = automaton.nStates();
+
+		if (clean.length < nStates) {
+			// States added since the last reset have never been probed.
+			clean = Arrays.copyOf(clean, nStates * 2);
+		}
+
+		while (current < nStates && worklist.size() == 0) {
+			// Check whether state is reachable, and whether it has changed
+			// since it was last probed unsuccessfully. Only terms can be roots
+			// of rewrite rules.
+			if (reachable[current] && !clean[current]) {
+				Automaton.State state = automaton.get(current);
+				if (state instanceof Automaton.Term) {
+					RewriteRule[] rules = dispatchTable[state.kind];
+					for (int j = 0; j != rules.length; ++j) {
+						RewriteRule rw = rules[j];
+						rw.probe(automaton, current, worklist);
+						numProbes++;
+					}
+				}
+				// Any activations found will be discarded on the next reset
+				// and, hence, the state must be probed again after that.
+				clean[current] = worklist.size() == 0;
+			}
+			current = current + 1;
+		}
+
+		if (worklist.size() > 0) {
+			int lastIndex = worklist.size() - 1;
+			Activation last = worklist.get(lastIndex);
+			worklist.remove(lastIndex);
+			return last;
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	protected void reset() {
+		worklist.clear();
+		current = 0;
+	}
+
+	@Override
+	protected void changed(int index) {
+		if (index < clean.length) {
+			clean[index] = false;
+		}
+	}
+
+	@Override
+	public int numProbes() {
+		return numProbes;
+	}
+
+	private static RewriteRule[][] constructDispatchTable(RewriteRule[] rules,
+			Schema schema, Comparator<RewriteRule> comparator) {
+		int[] kinds = new int[rules.length];
+		for (int j = 0; j != rules.length; ++j) {
+			kinds[j] = kind(rules[j], schema);
+		}
+		RewriteRule[][] table = new RewriteRule[schema.size()][];
+		for (int i = 0; i != table.length; ++i) {
+			ArrayList<RewriteRule> tmp = new ArrayList<RewriteRule>();
+			for (int j = 0; j != rules.length; ++j) {
+				if (kinds[j] == i) {
+					tmp.add(rules[j]);
+				}
+			}
+			RewriteRule[] rs = tmp.toArray(new RewriteRule[tmp.size()]);
+			Arrays.sort(rs, comparator);
+			table[i] = rs;
+		}
+		return table;
+	}
+
+	/**
+	 * Determine the kind of term at the root of a rule's pattern. This is
+	 * given directly by rules generated by wyrl. For any other rule, it is
+	 * found by looking up the name of the pattern in the schema, as for
+	 * <code>UnfairStateRuleRewriteStrategy</code>.
+	 * 
+	 * @param rule
+	 * @param schema
+	 * @return The kind, or -1 if the pattern names no term in the schema.
+	 */
+	private static int kind(RewriteRule rule, Schema schema) {
+		if (rule instanceof AbstractRewriteRule) {
+			int kind = ((AbstractRewriteRule) rule).kind();
+			if (kind >= 0) {
+				return kind;
+			}
+		}
+		String name = rule.pattern().name;
+		for (int i = 0; i != schema.size(); ++i) {
+			if (schema.get(i).name.equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
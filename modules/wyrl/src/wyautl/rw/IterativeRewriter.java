@@ -120,7 +120,75 @@ public final class IterativeRewriter implements Rewriter {
 	 * not applied to multiple states more than once (as this can cause infinite
 	 * loops).
 	 */
-	private boolean[] reachable;
+	private boolean[] reachable = new boolean[0];
+
+	/**
+	 * The number of states currently marked as reachable. This is maintained
+	 * alongside the <code>reachable</code> array so that the completion check
+	 * does not need to rescan every state below the pivot.
+	 */
+	private int numReachable;
+
+	/**
+	 * The predecessors of every state in the automaton. More specifically,
+	 * <code>preds[i][0]</code> up to (but not including)
+	 * <code>preds[i][nPreds[i]]</code> are the states which refer to state
+	 * <code>i</code>, where a state appears once for each reference it makes.
+	 * These are maintained from the changes recorded by the automaton, rather
+	 * than being recomputed after every rewrite step.
+	 */
+	private int[][] preds = new int[0][];
+	private int[] nPreds = new int[0];
+
+	/**
+	 * The root markers of the automaton at the last update, along with the
+	 * number of root markers which refer to each state.
+	 */
+	private int[] roots = new int[0];
+	private int nRoots;
+	private int[] rootCounts = new int[0];
+
+	/**
+	 * Worklist used when traversing the automaton to determine reachability.
+	 * This is retained between traversals to avoid reallocating it after every
+	 * rewrite step.
+	 */
+	private int[] worklist = new int[0];
+
+	/**
+	 * The states which have lost a reference during the current update and,
+	 * hence, may have become unreachable. A state is in this list iff
+	 * <code>candidateMarks[i] == update</code>.
+	 */
+	private int[] candidates = new int[0];
+	private int[] candidateMarks = new int[0];
+	private int update;
+
+	/**
+	 * The states visited during the current search for a root. A state has
+	 * been visited iff <code>visited[i] == search</code>.
+	 */
+	private int[] region = new int[0];
+	private int[] visited = new int[0];
+	private int search;
+
+	/**
+	 * The states which have changed, or become unreachable, since the
+	 * automaton was last compacted and which are not (or were not at the time)
+	 * reachable. Since every state is reachable after compaction, these are
+	 * the only states which may need to be undone or eliminated. A state is
+	 * in this list iff <code>lost[i]</code> holds.
+	 */
+	private int[] unreachable = new int[0];
+	private int numUnreachable;
+	private boolean[] lost = new boolean[0];
+
+	/**
+	 * A mapping from every state to itself, which is used when compacting the
+	 * automaton. Only the entries for states which are moved are changed, and
+	 * these are restored afterwards.
+	 */
+	private int[] binding = new int[0];
 
 	/**
 	 * The oneStepUndo provides a mapping from new automaton states to their
@@ -130,6 +198,13 @@ public final class IterativeRewriter implements Rewriter {
 	 * unreachable states below the pivot.
 	 */
 	private int[] oneStepUndo;
+
+	/**
+	 * The range of entries in the oneStepUndo map which may not map to
+	 * themselves. Only these need be reset when it is initialised.
+	 */
+	private int undoStart;
+	private int undoEnd;
 		
 	private int maxInferenceSteps = 100;
 	
@@ -154,8 +229,8 @@ public final class IterativeRewriter implements Rewriter {
 			IterativeRewriter.Strategy<ReductionRule> reductionStrategy, Schema schema) {
 		this.automaton = automaton;
 		this.schema = schema;
-		this.reachable = new boolean[automaton.nStates() * 2];
 		this.oneStepUndo = new int[automaton.nStates() * 2];
+		this.undoEnd = oneStepUndo.length;
 		this.inferenceStrategy = inferenceStrategy;
 		this.reductionStrategy = reductionStrategy;
 	}
@@ -174,16 +249,21 @@ public final class IterativeRewriter implements Rewriter {
 		automaton.minimise();
 		automaton.compact();
 
-		// Need to update the reachability and undo information here: (1) after
-		// a successful inference application; (2) the first time this is called
-		// prior to any inference activations.
-		reachable = updateReachable(automaton, reachable);
+		// Compute the reachability information here. From now on, this is
+		// updated from the changes recorded by the automaton after each
+		// successful activation.
+		automaton.setChangeTracking(true);
+		initialiseReachable();
 
-		// Now, perform initial reduction to ensure everything is compact as
-		// possible.
-		reduce(Automaton.K_VOID,Automaton.K_VOID,0);
-		
-		return infer();
+		try {
+			// Now, perform initial reduction to ensure everything is compact
+			// as possible.
+			reduce(Automaton.K_VOID,Automaton.K_VOID,0);
+
+			return infer();
+		} finally {
+			automaton.setChangeTracking(false);
+		}
 	}
 
 	private final boolean infer() {
@@ -195,6 +275,10 @@ public final class IterativeRewriter implements Rewriter {
 		
 		// Now, continue applying reductions until no more left.
 		while (step < maxInferenceSteps && (activation = inferenceStrategy.next(reachable)) != null) {
+			if (Thread.currentThread().isInterrupted()) {
+				// Rewriting has been abandoned, so treat as incomplete.
+				return false;
+			}
 			// Apply the activation
 			numInferenceActivations++;			
 			
@@ -211,7 +295,7 @@ public final class IterativeRewriter implements Rewriter {
 				// an infinite loop of re-activations. More specifically, where
 				// we activate on a state and rewrite it, but then it remains
 				// and so we repeat.
-				reachable = updateReachable(automaton, reachable);
+				updateReachable();
 				
 				Result r = reduce(from,target,pivot);
 
@@ -311,6 +395,10 @@ public final class IterativeRewriter implements Rewriter {
 		
 		// Now, continue applying reductions until no more left.
 		while (step < maxReductionSteps && (activation = reductionStrategy.next(reachable)) != null) {
+			if (Thread.currentThread().isInterrupted()) {
+				// Rewriting has been abandoned, so treat as a timeout.
+				return Result.TIMEOUT;
+			}
 			// Apply the activation
 			numReductionActivations++;			
 			
@@ -328,7 +416,7 @@ public final class IterativeRewriter implements Rewriter {
 				// an infinite loop of re-activations. More specifically, where
 				// we activate on a state and rewrite it, but then it remains
 				// and so we repeat.
-				reachable = updateReachable(automaton, reachable);
+				updateReachable();
 				
 				// Revert all states below the pivot which are now unreachable.
 				// This is essential to ensuring that the automaton will return
@@ -340,7 +428,7 @@ public final class IterativeRewriter implements Rewriter {
 				// states and prevent the automaton from growing continually.
 				// This is possible because automton.rewrite() can introduce
 				// null states into the automaton.
-				compact(automaton, pivot, reachable, oneStepUndo);
+				compact(pivot);
 								
 				//assertValidOneStepUndo(oneStepUndo,pivot);
 				
@@ -381,18 +469,14 @@ public final class IterativeRewriter implements Rewriter {
 		// case that no new states remain (i.e. countAbove == 0) then we know
 		// the automaton has not changed.
 
-		int countBelow = 0;
-		for (int i = 0; i < pivot; ++i) {
-			if (reachable[i]) {
-				countBelow++;
-			}
-		}
+		int nStates = automaton.nStates();
 		int countAbove = 0;
-		for (int i = pivot; i < automaton.nStates(); ++i) {
+		for (int i = pivot; i < nStates; ++i) {
 			if (reachable[i]) {
 				countAbove++;
 			}
 		}
+		int countBelow = numReachable - countAbove;
 			
 		//System.out.println("\n *** ABOVE = " + countAbove + ", BELOW = " + countBelow + ", PIVOT = " + pivot);
 		
@@ -403,41 +487,430 @@ public final class IterativeRewriter implements Rewriter {
 			// to ensure the automaton remains identical as before.
 			
 			automaton.resize(pivot);
-						
+			updatePredecessors();
+			clearUnreachable();
+			
 			return true;
 		} else {
 			// Otherwise, the automaton has definitely changed. Therefore, we
 			// compact the automaton down by eliminating all unreachable states.
-			compact(automaton, 0, reachable, oneStepUndo);
-								
+			// Since every state was reachable after the last compaction, only
+			// those recorded as unreachable since then can be eliminated.
+			int start = pivot;
+			for (int k = 0; k != numUnreachable; ++k) {
+				int i = unreachable[k];
+				if (i < start && !reachable[i]) {
+					start = i;
+				}
+			}
+			compact(start);
+			clearUnreachable();
+			
 			return false;
 		}
 	}
 
 	/**
-	 * Update the reachability information associated with the automaton after
-	 * some change has occurred. This information is currently recomputed from
-	 * scratch, though in principle it could be updated incrementally.
+	 * Compute the reachability information for the automaton from scratch,
+	 * along with the predecessors of every state. After this, the information
+	 * is updated incrementally from the changes recorded by the automaton.
 	 */
-	private static boolean[] updateReachable(Automaton automaton,
-			boolean[] reachable) {
-
-		// TODO: update reachability information incrementally
+	private void initialiseReachable() {
+		int nStates = automaton.nStates();
+		ensureCapacity(nStates);
+		Arrays.fill(reachable, false);
+		Arrays.fill(nPreds, 0);
+		Arrays.fill(rootCounts, 0);
+		Arrays.fill(lost, false);
+		numReachable = 0;
+		numUnreachable = 0;
 
-		if (reachable.length < automaton.nStates()) {
-			reachable = new boolean[automaton.nStates() * 2];
-		} else {
-			Arrays.fill(reachable, false);
+		for (int i = 0; i != nStates; ++i) {
+			addPredecessors(i, automaton.get(i));
 		}
-		// first, visit all nodes
-		for (int i = 0; i != automaton.nRoots(); ++i) {
+
+		nRoots = automaton.nRoots();
+		roots = new int[nRoots];
+		for (int i = 0; i != nRoots; ++i) {
 			int root = automaton.getRoot(i);
+			roots[i] = root;
 			if (root >= 0) {
-				findReachable(automaton, reachable, root);
+				rootCounts[root]++;
+				markReachable(root);
 			}
 		}
 
-		return reachable;
+		for (int i = 0; i != nStates; ++i) {
+			if (!reachable[i]) {
+				addUnreachable(i);
+			}
+		}
+
+		automaton.clearChanges();
+	}
+
+	/**
+	 * <p>
+	 * Update the reachability information associated with the automaton after
+	 * some change has occurred. Only those states recorded as changed by the
+	 * automaton are considered, which includes any states merged or eliminated
+	 * by <code>Automaton.rewrite()</code>.
+	 * </p>
+	 * 
+	 * <p>
+	 * States referred to by a changed (reachable) state, or by a new root, are
+	 * marked as reachable. Then, states which have lost a reference are
+	 * checked by searching upwards through their reachable predecessors for a
+	 * root. If none is found, then every state visited by the search is no
+	 * longer reachable. The states referred to by these are then checked in
+	 * the same way.
+	 * </p>
+	 */
+	private void updateReachable() {
+		int nStates = automaton.nStates();
+		int nChanges = automaton.nChanges();
+		ensureCapacity(changedCapacity(nStates, nChanges));
+
+		int count = 0;
+		update++;
+
+		// First, update the predecessors of all affected states. In doing
+		// this, any state which has lost a reference from a reachable state
+		// may now be unreachable.
+		for (int k = 0; k != nChanges; ++k) {
+			int i = automaton.getChange(k);
+			State original = automaton.getOriginal(k);
+			State state = i < nStates ? automaton.get(i) : null;
+			removePredecessors(i, original);
+			addPredecessors(i, state);
+			if (reachable[i]) {
+				for (int j = 0; j != nChildren(original); ++j) {
+					count = addCandidate(child(original, j), count);
+				}
+				if (state == null) {
+					reachable[i] = false;
+					numReachable--;
+				}
+			}
+		}
+
+		// Second, mark any states which are referred to by changed reachable
+		// states.
+		for (int k = 0; k != nChanges; ++k) {
+			int i = automaton.getChange(k);
+			if (i < nStates && reachable[i]) {
+				State state = automaton.get(i);
+				for (int j = 0; j != nChildren(state); ++j) {
+					markReachable(child(state, j));
+				}
+			}
+		}
+		count = updateRoots(count);
+
+		// Third, check whether those states which have lost a reference
+		// remain reachable.
+		for (int k = 0; k < count; ++k) {
+			int i = candidates[k];
+			if (i < nStates && reachable[i]) {
+				// Every state visited by an unsuccessful search is now
+				// unreachable, and so may be the states they refer to.
+				int size = searchForRoot(i, nStates);
+				for (int h = 0; h != size; ++h) {
+					int j = region[h];
+					reachable[j] = false;
+					numReachable--;
+					addUnreachable(j);
+				}
+				for (int h = 0; h != size; ++h) {
+					State state = automaton.get(region[h]);
+					for (int j = 0; j != nChildren(state); ++j) {
+						count = addCandidate(child(state, j), count);
+					}
+				}
+			}
+		}
+
+		// Finally, record any changed states which are not reachable. This
+		// includes states which were added, but never became reachable (e.g.
+		// because they were merged with existing states).
+		for (int k = 0; k != nChanges; ++k) {
+			int i = automaton.getChange(k);
+			if (!reachable[i]) {
+				addUnreachable(i);
+			}
+		}
+
+		notifyChanged(nChanges);
+		automaton.clearChanges();
+	}
+
+	/**
+	 * Update the predecessors of all states recorded as changed by the
+	 * automaton, along with the root markers. This is used after operations
+	 * which are known not to affect the reachability of any state, such as
+	 * compaction.
+	 */
+	private void updatePredecessors() {
+		int nStates = automaton.nStates();
+		int nChanges = automaton.nChanges();
+		ensureCapacity(changedCapacity(nStates, nChanges));
+
+		for (int k = 0; k != nChanges; ++k) {
+			int i = automaton.getChange(k);
+			removePredecessors(i, automaton.getOriginal(k));
+			addPredecessors(i, i < nStates ? automaton.get(i) : null);
+		}
+		update++;
+		updateRoots(0);
+
+		notifyChanged(nChanges);
+		automaton.clearChanges();
+	}
+
+	/**
+	 * Update the root markers and their counts from those of the automaton.
+	 * States referred to by a new root marker are marked as reachable, whilst
+	 * those no longer referred to by a root marker are added to the list of
+	 * candidates.
+	 * 
+	 * @param count
+	 *            --- number of candidates so far.
+	 * @return the number of candidates afterwards.
+	 */
+	private int updateRoots(int count) {
+		int n = automaton.nRoots();
+		if (roots.length < n) {
+			roots = Arrays.copyOf(roots, n * 2);
+		}
+		for (int i = 0; i < n || i < nRoots; ++i) {
+			int before = i < nRoots ? roots[i] : Automaton.K_VOID;
+			int after = i < n ? automaton.getRoot(i) : Automaton.K_VOID;
+			if (before != after) {
+				if (after >= 0) {
+					rootCounts[after]++;
+					markReachable(after);
+				}
+				if (before >= 0) {
+					rootCounts[before]--;
+					count = addCandidate(before, count);
+				}
+				roots[i] = after;
+			}
+		}
+		nRoots = n;
+		return count;
+	}
+
+	/**
+	 * Notify both strategies of every state recorded as changed by the
+	 * automaton, along with all of their ancestors. The latter is necessary
+	 * because the outcome of probing a state depends upon every state
+	 * reachable from it.
+	 * 
+	 * @param nChanges
+	 *            --- number of states recorded as changed.
+	 */
+	private void notifyChanged(int nChanges) {
+		int s = ++search;
+		int size = 0;
+		for (int k = 0; k != nChanges; ++k) {
+			int i = automaton.getChange(k);
+			if (visited[i] != s) {
+				visited[i] = s;
+				region[size++] = i;
+			}
+		}
+		for (int h = 0; h != size; ++h) {
+			int i = region[h];
+			inferenceStrategy.changed(i);
+			reductionStrategy.changed(i);
+			int[] ps = preds[i];
+			for (int k = 0; k != nPreds[i]; ++k) {
+				int p = ps[k];
+				if (visited[p] != s) {
+					visited[p] = s;
+					region[size++] = p;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determine whether a given state can be reached from a root, by searching
+	 * upwards through its reachable predecessors. The states visited by this
+	 * search are recorded in <code>region</code>.
+	 * 
+	 * @param index
+	 *            --- state to begin the search from.
+	 * @param nStates
+	 *            --- number of states in the automaton.
+	 * @return zero if a root was found, otherwise the number of states
+	 *         visited.
+	 */
+	private int searchForRoot(int index, int nStates) {
+		int s = ++search;
+		int size = 0;
+		visited[index] = s;
+		region[size++] = index;
+		for (int h = 0; h != size; ++h) {
+			int i = region[h];
+			if (rootCounts[i] > 0) {
+				return 0;
+			}
+			int[] ps = preds[i];
+			for (int k = 0; k != nPreds[i]; ++k) {
+				int p = ps[k];
+				if (p < nStates && reachable[p] && visited[p] != s) {
+					visited[p] = s;
+					region[size++] = p;
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Mark every state reachable from a given state, which have not already
+	 * been marked, as reachable.
+	 * 
+	 * @param index
+	 *            --- state to begin from.
+	 */
+	private void markReachable(int index) {
+		if (index < 0 || reachable[index]) {
+			return;
+		}
+		int top = 0;
+		int[] stack = worklist;
+		reachable[index] = true;
+		numReachable++;
+		stack[top++] = index;
+		while (top > 0) {
+			State state = automaton.get(stack[--top]);
+			for (int j = 0; j != nChildren(state); ++j) {
+				int child = child(state, j);
+				if (child >= 0 && !reachable[child]) {
+					reachable[child] = true;
+					numReachable++;
+					stack[top++] = child;
+				}
+			}
+		}
+	}
+
+	private int addCandidate(int index, int count) {
+		if (index >= 0 && candidateMarks[index] != update) {
+			candidateMarks[index] = update;
+			candidates[count++] = index;
+		}
+		return count;
+	}
+
+	private void addUnreachable(int index) {
+		if (!lost[index]) {
+			lost[index] = true;
+			unreachable[numUnreachable++] = index;
+		}
+	}
+
+	private void clearUnreachable() {
+		for (int k = 0; k != numUnreachable; ++k) {
+			lost[unreachable[k]] = false;
+		}
+		numUnreachable = 0;
+	}
+
+	private void addPredecessors(int index, State state) {
+		for (int j = 0; j != nChildren(state); ++j) {
+			int child = child(state, j);
+			if (child >= 0) {
+				int[] ps = preds[child];
+				int n = nPreds[child];
+				if (ps == null) {
+					ps = preds[child] = new int[2];
+				} else if (n == ps.length) {
+					ps = preds[child] = Arrays.copyOf(ps, n * 2);
+				}
+				ps[n] = index;
+				nPreds[child] = n + 1;
+			}
+		}
+	}
+
+	private void removePredecessors(int index, State state) {
+		for (int j = 0; j != nChildren(state); ++j) {
+			int child = child(state, j);
+			if (child >= 0) {
+				int[] ps = preds[child];
+				int n = nPreds[child];
+				for (int k = 0; k != n; ++k) {
+					if (ps[k] == index) {
+						ps[k] = ps[n - 1];
+						nPreds[child] = n - 1;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determine the number of states which must be accommodated when
+	 * processing the automaton's recorded changes. This may exceed the number
+	 * of states, since recorded states may have since been removed.
+	 */
+	private int changedCapacity(int nStates, int nChanges) {
+		int max = nStates;
+		for (int k = 0; k != nChanges; ++k) {
+			max = Math.max(max, automaton.getChange(k) + 1);
+		}
+		return max;
+	}
+
+	/**
+	 * Ensure enough space is allocated for maintaining reachability
+	 * information for a given number of states.
+	 * 
+	 * @param n
+	 */
+	private void ensureCapacity(int n) {
+		if (reachable.length < n) {
+			int length = reachable.length;
+			int capacity = n * 2;
+			reachable = Arrays.copyOf(reachable, capacity);
+			preds = Arrays.copyOf(preds, capacity);
+			nPreds = Arrays.copyOf(nPreds, capacity);
+			rootCounts = Arrays.copyOf(rootCounts, capacity);
+			candidateMarks = Arrays.copyOf(candidateMarks, capacity);
+			visited = Arrays.copyOf(visited, capacity);
+			lost = Arrays.copyOf(lost, capacity);
+			unreachable = Arrays.copyOf(unreachable, capacity);
+			binding = Arrays.copyOf(binding, capacity);
+			for (int i = length; i != capacity; ++i) {
+				binding[i] = i;
+			}
+			candidates = new int[capacity];
+			region = new int[capacity];
+			worklist = new int[capacity];
+		}
+	}
+
+	private static int nChildren(State state) {
+		if (state instanceof Automaton.Term) {
+			return 1;
+		} else if (state instanceof Automaton.Collection) {
+			return ((Automaton.Collection) state).size();
+		} else {
+			return 0;
+		}
+	}
+
+	private static int child(State state, int i) {
+		if (state instanceof Automaton.Term) {
+			return ((Automaton.Term) state).contents;
+		} else {
+			return ((Automaton.Collection) state).get(i);
+		}
 	}
 
 	/**
@@ -465,14 +938,15 @@ public final class IterativeRewriter implements Rewriter {
 			oneStepUndo = tmpUndo;
 		} 
 		
-		// Second, apply the oneStepUndo map to all unreachable vertices
+		// Second, apply the oneStepUndo map to all unreachable vertices. Since
+		// every state was reachable after the last compaction, only those
+		// recorded as unreachable since then need be considered.
 		boolean changed = false;
-		for (int i = 0; i != pivot; ++i) {
-			if (!reachable[i]) {
-				State state = automaton.get(i);
-				if (state != null) {
-					changed |= state.remap(oneStepUndo);
-				}
+		Arrays.sort(unreachable, 0, numUnreachable);
+		for (int k = 0; k != numUnreachable; ++k) {
+			int i = unreachable[k];
+			if (i < pivot && !reachable[i]) {
+				changed |= automaton.remap(i, oneStepUndo);
 			}
 		}
 		
@@ -481,13 +955,14 @@ public final class IterativeRewriter implements Rewriter {
 			// At this point, the automaton is not necessarily minimised and,
 			// hence, we must minimise it.
 			automaton.minimise();
-			reachable = updateReachable(automaton, reachable);
+			updateReachable();
 		} 
 
 		// Finally, update the oneStepUndo information. This has to be done last
 		// since unreachable states to utilise the previous oneStepUndo
 		// information.  See #382.
 		if (to >= pivot) {
+			touchUndo(to, to + 1);
 			if(from < pivot) {				
 				// In this case, we need to initialise the oneStepUndo
 				// information.
@@ -507,7 +982,8 @@ public final class IterativeRewriter implements Rewriter {
 
 	/**
 	 * Initialise the oneStepUndo map by assigning every state to itself, and
-	 * ensuring that enough space was allocated.
+	 * ensuring that enough space was allocated. Only those entries which may
+	 * have been changed since it was last initialised need be reset.
 	 */
 	private int[] initOneStepUndo() {
 		int nStates = automaton.nStates();
@@ -515,16 +991,35 @@ public final class IterativeRewriter implements Rewriter {
 		// Ensure capacity for undo and binding space
 		if(oneStepUndo.length < nStates) {
 			oneStepUndo = new int[nStates * 2];
+			undoStart = 0;
+			undoEnd = oneStepUndo.length;
 		}
 
 		// Initialise undo information
-		for (int i = 0; i != oneStepUndo.length; ++i) {
+		int end = Math.min(undoEnd, oneStepUndo.length);
+		for (int i = undoStart; i < end; ++i) {
 			oneStepUndo[i] = i;
 		}
+		undoStart = oneStepUndo.length;
+		undoEnd = 0;
 		
 		return oneStepUndo;
 	}
 
+	/**
+	 * Record that entries in the oneStepUndo map may no longer map to
+	 * themselves.
+	 * 
+	 * @param start
+	 *            --- first entry affected.
+	 * @param end
+	 *            --- one past the last entry affected.
+	 */
+	private void touchUndo(int start, int end) {
+		undoStart = Math.min(undoStart, start);
+		undoEnd = Math.max(undoEnd, end);
+	}
+
 	/**
 	 * Visit all states reachable from a given starting state in the given
 	 * automaton. In doing this, states which are visited are marked and,
@@ -566,66 +1061,99 @@ public final class IterativeRewriter implements Rewriter {
 		}
 	}
 
-	private static void compact(Automaton automaton, int pivot,
-			boolean[] reachable, int[] oneStepUndo) {
-		int nStates = automaton.nStates();
-		int nRoots = automaton.nRoots();
-		int[] binding = new int[nStates];
-
-		// First, initialise binding for all states upto start state. This
-		// ensure that they are subsequently mapped to themselves.
-		for (int i = 0; i < nStates; ++i) {
-			binding[i] = i;
+	/**
+	 * Compact the automaton by eliminating all unreachable states from a given
+	 * starting point, and moving the remaining states down. Only the states
+	 * from the starting point, along with any states which refer to those
+	 * moved, need be remapped.
+	 * 
+	 * @param start
+	 *            --- all states below this are left where they are.
+	 */
+	private void compact(int start) {
+		if (automaton.nChanges() != 0) {
+			updateReachable();
 		}
+		int nStates = automaton.nStates();
 
-		// Second, go through and eliminate all unreachable states and compact
+		// First, go through and eliminate all unreachable states and compact
 		// the automaton down, whilst updating reachable one oneStepUndo
-		// information accordingly.
-		int j = pivot;
-		
-		for (int i = pivot; i < nStates; ++i) {
+		// information accordingly. The moved states are recorded on the
+		// worklist.
+		int j = start;
+		int nMoved = 0;
+		for (int i = start; i < nStates; ++i) {
 			if (reachable[i]) {
-				State ith = automaton.get(i);
-				binding[i] = j;
-				reachable[i] = false;
-				reachable[j] = true;
-				oneStepUndo[j] = oneStepUndo[i];
-				automaton.set(j++, ith);
-			} 
+				if (i != j) {
+					State ith = automaton.get(i);
+					binding[i] = j;
+					reachable[i] = false;
+					reachable[j] = true;
+					oneStepUndo[j] = oneStepUndo[i];
+					automaton.set(j, ith);
+					worklist[nMoved++] = i;
+				}
+				j = j + 1;
+			}
 		}
-		
+
 		if (j < nStates) {
 			// Update the oneStepUndo relation to ensure it remains
 			// sound. The invariant it maintains is that all states above the
 			// pivot map to themselves or to a state below the pivot.
-			for(int i=j;i<nStates;++i) {
+			for (int i = j; i < nStates; ++i) {
 				oneStepUndo[i] = i;
 			}
-			
+			touchUndo(start, nStates);
+
 			// Ok, some compaction actually occurred; therefore follow through
-			// and update all states accordingly.
-			nStates = j;
-			automaton.resize(nStates); // will nullify all deleted states
-			
-			// Update mapping and oneStepUndo for *all* states
-			for (int i = 0; i != nStates; ++i) {
-				Automaton.State state = automaton.get(i);
-				if(state != null) {
-					state.remap(binding);
+			// and update all affected states accordingly. This must go through
+			// the automaton (rather than remapping states directly) so that it
+			// can maintain its index of states.
+			automaton.resize(j); // will nullify all deleted states
+			int s = ++search;
+			int size = 0;
+			for (int k = 0; k != nMoved; ++k) {
+				int i = worklist[k];
+				int[] ps = preds[i];
+				for (int h = 0; h != nPreds[i]; ++h) {
+					int p = ps[h];
+					if (p < start && visited[p] != s) {
+						visited[p] = s;
+						region[size++] = p;
+					}
 				}
-				oneStepUndo[i] = binding[oneStepUndo[i]];
 			}
-
-			// Update mapping for all roots
-			for (int i = 0; i != nRoots; ++i) {
+			// States must be remapped in order, since the automaton's index
+			// favours the lowest state with given contents.
+			Arrays.sort(region, 0, size);
+			for (int k = 0; k != size; ++k) {
+				automaton.remap(region[k], binding);
+			}
+			for (int i = start; i != j; ++i) {
+				automaton.remap(i, binding);
+			}
+			for (int i = 0; i != automaton.nRoots(); ++i) {
 				int root = automaton.getRoot(i);
-				if (root >= 0) {
+				if (root >= start) {
 					automaton.setRoot(i, binding[root]);
 				}
 			}
+
+			// Update oneStepUndo for the remaining states from the start. All
+			// states below this map to themselves.
+			for (int i = start; i != j; ++i) {
+				oneStepUndo[i] = binding[oneStepUndo[i]];
+			}
+
+			for (int k = 0; k != nMoved; ++k) {
+				int i = worklist[k];
+				binding[i] = i;
+			}
+			updatePredecessors();
 		}
 	}
-	
+
 	public void printAutomatonStats(Automaton automaton) {
 		HashMap<Integer,Integer> data = new HashMap<Integer,Integer>();
 		
@@ -749,6 +1277,18 @@ public final class IterativeRewriter implements Rewriter {
 		 */
 		protected abstract void reset();
 
+		/**
+		 * Notify this strategy that a given state has changed, or that some
+		 * state reachable from it has. Such a state may have been added,
+		 * removed or modified, and the outcome of probing it may now differ.
+		 * By default, this is ignored.
+		 * 
+		 * @param index
+		 *            --- index of the state affected.
+		 */
+		protected void changed(int index) {
+		}
+
 		/**
 		 * Return the number of probes performed by this strategy.
 		 * 
@@ -39,7 +39,8 @@ public interface Rewriter {
 	/**
 	 * Apply this rewriter to rewrite its automaton as much as possible within a
 	 * given number of steps. The return value indicates whether or not
-	 * rewriting was completed.
+	 * rewriting was completed. Rewriting stops early (and is not completed) if
+	 * the calling thread is interrupted.
 	 * 
 	 * @return --- Indicates whether or not rewriting is complete (true
 	 *         indicates it was completed). This is necessary to distinguish
@@ -171,7 +172,7 @@ public interface Rewriter {
 		 * changed automaton after reduction). 
 		 */
 		public int numReductionFailures() {
-			return numInferenceFailures;
+			return numReductionFailures;
 		}
 
 		/**
@@ -209,6 +210,25 @@ public interface Rewriter {
 			return numInferenceSuccesses;
 		}
 		
+		/**
+		 * Combine these statistics with those of another rewrite, giving the
+		 * totals for both. This is useful when reporting on a number of
+		 * separate rewrites together.
+		 * 
+		 * @param other
+		 *            --- statistics to be added to these.
+		 * @return
+		 */
+		public Stats add(Stats other) {
+			return new Stats(numProbes + other.numProbes,
+					numReductionActivations + other.numReductionActivations,
+					numReductionFailures + other.numReductionFailures,
+					numReductionSuccesses + other.numReductionSuccesses,
+					numInferenceActivations + other.numInferenceActivations,
+					numInferenceFailures + other.numInferenceFailures,
+					numInferenceSuccesses + other.numInferenceSuccesses);
+		}
+
 		/**
 		 * Return a standard overview of the statistics embodied here.
 		 */
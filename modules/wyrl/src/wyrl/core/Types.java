@@ -22,7 +22,7 @@ public final class Types {
 	// 
 	private final static class Reduction_0 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_0(Pattern.Term pattern) { super(pattern); }
+		public Reduction_0(Pattern.Term pattern) { super(pattern,K_Not); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -57,7 +57,7 @@ public final class Types {
 	// 
 	private final static class Reduction_1 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_1(Pattern.Term pattern) { super(pattern); }
+		public Reduction_1(Pattern.Term pattern) { super(pattern,K_Not); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -92,7 +92,7 @@ public final class Types {
 	// 
 	private final static class Reduction_2 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_2(Pattern.Term pattern) { super(pattern); }
+		public Reduction_2(Pattern.Term pattern) { super(pattern,K_Not); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -147,7 +147,7 @@ public final class Types {
 	// 
 	private final static class Reduction_3 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_3(Pattern.Term pattern) { super(pattern); }
+		public Reduction_3(Pattern.Term pattern) { super(pattern,K_Not); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -213,7 +213,7 @@ public final class Types {
 	// 
 	private final static class Reduction_4 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_4(Pattern.Term pattern) { super(pattern); }
+		public Reduction_4(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -253,7 +253,7 @@ public final class Types {
 	// 
 	private final static class Reduction_5 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_5(Pattern.Term pattern) { super(pattern); }
+		public Reduction_5(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -316,7 +316,7 @@ public final class Types {
 	// 
 	private final static class Reduction_6 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_6(Pattern.Term pattern) { super(pattern); }
+		public Reduction_6(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -399,7 +399,7 @@ public final class Types {
 	// 
 	private final static class Reduction_7 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_7(Pattern.Term pattern) { super(pattern); }
+		public Reduction_7(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -439,7 +439,7 @@ public final class Types {
 	// 
 	private final static class Reduction_8 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_8(Pattern.Term pattern) { super(pattern); }
+		public Reduction_8(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -526,7 +526,7 @@ public final class Types {
 	// 
 	private final static class Reduction_9 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_9(Pattern.Term pattern) { super(pattern); }
+		public Reduction_9(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -576,7 +576,7 @@ public final class Types {
 	// 
 	private final static class Reduction_10 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_10(Pattern.Term pattern) { super(pattern); }
+		public Reduction_10(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -627,7 +627,7 @@ public final class Types {
 	// 
 	private final static class Reduction_11 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_11(Pattern.Term pattern) { super(pattern); }
+		public Reduction_11(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -695,7 +695,7 @@ public final class Types {
 	// 
 	private final static class Reduction_12 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_12(Pattern.Term pattern) { super(pattern); }
+		public Reduction_12(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -774,7 +774,7 @@ public final class Types {
 	// 
 	private final static class Reduction_13 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_13(Pattern.Term pattern) { super(pattern); }
+		public Reduction_13(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -824,7 +824,7 @@ public final class Types {
 	// 
 	private final static class Reduction_14 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_14(Pattern.Term pattern) { super(pattern); }
+		public Reduction_14(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -881,7 +881,7 @@ public final class Types {
 	// 
 	private final static class Reduction_15 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_15(Pattern.Term pattern) { super(pattern); }
+		public Reduction_15(Pattern.Term pattern) { super(pattern,K_Ref); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -916,7 +916,7 @@ public final class Types {
 	// 
 	private final static class Reduction_16 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_16(Pattern.Term pattern) { super(pattern); }
+		public Reduction_16(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -989,7 +989,7 @@ public final class Types {
 	// 
 	private final static class Reduction_17 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_17(Pattern.Term pattern) { super(pattern); }
+		public Reduction_17(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1057,7 +1057,7 @@ public final class Types {
 	// 
 	private final static class Reduction_18 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_18(Pattern.Term pattern) { super(pattern); }
+		public Reduction_18(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1143,7 +1143,7 @@ public final class Types {
 	// 
 	private final static class Reduction_19 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_19(Pattern.Term pattern) { super(pattern); }
+		public Reduction_19(Pattern.Term pattern) { super(pattern,K_Meta); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1178,7 +1178,7 @@ public final class Types {
 	// 
 	private final static class Reduction_20 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_20(Pattern.Term pattern) { super(pattern); }
+		public Reduction_20(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1251,7 +1251,7 @@ public final class Types {
 	// 
 	private final static class Reduction_21 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_21(Pattern.Term pattern) { super(pattern); }
+		public Reduction_21(Pattern.Term pattern) { super(pattern,K_Or); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1319,7 +1319,7 @@ public final class Types {
 	// 
 	private final static class Reduction_22 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_22(Pattern.Term pattern) { super(pattern); }
+		public Reduction_22(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1410,7 +1410,7 @@ public final class Types {
 	// 
 	private final static class Reduction_23 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_23(Pattern.Term pattern) { super(pattern); }
+		public Reduction_23(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1518,7 +1518,7 @@ public final class Types {
 	// 
 	private final static class Reduction_24 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_24(Pattern.Term pattern) { super(pattern); }
+		public Reduction_24(Pattern.Term pattern) { super(pattern,K_Nominal); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1576,7 +1576,7 @@ public final class Types {
 	// 
 	private final static class Reduction_25 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_25(Pattern.Term pattern) { super(pattern); }
+		public Reduction_25(Pattern.Term pattern) { super(pattern,K_Set); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1645,7 +1645,7 @@ public final class Types {
 	// 
 	private final static class Reduction_26 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_26(Pattern.Term pattern) { super(pattern); }
+		public Reduction_26(Pattern.Term pattern) { super(pattern,K_Bag); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1714,7 +1714,7 @@ public final class Types {
 	// 
 	private final static class Reduction_27 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_27(Pattern.Term pattern) { super(pattern); }
+		public Reduction_27(Pattern.Term pattern) { super(pattern,K_List); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1760,7 +1760,7 @@ public final class Types {
 	// 
 	private final static class Reduction_28 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_28(Pattern.Term pattern) { super(pattern); }
+		public Reduction_28(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -1834,7 +1834,7 @@ public final class Types {
 	// 
 	private final static class Reduction_29 extends AbstractRewriteRule implements ReductionRule {
 
-		public Reduction_29(Pattern.Term pattern) { super(pattern); }
+		public Reduction_29(Pattern.Term pattern) { super(pattern,K_And); }
 
 		public final void probe(Automaton automaton, int root, List<Activation> activations) {
 			int r0 = root;
@@ -268,7 +268,7 @@ public class JavaFileWriter {
 		// Constructor
 		// ===============================================
 		myOut();
-		myOut(2,"public " + className + "(Pattern.Term pattern) { super(pattern); }");
+		myOut(2,"public " + className + "(Pattern.Term pattern) { super(pattern,K_" + decl.pattern.name + "); }");
 		
 		// ===============================================
 		// probe()
@@ -0,0 +1,160 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyrl.testing;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+
+import org.junit.*;
+
+import wyautl.core.Automaton;
+
+/**
+ * Checks that the index of states used by <code>Automaton.add()</code> is
+ * kept up to date across operations which modify states in place, rather than
+ * being discarded and rebuilt. Each test records the index before the
+ * operation and checks that the same index is still in use afterwards.
+ */
+public class AutomatonIndexTests {
+
+	@Test
+	public void Test_Rewrite_1() {
+		// Rewriting a child updates the contents of its parent
+		Automaton automaton = new Automaton();
+		int x = automaton.add(new Automaton.Int(1));
+		int y = automaton.add(new Automaton.Int(2));
+		int p = automaton.add(new Automaton.Term(1, x));
+		automaton.setRoot(0, automaton.add(new Automaton.List(p, y)));
+		Object index = index(automaton);
+		automaton.rewrite(x, y);
+		int root = automaton.getRoot(0);
+		p = ((Automaton.List) automaton.get(root)).get(0);
+		assertEquals(p, automaton.add(new Automaton.Term(1, y)));
+		assertSame(index, index(automaton));
+		// The old contents of the parent no longer exist.
+		int q = automaton.add(new Automaton.Term(1, x));
+		assertTrue(q != p);
+		assertSame(index, index(automaton));
+	}
+
+	@Test
+	public void Test_Rewrite_2() {
+		// Rewriting makes two states equivalent, so they are merged
+		Automaton automaton = new Automaton();
+		int x = automaton.add(new Automaton.Int(1));
+		int y = automaton.add(new Automaton.Int(2));
+		int p = automaton.add(new Automaton.Term(1, x));
+		int q = automaton.add(new Automaton.Term(1, y));
+		automaton.setRoot(0, automaton.add(new Automaton.List(p, q)));
+		Object index = index(automaton);
+		automaton.rewrite(x, y);
+		Automaton.List root = (Automaton.List) automaton.get(automaton
+				.getRoot(0));
+		assertEquals(root.get(0), root.get(1));
+		assertEquals(root.get(0), automaton.add(new Automaton.Term(1, y)));
+		assertEquals(automaton.getRoot(0),
+				automaton.add(new Automaton.List(root.get(0), root.get(1))));
+		assertSame(index, index(automaton));
+	}
+
+	@Test
+	public void Test_Compact_1() {
+		// Compaction moves states, and so re-keys the index
+		Automaton automaton = new Automaton();
+		int x = automaton.add(new Automaton.Int(1));
+		int y = automaton.add(new Automaton.Int(2));
+		int p = automaton.add(new Automaton.Term(1, y));
+		automaton.setRoot(0, p);
+		Object index = index(automaton);
+		automaton.compact();
+		assertTrue(automaton.nStates() == 2);
+		assertEquals(automaton.getRoot(0),
+				automaton.add(new Automaton.Term(1, automaton.add(new Automaton.Int(2)))));
+		assertTrue(automaton.nStates() == 2);
+		assertSame(index, index(automaton));
+	}
+
+	@Test
+	public void Test_Substitute_1() {
+		Automaton automaton = new Automaton();
+		int x = automaton.add(new Automaton.Int(1));
+		int y = automaton.add(new Automaton.Int(2));
+		int p = automaton.add(new Automaton.Term(1, x));
+		automaton.setRoot(0, p);
+		Object index = index(automaton);
+		int q = automaton.substitute(p, x, y);
+		assertEquals(q, automaton.add(new Automaton.Term(1, y)));
+		assertEquals(p, automaton.add(new Automaton.Term(1, x)));
+		assertSame(index, index(automaton));
+	}
+
+	@Test
+	public void Test_Remap_1() {
+		// Remapping a state which is equivalent to one at a lower index must
+		// not modify the key recorded for them in the index.
+		Automaton automaton = new Automaton();
+		int x = automaton.add(new Automaton.Int(1));
+		int y = automaton.add(new Automaton.Int(2));
+		int p = automaton.add(new Automaton.Term(1, x));
+		int q = automaton.add(new Automaton.Term(1, y));
+		automaton.setRoot(0, automaton.add(new Automaton.List(p, q)));
+		automaton.set(q, new Automaton.Term(1, x));
+		automaton.compact();
+		Automaton.List root = (Automaton.List) automaton.get(automaton
+				.getRoot(0));
+		p = root.get(0);
+		q = root.get(1);
+		x = automaton.add(new Automaton.Int(1));
+		y = automaton.add(new Automaton.Int(2));
+		Object index = index(automaton);
+		int[] binding = new int[automaton.nStates()];
+		for (int i = 0; i != binding.length; ++i) {
+			binding[i] = i;
+		}
+		binding[x] = y;
+		assertTrue(automaton.remap(q, binding));
+		assertEquals(p, automaton.add(new Automaton.Term(1, x)));
+		assertEquals(q, automaton.add(new Automaton.Term(1, y)));
+		assertSame(index, index(automaton));
+	}
+
+	/**
+	 * Extract the index of states from an automaton. This is used only to
+	 * check that the index is not replaced.
+	 */
+	private static Object index(Automaton automaton) {
+		try {
+			Field field = Automaton.class.getDeclaredField("index");
+			field.setAccessible(true);
+			Object index = field.get(automaton);
+			assertNotNull(index);
+			return index;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+// Copyright (c) 2011, David J. Pearce (djp@ecs.vuw.ac.nz)
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//    * Redistributions of source code must retain the above copyright
+//      notice, this list of conditions and the following disclaimer.
+//    * Redistributions in binary form must reproduce the above copyright
+//      notice, this list of conditions and the following disclaimer in the
+//      documentation and/or other materials provided with the distribution.
+//    * Neither the name of the <organization> nor the
+//      names of its contributors may be used to endorse or promote products
+//      derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL DAVID J. PEARCE BE LIABLE FOR ANY
+// DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package wyrl.testing;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.*;
+
+import wyautl.core.Automata;
+import wyautl.core.Automaton;
+
+/**
+ * Checks that minimisation by partition refinement agrees with the original
+ * (matrix-based) algorithm. Each test constructs a random, non-minimised
+ * automaton (which may contain cycles) and compares the representative states
+ * determined by both algorithms. For automata containing bags, the matrix
+ * algorithm can fail to identify some equivalent states (since the relation it
+ * iterates over is not transitive until a fixed point is reached). In such
+ * cases, we check only that every pair of states identified by the matrix
+ * algorithm is also identified by partition refinement, and that the latter
+ * only identifies states which really are equivalent.
+ */
+public class MinimisationTests {
+
+	@Test public void Test_Terms_1() { checkRandom(1, 10, TERMS); }
+	@Test public void Test_Terms_2() { checkRandom(2, 50, TERMS); }
+	@Test public void Test_Terms_3() { checkRandom(3, 200, TERMS); }
+	@Test public void Test_Lists_1() { checkRandom(4, 10, LISTS); }
+	@Test public void Test_Lists_2() { checkRandom(5, 50, LISTS); }
+	@Test public void Test_Lists_3() { checkRandom(6, 200, LISTS); }
+	@Test public void Test_Sets_1() { checkRandom(7, 10, SETS); }
+	@Test public void Test_Sets_2() { checkRandom(8, 50, SETS); }
+	@Test public void Test_Sets_3() { checkRandom(9, 200, SETS); }
+	@Test public void Test_Bags_1() { checkRandom(10, 10, BAGS); }
+	@Test public void Test_Bags_2() { checkRandom(11, 50, BAGS); }
+	@Test public void Test_Bags_3() { checkRandom(12, 200, BAGS); }
+	@Test public void Test_Mixed_1() { checkRandom(13, 10, MIXED); }
+	@Test public void Test_Mixed_2() { checkRandom(14, 50, MIXED); }
+	@Test public void Test_Mixed_3() { checkRandom(15, 200, MIXED); }
+	@Test public void Test_Mixed_4() { checkRandom(16, 500, MIXED); }
+
+	@Test
+	public void Test_Cycle_1() {
+		// Two distinct cycles of Not terms, which are equivalent.
+		Automaton.State[] states = new Automaton.State[] {
+				new Automaton.Term(0, 1), new Automaton.Term(0, 0),
+				new Automaton.Term(0, 2) };
+		checkEquivalent(new Automaton(states), true);
+	}
+
+	@Test
+	public void Test_Cycle_2() {
+		// A set containing itself is equivalent to a set containing a copy of
+		// itself, but not to a set which also contains the empty set.
+		Automaton.State[] states = new Automaton.State[] {
+				new Automaton.Set(0), new Automaton.Set(0, 1),
+				new Automaton.Set(2, Automaton.K_SET) };
+		int[] mapping = checkEquivalent(new Automaton(states), true);
+		assertTrue(mapping[0] == 0 && mapping[1] == 0 && mapping[2] == 2);
+	}
+
+	private static final int TERMS = 0;
+	private static final int LISTS = 1;
+	private static final int SETS = 2;
+	private static final int BAGS = 3;
+	private static final int MIXED = 4;
+
+	private static void checkRandom(long seed, int nStates, int mode) {
+		Random random = new Random(seed);
+		// Use a small number of distinct kinds and values to ensure there are
+		// plenty of equivalent states.
+		for (int n = 0; n != 10; ++n) {
+			Automaton.State[] states = new Automaton.State[nStates];
+			for (int i = 0; i != nStates; ++i) {
+				int m = mode == MIXED ? random.nextInt(5) : mode;
+				states[i] = randomState(random, m, nStates);
+			}
+			checkEquivalent(new Automaton(states), mode != BAGS
+					&& mode != MIXED);
+		}
+	}
+
+	private static Automaton.State randomState(Random random, int mode,
+			int nStates) {
+		switch (mode) {
+		case TERMS:
+			return new Automaton.Term(random.nextInt(2), randomChild(random,
+					nStates));
+		case LISTS:
+			return new Automaton.List(randomChildren(random, nStates));
+		case SETS:
+			return new Automaton.Set(randomChildren(random, nStates));
+		case BAGS:
+			return new Automaton.Bag(randomChildren(random, nStates));
+		default:
+			return new Automaton.Int(random.nextInt(2));
+		}
+	}
+
+	private static int[] randomChildren(Random random, int nStates) {
+		int[] children = new int[1 + random.nextInt(3)];
+		for (int i = 0; i != children.length; ++i) {
+			children[i] = randomChild(random, nStates);
+		}
+		return children;
+	}
+
+	private static int randomChild(Random random, int nStates) {
+		if (random.nextInt(10) == 0) {
+			// virtual state
+			return Automaton.K_FREE - random.nextInt(2);
+		} else {
+			return random.nextInt(nStates);
+		}
+	}
+
+	private static int[] checkEquivalent(Automaton automaton, boolean exact) {
+		int nStates = automaton.nStates();
+		int[] expected = new int[nStates];
+		int[] actual = new int[nStates];
+		Automata.determineRepresentativeStatesByMatrix(automaton, expected);
+		Automata.determineRepresentativeStates(automaton, actual);
+		if (exact && !Arrays.equals(expected, actual)) {
+			fail("minimisation mismatch: " + Arrays.toString(expected)
+					+ " vs " + Arrays.toString(actual) + " for " + automaton);
+		}
+		for (int i = 0; i != nStates; ++i) {
+			// states identified by the matrix must be identified here
+			if (actual[i] != actual[expected[i]]) {
+				fail("states " + i + " and " + expected[i]
+						+ " not identified for " + automaton);
+			}
+			// states identified here must really be equivalent
+			if (!signature(automaton, actual, i).equals(
+					signature(automaton, actual, actual[i]))) {
+				fail("states " + i + " and " + actual[i]
+						+ " are not equivalent for " + automaton);
+			}
+		}
+		return actual;
+	}
+
+	/**
+	 * Construct a string which identifies a given state with respect to the
+	 * given mapping of states to representatives. Two states are equivalent
+	 * under the mapping iff they have the same signature.
+	 */
+	private static String signature(Automaton automaton, int[] mapping,
+			int index) {
+		Automaton.State state = automaton.get(index);
+		if (state instanceof Automaton.Term) {
+			Automaton.Term term = (Automaton.Term) state;
+			return state.kind + "(" + map(mapping, term.contents) + ")";
+		} else if (state instanceof Automaton.Collection) {
+			Automaton.Collection c = (Automaton.Collection) state;
+			int[] children = new int[c.size()];
+			for (int j = 0; j != children.length; ++j) {
+				children[j] = map(mapping, c.get(j));
+			}
+			if (state instanceof Automaton.Set) {
+				TreeSet<Integer> items = new TreeSet<Integer>();
+				for (int child : children) {
+					items.add(child);
+				}
+				return state.kind + ":" + items;
+			} else if (state instanceof Automaton.Bag) {
+				Arrays.sort(children);
+			}
+			return state.kind + ":" + Arrays.toString(children);
+		} else {
+			return state.toString();
+		}
+	}
+
+	private static int map(int[] mapping, int child) {
+		return child < 0 ? child : mapping[child];
+	}
+}
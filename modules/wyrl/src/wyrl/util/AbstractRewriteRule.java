@@ -35,12 +35,35 @@ public abstract class AbstractRewriteRule implements RewriteRule {
 	 * The pattern that this rewrite rule will match against.
 	 */
 	private final Pattern.Term pattern;
+
+	/**
+	 * The kind of term at the root of the pattern, or -1 if this is unknown.
+	 */
+	private final int kind;
 	
 	public AbstractRewriteRule(Pattern.Term pattern) {
+		this(pattern, -1);
+	}
+
+	public AbstractRewriteRule(Pattern.Term pattern, int kind) {
 		this.pattern = pattern;
+		this.kind = kind;
 	}
 		
 	public Pattern.Term pattern() {
 		return pattern;
 	}	
+
+	/**
+	 * Get the kind of term at the root of this rule's pattern. A state whose
+	 * kind differs from this can never produce an activation from probing and,
+	 * hence, this is useful for constructing dispatch tables without needing
+	 * to consult the schema.
+	 * 
+	 * @return The kind, or -1 if it was not given when this rule was
+	 *         constructed.
+	 */
+	public int kind() {
+		return kind;
+	}
 }